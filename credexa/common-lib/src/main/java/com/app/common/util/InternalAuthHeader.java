@@ -0,0 +1,144 @@
+package com.app.common.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Signed identity header forwarded by the API gateway
+ * The gateway verifies the JWT once and forwards the caller's identity as
+ * base64url(json).base64url(HMAC-SHA256(payload)) in X-Internal-Auth, so services
+ * only check an HMAC instead of parsing the JWT again.
+ * Payload: {"sub": username, "uid": userId, "roles": [...], "iat": epochSeconds, "exp": epochSeconds}
+ * The gateway's signer (gateway module) must produce the same format.
+ * Only created in services that configure internal-auth.secret; services that accept the
+ * header cannot start without a real secret.
+ */
+@Component
+@ConditionalOnProperty(prefix = "internal-auth", name = "secret")
+public class InternalAuthHeader {
+
+    public static final String HEADER_NAME = "X-Internal-Auth";
+
+    /** Role of service-to-service calls; never present in a user's JWT */
+    public static final String SERVICE_ROLE = "ROLE_SERVICE";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_LENGTH = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /** Sample value once committed to the application.yml files; never accepted */
+    private static final String SAMPLE_SECRET = "credexaInternalAuthHeaderSecretChangeMeInEveryEnvironment";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${internal-auth.secret}")
+    private String secret;
+
+    private SecretKeySpec key;
+    private ThreadLocal<Mac> macs;
+
+    @PostConstruct
+    void init() {
+        if (secret == null || secret.isBlank() || secret.length() < MIN_SECRET_LENGTH
+                || secret.equals(SAMPLE_SECRET)) {
+            throw new IllegalStateException("internal-auth.secret must be set (INTERNAL_AUTH_SECRET) to a per-environment "
+                    + "secret of at least " + MIN_SECRET_LENGTH + " characters, the same for the gateway and every service");
+        }
+        key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(ALGORITHM + " not available", e);
+            }
+        });
+    }
+
+    /**
+     * Header value for a verified token
+     */
+    public String encode(VerifiedToken token) {
+        ObjectNode payload = objectMapper.createObjectNode();
+        payload.put("sub", token.getUsername());
+        if (token.getUserId() != null) {
+            payload.put("uid", token.getUserId());
+        }
+        token.getRoles().forEach(payload.putArray("roles")::add);
+        if (token.getIssuedAt() != null) {
+            payload.put("iat", token.getIssuedAt().getEpochSecond());
+        }
+        if (token.getExpiresAt() != null) {
+            payload.put("exp", token.getExpiresAt().getEpochSecond());
+        }
+        String encoded = ENCODER.encodeToString(payload.toString().getBytes(StandardCharsets.UTF_8));
+        return encoded + "." + sign(encoded);
+    }
+
+    /**
+     * Header value identifying a calling service (SERVICE_ROLE) instead of a user
+     */
+    public String encodeService(String serviceName, Duration validity) {
+        Instant now = Instant.now();
+        return encode(new VerifiedToken(serviceName, null, List.of(SERVICE_ROLE), now, now.plus(validity)));
+    }
+
+    /**
+     * Identity carried by the header, or empty when it is missing, tampered with or expired
+     */
+    public Optional<VerifiedToken> verify(String headerValue) {
+        if (headerValue == null) {
+            return Optional.empty();
+        }
+        int dot = headerValue.indexOf('.');
+        if (dot <= 0 || dot == headerValue.length() - 1) {
+            return Optional.empty();
+        }
+        String encoded = headerValue.substring(0, dot);
+        byte[] expected = sign(encoded).getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = headerValue.substring(dot + 1).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, actual)) {
+            return Optional.empty();
+        }
+
+        try {
+            JsonNode payload = objectMapper.readTree(DECODER.decode(encoded));
+            List<String> roles = new ArrayList<>();
+            payload.path("roles").forEach(role -> roles.add(role.asText()));
+            VerifiedToken token = new VerifiedToken(
+                    payload.path("sub").asText(null),
+                    payload.hasNonNull("uid") ? payload.get("uid").asLong() : null,
+                    roles,
+                    payload.hasNonNull("iat") ? Instant.ofEpochSecond(payload.get("iat").asLong()) : null,
+                    payload.hasNonNull("exp") ? Instant.ofEpochSecond(payload.get("exp").asLong()) : null);
+            return token.getUsername() == null || token.isExpired() ? Optional.empty() : Optional.of(token);
+        } catch (IllegalArgumentException | IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private String sign(String encodedPayload) {
+        byte[] signature = macs.get().doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII));
+        return ENCODER.encodeToString(signature);
+    }
+}
@@ -1,22 +1,39 @@
 package com.app.common.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
 /**
  * JWT Utility class for token generation and validation
  * Shared across all microservices
+ *
+ * The signing key and parser are built once. Tokens are verified once and the
+ * resulting VerifiedToken is kept in a bounded cache keyed by the token's SHA-256 hash
+ * until the token expires, so repeat requests with the same token skip signature
+ * verification and claim parsing.
  */
 @Component
 public class JwtUtil {
@@ -27,38 +44,90 @@ public class JwtUtil {
     @Value("${jwt.expiration:3600000}") // 1 hour default
     private Long expiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    @Value("${jwt.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .build();
+    }
+
+    /**
+     * Verify a token once and return its claims
+     * Throws JwtException when the signature is invalid or the token has expired
+     */
+    public VerifiedToken verify(String token) {
+        String key = tokenHash(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            if (!cached.isExpired()) {
+                return cached;
+            }
+            verifiedTokens.invalidate(key);
+        }
+
+        VerifiedToken verified = toVerifiedToken(extractAllClaims(token));
+        verifiedTokens.put(key, verified);
+        return verified;
+    }
+
+    /**
+     * Verify a token, or empty when it is malformed, forged or expired
+     */
+    public Optional<VerifiedToken> tryVerify(String token) {
+        try {
+            return Optional.of(verify(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
     }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).getUsername();
     }
 
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return Date.from(verify(token).getExpiresAt());
     }
 
+    /**
+     * Read any claim; parses and verifies the token on every call (not cached)
+     */
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
         final Claims claims = extractAllClaims(token);
         return claimsResolver.apply(claims);
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
+        return parser.parseSignedClaims(token)
                 .getPayload();
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public String generateToken(String username, List<String> roles) {
+        return generateToken(username, null, roles);
     }
 
-    public String generateToken(String username, List<String> roles) {
+    /**
+     * Generate a token that also carries the login-service user ID, so downstream
+     * services can resolve the user without calling login-service
+     */
+    public String generateToken(String username, Long userId, List<String> roles) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("roles", roles);
+        if (userId != null) {
+            claims.put("userId", userId);
+        }
         return createToken(claims, username);
     }
 
@@ -68,26 +137,73 @@ public class JwtUtil {
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
     public Boolean validateToken(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+        final VerifiedToken verified = verify(token);
+        return (verified.getUsername().equals(username) && !verified.isExpired());
     }
 
     public Boolean validateToken(String token) {
+        return tryVerify(token).isPresent();
+    }
+
+    public List<String> extractRoles(String token) {
+        return verify(token).getRoles();
+    }
+
+    /**
+     * User ID claim of the token, or null for tokens issued without one
+     */
+    public Long extractUserId(String token) {
+        return verify(token).getUserId();
+    }
+
+    private VerifiedToken toVerifiedToken(Claims claims) {
+        Object userId = claims.get("userId");
+        List<String> roles = claims.get("roles") instanceof List<?> values
+                ? values.stream().map(String::valueOf).toList()
+                : List.of();
+        return new VerifiedToken(
+                claims.getSubject(),
+                userId instanceof Number number ? number.longValue() : null,
+                roles,
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+    }
+
+    private static String tokenHash(String token) {
         try {
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
 
-    @SuppressWarnings("unchecked")
-    public List<String> extractRoles(String token) {
-        Claims claims = extractAllClaims(token);
-        return (List<String>) claims.get("roles");
+    /**
+     * Cache entries live until their token expires (tokens without exp use the default lifetime)
+     */
+    private final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+            Duration remaining = token.getExpiresAt() != null
+                    ? Duration.between(Instant.now(), token.getExpiresAt())
+                    : Duration.ofMillis(expiration);
+            return Math.max(0, remaining.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
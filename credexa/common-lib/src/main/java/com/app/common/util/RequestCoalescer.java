@@ -0,0 +1,162 @@
+package com.app.common.util;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Micro-batcher that merges concurrent single-key lookups into batch calls
+ * Keys requested within the same window (or until max-batch-size keys are waiting)
+ * are loaded with one call to the batch loader; concurrent requests for the same key
+ * share one result. Keys missing from the loader's result complete with null.
+ * Shared across all microservices
+ */
+public class RequestCoalescer<K, V> implements AutoCloseable {
+
+    private final String name;
+    private final Function<Set<K>, Map<K, V>> batchLoader;
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService timer;
+    private final ExecutorService loaders;
+
+    private final Object lock = new Object();
+    private Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+    private long window;
+    private boolean closed;
+
+    public RequestCoalescer(String name, Function<Set<K>, Map<K, V>> batchLoader,
+                            Duration window, int maxBatchSize, int loaderThreads) {
+        this.name = name;
+        this.batchLoader = batchLoader;
+        this.windowMillis = Math.max(1, window.toMillis());
+        this.maxBatchSize = maxBatchSize;
+        this.timer = Executors.newSingleThreadScheduledExecutor(daemonThreads(name + "-timer"));
+        this.loaders = Executors.newFixedThreadPool(loaderThreads, daemonThreads(name + "-loader"));
+    }
+
+    /**
+     * Queue a key for the current window; the future completes when its batch is loaded
+     */
+    public CompletableFuture<V> load(K key) {
+        Map<K, CompletableFuture<V>> full = null;
+        CompletableFuture<V> future;
+        synchronized (lock) {
+            if (closed) {
+                return CompletableFuture.failedFuture(new IllegalStateException(name + " is shut down"));
+            }
+            future = pending.get(key);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                pending.put(key, future);
+                if (pending.size() == 1) {
+                    long current = window;
+                    timer.schedule(() -> flushWindow(current), windowMillis, TimeUnit.MILLISECONDS);
+                }
+                if (pending.size() >= maxBatchSize) {
+                    full = takePending();
+                }
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return future;
+    }
+
+    /**
+     * Load one key and wait for the result
+     * Loader failures are rethrown as they are; running out of time is an IllegalStateException
+     */
+    public V get(K key, Duration timeout) {
+        try {
+            return load(key).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException(name + " timed out loading " + key, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading " + key, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        Map<K, CompletableFuture<V>> remaining;
+        synchronized (lock) {
+            closed = true;
+            remaining = takePending();
+        }
+        remaining.values().forEach(f -> f.completeExceptionally(new IllegalStateException(name + " is shut down")));
+        timer.shutdownNow();
+        loaders.shutdownNow();
+    }
+
+    private void flushWindow(long scheduledWindow) {
+        Map<K, CompletableFuture<V>> batch;
+        synchronized (lock) {
+            // The window may already have been flushed because it filled up
+            if (scheduledWindow != window || pending.isEmpty()) {
+                return;
+            }
+            batch = takePending();
+        }
+        dispatch(batch);
+    }
+
+    /**
+     * Detach the waiting keys and start a new window; caller holds the lock
+     */
+    private Map<K, CompletableFuture<V>> takePending() {
+        Map<K, CompletableFuture<V>> batch = pending;
+        pending = new LinkedHashMap<>();
+        window++;
+        return batch;
+    }
+
+    private void dispatch(Map<K, CompletableFuture<V>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            loaders.execute(() -> loadBatch(batch));
+        } catch (RejectedExecutionException e) {
+            batch.values().forEach(f -> f.completeExceptionally(e));
+        }
+    }
+
+    private void loadBatch(Map<K, CompletableFuture<V>> batch) {
+        try {
+            Map<K, V> results = batchLoader.apply(Collections.unmodifiableSet(batch.keySet()));
+            batch.forEach((key, future) -> future.complete(results != null ? results.get(key) : null));
+        } catch (RuntimeException e) {
+            batch.values().forEach(f -> f.completeExceptionally(e));
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.app.common.util;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Claims of a JWT whose signature and expiry have been verified
+ * Immutable, so one instance can be shared by every request presenting the same token
+ */
+@Getter
+@ToString
+public final class VerifiedToken {
+
+    private final String username;
+    private final Long userId;      // Null for tokens issued before the userId claim existed
+    private final List<String> roles;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+
+    VerifiedToken(String username, Long userId, List<String> roles, Instant issuedAt, Instant expiresAt) {
+        this.username = username;
+        this.userId = userId;
+        this.roles = roles != null ? List.copyOf(roles) : List.of();
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isExpired() {
+        return expiresAt != null && !expiresAt.isAfter(Instant.now());
+    }
+}
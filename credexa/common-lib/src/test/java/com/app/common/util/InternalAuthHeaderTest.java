@@ -0,0 +1,109 @@
+package com.app.common.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Signing, verification and startup checks of the X-Internal-Auth header
+ */
+class InternalAuthHeaderTest {
+
+    private static final String SECRET = "internalAuthHeaderTestSecretOfAtLeast32Chars";
+
+    private InternalAuthHeader header;
+
+    @BeforeEach
+    void setUp() {
+        header = newHeader(SECRET);
+    }
+
+    @Test
+    void validHeaderCarriesTheIdentity() {
+        Instant now = Instant.now();
+        String value = header.encode(token("alice", List.of("ROLE_CUSTOMER"), now, now.plusSeconds(300)));
+
+        VerifiedToken verified = header.verify(value).orElseThrow();
+
+        assertThat(verified.getUsername()).isEqualTo("alice");
+        assertThat(verified.getUserId()).isEqualTo(42L);
+        assertThat(verified.getRoles()).containsExactly("ROLE_CUSTOMER");
+        assertThat(verified.getExpiresAt()).isEqualTo(Instant.ofEpochSecond(now.plusSeconds(300).getEpochSecond()));
+    }
+
+    @Test
+    void serviceHeaderCarriesTheServiceRole() {
+        VerifiedToken verified = header.verify(header.encodeService("fd-account-service", Duration.ofMinutes(1)))
+                .orElseThrow();
+
+        assertThat(verified.getUsername()).isEqualTo("fd-account-service");
+        assertThat(verified.getUserId()).isNull();
+        assertThat(verified.getRoles()).containsExactly(InternalAuthHeader.SERVICE_ROLE);
+    }
+
+    @Test
+    void tamperedHeaderIsRejected() {
+        Instant now = Instant.now();
+        String value = header.encode(token("alice", List.of("ROLE_CUSTOMER"), now, now.plusSeconds(300)));
+        String[] parts = value.split("\\.");
+
+        String payload = new String(Base64.getUrlDecoder().decode(parts[0]), StandardCharsets.UTF_8)
+                .replace("ROLE_CUSTOMER", "ROLE_ADMIN");
+        String escalated = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + "." + parts[1];
+        String badSignature = parts[0] + "." + (parts[1].charAt(0) == 'A' ? 'B' : 'A') + parts[1].substring(1);
+
+        assertThat(header.verify(escalated)).isEmpty();
+        assertThat(header.verify(badSignature)).isEmpty();
+        assertThat(header.verify(parts[0])).isEmpty();
+        assertThat(header.verify(null)).isEmpty();
+    }
+
+    @Test
+    void headerSignedWithAnotherSecretIsRejected() {
+        Instant now = Instant.now();
+        String forged = newHeader("someOtherSecretThatIsAlsoLongEnough1234")
+                .encode(token("mallory", List.of("ROLE_ADMIN"), now, now.plusSeconds(300)));
+
+        assertThat(header.verify(forged)).isEmpty();
+    }
+
+    @Test
+    void expiredHeaderIsRejected() {
+        Instant now = Instant.now();
+        String value = header.encode(token("alice", List.of("ROLE_CUSTOMER"), now.minusSeconds(600), now.minusSeconds(1)));
+
+        assertThat(header.verify(value)).isEmpty();
+    }
+
+    @Test
+    void missingShortOrSampleSecretFailsAtStartup() {
+        for (String secret : new String[] {null, " ", "tooShort",
+                "credexaInternalAuthHeaderSecretChangeMeInEveryEnvironment"}) {
+            InternalAuthHeader invalid = new InternalAuthHeader();
+            ReflectionTestUtils.setField(invalid, "secret", secret);
+            assertThatThrownBy(invalid::init).isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("internal-auth.secret");
+        }
+    }
+
+    private static InternalAuthHeader newHeader(String secret) {
+        InternalAuthHeader header = new InternalAuthHeader();
+        ReflectionTestUtils.setField(header, "secret", secret);
+        header.init();
+        return header;
+    }
+
+    private static VerifiedToken token(String username, List<String> roles, Instant issuedAt, Instant expiresAt) {
+        return new VerifiedToken(username, 42L, roles, issuedAt, expiresAt);
+    }
+}
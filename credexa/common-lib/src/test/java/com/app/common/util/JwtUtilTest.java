@@ -0,0 +1,101 @@
+package com.app.common.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+
+/**
+ * Verified-token cache of JwtUtil: hits, expiry and tampered tokens
+ */
+class JwtUtilTest {
+
+    private static final String SECRET = "testSecretKeyForJwtUtilMustBe256BitsLongForHS256Algorithm";
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = newJwtUtil(3_600_000L);
+    }
+
+    @Test
+    void repeatVerificationIsServedFromTheCache() {
+        String token = jwtUtil.generateToken("alice", 42L, List.of("ROLE_CUSTOMER"));
+
+        VerifiedToken first = jwtUtil.verify(token);
+        VerifiedToken second = jwtUtil.verify(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.getUsername()).isEqualTo("alice");
+        assertThat(second.getUserId()).isEqualTo(42L);
+        assertThat(second.getRoles()).containsExactly("ROLE_CUSTOMER");
+    }
+
+    @Test
+    void expiredCachedTokenIsVerifiedAgainAndRejected() throws InterruptedException {
+        JwtUtil shortLived = newJwtUtil(2_000L);
+        String token = shortLived.generateToken("alice", 42L, List.of("ROLE_CUSTOMER"));
+        VerifiedToken verified = shortLived.verify(token);
+        assertThat(shortLived.verify(token)).isSameAs(verified);
+
+        long waitMs = Duration.between(Instant.now(), verified.getExpiresAt()).toMillis() + 100;
+        Thread.sleep(Math.max(0, waitMs));
+
+        assertThatThrownBy(() -> shortLived.verify(token)).isInstanceOf(ExpiredJwtException.class);
+        assertThat(shortLived.tryVerify(token)).isEmpty();
+    }
+
+    @Test
+    void tamperedTokenIsNeverServedFromTheCache() {
+        String token = jwtUtil.generateToken("alice", 42L, List.of("ROLE_CUSTOMER"));
+        jwtUtil.verify(token);
+
+        String[] parts = token.split("\\.");
+        String forgedPayload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8)
+                .replace("ROLE_CUSTOMER", "ROLE_ADMIN");
+        String forged = parts[0] + "." + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(forgedPayload.getBytes(StandardCharsets.UTF_8)) + "." + parts[2];
+        String badSignature = parts[0] + "." + parts[1] + "." + flipFirstChar(parts[2]);
+
+        assertThatThrownBy(() -> jwtUtil.verify(forged)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> jwtUtil.verify(badSignature)).isInstanceOf(JwtException.class);
+        assertThat(jwtUtil.tryVerify(forged)).isEmpty();
+        assertThat(jwtUtil.verify(token).getRoles()).containsExactly("ROLE_CUSTOMER");
+    }
+
+    @Test
+    void tokenSignedWithAnotherKeyIsRejected() {
+        JwtUtil other = newJwtUtil(3_600_000L);
+        ReflectionTestUtils.setField(other, "secret", "anotherSecretKeyForJwtUtilMustBe256BitsLongForHS256Algo");
+        other.init();
+        String token = other.generateToken("alice", 42L, List.of("ROLE_ADMIN"));
+
+        assertThat(jwtUtil.tryVerify(token)).isEmpty();
+    }
+
+    private static JwtUtil newJwtUtil(long expirationMs) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "secret", SECRET);
+        ReflectionTestUtils.setField(util, "expiration", expirationMs);
+        ReflectionTestUtils.setField(util, "cacheMaxSize", 100L);
+        util.init();
+        return util;
+    }
+
+    private static String flipFirstChar(String value) {
+        char replacement = value.charAt(0) == 'A' ? 'B' : 'A';
+        return replacement + value.substring(1);
+    }
+}
@@ -3,11 +3,13 @@ package com.app.customer;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main application class for Customer Service
  */
 @SpringBootApplication
+@EnableScheduling
 @ComponentScan(basePackages = {"com.app.customer", "com.app.common"})
 public class CustomerServiceApplication {
 
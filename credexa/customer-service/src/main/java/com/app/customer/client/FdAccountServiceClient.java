@@ -0,0 +1,75 @@
+package com.app.customer.client;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Client for calling fd-account-service APIs
+ * Uses its own RestTemplate with connect/read timeouts matching the 360 view budget,
+ * so a slow downstream cannot hold a fan-out thread much longer than the caller waits
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FdAccountServiceClient {
+
+    private final RestTemplateBuilder restTemplateBuilder;
+
+    @Value("${fd-account-service.url:http://localhost:8086/api/fd-accounts}")
+    private String fdAccountServiceUrl;
+
+    @Value("${fd-account-service.timeout-ms:800}")
+    private long timeoutMs;
+
+    private RestTemplate restTemplate;
+
+    @PostConstruct
+    void initRestTemplate() {
+        restTemplate = restTemplateBuilder
+                .connectTimeout(Duration.ofMillis(timeoutMs))
+                .readTimeout(Duration.ofMillis(timeoutMs))
+                .build();
+    }
+
+    /**
+     * Get summaries of all FD accounts in which the customer holds a role
+     */
+    public List<AccountSummaryData> getAccountsByCustomer(Long customerId) {
+        String url = fdAccountServiceUrl + "/accounts/customer/" + customerId;
+        log.debug("Calling fd-account-service for accounts of customer: {}", customerId);
+
+        AccountSummaryData[] accounts = restTemplate.getForObject(url, AccountSummaryData[].class);
+        return accounts != null ? Arrays.asList(accounts) : List.of();
+    }
+
+    /**
+     * Inner class for account summary from fd-account-service
+     */
+    @lombok.Data
+    public static class AccountSummaryData {
+        private Long id;
+        private String accountNumber;
+        private String accountName;
+        private String productCode;
+        private String productName;
+        private String status;
+        private BigDecimal principalAmount;
+        private BigDecimal interestRate;
+        private Integer termMonths;
+        private BigDecimal maturityAmount;
+        private LocalDate effectiveDate;
+        private LocalDate maturityDate;
+    }
+}
@@ -1,5 +1,7 @@
 package com.app.customer.controller;
 
+import java.util.List;
+
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -10,13 +12,21 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.app.common.util.InternalAuthHeader;
+import com.app.common.util.VerifiedToken;
+import com.app.customer.dto.BulkOnboardingRequest;
+import com.app.customer.dto.BulkOnboardingResponse;
 import com.app.customer.dto.CreateCustomerRequest;
 import com.app.customer.dto.Customer360Response;
+import com.app.customer.dto.CustomerBatchRequest;
 import com.app.customer.dto.CustomerClassificationResponse;
 import com.app.customer.dto.CustomerResponse;
 import com.app.customer.dto.UpdateCustomerRequest;
+import com.app.customer.exception.UnauthorizedAccessException;
+import com.app.customer.service.Customer360Service;
 import com.app.customer.service.CustomerService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -38,6 +48,7 @@ import lombok.extern.slf4j.Slf4j;
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final Customer360Service customer360Service;
 
     @PostMapping
     @Operation(summary = "Create new customer", description = "Create a new customer profile. Regular users can only create for themselves, admins can create for any user.")
@@ -46,6 +57,9 @@ public class CustomerController {
             Authentication authentication) {
         
         String authenticatedUsername = authentication.getName();
+        // userId of the gateway-verified identity; null for tokens without the claim
+        Long identityUserId = authentication.getDetails() instanceof VerifiedToken verified
+                ? verified.getUserId() : null;
         boolean isAdmin = authentication.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .anyMatch(role -> role.equals("ROLE_ADMIN"));
@@ -53,10 +67,30 @@ public class CustomerController {
         log.info("User '{}' (Admin: {}) creating customer profile", 
                 authenticatedUsername, isAdmin);
         
-        CustomerResponse response = customerService.createCustomer(request, authenticatedUsername, isAdmin);
+        CustomerResponse response = customerService.createCustomer(request, authenticatedUsername, isAdmin, identityUserId);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/bulk")
+    @Operation(summary = "Bulk onboard customers", description = "Admin only. Validate many customers against existing identifiers in one pass and create the valid ones; with validateOnly=true nothing is created.")
+    public ResponseEntity<BulkOnboardingResponse> onboardCustomers(
+            @Valid @RequestBody BulkOnboardingRequest request,
+            @RequestParam(defaultValue = "false") boolean validateOnly,
+            Authentication authentication) {
+
+        boolean isAdmin = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch(role -> role.equals("ROLE_ADMIN"));
+        if (!isAdmin) {
+            throw new UnauthorizedAccessException("Only admins can onboard customers in bulk");
+        }
+
+        log.info("User '{}' onboarding {} customers (validate only: {})",
+                authentication.getName(), request.getCustomers().size(), validateOnly);
+        BulkOnboardingResponse response = customerService.onboardCustomers(request, validateOnly);
+        return ResponseEntity.status(validateOnly ? HttpStatus.OK : HttpStatus.CREATED).body(response);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get customer by ID", description = "Retrieve customer details by customer ID")
     public ResponseEntity<CustomerResponse> getCustomerById(@PathVariable Long id) {
@@ -65,6 +99,14 @@ public class CustomerController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Get customers by IDs", description = "Retrieve many customers in one call; unknown IDs are omitted from the result")
+    public ResponseEntity<List<CustomerResponse>> getCustomersByIds(@Valid @RequestBody CustomerBatchRequest request) {
+        log.info("Received request to get {} customers by ID", request.getCustomerIds().size());
+        List<CustomerResponse> response = customerService.getCustomersByIds(request.getCustomerIds());
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/user/{userId}")
     @Operation(summary = "Get customer by user ID", description = "Retrieve customer details by user ID from login-service")
     public ResponseEntity<CustomerResponse> getCustomerByUserId(@PathVariable Long userId) {
@@ -102,10 +144,25 @@ public class CustomerController {
     @Operation(summary = "Get 360-degree customer view", description = "Get comprehensive customer overview including FD accounts")
     public ResponseEntity<Customer360Response> getCustomer360View(@PathVariable Long id) {
         log.info("Received request to get 360-degree view for customer ID: {}", id);
-        Customer360Response response = customerService.getCustomer360View(id);
+        Customer360Response response = customer360Service.getCustomer360View(id);
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/{id}/360-view/invalidate")
+    @Operation(summary = "Invalidate cached 360-degree view", description = "Internal only. Called by fd-account-service, with a service X-Internal-Auth header, after a customer's FD accounts change")
+    public ResponseEntity<Void> invalidateCustomer360View(@PathVariable Long id, Authentication authentication) {
+        boolean isService = authentication != null && authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch(role -> role.equals(InternalAuthHeader.SERVICE_ROLE));
+        if (!isService) {
+            throw new UnauthorizedAccessException("Only internal services can invalidate 360-degree views");
+        }
+
+        log.debug("Received 360-degree view invalidation for customer ID: {}", id);
+        customer360Service.invalidate(id);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/health")
     @Operation(summary = "Health check", description = "Check if the customer service is running", security = {})
     public ResponseEntity<String> health() {
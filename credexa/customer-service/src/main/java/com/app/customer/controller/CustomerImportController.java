@@ -0,0 +1,83 @@
+package com.app.customer.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.app.customer.dto.CustomerImportResponse;
+import com.app.customer.exception.UnauthorizedAccessException;
+import com.app.customer.service.onboarding.CustomerImportService;
+import com.app.customer.service.onboarding.ImportFormat;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * REST controller for bulk customer imports (branch migrations)
+ */
+@RestController
+@RequestMapping("/import")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Customer Import", description = "APIs for streaming bulk customer imports")
+@SecurityRequirement(name = "Bearer Authentication")
+public class CustomerImportController {
+
+    private final CustomerImportService customerImportService;
+
+    @PostMapping(consumes = {"text/csv", "application/x-ndjson", MediaType.TEXT_PLAIN_VALUE,
+            MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    @Operation(summary = "Import customers", description = "Admin only. Stream a CSV file (header row with field names, including userId and username) or NDJSON (one customer object per line). Rows are validated and inserted in batches; rejected rows are listed in a downloadable result file.")
+    public ResponseEntity<CustomerImportResponse> importCustomers(
+            InputStream body,
+            @RequestParam(defaultValue = "CSV") ImportFormat format,
+            Authentication authentication) throws IOException {
+
+        if (!isAdmin(authentication)) {
+            throw new UnauthorizedAccessException("Only admins can import customers");
+        }
+
+        log.info("User '{}' importing customers as {}", authentication.getName(), format);
+        return ResponseEntity.ok(customerImportService.importCustomers(body, format));
+    }
+
+    @GetMapping("/{importId}/errors")
+    @Operation(summary = "Download import errors", description = "Admin only. CSV of rejected rows (row number, username, errors) for an import")
+    public ResponseEntity<Resource> downloadErrors(@PathVariable String importId, Authentication authentication) {
+        if (!isAdmin(authentication)) {
+            throw new UnauthorizedAccessException("Only admins can download import errors");
+        }
+        Path file = customerImportService.resultFile(importId);
+        if (!Files.exists(file)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + importId + "-errors.csv\"")
+                .body(new FileSystemResource(file));
+    }
+
+    private static boolean isAdmin(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch(role -> role.equals("ROLE_ADMIN"));
+    }
+}
@@ -0,0 +1,46 @@
+package com.app.customer.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for onboarding many customers in one call (admin only)
+ * Each entry names the login-service user the profile belongs to
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOnboardingRequest {
+
+    @NotEmpty(message = "At least one customer is required")
+    @Size(max = 5000, message = "At most 5000 customers can be onboarded at once")
+    private List<@Valid @NotNull Entry> customers;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+
+        @NotNull(message = "User ID is required")
+        private Long userId;
+
+        @NotBlank(message = "Username is required")
+        @Size(max = 50)
+        private String username;
+
+        @Valid
+        @NotNull(message = "Customer profile is required")
+        private CreateCustomerRequest profile;
+    }
+}
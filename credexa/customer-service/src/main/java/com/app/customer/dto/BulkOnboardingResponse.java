@@ -0,0 +1,35 @@
+package com.app.customer.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the outcome of a bulk onboarding call
+ * Rows are reported in request order; with validateOnly nothing is created
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOnboardingResponse {
+
+    private Integer total;
+    private Integer accepted;
+    private Integer rejected;
+    private Boolean validateOnly;
+    private List<RowResult> results;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowResult {
+        private Integer index;
+        private Long customerId; // Null when rejected or validateOnly
+        private List<String> errors;
+    }
+}
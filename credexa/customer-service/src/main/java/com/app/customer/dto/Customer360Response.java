@@ -1,6 +1,7 @@
 package com.app.customer.dto;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import lombok.AllArgsConstructor;
@@ -11,9 +12,11 @@ import lombok.NoArgsConstructor;
 /**
  * DTO for 360-degree customer view
  * This provides a comprehensive overview of the customer including all FD accounts
+ * accountDataStatus and accountDataAsOf tell how current the FD account part is;
+ * when fd-account-service is slow the view is returned without waiting for it
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Customer360Response {
@@ -21,7 +24,19 @@ public class Customer360Response {
     private CustomerResponse customerInfo;
     private CustomerClassificationResponse classificationInfo;
     private AccountSummary accountSummary;
-    private List<FdAccountSummary> fdAccounts; // Will be populated when FD service is ready
+    private List<FdAccountSummary> fdAccounts;
+    private AccountDataStatus accountDataStatus;
+    private LocalDateTime accountDataAsOf; // When the FD account data was fetched (null if unavailable)
+
+    /**
+     * Freshness of the FD account part of the view
+     */
+    public enum AccountDataStatus {
+        LIVE,        // Fetched from fd-account-service for this request
+        CACHED,      // Served from a recent fetch
+        STALE,       // fd-account-service was slow or failed; older data is shown
+        UNAVAILABLE  // fd-account-service was slow or failed and nothing was cached
+    }
 
     /**
      * Account summary for the customer
@@ -41,7 +56,7 @@ public class Customer360Response {
     }
 
     /**
-     * FD account summary (placeholder - will be populated from FD service)
+     * FD account summary from fd-account-service
      */
     @Data
     @Builder
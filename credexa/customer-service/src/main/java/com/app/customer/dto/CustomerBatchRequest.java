@@ -0,0 +1,25 @@
+package com.app.customer.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for looking up many customers in one call
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerBatchRequest {
+
+    @NotEmpty(message = "Customer IDs are required")
+    @Size(max = 500, message = "At most 500 customer IDs can be requested at once")
+    private List<@NotNull(message = "Customer ID must not be null") Long> customerIds;
+}
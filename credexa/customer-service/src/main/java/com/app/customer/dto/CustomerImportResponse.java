@@ -0,0 +1,26 @@
+package com.app.customer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the outcome of a streaming customer import
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerImportResponse {
+
+    private String importId;
+    private String format;
+    private Long totalRows;
+    private Long created;
+    private Long rejected;
+    private Integer batches;
+    private Long elapsedMs;
+    private Long rowsPerSecond;
+    private String resultFile; // Download path for rejected rows (null when none were rejected)
+}
@@ -10,6 +10,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
@@ -22,7 +23,11 @@ import lombok.NoArgsConstructor;
  * Customer entity representing customer information
  */
 @Entity
-@Table(name = "customers")
+@Table(name = "customers", indexes = {
+        // PAN and Aadhar are optional; MySQL unique indexes allow any number of NULLs
+        @Index(name = "uk_customer_pan_number", columnList = "pan_number", unique = true),
+        @Index(name = "uk_customer_aadhar_number", columnList = "aadhar_number", unique = true)
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,15 @@
+package com.app.customer.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a customer's profile changes
+ * Listeners that cache customer data evict it once the change has committed
+ */
+@Getter
+@AllArgsConstructor
+public class CustomerChangedEvent {
+
+    private final Long customerId;
+}
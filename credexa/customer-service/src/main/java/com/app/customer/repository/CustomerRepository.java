@@ -1,11 +1,16 @@
 package com.app.customer.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.app.customer.entity.Customer;
+import com.app.customer.repository.projection.CustomerIdentifierView;
 
 /**
  * Repository for Customer entity
@@ -13,6 +18,10 @@ import com.app.customer.entity.Customer;
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
+    String IDENTIFIER_SELECT =
+            "SELECT c.userId AS userId, c.username AS username, c.mobileNumber AS mobileNumber, " +
+            "c.email AS email, c.panNumber AS panNumber, c.aadharNumber AS aadharNumber FROM Customer c ";
+
     /**
      * Find customer by user ID
      */
@@ -62,4 +71,31 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
      * Check if customer exists by Aadhar number
      */
     boolean existsByAadharNumber(String aadharNumber);
+
+    /**
+     * Customers holding any of the given identifiers, in one query
+     * Every predicate is served by a unique index; null identifiers match nothing
+     */
+    @Query(IDENTIFIER_SELECT +
+            "WHERE c.userId = :userId OR c.username = :username OR c.mobileNumber = :mobileNumber " +
+            "OR c.email = :email OR c.panNumber = :panNumber OR c.aadharNumber = :aadharNumber")
+    List<CustomerIdentifierView> findIdentifierCollisions(@Param("userId") Long userId,
+                                                          @Param("username") String username,
+                                                          @Param("mobileNumber") String mobileNumber,
+                                                          @Param("email") String email,
+                                                          @Param("panNumber") String panNumber,
+                                                          @Param("aadharNumber") String aadharNumber);
+
+    /**
+     * Customers holding any identifier from the given sets (bulk onboarding)
+     */
+    @Query(IDENTIFIER_SELECT +
+            "WHERE c.userId IN :userIds OR c.username IN :usernames OR c.mobileNumber IN :mobileNumbers " +
+            "OR c.email IN :emails OR c.panNumber IN :panNumbers OR c.aadharNumber IN :aadharNumbers")
+    List<CustomerIdentifierView> findIdentifierCollisionsIn(@Param("userIds") Collection<Long> userIds,
+                                                            @Param("usernames") Collection<String> usernames,
+                                                            @Param("mobileNumbers") Collection<String> mobileNumbers,
+                                                            @Param("emails") Collection<String> emails,
+                                                            @Param("panNumbers") Collection<String> panNumbers,
+                                                            @Param("aadharNumbers") Collection<String> aadharNumbers);
 }
@@ -0,0 +1,19 @@
+package com.app.customer.repository.projection;
+
+/**
+ * Unique identifiers of a customer, used for duplicate checks
+ */
+public interface CustomerIdentifierView {
+
+    Long getUserId();
+
+    String getUsername();
+
+    String getMobileNumber();
+
+    String getEmail();
+
+    String getPanNumber();
+
+    String getAadharNumber();
+}
@@ -0,0 +1,331 @@
+package com.app.customer.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.app.customer.client.FdAccountServiceClient;
+import com.app.customer.client.FdAccountServiceClient.AccountSummaryData;
+import com.app.customer.dto.Customer360Response;
+import com.app.customer.dto.Customer360Response.AccountDataStatus;
+import com.app.customer.dto.CustomerClassificationResponse;
+import com.app.customer.dto.CustomerResponse;
+import com.app.customer.entity.Customer;
+import com.app.customer.event.CustomerChangedEvent;
+import com.app.customer.exception.CustomerNotFoundException;
+import com.app.customer.repository.CustomerRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service assembling the 360-degree customer view
+ * The FD account call to fd-account-service is started first and runs on a dedicated
+ * pool while the customer is read locally; the view then waits for the accounts only
+ * until the request's time budget is used up. A slow or failing downstream yields a
+ * partial view: the last cached accounts marked STALE, or none marked UNAVAILABLE.
+ * Calls that finish after the budget still refresh the cache, and concurrent views of
+ * the same customer share one in-flight call.
+ *
+ * Views are cached per customer and served without any call while fresh. Profile
+ * changes (CustomerChangedEvent) and account changes reported by fd-account-service
+ * mark the entry as outdated; it is kept only as a fallback for slow downstream calls.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class Customer360Service {
+
+    private final CustomerRepository customerRepository;
+    private final FdAccountServiceClient fdAccountServiceClient;
+
+    @Value("${fd-account-service.timeout-ms:800}")
+    private long timeoutMs;
+
+    @Value("${customer360.fan-out.threads:8}")
+    private int threads;
+
+    @Value("${customer360.fan-out.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${customer360.cache.fresh-seconds:60}")
+    private long freshSeconds;
+
+    @Value("${customer360.cache.max-stale-minutes:60}")
+    private long maxStaleMinutes;
+
+    @Value("${customer360.cache.max-size:10000}")
+    private long maxSize;
+
+    private final Map<Long, CompletableFuture<AccountSnapshot>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private ThreadPoolExecutor executor;
+    private Cache<Long, CachedView> cache;
+    /** Per customer: sequence number of the last invalidation (absent = none recently) */
+    private Cache<Long, Long> epochs;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "customer360-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(maxStaleMinutes))
+                .build();
+        // Kept as long as a cached view can live, far longer than any in-flight call
+        epochs = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(maxStaleMinutes))
+                .build();
+        log.info("Customer 360 fan-out started: {} threads, {}ms budget, views fresh for {}s",
+                threads, timeoutMs, freshSeconds);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Get 360-degree customer view
+     * Not transactional on purpose: no database connection is held while waiting
+     * for fd-account-service
+     */
+    public Customer360Response getCustomer360View(Long id) {
+        log.info("Fetching 360-degree view for customer ID: {}", id);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+
+        CachedView cached = cache.getIfPresent(id);
+        if (cached != null && cached.isFresh(freshSeconds)) {
+            return cached.view.toBuilder().accountDataStatus(AccountDataStatus.CACHED).build();
+        }
+
+        // Start the downstream call before the local read so both run concurrently
+        CompletableFuture<AccountSnapshot> accounts = fetchAccounts(id);
+
+        Customer customer = customerRepository.findById(id)
+                .orElseThrow(() -> new CustomerNotFoundException("Customer not found with ID: " + id));
+        Customer360Response profile = Customer360Response.builder()
+                .customerInfo(CustomerResponse.fromEntity(customer))
+                .classificationInfo(CustomerClassificationResponse.fromCustomer(customer))
+                .build();
+
+        AccountSnapshot snapshot = awaitAccounts(id, profile, accounts, deadline);
+        if (snapshot != null) {
+            return cacheView(id, profile, snapshot);
+        }
+        if (cached != null) {
+            return withAccounts(profile, cached.snapshot, AccountDataStatus.STALE);
+        }
+        return profile.toBuilder().accountDataStatus(AccountDataStatus.UNAVAILABLE).build();
+    }
+
+    /**
+     * Mark a customer's cached view as outdated
+     * Called for profile changes and for account changes reported by fd-account-service
+     */
+    public void invalidate(Long customerId) {
+        epochs.put(customerId, invalidations.incrementAndGet());
+        cache.asMap().computeIfPresent(customerId, (id, cached) -> cached.outdated());
+        log.debug("Invalidated 360 view of customer: {}", customerId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        invalidate(event.getCustomerId());
+    }
+
+    /**
+     * Join or start the FD account call for a customer
+     * A finished call is never joined, even before it has been removed from the map
+     */
+    private CompletableFuture<AccountSnapshot> fetchAccounts(Long customerId) {
+        CompletableFuture<AccountSnapshot> call = inFlight.compute(customerId,
+                (id, running) -> running != null && !running.isDone() ? running : startCall(id));
+        // Outside compute: for a call that has already finished this runs immediately
+        call.whenComplete((snapshot, error) -> inFlight.remove(customerId, call));
+        return call;
+    }
+
+    private CompletableFuture<AccountSnapshot> startCall(Long customerId) {
+        long startEpoch = epochOf(customerId);
+        try {
+            return CompletableFuture.supplyAsync(() -> new AccountSnapshot(
+                            fdAccountServiceClient.getAccountsByCustomer(customerId), LocalDateTime.now(), startEpoch),
+                    executor)
+                    .whenComplete((snapshot, error) -> {
+                        if (error != null) {
+                            log.warn("FD accounts unavailable for customer {}: {}", customerId, error.getMessage());
+                        }
+                    });
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Wait for the FD account call until the deadline; null when it did not succeed in time
+     */
+    private AccountSnapshot awaitAccounts(Long customerId, Customer360Response profile,
+                                          CompletableFuture<AccountSnapshot> accounts, long deadline) {
+        try {
+            return accounts.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("FD accounts for customer {} not received within {}ms, returning partial view",
+                    customerId, timeoutMs);
+            // Cache the late result so the next view does not have to wait for it
+            accounts.thenAccept(snapshot -> cacheView(customerId, profile, snapshot));
+        } catch (ExecutionException e) {
+            log.warn("FD accounts for customer {} failed, returning partial view: {}",
+                    customerId, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    /**
+     * Build the live view and cache it; it is only cached as fresh when the customer
+     * was not invalidated while the FD account call was running
+     */
+    private Customer360Response cacheView(Long customerId, Customer360Response profile, AccountSnapshot snapshot) {
+        Customer360Response view = withAccounts(profile, snapshot, AccountDataStatus.LIVE);
+        cache.put(customerId, new CachedView(view, snapshot, snapshot.startEpoch == epochOf(customerId)));
+        return view;
+    }
+
+    private long epochOf(Long customerId) {
+        Long epoch = epochs.getIfPresent(customerId);
+        return epoch != null ? epoch : 0L;
+    }
+
+    private Customer360Response withAccounts(Customer360Response profile, AccountSnapshot snapshot,
+                                             AccountDataStatus status) {
+        List<AccountSummaryData> accounts = snapshot.accounts;
+        return profile.toBuilder()
+                .accountSummary(summarize(accounts))
+                .fdAccounts(accounts.stream().map(this::mapToFdAccountSummary).toList())
+                .accountDataStatus(status)
+                .accountDataAsOf(snapshot.fetchedAt)
+                .build();
+    }
+
+    private Customer360Response.AccountSummary summarize(List<AccountSummaryData> accounts) {
+        BigDecimal invested = BigDecimal.ZERO;
+        BigDecimal maturity = BigDecimal.ZERO;
+        BigDecimal interestEarned = BigDecimal.ZERO;
+        int active = 0;
+        int matured = 0;
+        int closed = 0;
+
+        for (AccountSummaryData account : accounts) {
+            BigDecimal principal = zeroIfNull(account.getPrincipalAmount());
+            BigDecimal maturityAmount = zeroIfNull(account.getMaturityAmount());
+            invested = invested.add(principal);
+            maturity = maturity.add(maturityAmount);
+            if ("ACTIVE".equals(account.getStatus())) {
+                active++;
+            } else if ("MATURED".equals(account.getStatus())) {
+                matured++;
+                interestEarned = interestEarned.add(maturityAmount.subtract(principal));
+            } else if ("CLOSED".equals(account.getStatus())) {
+                closed++;
+            }
+        }
+
+        return Customer360Response.AccountSummary.builder()
+                .totalFdAccounts(accounts.size())
+                .activeFdAccounts(active)
+                .maturedFdAccounts(matured)
+                .closedFdAccounts(closed)
+                .totalInvestedAmount(invested)
+                .totalMaturityAmount(maturity)
+                .totalInterestEarned(interestEarned)
+                .build();
+    }
+
+    private Customer360Response.FdAccountSummary mapToFdAccountSummary(AccountSummaryData account) {
+        return Customer360Response.FdAccountSummary.builder()
+                .fdAccountId(account.getId())
+                .accountNumber(account.getAccountNumber())
+                .productName(account.getProductName())
+                .principalAmount(account.getPrincipalAmount())
+                .maturityAmount(account.getMaturityAmount())
+                .interestRate(account.getInterestRate())
+                .tenureMonths(account.getTermMonths())
+                .status(account.getStatus())
+                .openingDate(account.getEffectiveDate() != null ? account.getEffectiveDate().toString() : null)
+                .maturityDate(account.getMaturityDate() != null ? account.getMaturityDate().toString() : null)
+                .build();
+    }
+
+    private static BigDecimal zeroIfNull(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    /**
+     * FD accounts of one customer as fetched at a point in time
+     * startEpoch is the customer's invalidation epoch when the call started; a snapshot
+     * whose call overlapped an invalidation of that customer may be outdated and is
+     * never cached as fresh
+     */
+    private static final class AccountSnapshot {
+        private final List<AccountSummaryData> accounts;
+        private final LocalDateTime fetchedAt;
+        private final long startEpoch;
+
+        private AccountSnapshot(List<AccountSummaryData> accounts, LocalDateTime fetchedAt, long startEpoch) {
+            this.accounts = accounts;
+            this.fetchedAt = fetchedAt;
+            this.startEpoch = startEpoch;
+        }
+    }
+
+    /**
+     * A cached view and the account snapshot it was built from
+     */
+    private static final class CachedView {
+        private final Customer360Response view;
+        private final AccountSnapshot snapshot;
+        private final boolean current;
+
+        private CachedView(Customer360Response view, AccountSnapshot snapshot, boolean current) {
+            this.view = view;
+            this.snapshot = snapshot;
+            this.current = current;
+        }
+
+        private boolean isFresh(long freshSeconds) {
+            return current && snapshot.fetchedAt.plusSeconds(freshSeconds).isAfter(LocalDateTime.now());
+        }
+
+        private CachedView outdated() {
+            return new CachedView(view, snapshot, false);
+        }
+    }
+}
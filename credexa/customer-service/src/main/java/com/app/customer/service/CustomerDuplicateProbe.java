@@ -0,0 +1,174 @@
+package com.app.customer.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.app.customer.repository.CustomerRepository;
+import com.app.customer.repository.projection.CustomerIdentifierView;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Duplicate checks for customer identifiers
+ * A candidate is checked against all unique identifiers with one indexed query instead
+ * of one exists-query per identifier; bulk onboarding checks a whole batch with a few
+ * IN-list queries and also detects identifiers repeated within the batch.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerDuplicateProbe {
+
+    private final CustomerRepository customerRepository;
+
+    @Value("${customer.onboarding.probe-chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Identifiers of the candidate that are already registered
+     */
+    public Set<Identifier> probe(Candidate candidate) {
+        List<CustomerIdentifierView> matches = customerRepository.findIdentifierCollisions(
+                candidate.getUserId(), candidate.getUsername(), candidate.getMobileNumber(),
+                candidate.getEmail(), candidate.getPanNumber(), candidate.getAadharNumber());
+
+        Set<Identifier> conflicts = EnumSet.noneOf(Identifier.class);
+        for (CustomerIdentifierView match : matches) {
+            for (Identifier identifier : Identifier.values()) {
+                Object value = identifier.candidateValue.apply(candidate);
+                if (value != null && value.equals(identifier.storedValue.apply(match))) {
+                    conflicts.add(identifier);
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * Conflicting identifiers for each candidate (same order as the input)
+     * An identifier conflicts when it is already registered or when an earlier
+     * candidate in the batch uses it
+     */
+    public List<Set<Identifier>> probeAll(List<Candidate> candidates) {
+        List<Set<Identifier>> conflicts = new ArrayList<>(candidates.size());
+        Map<Identifier, Set<Object>> seen = new EnumMap<>(Identifier.class);
+        for (Identifier identifier : Identifier.values()) {
+            seen.put(identifier, new HashSet<>());
+        }
+
+        for (Candidate candidate : candidates) {
+            Set<Identifier> rowConflicts = EnumSet.noneOf(Identifier.class);
+            for (Identifier identifier : Identifier.values()) {
+                Object value = identifier.candidateValue.apply(candidate);
+                if (value != null && !seen.get(identifier).add(value)) {
+                    rowConflicts.add(identifier);
+                }
+            }
+            conflicts.add(rowConflicts);
+        }
+
+        Map<Identifier, Set<Object>> registered = findRegistered(candidates);
+        for (int i = 0; i < candidates.size(); i++) {
+            for (Identifier identifier : Identifier.values()) {
+                Object value = identifier.candidateValue.apply(candidates.get(i));
+                if (value != null && registered.get(identifier).contains(value)) {
+                    conflicts.get(i).add(identifier);
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * Identifier values of the batch that are already registered, queried in chunks
+     */
+    private Map<Identifier, Set<Object>> findRegistered(List<Candidate> candidates) {
+        Map<Identifier, Set<Object>> registered = new EnumMap<>(Identifier.class);
+        for (Identifier identifier : Identifier.values()) {
+            registered.put(identifier, new HashSet<>());
+        }
+
+        int queries = 0;
+        for (int from = 0; from < candidates.size(); from += chunkSize) {
+            List<Candidate> chunk = candidates.subList(from, Math.min(from + chunkSize, candidates.size()));
+            List<CustomerIdentifierView> matches = customerRepository.findIdentifierCollisionsIn(
+                    values(chunk, Candidate::getUserId), values(chunk, Candidate::getUsername),
+                    values(chunk, Candidate::getMobileNumber), values(chunk, Candidate::getEmail),
+                    values(chunk, Candidate::getPanNumber), values(chunk, Candidate::getAadharNumber));
+            queries++;
+            for (CustomerIdentifierView match : matches) {
+                for (Identifier identifier : Identifier.values()) {
+                    Object value = identifier.storedValue.apply(match);
+                    if (value != null) {
+                        registered.get(identifier).add(value);
+                    }
+                }
+            }
+        }
+        log.debug("Probed {} candidates for duplicates with {} queries", candidates.size(), queries);
+        return registered;
+    }
+
+    private static <T> Collection<T> values(List<Candidate> chunk, Function<Candidate, T> getter) {
+        return chunk.stream().map(getter).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+    /**
+     * Unique customer identifiers, with the message reported when one is taken
+     */
+    public enum Identifier {
+        USER_ID("Customer profile already exists for this user",
+                Candidate::getUserId, CustomerIdentifierView::getUserId),
+        USERNAME("Customer profile already exists for this username",
+                Candidate::getUsername, CustomerIdentifierView::getUsername),
+        MOBILE_NUMBER("Mobile number already registered",
+                Candidate::getMobileNumber, CustomerIdentifierView::getMobileNumber),
+        EMAIL("Email already registered",
+                Candidate::getEmail, CustomerIdentifierView::getEmail),
+        PAN_NUMBER("PAN number already registered",
+                Candidate::getPanNumber, CustomerIdentifierView::getPanNumber),
+        AADHAR_NUMBER("Aadhar number already registered",
+                Candidate::getAadharNumber, CustomerIdentifierView::getAadharNumber);
+
+        @Getter
+        private final String message;
+        private final Function<Candidate, Object> candidateValue;
+        private final Function<CustomerIdentifierView, Object> storedValue;
+
+        Identifier(String message, Function<Candidate, Object> candidateValue,
+                   Function<CustomerIdentifierView, Object> storedValue) {
+            this.message = message;
+            this.candidateValue = candidateValue;
+            this.storedValue = storedValue;
+        }
+    }
+
+    /**
+     * Identifiers of a customer about to be created; null values are not checked
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Candidate {
+        private final Long userId;
+        private final String username;
+        private final String mobileNumber;
+        private final String email;
+        private final String panNumber;
+        private final String aadharNumber;
+    }
+}
@@ -1,22 +1,32 @@
 package com.app.customer.service;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.Period;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.app.customer.client.LoginServiceClient;
+import com.app.customer.dto.BulkOnboardingRequest;
+import com.app.customer.dto.BulkOnboardingResponse;
 import com.app.customer.dto.CreateCustomerRequest;
-import com.app.customer.dto.Customer360Response;
 import com.app.customer.dto.CustomerClassificationResponse;
 import com.app.customer.dto.CustomerResponse;
 import com.app.customer.dto.UpdateCustomerRequest;
 import com.app.customer.entity.Customer;
+import com.app.customer.event.CustomerChangedEvent;
 import com.app.customer.exception.CustomerNotFoundException;
 import com.app.customer.exception.DuplicateCustomerException;
 import com.app.customer.repository.CustomerRepository;
+import com.app.customer.service.CustomerDuplicateProbe.Candidate;
+import com.app.customer.service.CustomerDuplicateProbe.Identifier;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,69 +40,44 @@ import lombok.extern.slf4j.Slf4j;
 public class CustomerService {
 
     private final CustomerRepository customerRepository;
-    private final LoginServiceClient loginServiceClient;
+    private final CustomerDuplicateProbe duplicateProbe;
+    private final UserIdResolver userIdResolver;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a new customer
      */
     @Transactional
-    public CustomerResponse createCustomer(CreateCustomerRequest request, String authenticatedUsername, boolean isAdmin) {
+    public CustomerResponse createCustomer(CreateCustomerRequest request, String authenticatedUsername, boolean isAdmin,
+                                           Long identityUserId) {
         log.info("Creating customer by user: {} (Admin: {})", authenticatedUsername, isAdmin);
 
-        // Get userId from login-service using the authenticated username
-        Long userId = loginServiceClient.getUserIdByUsername(authenticatedUsername);
-        log.info("Retrieved userId: {} for username: {}", userId, authenticatedUsername);
+        // Resolve userId from the caller's identity (login-service is only called as a last resort)
+        Long userId = userIdResolver.resolveUserId(authenticatedUsername, identityUserId);
+        log.info("Resolved userId: {} for username: {}", userId, authenticatedUsername);
 
-        // Security Check: Regular users can only create their own profile
-        // Check if the authenticated user already has a customer profile
-        if (!isAdmin && customerRepository.existsByUsername(authenticatedUsername)) {
+        // Security Check: Regular users can only create their own profile, so their username
+        // is checked too. All identifiers are checked with one indexed query; the unique
+        // indexes remain the guard against concurrent creations.
+        Set<Identifier> conflicts = duplicateProbe.probe(new Candidate(
+                userId, isAdmin ? null : authenticatedUsername, request.getMobileNumber(),
+                request.getEmail(), request.getPanNumber(), request.getAadharNumber()));
+        if (conflicts.contains(Identifier.USERNAME)) {
             throw new DuplicateCustomerException("You already have a customer profile. Each user can only have one profile.");
         }
-
-        // Check for duplicates (using the userId from login-service, not from request)
-        if (customerRepository.existsByUserId(userId)) {
-            throw new DuplicateCustomerException("Customer profile already exists for this user");
+        if (!conflicts.isEmpty()) {
+            throw new DuplicateCustomerException(conflictMessage(conflicts));
         }
-        validateDuplicateCustomer(request);
-
-        // Auto-determine classification based on age if SENIOR_CITIZEN or SUPER_SENIOR
-        Customer.CustomerClassification classification = determineClassification(
-                request.getDateOfBirth(), 
-                request.getClassification()
-        );
 
-        // Build customer entity - userId from login-service, username from JWT
-        Customer customer = Customer.builder()
-                .userId(userId) // Use userId from login-service, not from request
-                .username(authenticatedUsername) // Store the authenticated username from JWT
-                .fullName(request.getFullName())
-                .mobileNumber(request.getMobileNumber())
-                .email(request.getEmail())
-                .panNumber(request.getPanNumber())
-                .aadharNumber(request.getAadharNumber())
-                .dateOfBirth(request.getDateOfBirth())
-                .gender(request.getGender())
-                .classification(classification)
-                .kycStatus(Customer.KycStatus.PENDING)
-                .addressLine1(request.getAddressLine1())
-                .addressLine2(request.getAddressLine2())
-                .city(request.getCity())
-                .state(request.getState())
-                .pincode(request.getPincode())
-                .country(request.getCountry())
-                .accountNumber(request.getAccountNumber())
-                .ifscCode(request.getIfscCode())
-                .preferredLanguage(request.getPreferredLanguage() != null ? 
-                        request.getPreferredLanguage() : "en")
-                .preferredCurrency(request.getPreferredCurrency() != null ? 
-                        request.getPreferredCurrency() : "INR")
-                .emailNotifications(request.getEmailNotifications() != null ? 
-                        request.getEmailNotifications() : true)
-                .smsNotifications(request.getSmsNotifications() != null ? 
-                        request.getSmsNotifications() : true)
-                .build();
+        // Build customer entity - userId and username of the authenticated user
+        Customer customer = newCustomer(request, userId, authenticatedUsername);
 
-        Customer savedCustomer = customerRepository.save(customer);
+        Customer savedCustomer;
+        try {
+            savedCustomer = customerRepository.saveAndFlush(customer);
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateCustomerException("Customer with the same identifiers was created concurrently");
+        }
         log.info("Customer created successfully with ID: {}", savedCustomer.getId());
 
         return CustomerResponse.fromEntity(savedCustomer);
@@ -109,6 +94,18 @@ public class CustomerService {
         return CustomerResponse.fromEntity(customer);
     }
 
+    /**
+     * Get customers by IDs in one query
+     * Unknown IDs are skipped; callers match results by customer ID
+     */
+    @Transactional(readOnly = true)
+    public List<CustomerResponse> getCustomersByIds(Collection<Long> ids) {
+        log.info("Fetching {} customers by ID", ids.size());
+        return customerRepository.findAllById(new LinkedHashSet<>(ids)).stream()
+                .map(CustomerResponse::fromEntity)
+                .toList();
+    }
+
     /**
      * Get customer by user ID
      */
@@ -233,6 +230,7 @@ public class CustomerService {
 
         Customer updatedCustomer = customerRepository.save(customer);
         log.info("Customer updated successfully with ID: {}", updatedCustomer.getId());
+        eventPublisher.publishEvent(new CustomerChangedEvent(updatedCustomer.getId()));
 
         return CustomerResponse.fromEntity(updatedCustomer);
     }
@@ -249,55 +247,108 @@ public class CustomerService {
     }
 
     /**
-     * Get 360-degree customer view
+     * Onboard many customers in one call (admin only)
+     * The whole batch is validated against the unique indexes in one pass; valid rows are
+     * created together and rejected rows are reported with their reasons. With validateOnly
+     * the rows are only validated.
      */
-    @Transactional(readOnly = true)
-    public Customer360Response getCustomer360View(Long id) {
-        log.info("Fetching 360-degree view for customer ID: {}", id);
-        
-        Customer customer = customerRepository.findById(id)
-                .orElseThrow(() -> new CustomerNotFoundException("Customer not found with ID: " + id));
+    @Transactional
+    public BulkOnboardingResponse onboardCustomers(BulkOnboardingRequest request, boolean validateOnly) {
+        List<BulkOnboardingRequest.Entry> entries = request.getCustomers();
+        log.info("Onboarding {} customers (validate only: {})", entries.size(), validateOnly);
+        long startTime = System.currentTimeMillis();
 
-        CustomerResponse customerInfo = CustomerResponse.fromEntity(customer);
-        CustomerClassificationResponse classificationInfo = CustomerClassificationResponse.fromCustomer(customer);
-
-        // TODO: Fetch FD accounts from FD service when available
-        // For now, return empty account summary
-        Customer360Response.AccountSummary accountSummary = Customer360Response.AccountSummary.builder()
-                .totalFdAccounts(0)
-                .activeFdAccounts(0)
-                .maturedFdAccounts(0)
-                .closedFdAccounts(0)
-                .totalInvestedAmount(BigDecimal.ZERO)
-                .totalMaturityAmount(BigDecimal.ZERO)
-                .totalInterestEarned(BigDecimal.ZERO)
+        List<Set<Identifier>> conflicts = duplicateProbe.probeAll(entries.stream()
+                .map(entry -> new Candidate(entry.getUserId(), entry.getUsername(),
+                        entry.getProfile().getMobileNumber(), entry.getProfile().getEmail(),
+                        entry.getProfile().getPanNumber(), entry.getProfile().getAadharNumber()))
+                .toList());
+
+        List<Customer> accepted = new ArrayList<>();
+        List<BulkOnboardingResponse.RowResult> results = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            BulkOnboardingRequest.Entry entry = entries.get(i);
+            List<String> errors = conflicts.get(i).stream().map(Identifier::getMessage).toList();
+            results.add(BulkOnboardingResponse.RowResult.builder().index(i).errors(errors).build());
+            if (errors.isEmpty()) {
+                accepted.add(newCustomer(entry.getProfile(), entry.getUserId(), entry.getUsername()));
+            }
+        }
+
+        if (!validateOnly && !accepted.isEmpty()) {
+            List<Customer> saved;
+            try {
+                saved = customerRepository.saveAllAndFlush(accepted);
+            } catch (DataIntegrityViolationException e) {
+                throw new DuplicateCustomerException("Customers with the same identifiers were created concurrently, please retry");
+            }
+            int next = 0;
+            for (BulkOnboardingResponse.RowResult result : results) {
+                if (result.getErrors().isEmpty()) {
+                    result.setCustomerId(saved.get(next++).getId());
+                }
+            }
+        }
+
+        log.info("Onboarding validated {} customers: {} accepted, {} rejected in {}ms",
+                entries.size(), accepted.size(), entries.size() - accepted.size(),
+                System.currentTimeMillis() - startTime);
+
+        return BulkOnboardingResponse.builder()
+                .total(entries.size())
+                .accepted(accepted.size())
+                .rejected(entries.size() - accepted.size())
+                .validateOnly(validateOnly)
+                .results(results)
                 .build();
+    }
+
+    /**
+     * Build a new (unsaved) customer entity from a creation request
+     * Classification is auto-determined from age for senior citizens
+     */
+    public Customer newCustomer(CreateCustomerRequest request, Long userId, String username) {
+        Customer.CustomerClassification classification = determineClassification(
+                request.getDateOfBirth(),
+                request.getClassification()
+        );
 
-        return Customer360Response.builder()
-                .customerInfo(customerInfo)
-                .classificationInfo(classificationInfo)
-                .accountSummary(accountSummary)
-                .fdAccounts(null) // Will be populated from FD service
+        return Customer.builder()
+                .userId(userId)
+                .username(username)
+                .fullName(request.getFullName())
+                .mobileNumber(request.getMobileNumber())
+                .email(request.getEmail())
+                .panNumber(request.getPanNumber())
+                .aadharNumber(request.getAadharNumber())
+                .dateOfBirth(request.getDateOfBirth())
+                .gender(request.getGender())
+                .classification(classification)
+                .kycStatus(Customer.KycStatus.PENDING)
+                .addressLine1(request.getAddressLine1())
+                .addressLine2(request.getAddressLine2())
+                .city(request.getCity())
+                .state(request.getState())
+                .pincode(request.getPincode())
+                .country(request.getCountry())
+                .accountNumber(request.getAccountNumber())
+                .ifscCode(request.getIfscCode())
+                .preferredLanguage(request.getPreferredLanguage() != null ? 
+                        request.getPreferredLanguage() : "en")
+                .preferredCurrency(request.getPreferredCurrency() != null ? 
+                        request.getPreferredCurrency() : "INR")
+                .emailNotifications(request.getEmailNotifications() != null ? 
+                        request.getEmailNotifications() : true)
+                .smsNotifications(request.getSmsNotifications() != null ? 
+                        request.getSmsNotifications() : true)
                 .build();
     }
 
     /**
-     * Validate duplicate customer (checking mobile, email, PAN, Aadhar)
-     * Note: userId is already checked in createCustomer method
+     * Combine the messages of all conflicting identifiers
      */
-    private void validateDuplicateCustomer(CreateCustomerRequest request) {
-        if (customerRepository.existsByMobileNumber(request.getMobileNumber())) {
-            throw new DuplicateCustomerException("Mobile number already registered");
-        }
-        if (customerRepository.existsByEmail(request.getEmail())) {
-            throw new DuplicateCustomerException("Email already registered");
-        }
-        if (request.getPanNumber() != null && customerRepository.existsByPanNumber(request.getPanNumber())) {
-            throw new DuplicateCustomerException("PAN number already registered");
-        }
-        if (request.getAadharNumber() != null && customerRepository.existsByAadharNumber(request.getAadharNumber())) {
-            throw new DuplicateCustomerException("Aadhar number already registered");
-        }
+    private String conflictMessage(Set<Identifier> conflicts) {
+        return conflicts.stream().map(Identifier::getMessage).collect(Collectors.joining("; "));
     }
 
     /**
@@ -0,0 +1,68 @@
+package com.app.customer.service;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.app.customer.client.LoginServiceClient;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Resolves the login-service user ID of an authenticated username
+ * The ID is taken from the caller's verified identity (the uid of the gateway's
+ * X-Internal-Auth header) when present, so the JWT is not verified a second time.
+ * Otherwise a local username to userId cache is consulted, and login-service is only
+ * called on a miss (tokens issued before the claim existed). User IDs never change;
+ * entries are evicted for size or after expire-hours without use.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserIdResolver {
+
+    private final LoginServiceClient loginServiceClient;
+
+    @Value("${customer.user-id-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${customer.user-id-cache.expire-hours:24}")
+    private long expireHours;
+
+    private Cache<String, Long> userIds;
+
+    @PostConstruct
+    void initCache() {
+        userIds = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(Duration.ofHours(expireHours))
+                .build();
+    }
+
+    /**
+     * Resolve the user ID for a username, preferring the one carried by the caller's identity
+     * identityUserId may be null (no userId claim in the caller's token)
+     */
+    public Long resolveUserId(String username, Long identityUserId) {
+        if (identityUserId != null) {
+            log.debug("Resolved userId {} for username {} from the caller's identity", identityUserId, username);
+            userIds.put(username, identityUserId);
+            return identityUserId;
+        }
+
+        Long cached = userIds.getIfPresent(username);
+        if (cached != null) {
+            log.debug("Resolved userId {} for username {} from cache", cached, username);
+            return cached;
+        }
+
+        Long userId = loginServiceClient.getUserIdByUsername(username);
+        userIds.put(username, userId);
+        return userId;
+    }
+}
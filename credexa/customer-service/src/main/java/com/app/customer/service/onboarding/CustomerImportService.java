@@ -0,0 +1,413 @@
+package com.app.customer.service.onboarding;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.app.customer.dto.CreateCustomerRequest;
+import com.app.customer.dto.CustomerImportResponse;
+import com.app.customer.entity.Customer;
+import com.app.customer.service.CustomerDuplicateProbe;
+import com.app.customer.service.CustomerDuplicateProbe.Candidate;
+import com.app.customer.service.CustomerDuplicateProbe.Identifier;
+import com.app.customer.service.CustomerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streaming bulk customer import for branch migrations
+ * The upload is parsed incrementally into batches. Each batch is validated (bean
+ * validation and one duplicate probe for the whole batch) and inserted with JDBC
+ * batching on a worker pool, while the reader keeps parsing; a bounded number of
+ * batches is in flight across all running imports so a fast upload cannot outrun the
+ * database. Rejected rows are written to a per-import CSV result file that can be
+ * downloaded until it passes the retention period.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerImportService {
+
+    private static final String RESULT_HEADER = "row,username,errors";
+
+    private final CustomerService customerService;
+    private final CustomerDuplicateProbe duplicateProbe;
+    private final CustomerJdbcWriter jdbcWriter;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    @Value("${customer.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${customer.import.threads:4}")
+    private int threads;
+
+    @Value("${customer.import.max-in-flight-batches:8}")
+    private int maxInFlightBatches;
+
+    @Value("${customer.import.result-dir:${java.io.tmpdir}/customer-imports}")
+    private String resultDir;
+
+    @Value("${customer.import.result-retention-hours:72}")
+    private long resultRetentionHours;
+
+    private ThreadPoolExecutor executor;
+
+    /** Shared by every import; never more permits than the executor has threads plus queue slots */
+    private Semaphore inFlight;
+
+    @PostConstruct
+    void start() throws IOException {
+        Files.createDirectories(Paths.get(resultDir));
+        inFlight = new Semaphore(maxInFlightBatches);
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxInFlightBatches), runnable -> {
+                    Thread thread = new Thread(runnable, "customer-import-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Import customers from a CSV or NDJSON stream
+     * Returns once every row has been inserted or rejected
+     */
+    public CustomerImportResponse importCustomers(InputStream inputStream, ImportFormat format) throws IOException {
+        String importId = UUID.randomUUID().toString();
+        long startTime = System.currentTimeMillis();
+        log.info("Starting customer import {} ({})", importId, format);
+
+        ImportCounters counters = new ImportCounters();
+        List<Future<?>> batches = new ArrayList<>();
+
+        try (ImportRowReader reader = ImportRowReader.open(format, inputStream, objectMapper);
+             ResultFileWriter results = new ResultFileWriter(resultFile(importId))) {
+
+            try {
+                List<ImportRowReader.RawRow> batch = new ArrayList<>(batchSize);
+                ImportRowReader.RawRow row;
+                while ((row = reader.next()) != null) {
+                    batch.add(row);
+                    if (batch.size() == batchSize) {
+                        batches.add(submit(batch, results, counters));
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    batches.add(submit(batch, results, counters));
+                }
+            } finally {
+                // Let submitted batches finish before the result file is closed
+                awaitQuietly(batches);
+            }
+            awaitAll(batches);
+        }
+        if (counters.rejected.get() == 0) {
+            Files.deleteIfExists(resultFile(importId));
+        }
+
+        long elapsedMs = Math.max(1, System.currentTimeMillis() - startTime);
+        long total = counters.created.get() + counters.rejected.get();
+        long rowsPerSecond = total * 1000 / elapsedMs;
+        log.info("✅ Customer import {} finished: {} rows, {} created, {} rejected in {}ms ({} rows/s)",
+                importId, total, counters.created.get(), counters.rejected.get(), elapsedMs, rowsPerSecond);
+
+        return CustomerImportResponse.builder()
+                .importId(importId)
+                .format(format.name())
+                .totalRows(total)
+                .created(counters.created.get())
+                .rejected(counters.rejected.get())
+                .batches(batches.size())
+                .elapsedMs(elapsedMs)
+                .rowsPerSecond(rowsPerSecond)
+                .resultFile(counters.rejected.get() > 0 ? "/import/" + importId + "/errors" : null)
+                .build();
+    }
+
+    /**
+     * Path of an import's result file; the ID must be one issued by this service
+     */
+    public Path resultFile(String importId) {
+        String id = UUID.fromString(importId).toString();
+        return Paths.get(resultDir, id + "-errors.csv");
+    }
+
+    /**
+     * Delete result files older than the retention period
+     */
+    @Scheduled(fixedDelayString = "${customer.import.result-cleanup-interval-ms:3600000}")
+    public void purgeResultFiles() {
+        Instant cutoff = Instant.now().minusSeconds(TimeUnit.HOURS.toSeconds(resultRetentionHours));
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(Paths.get(resultDir))) {
+            files = listing.filter(file -> file.getFileName().toString().endsWith("-errors.csv")).toList();
+        } catch (IOException e) {
+            log.warn("Could not list import result directory {}: {}", resultDir, e.getMessage());
+            return;
+        }
+        int deleted = 0;
+        for (Path file : files) {
+            try {
+                FileTime modified = Files.getLastModifiedTime(file);
+                if (modified.toInstant().isBefore(cutoff) && Files.deleteIfExists(file)) {
+                    deleted++;
+                }
+            } catch (IOException e) {
+                log.warn("Could not purge import result file {}: {}", file, e.getMessage());
+            }
+        }
+        if (deleted > 0) {
+            log.info("Purged {} expired import result files", deleted);
+        }
+    }
+
+    private Future<?> submit(List<ImportRowReader.RawRow> batch, ResultFileWriter results,
+                             ImportCounters counters) {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while importing customers", e);
+        }
+        try {
+            return executor.submit(() -> {
+                try {
+                    processBatch(batch, results, counters);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    private void awaitQuietly(List<Future<?>> batches) {
+        for (Future<?> batch : batches) {
+            try {
+                batch.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                // Reported by awaitAll
+            }
+        }
+    }
+
+    private void awaitAll(List<Future<?>> batches) throws IOException {
+        for (Future<?> batch : batches) {
+            try {
+                batch.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while importing customers", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof UncheckedIOException io) {
+                    throw io.getCause();
+                }
+                throw new IllegalStateException("Customer import failed: " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Validate, probe and insert one batch; every row ends up created or rejected
+     */
+    private void processBatch(List<ImportRowReader.RawRow> batch, ResultFileWriter results,
+                              ImportCounters counters) {
+        List<ImportRowReader.RawRow> validRows = new ArrayList<>(batch.size());
+        List<Customer> customers = new ArrayList<>(batch.size());
+        for (ImportRowReader.RawRow row : batch) {
+            List<String> errors = new ArrayList<>();
+            Customer customer = toCustomer(row, errors);
+            if (customer == null) {
+                reject(row, errors, results, counters);
+            } else {
+                validRows.add(row);
+                customers.add(customer);
+            }
+        }
+
+        List<Set<Identifier>> conflicts;
+        try {
+            conflicts = duplicateProbe.probeAll(customers.stream()
+                    .map(c -> new Candidate(c.getUserId(), c.getUsername(), c.getMobileNumber(),
+                            c.getEmail(), c.getPanNumber(), c.getAadharNumber()))
+                    .toList());
+        } catch (RuntimeException e) {
+            log.error("❌ Duplicate probe failed for import batch", e);
+            validRows.forEach(row -> reject(row, List.of("Import failed: " + e.getMessage()), results, counters));
+            return;
+        }
+
+        List<ImportRowReader.RawRow> insertRows = new ArrayList<>(customers.size());
+        List<Customer> inserts = new ArrayList<>(customers.size());
+        for (int i = 0; i < customers.size(); i++) {
+            if (conflicts.get(i).isEmpty()) {
+                insertRows.add(validRows.get(i));
+                inserts.add(customers.get(i));
+            } else {
+                reject(validRows.get(i), conflicts.get(i).stream().map(Identifier::getMessage).toList(),
+                        results, counters);
+            }
+        }
+
+        List<Integer> rejected;
+        try {
+            rejected = jdbcWriter.insert(inserts);
+        } catch (RuntimeException e) {
+            log.error("❌ Insert failed for import batch", e);
+            insertRows.forEach(row -> reject(row, List.of("Import failed: " + e.getMessage()), results, counters));
+            return;
+        }
+        for (Integer index : rejected) {
+            reject(insertRows.get(index), List.of("Identifiers already registered (created concurrently)"),
+                    results, counters);
+        }
+        counters.created.addAndGet(inserts.size() - rejected.size());
+    }
+
+    /**
+     * Convert and validate a raw row; null (with errors filled in) when invalid
+     */
+    private Customer toCustomer(ImportRowReader.RawRow row, List<String> errors) {
+        if (row.error != null) {
+            errors.add(row.error);
+            return null;
+        }
+        Map<String, String> f = row.fields;
+        Long userId = null;
+        CreateCustomerRequest request;
+        try {
+            userId = f.get("userId") != null ? Long.valueOf(f.get("userId").trim()) : null;
+            request = CreateCustomerRequest.builder()
+                    .fullName(f.get("fullName"))
+                    .mobileNumber(f.get("mobileNumber"))
+                    .email(f.get("email"))
+                    .panNumber(f.get("panNumber"))
+                    .aadharNumber(f.get("aadharNumber"))
+                    .dateOfBirth(f.get("dateOfBirth") != null ? LocalDate.parse(f.get("dateOfBirth").trim()) : null)
+                    .gender(f.get("gender") != null ? Customer.Gender.valueOf(f.get("gender").trim()) : null)
+                    .classification(f.get("classification") != null
+                            ? Customer.CustomerClassification.valueOf(f.get("classification").trim()) : null)
+                    .addressLine1(f.get("addressLine1"))
+                    .addressLine2(f.get("addressLine2"))
+                    .city(f.get("city"))
+                    .state(f.get("state"))
+                    .pincode(f.get("pincode"))
+                    .country(f.get("country"))
+                    .accountNumber(f.get("accountNumber"))
+                    .ifscCode(f.get("ifscCode"))
+                    .preferredLanguage(f.get("preferredLanguage"))
+                    .preferredCurrency(f.get("preferredCurrency"))
+                    .emailNotifications(f.get("emailNotifications") != null
+                            ? Boolean.valueOf(f.get("emailNotifications").trim()) : null)
+                    .smsNotifications(f.get("smsNotifications") != null
+                            ? Boolean.valueOf(f.get("smsNotifications").trim()) : null)
+                    .build();
+        } catch (RuntimeException e) {
+            errors.add("Invalid value: " + e.getMessage());
+            return null;
+        }
+
+        String username = f.get("username");
+        if (userId == null) {
+            errors.add("userId: User ID is required");
+        }
+        if (username == null || username.isBlank()) {
+            errors.add("username: Username is required");
+        }
+        for (ConstraintViolation<CreateCustomerRequest> violation : validator.validate(request)) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        return errors.isEmpty() ? customerService.newCustomer(request, userId, username) : null;
+    }
+
+    private void reject(ImportRowReader.RawRow row, List<String> errors, ResultFileWriter results,
+                        ImportCounters counters) {
+        counters.rejected.incrementAndGet();
+        results.write(row.rowNumber, row.fields.get("username"), String.join("; ", errors));
+    }
+
+    private static final class ImportCounters {
+        private final AtomicLong created = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+    }
+
+    /**
+     * Result file shared by the batch workers; lines are written whole under a lock
+     */
+    private static final class ResultFileWriter implements AutoCloseable {
+        private final BufferedWriter writer;
+
+        private ResultFileWriter(Path path) throws IOException {
+            this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+            writer.write(RESULT_HEADER);
+            writer.write('\n');
+        }
+
+        private synchronized void write(long rowNumber, String username, String errors) {
+            try {
+                writer.write(rowNumber + "," + csv(username) + "," + csv(errors) + "\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            writer.close();
+        }
+
+        private static String csv(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.app.customer.service.onboarding;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.customer.entity.Customer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Inserts imported customers with JDBC batching
+ * Bypasses the persistence context: no dirty checking and no per-row identity round
+ * trip. When a batch hits a unique index (another batch or request created the same
+ * identifier meanwhile) it is retried row by row so only the conflicting rows fail.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class CustomerJdbcWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO customers (user_id, username, full_name, mobile_number, email, pan_number, " +
+            "aadhar_number, date_of_birth, gender, classification, kyc_status, address_line1, address_line2, " +
+            "city, state, pincode, country, is_active, account_number, ifsc_code, preferred_language, " +
+            "preferred_currency, email_notifications, sms_notifications, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Insert the customers; returns the indexes (into the list) of rows rejected by a
+     * unique index, empty when all were inserted
+     */
+    List<Integer> insert(List<Customer> customers) {
+        if (customers.isEmpty()) {
+            return List.of();
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_SQL, customers, customers.size(), this::bind));
+            return List.of();
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Batch of {} customers hit a unique index, retrying row by row", customers.size());
+            return insertOneByOne(customers);
+        }
+    }
+
+    private List<Integer> insertOneByOne(List<Customer> customers) {
+        List<Integer> rejected = new ArrayList<>();
+        for (int i = 0; i < customers.size(); i++) {
+            Customer customer = customers.get(i);
+            try {
+                jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, customer));
+            } catch (DataIntegrityViolationException e) {
+                rejected.add(i);
+            }
+        }
+        return rejected;
+    }
+
+    private void bind(PreparedStatement ps, Customer customer) throws SQLException {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        ps.setLong(1, customer.getUserId());
+        ps.setString(2, customer.getUsername());
+        ps.setString(3, customer.getFullName());
+        ps.setString(4, customer.getMobileNumber());
+        ps.setString(5, customer.getEmail());
+        ps.setString(6, customer.getPanNumber());
+        ps.setString(7, customer.getAadharNumber());
+        ps.setObject(8, customer.getDateOfBirth(), Types.DATE);
+        ps.setString(9, customer.getGender().name());
+        ps.setString(10, customer.getClassification().name());
+        ps.setString(11, customer.getKycStatus().name());
+        ps.setString(12, customer.getAddressLine1());
+        ps.setString(13, customer.getAddressLine2());
+        ps.setString(14, customer.getCity());
+        ps.setString(15, customer.getState());
+        ps.setString(16, customer.getPincode());
+        ps.setString(17, customer.getCountry());
+        ps.setBoolean(18, customer.getIsActive());
+        ps.setString(19, customer.getAccountNumber());
+        ps.setString(20, customer.getIfscCode());
+        ps.setString(21, customer.getPreferredLanguage());
+        ps.setString(22, customer.getPreferredCurrency());
+        ps.setBoolean(23, customer.getEmailNotifications());
+        ps.setBoolean(24, customer.getSmsNotifications());
+        ps.setTimestamp(25, now);
+        ps.setTimestamp(26, now);
+    }
+}
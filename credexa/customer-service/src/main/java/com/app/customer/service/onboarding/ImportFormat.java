@@ -0,0 +1,9 @@
+package com.app.customer.service.onboarding;
+
+/**
+ * Input formats accepted by the bulk customer import
+ */
+public enum ImportFormat {
+    CSV,    // Header row with field names, RFC 4180 quoting
+    NDJSON  // One JSON object per line
+}
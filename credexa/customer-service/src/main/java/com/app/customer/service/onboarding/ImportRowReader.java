@@ -0,0 +1,195 @@
+package com.app.customer.service.onboarding;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Incremental reader for import files
+ * Rows are parsed one at a time from the request stream, so the size of an import is
+ * not limited by memory. Every row becomes a map of field name to raw text; rows that
+ * cannot be parsed are returned with an error instead of aborting the import.
+ */
+abstract class ImportRowReader implements Closeable {
+
+    protected final BufferedReader reader;
+    protected long rowNumber;
+
+    private static final int BYTE_ORDER_MARK = '\uFEFF';
+
+    private ImportRowReader(InputStream inputStream) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), 65536);
+        // Spreadsheet exports often start with a UTF-8 BOM; it is not part of the first field name
+        reader.mark(1);
+        if (reader.read() != BYTE_ORDER_MARK) {
+            reader.reset();
+        }
+    }
+
+    static ImportRowReader open(ImportFormat format, InputStream inputStream, ObjectMapper objectMapper)
+            throws IOException {
+        return format == ImportFormat.NDJSON
+                ? new NdjsonReader(inputStream, objectMapper)
+                : new CsvReader(inputStream);
+    }
+
+    /**
+     * Next row, or null at the end of the input
+     */
+    abstract RawRow next() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * One input row: its 1-based data row number, its fields and any parse error
+     */
+    static final class RawRow {
+        final long rowNumber;
+        final Map<String, String> fields;
+        final String error;
+
+        RawRow(long rowNumber, Map<String, String> fields, String error) {
+            this.rowNumber = rowNumber;
+            this.fields = fields;
+            this.error = error;
+        }
+    }
+
+    /**
+     * CSV with a header row naming the fields; quoted fields may contain separators,
+     * doubled quotes and line breaks
+     */
+    private static final class CsvReader extends ImportRowReader {
+
+        private final List<String> header;
+
+        private CsvReader(InputStream inputStream) throws IOException {
+            super(inputStream);
+            List<String> names = readRecord();
+            if (names == null) {
+                throw new IllegalArgumentException("Import file is empty");
+            }
+            header = names.stream().map(String::trim).toList();
+        }
+
+        @Override
+        RawRow next() throws IOException {
+            List<String> values;
+            do {
+                values = readRecord();
+                if (values == null) {
+                    return null;
+                }
+            } while (values.size() == 1 && values.get(0).isBlank());
+
+            rowNumber++;
+            if (values.size() != header.size()) {
+                return new RawRow(rowNumber, Map.of(),
+                        "Expected " + header.size() + " fields but found " + values.size());
+            }
+            Map<String, String> fields = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                String value = values.get(i);
+                fields.put(header.get(i), value.isEmpty() ? null : value);
+            }
+            return new RawRow(rowNumber, fields, null);
+        }
+
+        /**
+         * Read one CSV record, or null at the end of the input
+         */
+        private List<String> readRecord() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> values = new ArrayList<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            while (c != -1) {
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        int next = reader.read();
+                        if (next == '"') {
+                            value.append('"');
+                        } else {
+                            quoted = false;
+                            if (next != -1) {
+                                reader.reset();
+                            }
+                        }
+                    } else {
+                        value.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(value.toString());
+                    value.setLength(0);
+                } else if (c == '\n') {
+                    break;
+                } else if (c != '\r') {
+                    value.append((char) c);
+                }
+                c = reader.read();
+            }
+            values.add(value.toString());
+            return values;
+        }
+    }
+
+    /**
+     * One JSON object per line; blank lines are skipped
+     */
+    private static final class NdjsonReader extends ImportRowReader {
+
+        private final ObjectMapper objectMapper;
+
+        private NdjsonReader(InputStream inputStream, ObjectMapper objectMapper) throws IOException {
+            super(inputStream);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        RawRow next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+
+            rowNumber++;
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                return new RawRow(rowNumber, Map.of(), "Malformed JSON: " + e.getOriginalMessage());
+            }
+            if (!node.isObject()) {
+                return new RawRow(rowNumber, Map.of(), "Expected a JSON object");
+            }
+            Map<String, String> fields = new HashMap<>();
+            for (Map.Entry<String, JsonNode> field : node.properties()) {
+                fields.put(field.getKey(), field.getValue().isNull() ? null : field.getValue().asText());
+            }
+            return new RawRow(rowNumber, fields, null);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.app.customer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.app.customer.client.FdAccountServiceClient;
+import com.app.customer.client.FdAccountServiceClient.AccountSummaryData;
+import com.app.customer.dto.Customer360Response;
+import com.app.customer.dto.Customer360Response.AccountDataStatus;
+import com.app.customer.entity.Customer;
+import com.app.customer.repository.CustomerRepository;
+
+/**
+ * Time budget, STALE fallback and call coalescing of the 360 view
+ */
+class Customer360ServiceTest {
+
+    private static final Long CUSTOMER_ID = 7L;
+    private static final long BUDGET_MS = 200;
+
+    private FdAccountServiceClient client;
+    private Customer360Service service;
+
+    @BeforeEach
+    void setUp() {
+        CustomerRepository customerRepository = mock(CustomerRepository.class);
+        when(customerRepository.findById(CUSTOMER_ID)).thenReturn(Optional.of(Customer.builder()
+                .id(CUSTOMER_ID)
+                .fullName("Test Customer")
+                .classification(Customer.CustomerClassification.REGULAR)
+                .build()));
+        client = mock(FdAccountServiceClient.class);
+
+        service = new Customer360Service(customerRepository, client);
+        ReflectionTestUtils.setField(service, "timeoutMs", BUDGET_MS);
+        ReflectionTestUtils.setField(service, "threads", 4);
+        ReflectionTestUtils.setField(service, "queueCapacity", 20);
+        ReflectionTestUtils.setField(service, "freshSeconds", 60L);
+        ReflectionTestUtils.setField(service, "maxStaleMinutes", 60L);
+        ReflectionTestUtils.setField(service, "maxSize", 100L);
+        service.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    void freshViewIsServedFromCacheWithoutACall() {
+        when(client.getAccountsByCustomer(CUSTOMER_ID)).thenReturn(List.of(account("FD1", "ACTIVE")));
+
+        assertThat(service.getCustomer360View(CUSTOMER_ID).getAccountDataStatus()).isEqualTo(AccountDataStatus.LIVE);
+        Customer360Response second = service.getCustomer360View(CUSTOMER_ID);
+
+        assertThat(second.getAccountDataStatus()).isEqualTo(AccountDataStatus.CACHED);
+        assertThat(second.getFdAccounts()).hasSize(1);
+        verify(client, times(1)).getAccountsByCustomer(anyLong());
+    }
+
+    @Test
+    void slowDownstreamAfterInvalidationReturnsStaleAccountsWithinBudget() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(client.getAccountsByCustomer(CUSTOMER_ID))
+                .thenReturn(List.of(account("FD1", "ACTIVE")))
+                .thenAnswer(invocation -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    return List.of(account("FD1", "MATURED"));
+                });
+        service.getCustomer360View(CUSTOMER_ID);
+        service.invalidate(CUSTOMER_ID);
+
+        long start = System.nanoTime();
+        Customer360Response stale = service.getCustomer360View(CUSTOMER_ID);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(stale.getAccountDataStatus()).isEqualTo(AccountDataStatus.STALE);
+        assertThat(stale.getFdAccounts()).extracting(Customer360Response.FdAccountSummary::getStatus)
+                .containsExactly("ACTIVE");
+        assertThat(elapsedMs).isBetween(BUDGET_MS - 50, BUDGET_MS + 500);
+
+        // The late result still lands in the cache
+        release.countDown();
+        Customer360Response refreshed = awaitStatus(AccountDataStatus.CACHED);
+        assertThat(refreshed.getFdAccounts()).extracting(Customer360Response.FdAccountSummary::getStatus)
+                .containsExactly("MATURED");
+    }
+
+    @Test
+    void slowDownstreamWithNothingCachedIsUnavailable() {
+        CountDownLatch release = new CountDownLatch(1);
+        when(client.getAccountsByCustomer(CUSTOMER_ID)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        Customer360Response view = service.getCustomer360View(CUSTOMER_ID);
+        release.countDown();
+
+        assertThat(view.getAccountDataStatus()).isEqualTo(AccountDataStatus.UNAVAILABLE);
+        assertThat(view.getCustomerInfo().getFullName()).isEqualTo("Test Customer");
+        assertThat(view.getAccountDataAsOf()).isNull();
+    }
+
+    @Test
+    void onlyAnInvalidationOfTheSameCustomerDuringTheCallKeepsTheResultFromBeingFresh() throws Exception {
+        ReflectionTestUtils.setField(service, "timeoutMs", 5000L);
+        CountDownLatch called = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(client.getAccountsByCustomer(CUSTOMER_ID))
+                .thenAnswer(invocation -> {
+                    called.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return List.of(account("FD1", "ACTIVE"));
+                })
+                .thenReturn(List.of(account("FD1", "MATURED")));
+
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            Future<Customer360Response> view = caller.submit(() -> service.getCustomer360View(CUSTOMER_ID));
+            assertThat(called.await(5, TimeUnit.SECONDS)).isTrue();
+            service.invalidate(CUSTOMER_ID + 1);
+            release.countDown();
+            assertThat(view.get(5, TimeUnit.SECONDS).getAccountDataStatus()).isEqualTo(AccountDataStatus.LIVE);
+        } finally {
+            caller.shutdownNow();
+        }
+        // Another customer's change does not outdate this view
+        assertThat(service.getCustomer360View(CUSTOMER_ID).getAccountDataStatus()).isEqualTo(AccountDataStatus.CACHED);
+
+        service.invalidate(CUSTOMER_ID);
+        Customer360Response refreshed = service.getCustomer360View(CUSTOMER_ID);
+        assertThat(refreshed.getAccountDataStatus()).isEqualTo(AccountDataStatus.LIVE);
+        assertThat(refreshed.getFdAccounts()).extracting(Customer360Response.FdAccountSummary::getStatus)
+                .containsExactly("MATURED");
+    }
+
+    @Test
+    void concurrentViewsOfTheSameCustomerShareOneCall() throws Exception {
+        ReflectionTestUtils.setField(service, "timeoutMs", 5000L);
+        CountDownLatch called = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(client.getAccountsByCustomer(CUSTOMER_ID)).thenAnswer(invocation -> {
+            called.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(account("FD1", "ACTIVE"));
+        });
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Customer360Response>> views = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                views.add(callers.submit(() -> service.getCustomer360View(CUSTOMER_ID)));
+            }
+            assertThat(called.await(5, TimeUnit.SECONDS)).isTrue();
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<Customer360Response> view : views) {
+                assertThat(view.get(5, TimeUnit.SECONDS).getFdAccounts()).hasSize(1);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        verify(client, times(1)).getAccountsByCustomer(anyLong());
+    }
+
+    private Customer360Response awaitStatus(AccountDataStatus status) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        Customer360Response view = service.getCustomer360View(CUSTOMER_ID);
+        while (view.getAccountDataStatus() != status && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            view = service.getCustomer360View(CUSTOMER_ID);
+        }
+        assertThat(view.getAccountDataStatus()).isEqualTo(status);
+        return view;
+    }
+
+    private static AccountSummaryData account(String accountNumber, String status) {
+        AccountSummaryData account = new AccountSummaryData();
+        account.setAccountNumber(accountNumber);
+        account.setStatus(status);
+        account.setPrincipalAmount(new BigDecimal("1000.00"));
+        account.setMaturityAmount(new BigDecimal("1070.00"));
+        return account;
+    }
+}
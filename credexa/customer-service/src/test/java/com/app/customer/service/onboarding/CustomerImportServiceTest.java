@@ -0,0 +1,152 @@
+package com.app.customer.service.onboarding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.app.customer.dto.CreateCustomerRequest;
+import com.app.customer.dto.CustomerImportResponse;
+import com.app.customer.entity.Customer;
+import com.app.customer.service.CustomerDuplicateProbe;
+import com.app.customer.service.CustomerDuplicateProbe.Candidate;
+import com.app.customer.service.CustomerDuplicateProbe.Identifier;
+import com.app.customer.service.CustomerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.Validation;
+
+/**
+ * Every imported row ends up either created or rejected with its reasons in the result file
+ */
+class CustomerImportServiceTest {
+
+    private static final String HEADER = "userId,username,fullName,mobileNumber,email,dateOfBirth,gender,"
+            + "classification,addressLine1,city,state,pincode,country";
+
+    @TempDir
+    Path resultDir;
+
+    private final List<String> inserted = new CopyOnWriteArrayList<>();
+    private CustomerImportService service;
+
+    @BeforeEach
+    void setUp() {
+        CustomerService customerService = mock(CustomerService.class);
+        when(customerService.newCustomer(any(CreateCustomerRequest.class), anyLong(), anyString()))
+                .thenAnswer(invocation -> {
+                    CreateCustomerRequest request = invocation.getArgument(0);
+                    return Customer.builder()
+                            .userId(invocation.getArgument(1))
+                            .username(invocation.getArgument(2))
+                            .email(request.getEmail())
+                            .mobileNumber(request.getMobileNumber())
+                            .build();
+                });
+
+        // taken@example.com is already registered
+        CustomerDuplicateProbe duplicateProbe = mock(CustomerDuplicateProbe.class);
+        when(duplicateProbe.probeAll(anyList())).thenAnswer(invocation -> {
+            List<Candidate> candidates = invocation.getArgument(0);
+            return candidates.stream()
+                    .map(c -> "taken@example.com".equals(c.getEmail()) ? Set.of(Identifier.EMAIL) : Set.<Identifier>of())
+                    .toList();
+        });
+
+        // dave is inserted concurrently by someone else between the probe and the insert
+        CustomerJdbcWriter jdbcWriter = mock(CustomerJdbcWriter.class);
+        when(jdbcWriter.insert(anyList())).thenAnswer(invocation -> {
+            List<Customer> customers = invocation.getArgument(0);
+            List<Integer> rejected = new ArrayList<>();
+            for (int i = 0; i < customers.size(); i++) {
+                if ("dave".equals(customers.get(i).getUsername())) {
+                    rejected.add(i);
+                } else {
+                    inserted.add(customers.get(i).getUsername());
+                }
+            }
+            return rejected;
+        });
+
+        service = new CustomerImportService(customerService, duplicateProbe, jdbcWriter,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper());
+        ReflectionTestUtils.setField(service, "batchSize", 3);
+        ReflectionTestUtils.setField(service, "threads", 2);
+        ReflectionTestUtils.setField(service, "maxInFlightBatches", 2);
+        ReflectionTestUtils.setField(service, "resultDir", resultDir.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    void rowsAreSplitIntoCreatedAndRejected() throws Exception {
+        service.start();
+        String csv = HEADER + "\n"
+                + row(1, "alice", "9000000001", "alice@example.com") + "\n"
+                + row(2, "bob", "12345", "bob@example.com") + "\n"
+                + row(3, "carol", "9000000003", "taken@example.com") + "\n"
+                + row(4, "dave", "9000000004", "dave@example.com") + "\n"
+                + "5,erin,Erin\n"
+                + row(6, "frank", "9000000006", "frank@example.com") + "\n";
+
+        CustomerImportResponse response = service.importCustomers(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ImportFormat.CSV);
+
+        assertThat(response.getTotalRows()).isEqualTo(6);
+        assertThat(response.getCreated()).isEqualTo(2);
+        assertThat(response.getRejected()).isEqualTo(4);
+        assertThat(response.getBatches()).isEqualTo(2);
+        assertThat(inserted).containsExactlyInAnyOrder("alice", "frank");
+
+        List<String> results = Files.readAllLines(service.resultFile(response.getImportId()), StandardCharsets.UTF_8);
+        assertThat(results.get(0)).isEqualTo("row,username,errors");
+        assertThat(results.subList(1, results.size())).containsExactlyInAnyOrder(
+                "2,bob,mobileNumber: Mobile number must be 10 digits",
+                "3,carol,Email already registered",
+                "4,dave,Identifiers already registered (created concurrently)",
+                "5,,Expected 13 fields but found 3");
+    }
+
+    @Test
+    void importWithoutRejectionsLeavesNoResultFile() throws Exception {
+        service.start();
+        String ndjson = "{\"userId\":1,\"username\":\"alice\",\"fullName\":\"Alice\",\"mobileNumber\":\"9000000001\","
+                + "\"email\":\"alice@example.com\",\"dateOfBirth\":\"1990-01-01\",\"gender\":\"FEMALE\","
+                + "\"classification\":\"REGULAR\",\"addressLine1\":\"1 Main Road\",\"city\":\"Pune\","
+                + "\"state\":\"MH\",\"pincode\":\"411001\",\"country\":\"India\"}\n";
+
+        CustomerImportResponse response = service.importCustomers(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), ImportFormat.NDJSON);
+
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getRejected()).isZero();
+        assertThat(response.getResultFile()).isNull();
+        assertThat(Files.exists(service.resultFile(response.getImportId()))).isFalse();
+    }
+
+    private static String row(long userId, String username, String mobileNumber, String email) {
+        return userId + "," + username + "," + Character.toUpperCase(username.charAt(0)) + username.substring(1)
+                + "," + mobileNumber + "," + email + ",1990-01-01,FEMALE,REGULAR,1 Main Road,Pune,MH,411001,India";
+    }
+}
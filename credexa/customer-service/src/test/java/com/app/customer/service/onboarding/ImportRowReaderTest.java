@@ -0,0 +1,100 @@
+package com.app.customer.service.onboarding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * CSV quoting rules, malformed rows and byte order marks of the import reader
+ */
+class ImportRowReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void quotedFieldsKeepSeparatorsDoubledQuotesAndLineBreaks() throws IOException {
+        List<ImportRowReader.RawRow> rows = readAll(ImportFormat.CSV,
+                "username,fullName,addressLine1\r\n"
+                        + "alice,\"Smith, Alice\",\"12 \"\"Rose\"\" Villa\r\nFlat 3\"\r\n"
+                        + "bob,Bob,\n");
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).rowNumber).isEqualTo(1);
+        assertThat(rows.get(0).error).isNull();
+        assertThat(rows.get(0).fields)
+                .containsEntry("username", "alice")
+                .containsEntry("fullName", "Smith, Alice")
+                .containsEntry("addressLine1", "12 \"Rose\" Villa\r\nFlat 3");
+        // Empty fields are read as missing
+        assertThat(rows.get(1).fields).containsEntry("fullName", "Bob").containsEntry("addressLine1", null);
+    }
+
+    @Test
+    void rowWithTheWrongNumberOfFieldsIsReportedAndReadingContinues() throws IOException {
+        List<ImportRowReader.RawRow> rows = readAll(ImportFormat.CSV,
+                "username,fullName\n"
+                        + "alice,Alice,extra\n"
+                        + "\n"
+                        + "bob\n"
+                        + "carol,Carol\n");
+
+        assertThat(rows).extracting(row -> row.rowNumber).containsExactly(1L, 2L, 3L);
+        assertThat(rows.get(0).error).isEqualTo("Expected 2 fields but found 3");
+        assertThat(rows.get(1).error).isEqualTo("Expected 2 fields but found 1");
+        assertThat(rows.get(2).error).isNull();
+        assertThat(rows.get(2).fields).containsEntry("username", "carol");
+    }
+
+    @Test
+    void leadingByteOrderMarkIsNotPartOfTheFirstFieldName() throws IOException {
+        List<ImportRowReader.RawRow> csv = readAll(ImportFormat.CSV, "\uFEFFusername,fullName\nalice,Alice\n");
+        List<ImportRowReader.RawRow> ndjson = readAll(ImportFormat.NDJSON, "\uFEFF{\"username\":\"alice\"}\n");
+
+        assertThat(csv.get(0).fields).containsEntry("username", "alice");
+        assertThat(ndjson.get(0).error).isNull();
+        assertThat(ndjson.get(0).fields).containsEntry("username", "alice");
+    }
+
+    @Test
+    void ndjsonRowsThatAreNotObjectsAreReported() throws IOException {
+        List<ImportRowReader.RawRow> rows = readAll(ImportFormat.NDJSON,
+                "{\"username\":\"alice\",\"userId\":7,\"addressLine2\":null}\n"
+                        + "[1,2]\n"
+                        + "{\"username\":\n");
+
+        assertThat(rows.get(0).fields)
+                .containsEntry("username", "alice")
+                .containsEntry("userId", "7")
+                .containsEntry("addressLine2", null);
+        assertThat(rows.get(1).error).isEqualTo("Expected a JSON object");
+        assertThat(rows.get(2).error).startsWith("Malformed JSON");
+    }
+
+    @Test
+    void emptyCsvIsRejected() {
+        assertThatThrownBy(() -> readAll(ImportFormat.CSV, ""))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Import file is empty");
+    }
+
+    private List<ImportRowReader.RawRow> readAll(ImportFormat format, String content) throws IOException {
+        List<ImportRowReader.RawRow> rows = new ArrayList<>();
+        try (ImportRowReader reader = ImportRowReader.open(format,
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), objectMapper)) {
+            ImportRowReader.RawRow row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
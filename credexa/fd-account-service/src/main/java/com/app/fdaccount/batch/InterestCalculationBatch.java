@@ -8,14 +8,19 @@ import java.util.UUID;
 
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import com.app.fdaccount.entity.AccountBalance;
 import com.app.fdaccount.entity.AccountTransaction;
 import com.app.fdaccount.entity.FdAccount;
+import com.app.fdaccount.enums.AccountStatus;
 import com.app.fdaccount.enums.TransactionType;
+import com.app.fdaccount.repository.AccountBalanceRepository;
+import com.app.fdaccount.repository.AccountTransactionRepository;
 import com.app.fdaccount.repository.FdAccountRepository;
+import com.app.fdaccount.service.concurrency.AccountConcurrencyGuard;
 import com.app.fdaccount.service.integration.CalculatorServiceClient;
+import com.app.fdaccount.service.portfolio.PortfolioAggregateService;
+import com.app.fdaccount.service.portfolio.PortfolioKey;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -31,123 +36,184 @@ public class InterestCalculationBatch {
 
     private final FdAccountRepository accountRepository;
     private final CalculatorServiceClient calculatorServiceClient;
+    private final PortfolioAggregateService portfolioAggregateService;
+    private final AccountConcurrencyGuard concurrencyGuard;
+    private final AccountBalanceRepository balanceRepository;
+    private final AccountTransactionRepository transactionRepository;
+
+    /** Recalculations allowed when postings keep changing the principal or rate during accrual */
+    private static final int MAX_TERM_CHANGES = 3;
+
+    private enum Accrual { POSTED, SKIPPED, TERMS_CHANGED }
 
     /**
      * Calculate and accrue interest for all active FD accounts
      * Scheduled to run at 1:00 AM daily
+     *
+     * Each account is accrued in its own transaction under the account's concurrency
+     * guard, re-reading balances with the posting lock, so a posting committed during
+     * the run is neither overwritten nor able to fail the whole run. The calculator call
+     * is made before the guard is taken, so a slow calculator does not hold up postings;
+     * if the principal or rate changes in between, the day's interest is calculated again.
      */
     @Scheduled(cron = "${batch.interest-calculation.cron:0 0 1 * * ?}")
-    @Transactional
     public void calculateDailyInterest() {
         log.info("🕐 Starting daily interest calculation batch...");
 
         LocalDate today = LocalDate.now();
         long startTime = System.currentTimeMillis();
+        String batchRunId = generateBatchRunId(today);
+        log.info("Interest calculation batch run ID: {}", batchRunId);
 
         // Get all active accounts
-        List<FdAccount> activeAccounts = accountRepository.findAllActiveAccounts();
-        log.info("Found {} active accounts for interest calculation", activeAccounts.size());
+        List<String> accountNumbers = accountRepository.findActiveAccountNumbers();
+        log.info("Found {} active accounts for interest calculation", accountNumbers.size());
 
         int successCount = 0;
         int skippedCount = 0;
         int errorCount = 0;
 
-        for (FdAccount account : activeAccounts) {
+        for (String accountNumber : accountNumbers) {
             try {
-                // Skip if today is after maturity date
-                if (today.isAfter(account.getMaturityDate())) {
-                    log.debug("Skipping account {} - already matured", account.getAccountNumber());
-                    skippedCount++;
-                    continue;
-                }
-
-                // Skip if interest was already calculated today
-                boolean alreadyCalculated = account.getTransactions().stream()
-                        .anyMatch(txn -> txn.getTransactionType() == TransactionType.INTEREST_ACCRUAL &&
-                                txn.getTransactionDate().equals(today));
-
-                if (alreadyCalculated) {
-                    log.debug("Interest already calculated today for account: {}", account.getAccountNumber());
-                    skippedCount++;
-                    continue;
-                }
-
-                // Calculate daily interest
-                BigDecimal interestForDay = calculateDailyInterest(account, today);
-
-                if (interestForDay.compareTo(BigDecimal.ZERO) > 0) {
-                    // Get current balances
-                    BigDecimal currentPrincipal = getCurrentBalance(account, "PRINCIPAL");
-                    BigDecimal currentInterest = getCurrentBalance(account, "INTEREST_ACCRUED");
-
-                    // Calculate new balances
-                    BigDecimal newInterest = currentInterest.add(interestForDay);
-                    BigDecimal newTotal = currentPrincipal.add(newInterest);
-
-                    // Create interest accrual transaction
-                    AccountTransaction transaction = AccountTransaction.builder()
-                            .transactionReference(generateTransactionReference())
-                            .transactionType(TransactionType.INTEREST_ACCRUAL)
-                            .amount(interestForDay)
-                            .transactionDate(today)
-                            .valueDate(today)
-                            .description("Daily interest accrual")
-                            .principalBalanceAfter(currentPrincipal)
-                            .interestBalanceAfter(newInterest)
-                            .totalBalanceAfter(newTotal)
-                            .performedBy("SYSTEM-BATCH")
-                            .isReversed(false)
-                            .build();
-
-                    account.addTransaction(transaction);
-
-                    // Update balances
-                    account.addBalance(AccountBalance.builder()
-                            .balanceType("INTEREST_ACCRUED")
-                            .balance(newInterest)
-                            .asOfDate(today)
-                            .description("Daily interest accrual")
-                            .build());
-
-                    account.addBalance(AccountBalance.builder()
-                            .balanceType("AVAILABLE")
-                            .balance(newTotal)
-                            .asOfDate(today)
-                            .description("Total balance after interest accrual")
-                            .build());
-
-                    // Save
-                    accountRepository.save(account);
-
-                    log.debug("✅ Accrued interest {} for account: {}", interestForDay, account.getAccountNumber());
+                if (accrueInterest(accountNumber, today, batchRunId)) {
                     successCount++;
                 } else {
                     skippedCount++;
                 }
-
             } catch (Exception e) {
-                log.error("❌ Error calculating interest for account: {}", account.getAccountNumber(), e);
+                log.error("❌ Error calculating interest for account: {}", accountNumber, e);
                 errorCount++;
             }
         }
 
         long duration = System.currentTimeMillis() - startTime;
 
-        log.info("✅ Interest calculation batch completed in {}ms - Success: {}, Skipped: {}, Errors: {}",
-                duration, successCount, skippedCount, errorCount);
+        log.info("✅ Interest calculation batch {} completed in {}ms - Success: {}, Skipped: {}, Errors: {}",
+                batchRunId, duration, successCount, skippedCount, errorCount);
     }
 
     /**
-     * Calculate daily interest for an account
+     * Accrue one day of interest for an account
+     * Returns false when the account was skipped
      */
-    private BigDecimal calculateDailyInterest(FdAccount account, LocalDate date) {
-        // Get effective interest rate
-        BigDecimal interestRate = account.getCustomInterestRate() != null ?
-                account.getCustomInterestRate() : account.getInterestRate();
+    private boolean accrueInterest(String accountNumber, LocalDate today, String batchRunId) {
+        for (int attempt = 1; attempt <= MAX_TERM_CHANGES; attempt++) {
+            // Unlocked read: the interest for the day is calculated outside the guard
+            FdAccount candidate = accountRepository.findByAccountNumber(accountNumber).orElse(null);
+            if (candidate == null || !isDue(candidate, today)) {
+                return false;
+            }
+            BigDecimal principal = getCurrentBalance(candidate, "PRINCIPAL");
+            BigDecimal rate = effectiveRate(candidate);
+            BigDecimal interestForDay = calculateDailyInterest(candidate, principal, rate, today);
+            if (interestForDay.compareTo(BigDecimal.ZERO) <= 0) {
+                return false;
+            }
+
+            Accrual outcome = concurrencyGuard.executeForAccount(accountNumber,
+                    () -> postAccrual(accountNumber, today, batchRunId, principal, rate, interestForDay));
+            if (outcome != Accrual.TERMS_CHANGED) {
+                return outcome == Accrual.POSTED;
+            }
+            log.debug("Principal or rate of account {} changed during accrual, recalculating", accountNumber);
+        }
+        throw new IllegalStateException("Principal or rate kept changing during interest accrual: " + accountNumber);
+    }
+
+    /**
+     * Whether the account still takes today's accrual: active, not past maturity, not yet accrued
+     */
+    private boolean isDue(FdAccount account, LocalDate today) {
+        if (account.getStatus() != AccountStatus.ACTIVE) {
+            log.debug("Skipping account {} - no longer active", account.getAccountNumber());
+            return false;
+        }
+
+        // Skip if today is after maturity date
+        if (today.isAfter(account.getMaturityDate())) {
+            log.debug("Skipping account {} - already matured", account.getAccountNumber());
+            return false;
+        }
 
-        // Get principal balance
-        BigDecimal principal = getCurrentBalance(account, "PRINCIPAL");
+        // Skip if interest was already calculated today
+        boolean alreadyCalculated = transactionRepository.existsByAccountIdAndTransactionTypeAndTransactionDate(
+                account.getId(), TransactionType.INTEREST_ACCRUAL, today);
 
+        if (alreadyCalculated) {
+            log.debug("Interest already calculated today for account: {}", account.getAccountNumber());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Post the day's accrual - runs under the account's concurrency guard
+     */
+    private Accrual postAccrual(String accountNumber, LocalDate today, String batchRunId,
+                                BigDecimal principalUsed, BigDecimal rateUsed, BigDecimal interestForDay) {
+        // Locked re-read (version is bumped on commit), same as a manual posting
+        FdAccount account = accountRepository.findByAccountNumberForPosting(accountNumber).orElse(null);
+        if (account == null || !isDue(account, today)) {
+            return Accrual.SKIPPED;
+        }
+
+        // Get current balances
+        BigDecimal currentPrincipal = getCurrentBalance(account, "PRINCIPAL");
+        BigDecimal currentInterest = getCurrentBalance(account, "INTEREST_ACCRUED");
+        if (currentPrincipal.compareTo(principalUsed) != 0 || effectiveRate(account).compareTo(rateUsed) != 0) {
+            return Accrual.TERMS_CHANGED;
+        }
+
+        // Calculate new balances
+        BigDecimal newInterest = currentInterest.add(interestForDay);
+        BigDecimal newTotal = currentPrincipal.add(newInterest);
+
+        // Create interest accrual transaction
+        AccountTransaction transaction = AccountTransaction.builder()
+                .transactionReference(generateTransactionReference())
+                .transactionType(TransactionType.INTEREST_ACCRUAL)
+                .amount(interestForDay)
+                .transactionDate(today)
+                .valueDate(today)
+                .description("Daily interest accrual")
+                .principalBalanceAfter(currentPrincipal)
+                .interestBalanceAfter(newInterest)
+                .totalBalanceAfter(newTotal)
+                .performedBy("SYSTEM-BATCH")
+                .batchRunId(batchRunId)
+                .isReversed(false)
+                .build();
+
+        account.addTransaction(transaction);
+
+        // Update balances
+        account.addBalance(AccountBalance.builder()
+                .balanceType("INTEREST_ACCRUED")
+                .balance(newInterest)
+                .asOfDate(today)
+                .description("Daily interest accrual")
+                .build());
+
+        account.addBalance(AccountBalance.builder()
+                .balanceType("AVAILABLE")
+                .balance(newTotal)
+                .asOfDate(today)
+                .description("Total balance after interest accrual")
+                .build());
+
+        // Save
+        accountRepository.save(account);
+        portfolioAggregateService.balanceChanged(PortfolioKey.of(account), BigDecimal.ZERO, interestForDay);
+
+        log.debug("✅ Accrued interest {} for account: {}", interestForDay, accountNumber);
+        return Accrual.POSTED;
+    }
+
+    /**
+     * Calculate daily interest for an account
+     */
+    private BigDecimal calculateDailyInterest(FdAccount account, BigDecimal principal, BigDecimal interestRate,
+                                              LocalDate date) {
         // Calculate days from effective date
         long daysFromStart = ChronoUnit.DAYS.between(account.getEffectiveDate(), date);
 
@@ -165,16 +231,29 @@ public class InterestCalculationBatch {
     }
 
     /**
-     * Get current balance for a balance type
+     * Get effective interest rate
+     */
+    private BigDecimal effectiveRate(FdAccount account) {
+        return account.getCustomInterestRate() != null ?
+                account.getCustomInterestRate() : account.getInterestRate();
+    }
+
+    /**
+     * Get current balance for a balance type (latest as-of date, latest row within a date)
      */
     private BigDecimal getCurrentBalance(FdAccount account, String balanceType) {
-        return account.getBalances().stream()
-                .filter(b -> balanceType.equals(b.getBalanceType()))
-                .max((b1, b2) -> b1.getAsOfDate().compareTo(b2.getAsOfDate()))
-                .map(AccountBalance::getBalance)
+        return balanceRepository.findCurrentBalance(account.getId(), balanceType)
                 .orElse(balanceType.equals("PRINCIPAL") ? account.getPrincipalAmount() : BigDecimal.ZERO);
     }
 
+    /**
+     * Generate run ID stamped on every posting of this run (used for bulk reversal)
+     */
+    private String generateBatchRunId(LocalDate date) {
+        return "INT-" + date.toString().replace("-", "") + "-" +
+                UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+
     /**
      * Generate unique transaction reference
      */
@@ -3,19 +3,26 @@ package com.app.fdaccount.batch;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
 
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import com.app.fdaccount.entity.AccountBalance;
+import com.app.fdaccount.entity.AccountRole;
 import com.app.fdaccount.entity.AccountTransaction;
 import com.app.fdaccount.entity.FdAccount;
 import com.app.fdaccount.enums.AccountStatus;
 import com.app.fdaccount.enums.MaturityInstruction;
 import com.app.fdaccount.enums.TransactionType;
+import com.app.fdaccount.repository.AccountBalanceRepository;
 import com.app.fdaccount.repository.FdAccountRepository;
+import com.app.fdaccount.service.concurrency.AccountConcurrencyGuard;
+import com.app.fdaccount.service.integration.CustomerServiceClient;
+import com.app.fdaccount.service.portfolio.PortfolioAggregateService;
+import com.app.fdaccount.service.portfolio.PortfolioKey;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,13 +37,20 @@ import lombok.extern.slf4j.Slf4j;
 public class MaturityProcessingBatch {
 
     private final FdAccountRepository accountRepository;
+    private final PortfolioAggregateService portfolioAggregateService;
+    private final CustomerServiceClient customerServiceClient;
+    private final AccountConcurrencyGuard concurrencyGuard;
+    private final AccountBalanceRepository balanceRepository;
 
     /**
      * Process all accounts that matured today
      * Scheduled to run at 1:30 AM daily
+     *
+     * Each account matures in its own transaction under the account's concurrency guard,
+     * re-read with the posting lock, so one failing account does not roll back the others
+     * and a posting that lands during the run is not overwritten.
      */
     @Scheduled(cron = "${batch.maturity-processing.cron:0 30 1 * * ?}")
-    @Transactional
     public void processMaturedAccounts() {
         log.info("🕐 Starting maturity processing batch...");
 
@@ -44,28 +58,56 @@ public class MaturityProcessingBatch {
         long startTime = System.currentTimeMillis();
 
         // Get accounts maturing today
-        List<FdAccount> maturingAccounts = accountRepository.findByMaturityDateAndStatus(
+        List<String> accountNumbers = accountRepository.findAccountNumbersByMaturityDateAndStatus(
                 today, AccountStatus.ACTIVE);
 
-        log.info("Found {} accounts maturing today", maturingAccounts.size());
+        log.info("Found {} accounts maturing today", accountNumbers.size());
 
         int successCount = 0;
+        int skippedCount = 0;
         int errorCount = 0;
+        Set<Long> changedCustomers = new TreeSet<>();
 
-        for (FdAccount account : maturingAccounts) {
+        for (String accountNumber : accountNumbers) {
             try {
-                processMaturedAccount(account, today);
-                successCount++;
+                List<Long> customerIds = concurrencyGuard.executeForAccount(accountNumber,
+                        () -> matureAccount(accountNumber, today));
+                if (customerIds != null) {
+                    changedCustomers.addAll(customerIds);
+                    successCount++;
+                } else {
+                    skippedCount++;
+                }
             } catch (Exception e) {
-                log.error("❌ Error processing maturity for account: {}", account.getAccountNumber(), e);
+                log.error("❌ Error processing maturity for account: {}", accountNumber, e);
                 errorCount++;
             }
         }
 
+        // Matured, closed and renewed accounts show up in the customers' 360 views (all committed by now)
+        customerServiceClient.notifyAccountsChanged(changedCustomers);
+
         long duration = System.currentTimeMillis() - startTime;
 
-        log.info("✅ Maturity processing batch completed in {}ms - Success: {}, Errors: {}",
-                duration, successCount, errorCount);
+        log.info("✅ Maturity processing batch completed in {}ms - Success: {}, Skipped: {}, Errors: {}",
+                duration, successCount, skippedCount, errorCount);
+    }
+
+    /**
+     * Mature one account - runs under the account's concurrency guard
+     * Returns the account's customer IDs, or null when the account was skipped
+     */
+    private List<Long> matureAccount(String accountNumber, LocalDate today) {
+        // Locked re-read (version is bumped on commit), same as a manual posting
+        FdAccount account = accountRepository.findByAccountNumberForPosting(accountNumber).orElse(null);
+        if (account == null || account.getStatus() != AccountStatus.ACTIVE
+                || !today.equals(account.getMaturityDate())) {
+            log.debug("Skipping account {} - no longer maturing today", accountNumber);
+            return null;
+        }
+
+        processMaturedAccount(account, today);
+        return account.getRoles().stream().map(AccountRole::getCustomerId).toList();
     }
 
     /**
@@ -83,22 +125,33 @@ public class MaturityProcessingBatch {
         MaturityInstruction instruction = account.getMaturityInstruction() != null ?
                 account.getMaturityInstruction() : MaturityInstruction.HOLD;
 
+        PortfolioKey portfolioKeyBefore = PortfolioKey.of(account);
+        BigDecimal principalAfter = currentPrincipal;
+        BigDecimal interestAfter = currentInterest;
+
         switch (instruction) {
             case CLOSE_AND_PAYOUT:
                 processClosureAndPayout(account, totalAmount, maturityDate);
+                principalAfter = BigDecimal.ZERO;
+                interestAfter = BigDecimal.ZERO;
                 break;
 
             case RENEW_PRINCIPAL_ONLY:
                 processRenewalPrincipalOnly(account, currentPrincipal, currentInterest, maturityDate);
+                interestAfter = BigDecimal.ZERO;
                 break;
 
             case RENEW_WITH_INTEREST:
                 processRenewalWithInterest(account, totalAmount, maturityDate);
+                principalAfter = totalAmount;
+                interestAfter = BigDecimal.ZERO;
                 break;
 
             case TRANSFER_TO_SAVINGS:
             case TRANSFER_TO_CURRENT:
                 processTransfer(account, totalAmount, maturityDate, instruction);
+                principalAfter = BigDecimal.ZERO;
+                interestAfter = BigDecimal.ZERO;
                 break;
 
             case HOLD:
@@ -107,6 +160,10 @@ public class MaturityProcessingBatch {
                 break;
         }
 
+        // Move the account to its new status / maturity month in the portfolio totals
+        portfolioAggregateService.accountChanged(portfolioKeyBefore, currentPrincipal, currentInterest,
+                PortfolioKey.of(account), principalAfter, interestAfter);
+
         log.info("✅ Processed maturity for account: {} with instruction: {}",
                 account.getAccountNumber(), instruction);
     }
@@ -292,13 +349,10 @@ public class MaturityProcessingBatch {
     }
 
     /**
-     * Get current balance
+     * Get current balance (latest as-of date, latest row within a date)
      */
     private BigDecimal getCurrentBalance(FdAccount account, String balanceType) {
-        return account.getBalances().stream()
-                .filter(b -> balanceType.equals(b.getBalanceType()))
-                .max((b1, b2) -> b1.getAsOfDate().compareTo(b2.getAsOfDate()))
-                .map(AccountBalance::getBalance)
+        return balanceRepository.findCurrentBalance(account.getId(), balanceType)
                 .orElse(balanceType.equals("PRINCIPAL") ? account.getPrincipalAmount() : BigDecimal.ZERO);
     }
 
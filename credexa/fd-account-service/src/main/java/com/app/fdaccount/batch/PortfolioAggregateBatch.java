@@ -0,0 +1,55 @@
+package com.app.fdaccount.batch;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.app.fdaccount.service.portfolio.PortfolioAggregateService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Batch job for reconciling portfolio aggregates
+ * Runs at 2:30 AM daily (after interest, maturity and notice batches); also builds
+ * the aggregates in the background on first startup when none exist yet
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PortfolioAggregateBatch {
+
+    private final PortfolioAggregateService portfolioAggregateService;
+
+    @Value("${batch.portfolio-aggregate.build-on-startup:true}")
+    private boolean buildOnStartup;
+
+    /**
+     * Build the aggregates once if the table is still empty (first deployment)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIfEmpty() {
+        if (!buildOnStartup || !portfolioAggregateService.isEmpty()) {
+            return;
+        }
+        Thread builder = new Thread(this::rebuildAggregates, "portfolio-aggregate-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    /**
+     * Recompute the aggregates from the accounts and correct any drift
+     * Scheduled to run at 2:30 AM daily
+     */
+    @Scheduled(cron = "${batch.portfolio-aggregate.cron:0 30 2 * * ?}")
+    public void rebuildAggregates() {
+        log.info("🕐 Starting portfolio aggregate rebuild batch...");
+        try {
+            portfolioAggregateService.rebuild();
+        } catch (Exception e) {
+            log.error("❌ Portfolio aggregate rebuild failed", e);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -12,15 +13,19 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.app.fdaccount.dto.AccountResponse;
+import com.app.fdaccount.dto.AccountSearchSlice;
 import com.app.fdaccount.dto.AccountSummaryResponse;
 import com.app.fdaccount.dto.CreateAccountRequest;
 import com.app.fdaccount.dto.CustomizeAccountRequest;
 import com.app.fdaccount.dto.SearchAccountRequest;
 import com.app.fdaccount.enums.AccountIdType;
+import com.app.fdaccount.enums.PortfolioFormat;
 import com.app.fdaccount.service.AccountCreationService;
 import com.app.fdaccount.service.AccountInquiryService;
+import com.app.fdaccount.service.PortfolioExportService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -41,6 +46,7 @@ public class AccountController {
 
     private final AccountCreationService accountCreationService;
     private final AccountInquiryService accountInquiryService;
+    private final PortfolioExportService portfolioExportService;
 
     /**
      * Create a new FD account with values inherited from product
@@ -128,6 +134,21 @@ public class AccountController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Search accounts without a total count
+     */
+    @PostMapping("/search/slice")
+    @Operation(summary = "Search Accounts (Slice)",
+               description = "Search FD accounts without counting all matches; returns hasNext and, " +
+                             "when includeTotalEstimate is set, a capped total")
+    public ResponseEntity<AccountSearchSlice> searchAccountsSlice(
+            @Valid @RequestBody SearchAccountRequest request) {
+
+        log.info("REST: Searching accounts (slice) with criteria");
+        AccountSearchSlice response = accountInquiryService.searchAccountsSlice(request);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get accounts maturing in next N days
      */
@@ -148,7 +169,8 @@ public class AccountController {
      */
     @GetMapping("/product/{productCode}")
     @Operation(summary = "Get Accounts by Product",
-               description = "Get all accounts for a specific FD product")
+               description = "Get all accounts for a specific FD product. " +
+                             "For large portfolios prefer the stream endpoint")
     public ResponseEntity<List<AccountSummaryResponse>> getAccountsByProduct(
             @PathVariable String productCode) {
         
@@ -162,7 +184,8 @@ public class AccountController {
      */
     @GetMapping("/branch/{branchCode}")
     @Operation(summary = "Get Accounts by Branch",
-               description = "Get all accounts for a specific branch")
+               description = "Get all accounts for a specific branch. " +
+                             "For large portfolios prefer the stream endpoint")
     public ResponseEntity<List<AccountSummaryResponse>> getAccountsByBranch(
             @PathVariable String branchCode) {
         
@@ -171,6 +194,40 @@ public class AccountController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Stream all accounts of a product as a JSON array or NDJSON
+     */
+    @GetMapping("/product/{productCode}/stream")
+    @Operation(summary = "Stream Accounts by Product",
+               description = "Stream all accounts for a product in constant memory, ordered by account ID")
+    public ResponseEntity<StreamingResponseBody> streamAccountsByProduct(
+            @PathVariable String productCode,
+            @Parameter(description = "Output format: JSON (array) or NDJSON")
+            @RequestParam(defaultValue = "JSON") PortfolioFormat format) {
+
+        log.info("REST: Streaming accounts for product: {} as {}", productCode, format);
+        StreamingResponseBody body = outputStream -> portfolioExportService.exportProduct(
+                productCode, format, outputStream);
+        return ResponseEntity.ok().contentType(portfolioMediaType(format)).body(body);
+    }
+
+    /**
+     * Stream all accounts of a branch as a JSON array or NDJSON
+     */
+    @GetMapping("/branch/{branchCode}/stream")
+    @Operation(summary = "Stream Accounts by Branch",
+               description = "Stream all accounts for a branch in constant memory, ordered by account ID")
+    public ResponseEntity<StreamingResponseBody> streamAccountsByBranch(
+            @PathVariable String branchCode,
+            @Parameter(description = "Output format: JSON (array) or NDJSON")
+            @RequestParam(defaultValue = "JSON") PortfolioFormat format) {
+
+        log.info("REST: Streaming accounts for branch: {} as {}", branchCode, format);
+        StreamingResponseBody body = outputStream -> portfolioExportService.exportBranch(
+                branchCode, format, outputStream);
+        return ResponseEntity.ok().contentType(portfolioMediaType(format)).body(body);
+    }
+
     /**
      * Check if account number exists
      */
@@ -182,4 +239,10 @@ public class AccountController {
         boolean exists = accountInquiryService.accountExists(accountNumber);
         return ResponseEntity.ok(exists);
     }
+
+    private static MediaType portfolioMediaType(PortfolioFormat format) {
+        return format == PortfolioFormat.NDJSON
+                ? MediaType.parseMediaType("application/x-ndjson")
+                : MediaType.APPLICATION_JSON;
+    }
 }
@@ -0,0 +1,67 @@
+package com.app.fdaccount.controller;
+
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.app.fdaccount.dto.PortfolioAggregateResponse;
+import com.app.fdaccount.dto.PortfolioRebuildResponse;
+import com.app.fdaccount.enums.AccountStatus;
+import com.app.fdaccount.enums.PortfolioDimension;
+import com.app.fdaccount.service.portfolio.PortfolioAggregateService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * REST Controller for portfolio dashboards
+ */
+@Slf4j
+@RestController
+@RequestMapping("/accounts/portfolio")
+@RequiredArgsConstructor
+@Tag(name = "Portfolio Dashboard", description = "APIs for precomputed FD portfolio totals")
+public class PortfolioController {
+
+    private final PortfolioAggregateService portfolioAggregateService;
+
+    /**
+     * Get portfolio totals grouped by the requested dimensions
+     */
+    @GetMapping("/aggregates")
+    @Operation(summary = "Get Portfolio Aggregates",
+               description = "Account counts, principal and accrued interest grouped by branch, product, " +
+                             "status and/or maturity month. Read from precomputed totals, not from accounts.")
+    public ResponseEntity<List<PortfolioAggregateResponse>> getAggregates(
+            @Parameter(description = "Dimensions to group by (none gives the grand total)")
+            @RequestParam(defaultValue = "BRANCH,PRODUCT") Set<PortfolioDimension> groupBy,
+            @RequestParam(required = false) String branchCode,
+            @RequestParam(required = false) String productCode,
+            @RequestParam(required = false) AccountStatus status) {
+
+        log.info("REST: Fetching portfolio aggregates grouped by {}", groupBy);
+        List<PortfolioAggregateResponse> response = portfolioAggregateService.getAggregates(
+                groupBy, branchCode, productCode, status);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Recompute the portfolio totals from the accounts
+     */
+    @PostMapping("/aggregates/rebuild")
+    @Operation(summary = "Rebuild Portfolio Aggregates",
+               description = "Recompute totals from the accounts and correct drift (also runs nightly)")
+    public ResponseEntity<PortfolioRebuildResponse> rebuildAggregates() {
+        log.info("REST: Rebuilding portfolio aggregates");
+        return ResponseEntity.ok(portfolioAggregateService.rebuild());
+    }
+}
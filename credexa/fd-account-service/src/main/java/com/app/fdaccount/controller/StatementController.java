@@ -0,0 +1,70 @@
+package com.app.fdaccount.controller;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.app.fdaccount.enums.StatementFormat;
+import com.app.fdaccount.service.statement.StatementService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * REST Controller for account statements
+ */
+@Slf4j
+@RestController
+@RequestMapping("/statements")
+@RequiredArgsConstructor
+@Tag(name = "Account Statements", description = "APIs for generating FD account period statements")
+public class StatementController {
+
+    private final StatementService statementService;
+
+    /**
+     * Generate a period statement
+     */
+    @GetMapping("/{accountNumber}")
+    @Operation(summary = "Generate Statement",
+               description = "Period statement with opening/closing balances and the period ledger as CSV or PDF. " +
+                             "Statements for periods that ended before today are cached.")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> getStatement(
+            @Parameter(description = "Account number")
+            @PathVariable String accountNumber,
+            @Parameter(description = "Period start (inclusive)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @Parameter(description = "Period end (inclusive)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @Parameter(description = "Statement format")
+            @RequestParam(defaultValue = "PDF") StatementFormat format) {
+
+        log.info("REST: Generating {} statement for account: {} ({} to {})", format, accountNumber, fromDate, toDate);
+
+        return statementService.generateStatement(accountNumber, fromDate, toDate, format)
+                .thenApply(file -> {
+                    StreamingResponseBody body = outputStream -> statementService.writeTo(file, outputStream);
+                    return ResponseEntity.ok()
+                            .contentType(format == StatementFormat.PDF
+                                    ? MediaType.APPLICATION_PDF
+                                    : new MediaType("text", "csv"))
+                            .contentLength(file.getSize())
+                            .header(HttpHeaders.CONTENT_DISPOSITION,
+                                    "attachment; filename=\"" + file.getFileName() + "\"")
+                            .body(body);
+                });
+    }
+}
@@ -5,7 +5,9 @@ import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -14,13 +16,20 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.app.fdaccount.dto.BatchTransactionRequest;
+import com.app.fdaccount.dto.BatchTransactionResponse;
 import com.app.fdaccount.dto.PrematureWithdrawalInquiryRequest;
 import com.app.fdaccount.dto.PrematureWithdrawalInquiryResponse;
+import com.app.fdaccount.dto.TransactionKeysetPage;
 import com.app.fdaccount.dto.TransactionRequest;
 import com.app.fdaccount.dto.TransactionResponse;
+import com.app.fdaccount.enums.ExportFormat;
 import com.app.fdaccount.service.PrematureWithdrawalService;
+import com.app.fdaccount.service.TransactionExportService;
 import com.app.fdaccount.service.TransactionService;
+import com.app.fdaccount.service.posting.PostingQueue;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -41,6 +50,8 @@ public class TransactionController {
 
     private final TransactionService transactionService;
     private final PrematureWithdrawalService prematureWithdrawalService;
+    private final PostingQueue postingQueue;
+    private final TransactionExportService transactionExportService;
 
     /**
      * Create a new transaction
@@ -56,6 +67,21 @@ public class TransactionController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Post many transactions in one call
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Create Transactions (Batch)",
+               description = "Post many transactions in one call. Postings are group-committed, applied in " +
+                             "order per account, and each item gets its own result")
+    public ResponseEntity<BatchTransactionResponse> createTransactions(
+            @Valid @RequestBody BatchTransactionRequest request) {
+
+        log.info("REST: Posting batch of {} transactions", request.getTransactions().size());
+        BatchTransactionResponse response = postingQueue.postBatch(request);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Reverse a transaction
      */
@@ -75,6 +101,24 @@ public class TransactionController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Reverse all postings of a batch run
+     */
+    @PostMapping("/batch-run/{batchRunId}/reverse")
+    @Operation(summary = "Reverse Batch Run",
+               description = "Reverse every open posting created by a batch run, e.g. an erroneous interest run")
+    public ResponseEntity<BatchTransactionResponse> reverseBatchRun(
+            @PathVariable String batchRunId,
+            @Parameter(description = "Reason for reversal")
+            @RequestParam String reason,
+            @Parameter(description = "User performing the reversal")
+            @RequestParam String performedBy) {
+
+        log.info("REST: Reversing batch run: {}", batchRunId);
+        BatchTransactionResponse response = transactionService.reverseBatchRun(batchRunId, reason, performedBy);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get transaction by reference
      */
@@ -94,7 +138,8 @@ public class TransactionController {
      */
     @GetMapping("/account/{accountNumber}")
     @Operation(summary = "Get Account Transactions",
-               description = "Get all transactions for a specific account")
+               description = "Get all transactions for a specific account. " +
+                             "For long histories prefer the keyset or export endpoints")
     public ResponseEntity<List<TransactionResponse>> getAccountTransactions(
             @PathVariable String accountNumber) {
         
@@ -123,6 +168,59 @@ public class TransactionController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get transactions with keyset (seek) pagination
+     */
+    @GetMapping("/account/{accountNumber}/keyset")
+    @Operation(summary = "Get Account Transactions (Keyset)",
+               description = "Get transactions newest first using keyset pagination. " +
+                             "Pass the returned nextCursor to fetch the following page")
+    public ResponseEntity<TransactionKeysetPage> getAccountTransactionsKeyset(
+            @PathVariable String accountNumber,
+            @Parameter(description = "Cursor from the previous page (omit for the first page)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 500)")
+            @RequestParam(defaultValue = "20") int size) {
+
+        log.info("REST: Fetching keyset transactions for account: {} (size: {})", accountNumber, size);
+        TransactionKeysetPage response = transactionService.getAccountTransactionsKeyset(
+                accountNumber, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Stream all transactions of an account as NDJSON or CSV
+     */
+    @GetMapping("/account/{accountNumber}/export")
+    @Operation(summary = "Export Account Transactions",
+               description = "Stream transactions (oldest first) as NDJSON or CSV in constant memory")
+    public ResponseEntity<StreamingResponseBody> exportAccountTransactions(
+            @PathVariable String accountNumber,
+            @Parameter(description = "Output format: NDJSON or CSV")
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @Parameter(description = "From date (inclusive)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @Parameter(description = "To date (inclusive)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+
+        log.info("REST: Exporting transactions for account: {} as {}", accountNumber, format);
+        Long accountId = transactionExportService.resolveAccountId(accountNumber);
+
+        StreamingResponseBody body = outputStream -> transactionExportService.exportTransactions(
+                accountId, fromDate, toDate, format, outputStream);
+
+        String extension = format == ExportFormat.CSV ? "csv" : "ndjson";
+        MediaType mediaType = format == ExportFormat.CSV
+                ? new MediaType("text", "csv")
+                : MediaType.parseMediaType("application/x-ndjson");
+
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"transactions-" + accountNumber + "." + extension + "\"")
+                .body(body);
+    }
+
     /**
      * Inquire about premature withdrawal
      */
@@ -0,0 +1,27 @@
+package com.app.fdaccount.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for count-free account search
+ * totalEstimate is only filled when requested; when totalEstimateExact is false the
+ * real number of matches is greater than totalEstimate
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountSearchSlice {
+
+    private List<AccountSummaryResponse> items;
+    private Integer page;
+    private Integer size;
+    private Boolean hasNext;
+    private Long totalEstimate;
+    private Boolean totalEstimateExact;
+}
@@ -0,0 +1,30 @@
+package com.app.fdaccount.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for posting many transactions in one call
+ * Postings for the same account are applied in list order
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransactionRequest {
+
+    @NotEmpty(message = "At least one transaction is required")
+    @Size(max = 1000, message = "A batch cannot exceed 1000 transactions")
+    private List<@Valid TransactionRequest> transactions;
+
+    // Applied to every posting that does not carry its own run ID
+    @Size(max = 50, message = "Batch run ID cannot exceed 50 characters")
+    private String batchRunId;
+}
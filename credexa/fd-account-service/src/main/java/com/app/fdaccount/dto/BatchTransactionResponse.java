@@ -0,0 +1,23 @@
+package com.app.fdaccount.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for a batch posting with per-item results
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransactionResponse {
+
+    private Integer total;
+    private Integer succeeded;
+    private Integer failed;
+    private List<PostingResult> results;
+}
@@ -0,0 +1,31 @@
+package com.app.fdaccount.dto;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+import com.app.fdaccount.enums.AccountStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for one group of portfolio aggregates
+ * Dimensions that were not grouped on are null
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioAggregateResponse {
+
+    private String branchCode;
+    private String productCode;
+    private AccountStatus status;
+    private YearMonth maturityMonth;
+    private Long accountCount;
+    private BigDecimal principalBalance;
+    private BigDecimal interestAccrued;
+    private BigDecimal totalBalance;
+}
@@ -0,0 +1,22 @@
+package com.app.fdaccount.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for a portfolio aggregate rebuild
+ * correctedKeys is the number of aggregate rows that had drifted from the accounts
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioRebuildResponse {
+
+    private Long accounts;
+    private Integer keys;
+    private Integer correctedKeys;
+    private Long durationMs;
+}
@@ -0,0 +1,22 @@
+package com.app.fdaccount.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a single posting within a batch
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostingResult {
+
+    private Integer index;
+    private String accountNumber;
+    private Boolean success;
+    private TransactionResponse transaction;
+    private String errorMessage;
+}
@@ -41,4 +41,8 @@ public class SearchAccountRequest {
     
     @Builder.Default
     private String sortDirection = "DESC";
+
+    // Slice search: also return a capped match count (costs one bounded extra query)
+    @Builder.Default
+    private Boolean includeTotalEstimate = false;
 }
@@ -0,0 +1,24 @@
+package com.app.fdaccount.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for keyset (seek) paginated transaction history
+ * Pass nextCursor back as the cursor parameter to fetch the following page
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionKeysetPage {
+
+    private List<TransactionLineResponse> items;
+    private Integer size;
+    private Boolean hasNext;
+    private String nextCursor;
+}
@@ -0,0 +1,31 @@
+package com.app.fdaccount.dto;
+
+import com.app.fdaccount.enums.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Lightweight response DTO for a transaction history line
+ * Selected directly by constructor expression, without loading entities
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionLineResponse {
+
+    private Long id;
+    private String transactionReference;
+    private TransactionType transactionType;
+    private BigDecimal amount;
+    private LocalDate transactionDate;
+    private LocalDate valueDate;
+    private String description;
+    private BigDecimal totalBalanceAfter;
+    private Boolean isReversed;
+}
@@ -45,4 +45,8 @@ public class TransactionRequest {
 
     // For linked transactions
     private Long relatedTransactionId;
+
+    // Batch run this posting belongs to (enables bulk reversal by run)
+    @Size(max = 50, message = "Batch run ID cannot exceed 50 characters")
+    private String batchRunId;
 }
@@ -41,6 +41,7 @@ public class TransactionResponse {
     
     // Related transaction
     private Long relatedTransactionId;
+    private String batchRunId;
     
     private LocalDateTime createdAt;
 }
@@ -2,6 +2,8 @@ package com.app.fdaccount.dto.external;
 
 import java.time.LocalDate;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,14 +18,19 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class CustomerDto {
 
+    @JsonAlias("id")
     private Long customerId;
+    @JsonAlias("fullName")
     private String customerName;
     private String email;
+    @JsonAlias("mobileNumber")
     private String phone;
     private String panNumber;
+    @JsonAlias("aadharNumber")
     private String aadhaarNumber;
     private LocalDate dateOfBirth;
     private String customerType;
+    @JsonAlias("classification")
     private String customerClassification;
     private Boolean isActive;
     private String kycStatus;
@@ -10,6 +10,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
@@ -25,7 +26,9 @@ import lombok.NoArgsConstructor;
  * Tracks different types of balances on an FD account
  */
 @Entity
-@Table(name = "account_balances")
+@Table(name = "account_balances", indexes = {
+        @Index(name = "idx_balance_account_type_date", columnList = "account_id, balance_type, as_of_date, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -14,6 +14,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
@@ -28,7 +29,10 @@ import lombok.NoArgsConstructor;
  * Represents all transactions on an FD account
  */
 @Entity
-@Table(name = "account_transactions")
+@Table(name = "account_transactions", indexes = {
+        @Index(name = "idx_txn_account_date_id", columnList = "account_id, transaction_date, id"),
+        @Index(name = "idx_txn_batch_run_id", columnList = "batch_run_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -93,6 +97,10 @@ public class AccountTransaction {
     @Column
     private Long relatedTransactionId;
 
+    // Batch run that produced this posting (for bulk reversal)
+    @Column(length = 50)
+    private String batchRunId;
+
     // Audit
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -18,10 +18,12 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -32,7 +34,11 @@ import lombok.NoArgsConstructor;
  * Represents a Fixed Deposit account with all its attributes
  */
 @Entity
-@Table(name = "fd_accounts")
+@Table(name = "fd_accounts", indexes = {
+        @Index(name = "idx_account_created_at", columnList = "created_at"),
+        @Index(name = "idx_account_branch_status", columnList = "branch_code, status"),
+        @Index(name = "idx_account_product_status", columnList = "product_code, status")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -139,6 +145,11 @@ public class FdAccount {
     @Column(length = 100)
     private String updatedBy;
 
+    // Optimistic locking - bumped on every balance-changing posting
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
+
     // Relationships
     @OneToMany(mappedBy = "account", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @Builder.Default
@@ -0,0 +1,70 @@
+package com.app.fdaccount.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.app.fdaccount.enums.AccountStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Portfolio Aggregate Entity
+ * Running totals of accounts and current balances per branch, product, status and
+ * maturity month. Rows are maintained by PortfolioAggregateService with increments
+ * in the same transaction as the change they reflect; they are never edited directly.
+ */
+@Entity
+@Table(name = "portfolio_aggregates", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_portfolio_aggregate_key",
+                columnNames = {"branch_code", "product_code", "status", "maturity_month"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PortfolioAggregate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Dimensions (branch code is '' for accounts without a branch)
+    @Column(nullable = false, length = 20)
+    private String branchCode;
+
+    @Column(nullable = false, length = 50)
+    private String productCode;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private AccountStatus status;
+
+    @Column(nullable = false)
+    private LocalDate maturityMonth; // First day of the maturity month
+
+    // Measures
+    @Column(nullable = false)
+    private Long accountCount;
+
+    @Column(nullable = false, precision = 21, scale = 2)
+    private BigDecimal principalBalance;
+
+    @Column(nullable = false, precision = 21, scale = 2)
+    private BigDecimal interestAccrued;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
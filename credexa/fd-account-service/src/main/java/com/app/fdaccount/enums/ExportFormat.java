@@ -0,0 +1,10 @@
+package com.app.fdaccount.enums;
+
+/**
+ * Export Format Enum
+ * Represents output formats for streamed transaction exports
+ */
+public enum ExportFormat {
+    NDJSON,   // One JSON object per line
+    CSV       // Comma-separated values with a header row
+}
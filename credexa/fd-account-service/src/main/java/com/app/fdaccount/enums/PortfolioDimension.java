@@ -0,0 +1,12 @@
+package com.app.fdaccount.enums;
+
+/**
+ * Portfolio Dimension Enum
+ * Represents the dimensions portfolio aggregates can be grouped by
+ */
+public enum PortfolioDimension {
+    BRANCH,          // Branch code
+    PRODUCT,         // Product code
+    STATUS,          // Account status
+    MATURITY_MONTH   // Calendar month of the maturity date
+}
@@ -0,0 +1,10 @@
+package com.app.fdaccount.enums;
+
+/**
+ * Portfolio Format Enum
+ * Represents output formats for streamed branch and product portfolios
+ */
+public enum PortfolioFormat {
+    JSON,     // A single JSON array, written element by element
+    NDJSON    // One JSON object per line
+}
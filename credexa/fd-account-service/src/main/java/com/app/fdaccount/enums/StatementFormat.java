@@ -0,0 +1,10 @@
+package com.app.fdaccount.enums;
+
+/**
+ * Statement Format Enum
+ * Represents output formats for generated account statements
+ */
+public enum StatementFormat {
+    CSV,   // Summary rows followed by the period ledger
+    PDF    // Printable A4 statement
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -36,6 +37,23 @@ public interface AccountBalanceRepository extends JpaRepository<AccountBalance,
     Optional<AccountBalance> findLatestBalanceByAccountIdAndType(@Param("accountId") Long accountId, 
                                                                   @Param("balanceType") String balanceType);
 
+    /**
+     * Current value of a balance type (latest as-of date, latest row within a date)
+     */
+    @Query("SELECT b.balance FROM AccountBalance b WHERE b.account.id = :accountId AND b.balanceType = :balanceType " +
+           "ORDER BY b.asOfDate DESC, b.id DESC LIMIT 1")
+    Optional<BigDecimal> findCurrentBalance(@Param("accountId") Long accountId,
+                                            @Param("balanceType") String balanceType);
+
+    /**
+     * Value of a balance type at the end of a given date (latest row on or before it)
+     */
+    @Query("SELECT b.balance FROM AccountBalance b WHERE b.account.id = :accountId AND b.balanceType = :balanceType " +
+           "AND b.asOfDate <= :asOfDate ORDER BY b.asOfDate DESC, b.id DESC LIMIT 1")
+    Optional<BigDecimal> findBalanceAsOf(@Param("accountId") Long accountId,
+                                         @Param("balanceType") String balanceType,
+                                         @Param("asOfDate") LocalDate asOfDate);
+
     /**
      * Find balances as of a specific date
      */
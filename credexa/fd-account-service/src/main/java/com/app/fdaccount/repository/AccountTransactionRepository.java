@@ -1,15 +1,20 @@
 package com.app.fdaccount.repository;
 
+import com.app.fdaccount.dto.TransactionLineResponse;
 import com.app.fdaccount.entity.AccountTransaction;
 import com.app.fdaccount.enums.TransactionType;
+import com.app.fdaccount.repository.projection.BatchRunPostingView;
+import com.app.fdaccount.repository.projection.TransactionReversalView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +29,45 @@ public interface AccountTransactionRepository extends JpaRepository<AccountTrans
      */
     Optional<AccountTransaction> findByTransactionReference(String transactionReference);
 
+    /**
+     * Find the account number a transaction was posted to
+     */
+    @Query("SELECT t.account.accountNumber FROM AccountTransaction t WHERE t.transactionReference = :transactionReference")
+    Optional<String> findAccountNumberByTransactionReference(@Param("transactionReference") String transactionReference);
+
+    /**
+     * Find the columns needed to reverse a transaction without loading the account graph
+     */
+    @Query("SELECT t.id AS id, t.transactionReference AS transactionReference, a.id AS accountId, " +
+           "a.accountNumber AS accountNumber, a.version AS accountVersion, " +
+           "a.branchCode AS branchCode, a.productCode AS productCode, a.status AS accountStatus, " +
+           "a.maturityDate AS maturityDate, " +
+           "t.transactionType AS transactionType, t.amount AS amount, t.isReversed AS isReversed " +
+           "FROM AccountTransaction t JOIN t.account a WHERE t.transactionReference = :transactionReference")
+    Optional<TransactionReversalView> findReversalViewByReference(
+            @Param("transactionReference") String transactionReference);
+
+    /**
+     * Mark a transaction as reversed (only if it is not reversed yet)
+     */
+    @Modifying
+    @Query("UPDATE AccountTransaction t SET t.isReversed = true, t.reversalTransactionId = :reversalTransactionId, " +
+           "t.reversalDate = :reversalDate, t.reversalReason = :reversalReason " +
+           "WHERE t.id = :id AND t.isReversed = false")
+    int markReversed(@Param("id") Long id,
+                     @Param("reversalTransactionId") Long reversalTransactionId,
+                     @Param("reversalDate") LocalDateTime reversalDate,
+                     @Param("reversalReason") String reversalReason);
+
+    /**
+     * Find reversible postings of a batch run, newest first within each account
+     */
+    @Query("SELECT t.transactionReference AS transactionReference, t.account.accountNumber AS accountNumber " +
+           "FROM AccountTransaction t WHERE t.batchRunId = :batchRunId AND t.isReversed = false " +
+           "AND t.transactionType <> com.app.fdaccount.enums.TransactionType.REVERSAL " +
+           "ORDER BY t.account.id, t.id DESC")
+    List<BatchRunPostingView> findReversiblePostingsByBatchRunId(@Param("batchRunId") String batchRunId);
+
     /**
      * Find all transactions for an account
      */
@@ -36,6 +80,30 @@ public interface AccountTransactionRepository extends JpaRepository<AccountTrans
     @Query("SELECT t FROM AccountTransaction t WHERE t.account.id = :accountId ORDER BY t.transactionDate DESC, t.createdAt DESC")
     Page<AccountTransaction> findByAccountIdPaged(@Param("accountId") Long accountId, Pageable pageable);
 
+    /**
+     * First page of history lines for keyset pagination (newest first)
+     */
+    @Query("SELECT new com.app.fdaccount.dto.TransactionLineResponse(t.id, t.transactionReference, " +
+           "t.transactionType, t.amount, t.transactionDate, t.valueDate, t.description, " +
+           "t.totalBalanceAfter, t.isReversed) " +
+           "FROM AccountTransaction t WHERE t.account.id = :accountId " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionLineResponse> findLinesByAccountId(@Param("accountId") Long accountId, Pageable pageable);
+
+    /**
+     * Next page of history lines after the (transactionDate, id) seek key
+     */
+    @Query("SELECT new com.app.fdaccount.dto.TransactionLineResponse(t.id, t.transactionReference, " +
+           "t.transactionType, t.amount, t.transactionDate, t.valueDate, t.description, " +
+           "t.totalBalanceAfter, t.isReversed) " +
+           "FROM AccountTransaction t WHERE t.account.id = :accountId " +
+           "AND (t.transactionDate < :afterDate OR (t.transactionDate = :afterDate AND t.id < :afterId)) " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionLineResponse> findLinesByAccountIdAfter(@Param("accountId") Long accountId,
+                                                             @Param("afterDate") LocalDate afterDate,
+                                                             @Param("afterId") Long afterId,
+                                                             Pageable pageable);
+
     /**
      * Find transactions by account number
      */
@@ -97,6 +165,12 @@ public interface AccountTransactionRepository extends JpaRepository<AccountTrans
      */
     long countByAccountIdAndTransactionType(Long accountId, TransactionType transactionType);
 
+    /**
+     * Check if a transaction of a type was posted to an account on a date
+     */
+    boolean existsByAccountIdAndTransactionTypeAndTransactionDate(Long accountId, TransactionType transactionType,
+                                                                  LocalDate transactionDate);
+
     /**
      * Check if transaction reference exists
      */
@@ -1,30 +1,78 @@
 package com.app.fdaccount.repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.app.fdaccount.entity.FdAccount;
 import com.app.fdaccount.enums.AccountStatus;
+import com.app.fdaccount.repository.projection.AccountSearchKeyView;
+import com.app.fdaccount.repository.projection.AccountSummaryView;
+import com.app.fdaccount.repository.projection.StatementAccountView;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 /**
  * Repository interface for FdAccount entity
  */
 @Repository
-public interface FdAccountRepository extends JpaRepository<FdAccount, Long> {
+public interface FdAccountRepository extends JpaRepository<FdAccount, Long>,
+        JpaSpecificationExecutor<FdAccount>, FdAccountSearchRepository {
 
     /**
      * Find account by account number
      */
     Optional<FdAccount> findByAccountNumber(String accountNumber);
 
+    /**
+     * Find the internal ID of an account without loading it
+     */
+    @Query("SELECT a.id FROM FdAccount a WHERE a.accountNumber = :accountNumber")
+    Optional<Long> findIdByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    /**
+     * Find the account details needed for a statement header without loading the entity
+     */
+    @Query("SELECT a.id AS id, a.accountNumber AS accountNumber, a.accountName AS accountName, " +
+           "a.productName AS productName, a.branchCode AS branchCode, a.branchName AS branchName, " +
+           "a.effectiveDate AS effectiveDate, a.maturityDate AS maturityDate " +
+           "FROM FdAccount a WHERE a.accountNumber = :accountNumber")
+    Optional<StatementAccountView> findStatementViewByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    /**
+     * Find account by account number for a balance-changing posting
+     * Forces a version increment on commit so concurrent postings conflict
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT a FROM FdAccount a WHERE a.accountNumber = :accountNumber")
+    Optional<FdAccount> findByAccountNumberForPosting(@Param("accountNumber") String accountNumber);
+
+    /**
+     * Bump the account version without loading the entity
+     * Returns 0 when another writer changed the account since the version was read
+     */
+    @Modifying
+    @Query("UPDATE FdAccount a SET a.version = a.version + 1, a.updatedAt = :updatedAt " +
+           "WHERE a.id = :accountId AND a.version = :version")
+    int incrementVersion(@Param("accountId") Long accountId,
+                         @Param("version") Long version,
+                         @Param("updatedAt") LocalDateTime updatedAt);
+
     /**
      * Find account by IBAN
      */
@@ -46,43 +94,85 @@ public interface FdAccountRepository extends JpaRepository<FdAccount, Long> {
     List<FdAccount> findByStatus(AccountStatus status);
 
     /**
-     * Find all accounts by product code
+     * Summary columns and primary owner name, selected without loading entities or roles
+     */
+    String SUMMARY_SELECT =
+            "SELECT a.id AS id, a.accountNumber AS accountNumber, a.accountName AS accountName, " +
+            "a.productCode AS productCode, a.productName AS productName, a.status AS status, " +
+            "a.principalAmount AS principalAmount, " +
+            "COALESCE(a.customInterestRate, a.interestRate) AS interestRate, a.termMonths AS termMonths, " +
+            "a.maturityAmount AS maturityAmount, a.effectiveDate AS effectiveDate, " +
+            "a.maturityDate AS maturityDate, a.branchCode AS branchCode, " +
+            "(SELECT MIN(p.customerName) FROM AccountRole p WHERE p.account = a AND p.isPrimary = true) " +
+            "AS primaryOwnerName " +
+            "FROM FdAccount a ";
+
+    /**
+     * Find the summary of one account
+     */
+    @Query(SUMMARY_SELECT + "WHERE a.accountNumber = :accountNumber")
+    Optional<AccountSummaryView> findSummaryByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    /**
+     * Find account summaries by product code
      */
-    @Query("SELECT DISTINCT a FROM FdAccount a " +
-           "LEFT JOIN FETCH a.roles " +
-           "WHERE a.productCode = :productCode")
-    List<FdAccount> findByProductCode(@Param("productCode") String productCode);
+    @Query(SUMMARY_SELECT + "WHERE a.productCode = :productCode ORDER BY a.id")
+    List<AccountSummaryView> findSummariesByProductCode(@Param("productCode") String productCode);
 
     /**
-     * Find all accounts by branch code
+     * Find account summaries by branch code
      */
-    @Query("SELECT DISTINCT a FROM FdAccount a " +
-           "LEFT JOIN FETCH a.roles " +
-           "WHERE a.branchCode = :branchCode")
-    List<FdAccount> findByBranchCode(@Param("branchCode") String branchCode);
+    @Query(SUMMARY_SELECT + "WHERE a.branchCode = :branchCode ORDER BY a.id")
+    List<AccountSummaryView> findSummariesByBranchCode(@Param("branchCode") String branchCode);
 
     /**
-     * Find accounts by customer ID through roles
+     * Rows fetched per round trip when streaming portfolios (requires useCursorFetch=true on MySQL)
      */
-    @Query("SELECT DISTINCT a FROM FdAccount a " +
-           "JOIN FETCH a.roles r " +
-           "WHERE r.customerId = :customerId")
-    List<FdAccount> findByCustomerId(@Param("customerId") Long customerId);
+    String PORTFOLIO_FETCH_SIZE = "500";
 
     /**
-     * Find accounts maturing between dates
+     * Stream account summaries by product code through a forward-only cursor
+     * Must be consumed and closed inside a transaction
      */
-    @Query("SELECT DISTINCT a FROM FdAccount a " +
-           "LEFT JOIN FETCH a.roles " +
-           "WHERE a.maturityDate BETWEEN :startDate AND :endDate AND a.status = 'ACTIVE'")
-    List<FdAccount> findAccountsMaturingBetween(@Param("startDate") LocalDate startDate, 
-                                                  @Param("endDate") LocalDate endDate);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = PORTFOLIO_FETCH_SIZE))
+    @Query(SUMMARY_SELECT + "WHERE a.productCode = :productCode ORDER BY a.id")
+    Stream<AccountSummaryView> streamSummariesByProductCode(@Param("productCode") String productCode);
+
+    /**
+     * Stream account summaries by branch code through a forward-only cursor
+     * Must be consumed and closed inside a transaction
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = PORTFOLIO_FETCH_SIZE))
+    @Query(SUMMARY_SELECT + "WHERE a.branchCode = :branchCode ORDER BY a.id")
+    Stream<AccountSummaryView> streamSummariesByBranchCode(@Param("branchCode") String branchCode);
+
+    /**
+     * Find summaries of accounts where the customer holds any role
+     */
+    @Query(SUMMARY_SELECT + "WHERE EXISTS (SELECT 1 FROM AccountRole r " +
+           "WHERE r.account = a AND r.customerId = :customerId) ORDER BY a.id")
+    List<AccountSummaryView> findSummariesByCustomerId(@Param("customerId") Long customerId);
+
+    /**
+     * Find summaries of active accounts maturing between dates
+     */
+    @Query(SUMMARY_SELECT + "WHERE a.maturityDate BETWEEN :startDate AND :endDate AND a.status = 'ACTIVE' " +
+           "ORDER BY a.maturityDate, a.id")
+    List<AccountSummaryView> findSummariesMaturingBetween(@Param("startDate") LocalDate startDate,
+                                                          @Param("endDate") LocalDate endDate);
 
     /**
      * Find accounts maturing on a specific date
      */
     List<FdAccount> findByMaturityDateAndStatus(LocalDate maturityDate, AccountStatus status);
 
+    /**
+     * Account numbers maturing on a specific date, for batch jobs that post per account
+     */
+    @Query("SELECT a.accountNumber FROM FdAccount a WHERE a.maturityDate = :maturityDate AND a.status = :status ORDER BY a.id")
+    List<String> findAccountNumbersByMaturityDateAndStatus(@Param("maturityDate") LocalDate maturityDate,
+                                                           @Param("status") AccountStatus status);
+
     /**
      * Find all active accounts
      */
@@ -90,29 +180,24 @@ public interface FdAccountRepository extends JpaRepository<FdAccount, Long> {
     List<FdAccount> findAllActiveAccounts();
 
     /**
-     * Search accounts with multiple criteria
-     */
-    @Query("SELECT a FROM FdAccount a WHERE " +
-           "(:accountNumber IS NULL OR a.accountNumber LIKE %:accountNumber%) AND " +
-           "(:accountName IS NULL OR LOWER(a.accountName) LIKE LOWER(CONCAT('%', :accountName, '%'))) AND " +
-           "(:productCode IS NULL OR a.productCode = :productCode) AND " +
-           "(:status IS NULL OR a.status = :status) AND " +
-           "(:branchCode IS NULL OR a.branchCode = :branchCode) AND " +
-           "(:effectiveDateFrom IS NULL OR a.effectiveDate >= :effectiveDateFrom) AND " +
-           "(:effectiveDateTo IS NULL OR a.effectiveDate <= :effectiveDateTo) AND " +
-           "(:maturityDateFrom IS NULL OR a.maturityDate >= :maturityDateFrom) AND " +
-           "(:maturityDateTo IS NULL OR a.maturityDate <= :maturityDateTo)")
-    Page<FdAccount> searchAccounts(
-            @Param("accountNumber") String accountNumber,
-            @Param("accountName") String accountName,
-            @Param("productCode") String productCode,
-            @Param("status") AccountStatus status,
-            @Param("branchCode") String branchCode,
-            @Param("effectiveDateFrom") LocalDate effectiveDateFrom,
-            @Param("effectiveDateTo") LocalDate effectiveDateTo,
-            @Param("maturityDateFrom") LocalDate maturityDateFrom,
-            @Param("maturityDateTo") LocalDate maturityDateTo,
-            Pageable pageable);
+     * Account numbers of all active accounts, for batch jobs that post per account
+     */
+    @Query("SELECT a.accountNumber FROM FdAccount a WHERE a.status = 'ACTIVE' ORDER BY a.id")
+    List<String> findActiveAccountNumbers();
+
+    /**
+     * Searchable fields of accounts after an ID (keyset page for building the search index)
+     */
+    @Query("SELECT a.id AS id, a.accountNumber AS accountNumber, a.accountName AS accountName " +
+           "FROM FdAccount a WHERE a.id > :afterId ORDER BY a.id")
+    List<AccountSearchKeyView> findSearchKeysAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Searchable fields of accounts created since a point in time (search index refresh)
+     */
+    @Query("SELECT a.id AS id, a.accountNumber AS accountNumber, a.accountName AS accountName " +
+           "FROM FdAccount a WHERE a.createdAt >= :since")
+    List<AccountSearchKeyView> findSearchKeysCreatedSince(@Param("since") LocalDateTime since);
 
     /**
      * Find accounts by customer ID with pagination
@@ -0,0 +1,25 @@
+package com.app.fdaccount.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.app.fdaccount.entity.FdAccount;
+
+/**
+ * Count-free search queries for FdAccount
+ */
+public interface FdAccountSearchRepository {
+
+    /**
+     * Fetch one page of matches without a COUNT query
+     * One extra row is read to tell whether a next slice exists
+     */
+    Slice<FdAccount> findSlice(Specification<FdAccount> spec, Pageable pageable);
+
+    /**
+     * Count matches, stopping once more than limit have been seen
+     * Returns at most limit + 1, so callers can report "limit+" totals at bounded cost
+     */
+    long countUpTo(Specification<FdAccount> spec, int limit);
+}
@@ -0,0 +1,30 @@
+package com.app.fdaccount.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.app.fdaccount.entity.PortfolioAggregate;
+import com.app.fdaccount.enums.AccountStatus;
+
+/**
+ * Repository interface for PortfolioAggregate entity
+ * Read-only: rows are written by PortfolioAggregateService through JDBC increments
+ */
+@Repository
+public interface PortfolioAggregateRepository extends JpaRepository<PortfolioAggregate, Long> {
+
+    /**
+     * Find aggregate rows matching the optional filters
+     */
+    @Query("SELECT p FROM PortfolioAggregate p WHERE " +
+           "(:branchCode IS NULL OR p.branchCode = :branchCode) AND " +
+           "(:productCode IS NULL OR p.productCode = :productCode) AND " +
+           "(:status IS NULL OR p.status = :status)")
+    List<PortfolioAggregate> findMatching(@Param("branchCode") String branchCode,
+                                          @Param("productCode") String productCode,
+                                          @Param("status") AccountStatus status);
+}
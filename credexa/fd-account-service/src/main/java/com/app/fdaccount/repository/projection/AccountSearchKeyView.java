@@ -0,0 +1,13 @@
+package com.app.fdaccount.repository.projection;
+
+/**
+ * Projection of the searchable text fields of an account
+ */
+public interface AccountSearchKeyView {
+
+    Long getId();
+
+    String getAccountNumber();
+
+    String getAccountName();
+}
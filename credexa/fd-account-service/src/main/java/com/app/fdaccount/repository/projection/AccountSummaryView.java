@@ -0,0 +1,41 @@
+package com.app.fdaccount.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.app.fdaccount.enums.AccountStatus;
+
+/**
+ * Projection of the account list/summary columns plus the primary owner name
+ * interestRate is the effective rate (custom rate when set)
+ */
+public interface AccountSummaryView {
+
+    Long getId();
+
+    String getAccountNumber();
+
+    String getAccountName();
+
+    String getProductCode();
+
+    String getProductName();
+
+    AccountStatus getStatus();
+
+    BigDecimal getPrincipalAmount();
+
+    BigDecimal getInterestRate();
+
+    Integer getTermMonths();
+
+    BigDecimal getMaturityAmount();
+
+    LocalDate getEffectiveDate();
+
+    LocalDate getMaturityDate();
+
+    String getBranchCode();
+
+    String getPrimaryOwnerName();
+}
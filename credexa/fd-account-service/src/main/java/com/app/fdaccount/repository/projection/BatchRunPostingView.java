@@ -0,0 +1,11 @@
+package com.app.fdaccount.repository.projection;
+
+/**
+ * Projection of a posting belonging to a batch run
+ */
+public interface BatchRunPostingView {
+
+    String getTransactionReference();
+
+    String getAccountNumber();
+}
@@ -0,0 +1,25 @@
+package com.app.fdaccount.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of the account details printed on a statement header
+ */
+public interface StatementAccountView {
+
+    Long getId();
+
+    String getAccountNumber();
+
+    String getAccountName();
+
+    String getProductName();
+
+    String getBranchCode();
+
+    String getBranchName();
+
+    LocalDate getEffectiveDate();
+
+    LocalDate getMaturityDate();
+}
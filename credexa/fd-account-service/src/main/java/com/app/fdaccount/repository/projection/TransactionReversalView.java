@@ -0,0 +1,38 @@
+package com.app.fdaccount.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.app.fdaccount.enums.AccountStatus;
+import com.app.fdaccount.enums.TransactionType;
+
+/**
+ * Projection of the columns needed to reverse a transaction
+ * Avoids loading the account and its lazy collections
+ */
+public interface TransactionReversalView {
+
+    Long getId();
+
+    String getTransactionReference();
+
+    Long getAccountId();
+
+    String getAccountNumber();
+
+    Long getAccountVersion();
+
+    String getBranchCode();
+
+    String getProductCode();
+
+    AccountStatus getAccountStatus();
+
+    LocalDate getMaturityDate();
+
+    TransactionType getTransactionType();
+
+    BigDecimal getAmount();
+
+    Boolean getIsReversed();
+}
@@ -0,0 +1,119 @@
+package com.app.fdaccount.repository.specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.app.fdaccount.dto.SearchAccountRequest;
+import com.app.fdaccount.entity.AccountRole;
+import com.app.fdaccount.entity.FdAccount;
+import com.app.fdaccount.enums.AccountStatus;
+
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+/**
+ * Specifications for dynamic account search
+ * Only criteria that are actually supplied become predicates, so the database sees
+ * a query shaped by the request instead of a chain of ":x IS NULL OR ..." clauses
+ */
+public final class AccountSpecifications {
+
+    private AccountSpecifications() {
+    }
+
+    /**
+     * Combine the supplied search criteria
+     * candidateIds, when not null, restricts the search to IDs resolved by the search index
+     */
+    public static Specification<FdAccount> matching(SearchAccountRequest request, Collection<Long> candidateIds) {
+        List<Specification<FdAccount>> specs = new ArrayList<>();
+
+        if (candidateIds != null) {
+            specs.add(idIn(candidateIds));
+        }
+        if (hasText(request.getAccountNumber())) {
+            specs.add(accountNumberContains(request.getAccountNumber()));
+        }
+        if (hasText(request.getAccountName())) {
+            specs.add(accountNameContains(request.getAccountName()));
+        }
+        if (hasText(request.getProductCode())) {
+            specs.add(hasProductCode(request.getProductCode()));
+        }
+        if (request.getStatus() != null) {
+            specs.add(hasStatus(request.getStatus()));
+        }
+        if (hasText(request.getBranchCode())) {
+            specs.add(hasBranchCode(request.getBranchCode()));
+        }
+        if (request.getCustomerId() != null) {
+            specs.add(hasCustomer(request.getCustomerId()));
+        }
+        if (request.getEffectiveDateFrom() != null || request.getEffectiveDateTo() != null) {
+            specs.add(dateBetween("effectiveDate", request.getEffectiveDateFrom(), request.getEffectiveDateTo()));
+        }
+        if (request.getMaturityDateFrom() != null || request.getMaturityDateTo() != null) {
+            specs.add(dateBetween("maturityDate", request.getMaturityDateFrom(), request.getMaturityDateTo()));
+        }
+
+        return Specification.allOf(specs);
+    }
+
+    public static Specification<FdAccount> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> ids.isEmpty() ? cb.disjunction() : root.get("id").in(ids);
+    }
+
+    public static Specification<FdAccount> accountNumberContains(String term) {
+        return (root, query, cb) -> cb.like(root.get("accountNumber"), "%" + term + "%");
+    }
+
+    public static Specification<FdAccount> accountNameContains(String term) {
+        return (root, query, cb) -> cb.like(cb.lower(root.get("accountName")), "%" + term.toLowerCase() + "%");
+    }
+
+    public static Specification<FdAccount> hasProductCode(String productCode) {
+        return (root, query, cb) -> cb.equal(root.get("productCode"), productCode);
+    }
+
+    public static Specification<FdAccount> hasStatus(AccountStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<FdAccount> hasBranchCode(String branchCode) {
+        return (root, query, cb) -> cb.equal(root.get("branchCode"), branchCode);
+    }
+
+    /**
+     * Accounts where the customer holds an active role (EXISTS, so no duplicate rows)
+     */
+    public static Specification<FdAccount> hasCustomer(Long customerId) {
+        return (root, query, cb) -> {
+            Subquery<Long> roles = query.subquery(Long.class);
+            Root<AccountRole> role = roles.from(AccountRole.class);
+            roles.select(role.get("id")).where(
+                    cb.equal(role.get("account"), root),
+                    cb.equal(role.get("customerId"), customerId),
+                    cb.isTrue(role.get("isActive")));
+            return cb.exists(roles);
+        };
+    }
+
+    public static Specification<FdAccount> dateBetween(String attribute, LocalDate from, LocalDate to) {
+        return (root, query, cb) -> {
+            if (from != null && to != null) {
+                return cb.between(root.get(attribute), from, to);
+            }
+            return from != null
+                    ? cb.greaterThanOrEqualTo(root.get(attribute), from)
+                    : cb.lessThanOrEqualTo(root.get(attribute), to);
+        };
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -17,7 +17,6 @@ import com.app.fdaccount.dto.CreateAccountRequest;
 import com.app.fdaccount.dto.CustomizeAccountRequest;
 import com.app.fdaccount.dto.RoleResponse;
 import com.app.fdaccount.dto.external.CalculationResultDto;
-import com.app.fdaccount.dto.external.CustomerDto;
 import com.app.fdaccount.dto.external.ProductDto;
 import com.app.fdaccount.entity.AccountBalance;
 import com.app.fdaccount.entity.AccountRole;
@@ -31,6 +30,9 @@ import com.app.fdaccount.service.accountnumber.AccountNumberGenerator;
 import com.app.fdaccount.service.integration.CalculatorServiceClient;
 import com.app.fdaccount.service.integration.CustomerServiceClient;
 import com.app.fdaccount.service.integration.ProductServiceClient;
+import com.app.fdaccount.service.portfolio.PortfolioAggregateService;
+import com.app.fdaccount.service.portfolio.PortfolioKey;
+import com.app.fdaccount.service.search.AccountSearchIndex;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -48,6 +50,8 @@ public class AccountCreationService {
     private final ProductServiceClient productServiceClient;
     private final CustomerServiceClient customerServiceClient;
     private final CalculatorServiceClient calculatorServiceClient;
+    private final AccountSearchIndex accountSearchIndex;
+    private final PortfolioAggregateService portfolioAggregateService;
 
     @Value("${account-number.generator.iban.country-code:IN}")
     private String ibanCountryCode;
@@ -69,12 +73,10 @@ public class AccountCreationService {
             log.debug("Product fetched: {} - {}", product.getProductCode(), product.getProductName());
             validateProductLimits(product, request.getPrincipalAmount(), request.getTermMonths());
 
-            // 2. Validate all customers
-            for (AccountRoleRequest roleRequest : request.getRoles()) {
-                log.debug("Fetching customer: {}", roleRequest.getCustomerId());
-                CustomerDto customer = customerServiceClient.getCustomerById(roleRequest.getCustomerId());
-                log.debug("Validated customer: {} - {}", customer.getCustomerId(), customer.getCustomerName());
-            }
+            // 2. Validate all customers (one batch lookup for all role holders)
+            customerServiceClient.getCustomersByIds(roleCustomerIds(request.getRoles()))
+                    .forEach((customerId, customer) ->
+                            log.debug("Validated customer: {} - {}", customerId, customer.getCustomerName()));
 
             // 3. Calculate maturity
             log.debug("Calculating maturity for amount: {}, rate: {}, term: {} months", 
@@ -175,6 +177,10 @@ public class AccountCreationService {
 
             // 9. Save account
             FdAccount savedAccount = accountRepository.save(account);
+            accountSearchIndex.indexAfterCommit(savedAccount);
+            portfolioAggregateService.accountOpened(PortfolioKey.of(savedAccount), request.getPrincipalAmount());
+            customerServiceClient.notifyAccountsChanged(savedAccount.getRoles().stream()
+                    .map(AccountRole::getCustomerId).toList());
 
             log.info("✅ Created FD account: {} for customer with principal: {}", 
                     savedAccount.getAccountNumber(), savedAccount.getPrincipalAmount());
@@ -200,11 +206,10 @@ public class AccountCreationService {
         // 2. Validate customized values against product limits
         validateCustomizedValues(product, request);
 
-        // 3. Validate all customers
-        for (AccountRoleRequest roleRequest : request.getRoles()) {
-            CustomerDto customer = customerServiceClient.getCustomerById(roleRequest.getCustomerId());
-            log.debug("Validated customer: {} - {}", customer.getCustomerId(), customer.getCustomerName());
-        }
+        // 3. Validate all customers (one batch lookup for all role holders)
+        customerServiceClient.getCustomersByIds(roleCustomerIds(request.getRoles()))
+                .forEach((customerId, customer) ->
+                        log.debug("Validated customer: {} - {}", customerId, customer.getCustomerName()));
 
         // 4. Use customized values or defaults
         BigDecimal interestRate = request.getCustomInterestRate() != null ? 
@@ -307,6 +312,10 @@ public class AccountCreationService {
 
         // 11. Save account
         FdAccount savedAccount = accountRepository.save(account);
+        accountSearchIndex.indexAfterCommit(savedAccount);
+        portfolioAggregateService.accountOpened(PortfolioKey.of(savedAccount), request.getPrincipalAmount());
+        customerServiceClient.notifyAccountsChanged(savedAccount.getRoles().stream()
+                .map(AccountRole::getCustomerId).toList());
 
         log.info("✅ Created customized FD account: {} with custom rate: {}%, term: {} months", 
                 savedAccount.getAccountNumber(), interestRate, termMonths);
@@ -314,6 +323,13 @@ public class AccountCreationService {
         return mapToAccountResponse(savedAccount);
     }
 
+    /**
+     * Customer IDs of the requested role holders
+     */
+    private List<Long> roleCustomerIds(List<AccountRoleRequest> roles) {
+        return roles.stream().map(AccountRoleRequest::getCustomerId).toList();
+    }
+
     /**
      * Validate product limits
      */
@@ -1,18 +1,25 @@
 package com.app.fdaccount.service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.app.fdaccount.dto.AccountResponse;
+import com.app.fdaccount.dto.AccountSearchSlice;
 import com.app.fdaccount.dto.AccountSummaryResponse;
 import com.app.fdaccount.dto.BalanceResponse;
 import com.app.fdaccount.dto.RoleResponse;
@@ -20,6 +27,9 @@ import com.app.fdaccount.dto.SearchAccountRequest;
 import com.app.fdaccount.entity.FdAccount;
 import com.app.fdaccount.enums.AccountIdType;
 import com.app.fdaccount.repository.FdAccountRepository;
+import com.app.fdaccount.repository.projection.AccountSummaryView;
+import com.app.fdaccount.repository.specification.AccountSpecifications;
+import com.app.fdaccount.service.search.AccountSearchIndex;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -33,6 +43,10 @@ import lombok.extern.slf4j.Slf4j;
 public class AccountInquiryService {
 
     private final FdAccountRepository accountRepository;
+    private final AccountSearchIndex accountSearchIndex;
+
+    @Value("${account.search.total-estimate-limit:1000}")
+    private int totalEstimateLimit;
 
     /**
      * Get account by ID (account number, IBAN, or internal ID)
@@ -60,7 +74,7 @@ public class AccountInquiryService {
      */
     @Transactional(readOnly = true)
     public AccountSummaryResponse getAccountSummary(String accountNumber) {
-        FdAccount account = accountRepository.findByAccountNumber(accountNumber)
+        AccountSummaryView account = accountRepository.findSummaryByAccountNumber(accountNumber)
                 .orElseThrow(() -> new RuntimeException("Account not found: " + accountNumber));
 
         return mapToAccountSummaryResponse(account);
@@ -73,7 +87,7 @@ public class AccountInquiryService {
     public List<AccountSummaryResponse> getAccountsByCustomer(Long customerId) {
         log.debug("Fetching accounts for customer: {}", customerId);
 
-        List<FdAccount> accounts = accountRepository.findByCustomerId(customerId);
+        List<AccountSummaryView> accounts = accountRepository.findSummariesByCustomerId(customerId);
 
         log.info("Found {} accounts for customer: {}", accounts.size(), customerId);
         return accounts.stream()
@@ -88,35 +102,78 @@ public class AccountInquiryService {
     public Page<AccountSummaryResponse> searchAccounts(SearchAccountRequest searchRequest) {
         log.debug("Searching accounts with criteria: {}", searchRequest);
 
-        // Build pageable
+        Pageable pageable = buildSearchPageable(searchRequest);
+        Page<FdAccount> accountPage = accountRepository.findAll(buildSearchSpecification(searchRequest), pageable);
+
+        log.info("Found {} accounts matching search criteria", accountPage.getTotalElements());
+
+        return accountPage.map(this::mapToAccountSummaryResponse);
+    }
+
+    /**
+     * Search accounts without counting all matches
+     * Reads one row past the page to report hasNext; a capped total is added on request
+     */
+    @Transactional(readOnly = true)
+    public AccountSearchSlice searchAccountsSlice(SearchAccountRequest searchRequest) {
+        log.debug("Searching accounts (slice) with criteria: {}", searchRequest);
+
+        Pageable pageable = buildSearchPageable(searchRequest);
+        Specification<FdAccount> spec = buildSearchSpecification(searchRequest);
+        Slice<FdAccount> slice = accountRepository.findSlice(spec, pageable);
+
+        Long totalEstimate = null;
+        Boolean totalEstimateExact = null;
+        if (Boolean.TRUE.equals(searchRequest.getIncludeTotalEstimate())) {
+            if (!slice.hasNext() && (slice.hasContent() || pageable.getOffset() == 0)) {
+                // Last slice: the total is known without another query
+                totalEstimate = pageable.getOffset() + slice.getNumberOfElements();
+                totalEstimateExact = true;
+            } else {
+                long counted = accountRepository.countUpTo(spec, totalEstimateLimit);
+                totalEstimateExact = counted <= totalEstimateLimit;
+                totalEstimate = Math.min(counted, totalEstimateLimit);
+            }
+        }
+
+        log.info("Found {} accounts in search slice (hasNext={})", slice.getNumberOfElements(), slice.hasNext());
+
+        return AccountSearchSlice.builder()
+                .items(slice.getContent().stream()
+                        .map(this::mapToAccountSummaryResponse)
+                        .collect(Collectors.toList()))
+                .page(pageable.getPageNumber())
+                .size(pageable.getPageSize())
+                .hasNext(slice.hasNext())
+                .totalEstimate(totalEstimate)
+                .totalEstimateExact(totalEstimateExact)
+                .build();
+    }
+
+    /**
+     * Sort by the requested field, then by ID so pages are stable across requests
+     */
+    private Pageable buildSearchPageable(SearchAccountRequest searchRequest) {
         Sort sort = Sort.by(
-                "DESC".equalsIgnoreCase(searchRequest.getSortDirection()) ? 
+                "DESC".equalsIgnoreCase(searchRequest.getSortDirection()) ?
                         Sort.Direction.DESC : Sort.Direction.ASC,
                 searchRequest.getSortBy()
         );
-        Pageable pageable = PageRequest.of(
-                searchRequest.getPage(),
-                searchRequest.getSize(),
-                sort
-        );
-
-        // Execute search
-        Page<FdAccount> accountPage = accountRepository.searchAccounts(
-                searchRequest.getAccountNumber(),
-                searchRequest.getAccountName(),
-                searchRequest.getProductCode(),
-                searchRequest.getStatus(),
-                searchRequest.getBranchCode(),
-                searchRequest.getEffectiveDateFrom(),
-                searchRequest.getEffectiveDateTo(),
-                searchRequest.getMaturityDateFrom(),
-                searchRequest.getMaturityDateTo(),
-                pageable
-        );
-
-        log.info("Found {} accounts matching search criteria", accountPage.getTotalElements());
+        if (!"id".equals(searchRequest.getSortBy())) {
+            sort = sort.and(Sort.by(Sort.Direction.ASC, "id"));
+        }
+        return PageRequest.of(searchRequest.getPage(), searchRequest.getSize(), sort);
+    }
 
-        return accountPage.map(this::mapToAccountSummaryResponse);
+    /**
+     * Predicates for the supplied criteria only; text terms are narrowed to candidate IDs
+     * through the search index when it can answer
+     */
+    private Specification<FdAccount> buildSearchSpecification(SearchAccountRequest searchRequest) {
+        List<Long> candidateIds = accountSearchIndex.findMatchingIds(
+                searchRequest.getAccountNumber(), searchRequest.getAccountName())
+                .orElse(null);
+        return AccountSpecifications.matching(searchRequest, candidateIds);
     }
 
     /**
@@ -126,7 +183,7 @@ public class AccountInquiryService {
     public List<AccountSummaryResponse> getAccountsMaturingBetween(LocalDate startDate, LocalDate endDate) {
         log.debug("Fetching accounts maturing between {} and {}", startDate, endDate);
 
-        List<FdAccount> accounts = accountRepository.findAccountsMaturingBetween(startDate, endDate);
+        List<AccountSummaryView> accounts = accountRepository.findSummariesMaturingBetween(startDate, endDate);
 
         log.info("Found {} accounts maturing in date range", accounts.size());
         return accounts.stream()
@@ -164,7 +221,7 @@ public class AccountInquiryService {
      */
     @Transactional(readOnly = true)
     public List<AccountSummaryResponse> getAccountsByProduct(String productCode) {
-        List<FdAccount> accounts = accountRepository.findByProductCode(productCode);
+        List<AccountSummaryView> accounts = accountRepository.findSummariesByProductCode(productCode);
 
         return accounts.stream()
                 .map(this::mapToAccountSummaryResponse)
@@ -176,13 +233,53 @@ public class AccountInquiryService {
      */
     @Transactional(readOnly = true)
     public List<AccountSummaryResponse> getAccountsByBranch(String branchCode) {
-        List<FdAccount> accounts = accountRepository.findByBranchCode(branchCode);
+        List<AccountSummaryView> accounts = accountRepository.findSummariesByBranchCode(branchCode);
 
         return accounts.stream()
                 .map(this::mapToAccountSummaryResponse)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Read the accounts of a product (by ID) through a cursor, one summary at a time
+     * Returns the number of summaries handled
+     */
+    @Transactional(readOnly = true)
+    public long forEachAccountByProduct(String productCode, AccountSummaryHandler handler) throws IOException {
+        try (Stream<AccountSummaryView> accounts = accountRepository.streamSummariesByProductCode(productCode)) {
+            return forEachSummary(accounts, handler);
+        }
+    }
+
+    /**
+     * Read the accounts of a branch (by ID) through a cursor, one summary at a time
+     * Returns the number of summaries handled
+     */
+    @Transactional(readOnly = true)
+    public long forEachAccountByBranch(String branchCode, AccountSummaryHandler handler) throws IOException {
+        try (Stream<AccountSummaryView> accounts = accountRepository.streamSummariesByBranchCode(branchCode)) {
+            return forEachSummary(accounts, handler);
+        }
+    }
+
+    private long forEachSummary(Stream<AccountSummaryView> accounts, AccountSummaryHandler handler)
+            throws IOException {
+        long[] rows = {0};
+        try {
+            accounts.forEach(view -> {
+                try {
+                    handler.handle(mapToAccountSummaryResponse(view));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rows[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return rows[0];
+    }
+
     /**
      * Map entity to full account response
      */
@@ -260,13 +357,6 @@ public class AccountInquiryService {
                 .findFirst()
                 .orElse("N/A");
 
-        // Calculate days to maturity
-        Integer daysToMaturity = null;
-        if (account.getMaturityDate() != null) {
-            long days = ChronoUnit.DAYS.between(LocalDate.now(), account.getMaturityDate());
-            daysToMaturity = (int) days;
-        }
-
         return AccountSummaryResponse.builder()
                 .id(account.getId())
                 .accountNumber(account.getAccountNumber())
@@ -283,7 +373,48 @@ public class AccountInquiryService {
                 .maturityDate(account.getMaturityDate())
                 .branchCode(account.getBranchCode())
                 .primaryOwnerName(primaryOwner)
-                .daysToMaturity(daysToMaturity)
+                .daysToMaturity(daysToMaturity(account.getMaturityDate()))
+                .build();
+    }
+
+    /**
+     * Map summary projection to summary response
+     */
+    private AccountSummaryResponse mapToAccountSummaryResponse(AccountSummaryView account) {
+        return AccountSummaryResponse.builder()
+                .id(account.getId())
+                .accountNumber(account.getAccountNumber())
+                .accountName(account.getAccountName())
+                .productCode(account.getProductCode())
+                .productName(account.getProductName())
+                .status(account.getStatus())
+                .principalAmount(account.getPrincipalAmount())
+                .interestRate(account.getInterestRate())
+                .termMonths(account.getTermMonths())
+                .maturityAmount(account.getMaturityAmount())
+                .effectiveDate(account.getEffectiveDate())
+                .maturityDate(account.getMaturityDate())
+                .branchCode(account.getBranchCode())
+                .primaryOwnerName(account.getPrimaryOwnerName() != null ? account.getPrimaryOwnerName() : "N/A")
+                .daysToMaturity(daysToMaturity(account.getMaturityDate()))
                 .build();
     }
+
+    /**
+     * Calculate days to maturity
+     */
+    private Integer daysToMaturity(LocalDate maturityDate) {
+        if (maturityDate == null) {
+            return null;
+        }
+        return (int) ChronoUnit.DAYS.between(LocalDate.now(), maturityDate);
+    }
+
+    /**
+     * Callback for one streamed account summary
+     */
+    @FunctionalInterface
+    public interface AccountSummaryHandler {
+        void handle(AccountSummaryResponse account) throws IOException;
+    }
 }
@@ -0,0 +1,96 @@
+package com.app.fdaccount.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.stereotype.Service;
+
+import com.app.fdaccount.dto.AccountSummaryResponse;
+import com.app.fdaccount.enums.PortfolioFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service for streaming branch and product portfolios
+ * Summaries are read through a server-side cursor and serialized one at a time into a
+ * small write buffer, so memory use does not depend on portfolio size. Writes block
+ * while the client is slow to read, which in turn pauses the cursor.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PortfolioExportService {
+
+    private final AccountInquiryService accountInquiryService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Stream all accounts of a branch (by ID) in the requested format
+     * Returns the number of accounts written
+     */
+    public long exportBranch(String branchCode, PortfolioFormat format, OutputStream outputStream)
+            throws IOException {
+        long startTime = System.currentTimeMillis();
+        PortfolioWriter writer = new PortfolioWriter(outputStream, format);
+        long rows = accountInquiryService.forEachAccountByBranch(branchCode, writer::write);
+        writer.finish();
+
+        log.info("✅ Streamed {} accounts for branch {} as {} in {}ms",
+                rows, branchCode, format, System.currentTimeMillis() - startTime);
+        return rows;
+    }
+
+    /**
+     * Stream all accounts of a product (by ID) in the requested format
+     * Returns the number of accounts written
+     */
+    public long exportProduct(String productCode, PortfolioFormat format, OutputStream outputStream)
+            throws IOException {
+        long startTime = System.currentTimeMillis();
+        PortfolioWriter writer = new PortfolioWriter(outputStream, format);
+        long rows = accountInquiryService.forEachAccountByProduct(productCode, writer::write);
+        writer.finish();
+
+        log.info("✅ Streamed {} accounts for product {} as {} in {}ms",
+                rows, productCode, format, System.currentTimeMillis() - startTime);
+        return rows;
+    }
+
+    /**
+     * Writes summaries as array elements or lines as they arrive
+     */
+    private final class PortfolioWriter {
+        private final Writer writer;
+        private final PortfolioFormat format;
+        private boolean first = true;
+
+        private PortfolioWriter(OutputStream outputStream, PortfolioFormat format) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            this.format = format;
+        }
+
+        private void write(AccountSummaryResponse account) throws IOException {
+            if (format == PortfolioFormat.JSON) {
+                writer.write(first ? "[" : ",");
+            }
+            first = false;
+            writer.write(objectMapper.writeValueAsString(account));
+            if (format == PortfolioFormat.NDJSON) {
+                writer.write('\n');
+            }
+        }
+
+        private void finish() throws IOException {
+            if (format == PortfolioFormat.JSON) {
+                writer.write(first ? "[]" : "]");
+            }
+            writer.flush();
+        }
+    }
+}
@@ -14,12 +14,18 @@ import com.app.fdaccount.dto.PrematureWithdrawalInquiryResponse;
 import com.app.fdaccount.dto.TransactionRequest;
 import com.app.fdaccount.dto.TransactionResponse;
 import com.app.fdaccount.dto.external.ProductDto;
+import com.app.fdaccount.entity.AccountRole;
 import com.app.fdaccount.entity.FdAccount;
 import com.app.fdaccount.enums.AccountStatus;
 import com.app.fdaccount.enums.TransactionType;
+import com.app.fdaccount.repository.AccountBalanceRepository;
 import com.app.fdaccount.repository.FdAccountRepository;
+import com.app.fdaccount.service.concurrency.AccountConcurrencyGuard;
 import com.app.fdaccount.service.integration.CalculatorServiceClient;
+import com.app.fdaccount.service.integration.CustomerServiceClient;
 import com.app.fdaccount.service.integration.ProductServiceClient;
+import com.app.fdaccount.service.portfolio.PortfolioAggregateService;
+import com.app.fdaccount.service.portfolio.PortfolioKey;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -36,6 +42,10 @@ public class PrematureWithdrawalService {
     private final ProductServiceClient productServiceClient;
     private final CalculatorServiceClient calculatorServiceClient;
     private final TransactionService transactionService;
+    private final AccountBalanceRepository balanceRepository;
+    private final PortfolioAggregateService portfolioAggregateService;
+    private final CustomerServiceClient customerServiceClient;
+    private final AccountConcurrencyGuard concurrencyGuard;
 
     @Value("${transaction.premature-withdrawal-penalty:2.0}")
     private BigDecimal defaultPenaltyPercentage;
@@ -139,8 +149,9 @@ public class PrematureWithdrawalService {
 
     /**
      * Process premature withdrawal
+     * The inquiry (product and calculator calls) runs first; the postings and the closure
+     * then commit together under the account's concurrency guard
      */
-    @Transactional
     public TransactionResponse processPrematureWithdrawal(
             String accountNumber, 
             LocalDate withdrawalDate, 
@@ -161,9 +172,24 @@ public class PrematureWithdrawalService {
             throw new IllegalStateException("Account not eligible for premature withdrawal: " + inquiry.getMessage());
         }
 
-        // 2. Find account
-        FdAccount account = accountRepository.findByAccountNumber(accountNumber)
+        return concurrencyGuard.executeForAccount(accountNumber,
+                () -> closePrematurely(accountNumber, withdrawalDate, performedBy, remarks, inquiry));
+    }
+
+    /**
+     * Post the withdrawal and close the account - runs under the account's concurrency guard
+     */
+    private TransactionResponse closePrematurely(String accountNumber, LocalDate withdrawalDate,
+                                                 String performedBy, String remarks,
+                                                 PrematureWithdrawalInquiryResponse inquiry) {
+        // 2. Locked re-read; the inquiry must still describe the account
+        FdAccount account = accountRepository.findByAccountNumberForPosting(accountNumber)
                 .orElseThrow(() -> new RuntimeException("Account not found: " + accountNumber));
+        if (account.getStatus() != AccountStatus.ACTIVE
+                || account.getPrincipalAmount().compareTo(inquiry.getPrincipalAmount()) != 0) {
+            throw new IllegalStateException("Account changed during premature withdrawal, please retry: "
+                    + accountNumber);
+        }
 
         // 3. Create interest credit transaction (with penalty already applied)
         TransactionRequest interestTxn = TransactionRequest.builder()
@@ -211,11 +237,24 @@ public class PrematureWithdrawalService {
         TransactionResponse withdrawalResponse = transactionService.createTransaction(withdrawalTxn);
 
         // 6. Update account status to CLOSED
+        PortfolioKey portfolioKeyBefore = PortfolioKey.of(account);
         account.setStatus(AccountStatus.CLOSED);
         account.setClosureDate(withdrawalDate);
         account.setUpdatedBy(performedBy);
         accountRepository.save(account);
 
+        // 7. Move the account's remaining balances to its closed portfolio row
+        BigDecimal principal = balanceRepository.findCurrentBalance(account.getId(), "PRINCIPAL")
+                .orElse(BigDecimal.ZERO);
+        BigDecimal interest = balanceRepository.findCurrentBalance(account.getId(), "INTEREST_ACCRUED")
+                .orElse(BigDecimal.ZERO);
+        portfolioAggregateService.accountChanged(portfolioKeyBefore, principal, interest,
+                PortfolioKey.of(account), principal, interest);
+
+        // 8. Refresh the customers' 360 views once the closure commits
+        customerServiceClient.notifyAccountsChanged(account.getRoles().stream()
+                .map(AccountRole::getCustomerId).toList());
+
         log.info("✅ Processed premature withdrawal for account: {} with penalty: {}", 
                 accountNumber, inquiry.getPenaltyAmount());
 
@@ -90,6 +90,8 @@ public class RoleManagementService {
                 .findFirst()
                 .orElseThrow();
 
+        customerServiceClient.notifyAccountsChanged(List.of(savedRole.getCustomerId()));
+
         log.info("✅ Added role: {} for customer {} on account {}", 
                 savedRole.getRoleType(), savedRole.getCustomerId(), accountNumber);
 
@@ -140,6 +142,7 @@ public class RoleManagementService {
 
         // 4. Save
         AccountRole savedRole = roleRepository.save(role);
+        customerServiceClient.notifyAccountsChanged(List.of(savedRole.getCustomerId()));
 
         log.info("✅ Updated role: {}", roleId);
 
@@ -175,6 +178,7 @@ public class RoleManagementService {
         // 3. Set inactive
         role.setIsActive(false);
         roleRepository.save(role);
+        customerServiceClient.notifyAccountsChanged(List.of(role.getCustomerId()));
 
         log.info("✅ Removed role: {}", roleId);
     }
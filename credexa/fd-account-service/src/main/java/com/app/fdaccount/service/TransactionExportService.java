@@ -0,0 +1,191 @@
+package com.app.fdaccount.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import com.app.fdaccount.dto.TransactionLineResponse;
+import com.app.fdaccount.enums.ExportFormat;
+import com.app.fdaccount.enums.TransactionType;
+import com.app.fdaccount.repository.FdAccountRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service for streaming transaction exports
+ * Rows are read through a forward-only JDBC cursor and written straight to the
+ * response stream, so multi-year histories are exported in constant memory
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionExportService {
+
+    private static final String EXPORT_SQL =
+            "SELECT t.id, t.transaction_reference, t.transaction_type, t.amount, t.transaction_date, " +
+            "t.value_date, t.description, t.total_balance_after, t.is_reversed " +
+            "FROM account_transactions t WHERE t.account_id = ?";
+
+    private static final String CSV_HEADER =
+            "id,transactionReference,transactionType,amount,transactionDate,valueDate,description," +
+            "totalBalanceAfter,isReversed";
+
+    private final FdAccountRepository accountRepository;
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+
+    @Value("${statement.export.fetch-size:500}")
+    private int fetchSize;
+
+    private JdbcTemplate cursorTemplate;
+
+    @PostConstruct
+    void initCursorTemplate() {
+        cursorTemplate = new JdbcTemplate(dataSource);
+        cursorTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * Resolve the account before streaming starts so unknown accounts fail with 404
+     */
+    public Long resolveAccountId(String accountNumber) {
+        return accountRepository.findIdByAccountNumber(accountNumber)
+                .orElseThrow(() -> new RuntimeException("Account not found: " + accountNumber));
+    }
+
+    /**
+     * Stream an account's transactions (oldest first) in the requested format
+     * Returns the number of rows written
+     */
+    public long exportTransactions(Long accountId, LocalDate fromDate, LocalDate toDate,
+                                   ExportFormat format, OutputStream outputStream) throws IOException {
+        long startTime = System.currentTimeMillis();
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long rows = forEachLine(accountId, fromDate, toDate, line -> writeLine(writer, line, format));
+        writer.flush();
+
+        log.info("✅ Exported {} transactions for account id {} as {} in {}ms",
+                rows, accountId, format, System.currentTimeMillis() - startTime);
+        return rows;
+    }
+
+    /**
+     * Read an account's transactions (oldest first) through the cursor, one line at a time
+     * Returns the number of lines handled
+     */
+    public long forEachLine(Long accountId, LocalDate fromDate, LocalDate toDate,
+                            TransactionLineHandler handler) throws IOException {
+        StringBuilder sql = new StringBuilder(EXPORT_SQL);
+        List<Object> params = new ArrayList<>();
+        params.add(accountId);
+        if (fromDate != null) {
+            sql.append(" AND t.transaction_date >= ?");
+            params.add(fromDate);
+        }
+        if (toDate != null) {
+            sql.append(" AND t.transaction_date <= ?");
+            params.add(toDate);
+        }
+        sql.append(" ORDER BY t.transaction_date, t.id");
+
+        long[] rows = {0};
+        try {
+            cursorTemplate.query(sql.toString(), (RowCallbackHandler) rs -> {
+                try {
+                    handler.handle(mapLine(rs));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rows[0]++;
+            }, params.toArray());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return rows[0];
+    }
+
+    private TransactionLineResponse mapLine(ResultSet rs) throws SQLException {
+        return TransactionLineResponse.builder()
+                .id(rs.getLong("id"))
+                .transactionReference(rs.getString("transaction_reference"))
+                .transactionType(TransactionType.valueOf(rs.getString("transaction_type")))
+                .amount(rs.getBigDecimal("amount"))
+                .transactionDate(rs.getObject("transaction_date", LocalDate.class))
+                .valueDate(rs.getObject("value_date", LocalDate.class))
+                .description(rs.getString("description"))
+                .totalBalanceAfter(rs.getBigDecimal("total_balance_after"))
+                .isReversed(rs.getBoolean("is_reversed"))
+                .build();
+    }
+
+    private void writeLine(Writer writer, TransactionLineResponse line, ExportFormat format) throws IOException {
+        if (format == ExportFormat.NDJSON) {
+            writer.write(objectMapper.writeValueAsString(line));
+        } else {
+            writer.write(String.valueOf(line.getId()));
+            writer.write(',');
+            writer.write(csv(line.getTransactionReference()));
+            writer.write(',');
+            writer.write(line.getTransactionType().name());
+            writer.write(',');
+            writer.write(line.getAmount().toPlainString());
+            writer.write(',');
+            writer.write(String.valueOf(line.getTransactionDate()));
+            writer.write(',');
+            writer.write(String.valueOf(line.getValueDate()));
+            writer.write(',');
+            writer.write(csv(line.getDescription()));
+            writer.write(',');
+            writer.write(line.getTotalBalanceAfter() != null ? line.getTotalBalanceAfter().toPlainString() : "");
+            writer.write(',');
+            writer.write(String.valueOf(line.getIsReversed()));
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * Quote a CSV field when it contains separators, quotes or line breaks
+     */
+    public static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Callback for one streamed transaction line
+     */
+    @FunctionalInterface
+    public interface TransactionLineHandler {
+        void handle(TransactionLineResponse line) throws IOException;
+    }
+}
@@ -1,27 +1,50 @@
 package com.app.fdaccount.service;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.app.fdaccount.dto.BatchTransactionResponse;
+import com.app.fdaccount.dto.PostingResult;
+import com.app.fdaccount.dto.TransactionKeysetPage;
+import com.app.fdaccount.dto.TransactionLineResponse;
 import com.app.fdaccount.dto.TransactionRequest;
 import com.app.fdaccount.dto.TransactionResponse;
 import com.app.fdaccount.entity.AccountBalance;
 import com.app.fdaccount.entity.AccountTransaction;
 import com.app.fdaccount.entity.FdAccount;
 import com.app.fdaccount.enums.TransactionType;
+import com.app.fdaccount.repository.AccountBalanceRepository;
 import com.app.fdaccount.repository.AccountTransactionRepository;
 import com.app.fdaccount.repository.FdAccountRepository;
-
+import com.app.fdaccount.repository.projection.BatchRunPostingView;
+import com.app.fdaccount.repository.projection.TransactionReversalView;
+import com.app.fdaccount.service.concurrency.AccountConcurrencyGuard;
+import com.app.fdaccount.service.portfolio.PortfolioAggregateService;
+import com.app.fdaccount.service.portfolio.PortfolioKey;
+import com.app.fdaccount.service.statement.StatementCache;
+
+import jakarta.persistence.PersistenceException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -33,19 +56,100 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class TransactionService {
 
+    private static final String INSERT_BALANCE_SQL =
+            "INSERT INTO account_balances (account_id, balance_type, balance, as_of_date, description, " +
+            "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int MAX_KEYSET_PAGE_SIZE = 500;
+
     private final FdAccountRepository accountRepository;
     private final AccountTransactionRepository transactionRepository;
+    private final AccountBalanceRepository balanceRepository;
+    private final AccountConcurrencyGuard concurrencyGuard;
+    private final JdbcTemplate jdbcTemplate;
+    private final StatementCache statementCache;
+    private final PortfolioAggregateService portfolioAggregateService;
 
     /**
      * Create a new transaction
+     * Serialized per account and retried on optimistic version conflicts
      */
-    @Transactional
     public TransactionResponse createTransaction(TransactionRequest request) {
+        return concurrencyGuard.executeForAccount(request.getAccountNumber(), () -> postTransaction(request));
+    }
+
+    /**
+     * Post a group of transactions with a single commit (group commit)
+     * Items are applied in list order; a rejected item does not affect the others.
+     * If the group as a whole cannot be committed, every item is posted on its own.
+     */
+    public List<PostingResult> postTransactions(List<TransactionRequest> requests) {
+        Set<String> accountNumbers = requests.stream()
+                .map(TransactionRequest::getAccountNumber)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        try {
+            return concurrencyGuard.executeForAccounts(accountNumbers, () -> postGroup(requests));
+        } catch (RuntimeException e) {
+            log.warn("Group commit of {} postings failed, posting individually: {}", requests.size(), e.getMessage());
+            return requests.stream()
+                    .map(this::postIndividually)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Post every item of a group inside the current transaction
+     * Business rejections happen before any entity is modified, so they are
+     * recorded per item; database errors abort the whole group.
+     */
+    private List<PostingResult> postGroup(List<TransactionRequest> requests) {
+        List<PostingResult> results = new ArrayList<>(requests.size());
+        for (TransactionRequest request : requests) {
+            try {
+                results.add(postingSucceeded(request, postTransaction(request)));
+            } catch (DataAccessException | PersistenceException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                results.add(postingFailed(request, e));
+            }
+        }
+        return results;
+    }
+
+    private PostingResult postIndividually(TransactionRequest request) {
+        try {
+            return postingSucceeded(request, createTransaction(request));
+        } catch (RuntimeException e) {
+            return postingFailed(request, e);
+        }
+    }
+
+    private PostingResult postingSucceeded(TransactionRequest request, TransactionResponse response) {
+        return PostingResult.builder()
+                .accountNumber(request.getAccountNumber())
+                .success(true)
+                .transaction(response)
+                .build();
+    }
+
+    private PostingResult postingFailed(TransactionRequest request, RuntimeException e) {
+        return PostingResult.builder()
+                .accountNumber(request.getAccountNumber())
+                .success(false)
+                .errorMessage(e.getMessage())
+                .build();
+    }
+
+    /**
+     * Post a transaction - must run under the account's concurrency guard
+     */
+    private TransactionResponse postTransaction(TransactionRequest request) {
         log.info("Creating transaction: type={}, amount={} for account={}", 
                 request.getTransactionType(), request.getAmount(), request.getAccountNumber());
 
-        // 1. Find account
-        FdAccount account = accountRepository.findByAccountNumber(request.getAccountNumber())
+        // 1. Find account (version is bumped on commit)
+        FdAccount account = accountRepository.findByAccountNumberForPosting(request.getAccountNumber())
                 .orElseThrow(() -> new RuntimeException("Account not found: " + request.getAccountNumber()));
 
         // 2. Validate transaction
@@ -138,6 +242,7 @@ public class TransactionService {
                 .totalBalanceAfter(newTotal)
                 .performedBy(request.getPerformedBy())
                 .relatedTransactionId(request.getRelatedTransactionId())
+                .batchRunId(request.getBatchRunId())
                 .isReversed(false)
                 .build();
 
@@ -155,6 +260,15 @@ public class TransactionService {
                 .findFirst()
                 .orElseThrow();
 
+        // 8. A back-dated posting changes statements for periods that may already be closed
+        if (request.getTransactionDate().isBefore(LocalDate.now())) {
+            statementCache.invalidateAccount(account.getAccountNumber());
+        }
+
+        // 9. Portfolio totals are updated with this commit
+        portfolioAggregateService.balanceChanged(PortfolioKey.of(account),
+                newPrincipal.subtract(currentPrincipal), newInterest.subtract(currentInterest));
+
         log.info("✅ Created transaction: {} with reference: {}", 
                 savedTransaction.getTransactionType(), savedTransaction.getTransactionReference());
 
@@ -163,40 +277,147 @@ public class TransactionService {
 
     /**
      * Reverse a transaction
+     * Serialized per account and retried on optimistic version conflicts
      */
-    @Transactional
     public TransactionResponse reverseTransaction(String transactionReference, String reason, String performedBy) {
+        String accountNumber = transactionRepository.findAccountNumberByTransactionReference(transactionReference)
+                .orElseThrow(() -> new RuntimeException("Transaction not found: " + transactionReference));
+
+        return concurrencyGuard.executeForAccount(accountNumber,
+                () -> postReversal(accountNumber, transactionReference, reason, performedBy));
+    }
+
+    /**
+     * Reverse every open posting of a batch run (e.g. an erroneous interest run)
+     * Postings are reversed newest first, one commit per account.
+     */
+    public BatchTransactionResponse reverseBatchRun(String batchRunId, String reason, String performedBy) {
+        log.info("Reversing batch run: {}", batchRunId);
+
+        Map<String, List<String>> referencesByAccount = new LinkedHashMap<>();
+        for (BatchRunPostingView posting : transactionRepository.findReversiblePostingsByBatchRunId(batchRunId)) {
+            referencesByAccount.computeIfAbsent(posting.getAccountNumber(), k -> new ArrayList<>())
+                    .add(posting.getTransactionReference());
+        }
+
+        if (referencesByAccount.isEmpty()) {
+            throw new RuntimeException("No reversible transactions found for batch run: " + batchRunId);
+        }
+
+        List<PostingResult> results = new ArrayList<>();
+        referencesByAccount.forEach((accountNumber, references) ->
+                results.addAll(reverseAccountPostings(accountNumber, references, reason, performedBy)));
+
+        for (int i = 0; i < results.size(); i++) {
+            results.get(i).setIndex(i);
+        }
+        int succeeded = (int) results.stream().filter(r -> Boolean.TRUE.equals(r.getSuccess())).count();
+
+        log.info("✅ Reversed {} of {} postings for batch run: {}", succeeded, results.size(), batchRunId);
+
+        return BatchTransactionResponse.builder()
+                .total(results.size())
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Reverse several postings of one account in a single commit
+     * Falls back to one commit per posting if the group cannot be committed
+     */
+    private List<PostingResult> reverseAccountPostings(String accountNumber, List<String> references,
+                                                       String reason, String performedBy) {
+        try {
+            return concurrencyGuard.executeForAccount(accountNumber, () -> {
+                List<PostingResult> results = new ArrayList<>(references.size());
+                for (String reference : references) {
+                    try {
+                        results.add(reversalSucceeded(accountNumber,
+                                postReversal(accountNumber, reference, reason, performedBy)));
+                    } catch (DataAccessException | PersistenceException e) {
+                        throw e;
+                    } catch (RuntimeException e) {
+                        results.add(reversalFailed(accountNumber, e));
+                    }
+                }
+                return results;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Group reversal on account {} failed, reversing individually: {}", accountNumber, e.getMessage());
+            return references.stream()
+                    .map(reference -> {
+                        try {
+                            return reversalSucceeded(accountNumber,
+                                    reverseTransaction(reference, reason, performedBy));
+                        } catch (RuntimeException ex) {
+                            return reversalFailed(accountNumber, ex);
+                        }
+                    })
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private PostingResult reversalSucceeded(String accountNumber, TransactionResponse response) {
+        return PostingResult.builder()
+                .accountNumber(accountNumber)
+                .success(true)
+                .transaction(response)
+                .build();
+    }
+
+    private PostingResult reversalFailed(String accountNumber, RuntimeException e) {
+        return PostingResult.builder()
+                .accountNumber(accountNumber)
+                .success(false)
+                .errorMessage(e.getMessage())
+                .build();
+    }
+
+    /**
+     * Post a reversal - must run under the account's concurrency guard
+     * Reads only the original's key columns and the current balances (no account graph),
+     * then writes the reversal row, the original's reversal flag, one JDBC batch of
+     * balance rows and the account version bump.
+     */
+    private TransactionResponse postReversal(String accountNumber, String transactionReference,
+                                             String reason, String performedBy) {
         log.info("Reversing transaction: {}", transactionReference);
 
-        // 1. Find original transaction
-        AccountTransaction originalTransaction = transactionRepository.findByTransactionReference(transactionReference)
+        // 1. Find original transaction (projection)
+        TransactionReversalView original = transactionRepository.findReversalViewByReference(transactionReference)
                 .orElseThrow(() -> new RuntimeException("Transaction not found: " + transactionReference));
 
-        if (originalTransaction.getIsReversed()) {
+        if (!original.getAccountNumber().equals(accountNumber)) {
+            throw new IllegalStateException("Transaction " + transactionReference +
+                    " does not belong to account: " + accountNumber);
+        }
+        if (original.getIsReversed()) {
             throw new IllegalStateException("Transaction already reversed: " + transactionReference);
         }
 
-        // 2. Find account
-        FdAccount account = originalTransaction.getAccount();
-
-        // 3. Get current balances
-        BigDecimal currentPrincipal = getCurrentBalance(account, "PRINCIPAL");
-        BigDecimal currentInterest = getCurrentBalance(account, "INTEREST_ACCRUED");
+        // 2. Get current balances
+        Long accountId = original.getAccountId();
+        BigDecimal currentPrincipal = balanceRepository.findCurrentBalance(accountId, "PRINCIPAL")
+                .orElse(BigDecimal.ZERO);
+        BigDecimal currentInterest = balanceRepository.findCurrentBalance(accountId, "INTEREST_ACCRUED")
+                .orElse(BigDecimal.ZERO);
         BigDecimal currentTotal = currentPrincipal.add(currentInterest);
 
-        // 4. Calculate reversed balances (opposite of original)
-        BigDecimal reversalAmount = originalTransaction.getAmount();
+        // 3. Calculate reversed balances (opposite of original)
+        BigDecimal reversalAmount = original.getAmount();
         BigDecimal newPrincipal = currentPrincipal;
         BigDecimal newInterest = currentInterest;
         BigDecimal newTotal = currentTotal;
 
-        switch (originalTransaction.getTransactionType()) {
+        switch (original.getTransactionType()) {
             case ADDITIONAL_DEPOSIT:
             case INTEREST_CREDIT:
             case INTEREST_ACCRUAL:
                 // Reverse means subtract
                 newTotal = currentTotal.subtract(reversalAmount);
-                if (originalTransaction.getTransactionType() == TransactionType.ADDITIONAL_DEPOSIT) {
+                if (original.getTransactionType() == TransactionType.ADDITIONAL_DEPOSIT) {
                     newPrincipal = currentPrincipal.subtract(reversalAmount);
                 } else {
                     newInterest = currentInterest.subtract(reversalAmount);
@@ -213,47 +434,70 @@ public class TransactionService {
 
             default:
                 throw new IllegalArgumentException("Cannot reverse transaction type: " + 
-                        originalTransaction.getTransactionType());
+                        original.getTransactionType());
         }
 
-        // 5. Mark original as reversed
-        originalTransaction.setIsReversed(true);
-        originalTransaction.setReversalDate(LocalDateTime.now());
-        originalTransaction.setReversalReason(reason);
+        LocalDate today = LocalDate.now();
 
-        // 6. Create reversal transaction
-        AccountTransaction reversalTransaction = AccountTransaction.builder()
+        // 4. Create reversal transaction (account is referenced, not loaded)
+        AccountTransaction reversalTransaction = transactionRepository.save(AccountTransaction.builder()
+                .account(accountRepository.getReferenceById(accountId))
                 .transactionReference(generateTransactionReference())
                 .transactionType(TransactionType.REVERSAL)
                 .amount(reversalAmount)
-                .transactionDate(LocalDate.now())
-                .valueDate(LocalDate.now())
+                .transactionDate(today)
+                .valueDate(today)
                 .description("Reversal of " + transactionReference + " - " + reason)
                 .principalBalanceAfter(newPrincipal)
                 .interestBalanceAfter(newInterest)
                 .totalBalanceAfter(newTotal)
                 .performedBy(performedBy)
-                .relatedTransactionId(originalTransaction.getId())
+                .relatedTransactionId(original.getId())
                 .isReversed(false)
-                .build();
+                .build());
+
+        // 5. Mark original as reversed
+        if (transactionRepository.markReversed(original.getId(), reversalTransaction.getId(),
+                LocalDateTime.now(), reason) == 0) {
+            throw new ObjectOptimisticLockingFailureException(AccountTransaction.class, original.getId());
+        }
+
+        // 6. Append balances in one batch
+        insertBalances(accountId, today, newPrincipal, newInterest, newTotal);
 
-        account.addTransaction(reversalTransaction);
-        originalTransaction.setReversalTransactionId(reversalTransaction.getId());
+        // 7. Bump account version (detects writers outside this JVM)
+        if (accountRepository.incrementVersion(accountId, original.getAccountVersion(), LocalDateTime.now()) == 0) {
+            throw new ObjectOptimisticLockingFailureException(FdAccount.class, accountId);
+        }
 
-        // 7. Update balances
-        updateAccountBalance(account, "PRINCIPAL", newPrincipal, LocalDate.now());
-        updateAccountBalance(account, "INTEREST_ACCRUED", newInterest, LocalDate.now());
-        updateAccountBalance(account, "AVAILABLE", newTotal, LocalDate.now());
+        // 8. The original is flagged as reversed in statements already generated for its period
+        statementCache.invalidateAccount(accountNumber);
 
-        // 8. Save
-        accountRepository.save(account);
-        transactionRepository.save(originalTransaction);
+        // 9. Portfolio totals are updated with this commit
+        portfolioAggregateService.balanceChanged(
+                PortfolioKey.of(original.getBranchCode(), original.getProductCode(),
+                        original.getAccountStatus(), original.getMaturityDate()),
+                newPrincipal.subtract(currentPrincipal), newInterest.subtract(currentInterest));
 
         log.info("✅ Reversed transaction: {}", transactionReference);
 
         return mapToTransactionResponse(reversalTransaction);
     }
 
+    /**
+     * Append PRINCIPAL, INTEREST_ACCRUED and AVAILABLE balance rows with a single JDBC batch
+     */
+    private void insertBalances(Long accountId, LocalDate asOfDate,
+                                BigDecimal principal, BigDecimal interest, BigDecimal total) {
+        LocalDateTime now = LocalDateTime.now();
+        String description = "Balance after transaction on " + asOfDate;
+
+        jdbcTemplate.batchUpdate(INSERT_BALANCE_SQL, List.of(
+                new Object[]{accountId, "PRINCIPAL", principal, asOfDate, description, now, now},
+                new Object[]{accountId, "INTEREST_ACCRUED", interest, asOfDate, description, now, now},
+                new Object[]{accountId, "AVAILABLE", total, asOfDate, description, now, now}));
+    }
+
     /**
      * Get transactions for an account
      */
@@ -280,6 +524,64 @@ public class TransactionService {
         return transactions.map(this::mapToTransactionResponse);
     }
 
+    /**
+     * Get transactions with keyset (seek) pagination, newest first
+     * Each page seeks past the last (transactionDate, id) on the composite index,
+     * so deep pages cost the same as the first one
+     */
+    @Transactional(readOnly = true)
+    public TransactionKeysetPage getAccountTransactionsKeyset(String accountNumber, String cursor, int size) {
+        Long accountId = accountRepository.findIdByAccountNumber(accountNumber)
+                .orElseThrow(() -> new RuntimeException("Account not found: " + accountNumber));
+
+        int pageSize = Math.max(1, Math.min(size, MAX_KEYSET_PAGE_SIZE));
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<TransactionLineResponse> lines;
+        if (cursor == null || cursor.isBlank()) {
+            lines = transactionRepository.findLinesByAccountId(accountId, limit);
+        } else {
+            String[] key = decodeCursor(cursor);
+            lines = transactionRepository.findLinesByAccountIdAfter(
+                    accountId, LocalDate.parse(key[0]), Long.parseLong(key[1]), limit);
+        }
+
+        boolean hasNext = lines.size() > pageSize;
+        List<TransactionLineResponse> items = hasNext ? lines.subList(0, pageSize) : lines;
+
+        return TransactionKeysetPage.builder()
+                .items(items)
+                .size(items.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? encodeCursor(items.get(items.size() - 1)) : null)
+                .build();
+    }
+
+    /**
+     * Encode the seek key of the last line as an opaque cursor
+     */
+    private String encodeCursor(TransactionLineResponse line) {
+        String key = line.getTransactionDate() + "|" + line.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor into its [transactionDate, id] seek key
+     */
+    private String[] decodeCursor(String cursor) {
+        try {
+            String[] key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (key.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            LocalDate.parse(key[0]);
+            Long.parseLong(key[1]);
+            return key;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
     /**
      * Get transaction by reference
      */
@@ -313,11 +615,13 @@ public class TransactionService {
 
     /**
      * Get current balance for a balance type
+     * Several postings on the same date are ordered by insertion (id)
      */
     private BigDecimal getCurrentBalance(FdAccount account, String balanceType) {
         return account.getBalances().stream()
                 .filter(b -> balanceType.equals(b.getBalanceType()))
-                .max((b1, b2) -> b1.getAsOfDate().compareTo(b2.getAsOfDate()))
+                .max(Comparator.comparing(AccountBalance::getAsOfDate)
+                        .thenComparing(AccountBalance::getId, Comparator.nullsLast(Comparator.naturalOrder())))
                 .map(AccountBalance::getBalance)
                 .orElse(BigDecimal.ZERO);
     }
@@ -365,6 +669,7 @@ public class TransactionService {
                 .reversalDate(transaction.getReversalDate())
                 .reversalReason(transaction.getReversalReason())
                 .relatedTransactionId(transaction.getRelatedTransactionId())
+                .batchRunId(transaction.getBatchRunId())
                 .createdAt(transaction.getCreatedAt())
                 .build();
     }
@@ -0,0 +1,189 @@
+package com.app.fdaccount.service.concurrency;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-account concurrency control for balance-changing operations
+ * Serializes work on the same account inside this JVM with a striped lock and
+ * retries the transaction when the optimistic version check on FdAccount fails
+ * (concurrent writer from another instance or a batch job)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccountConcurrencyGuard {
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${transaction.concurrency.lock-stripes:256}")
+    private int lockStripes;
+
+    @Value("${transaction.concurrency.lock-timeout-ms:5000}")
+    private long lockTimeoutMs;
+
+    @Value("${transaction.concurrency.max-retries:3}")
+    private int maxRetries;
+
+    @Value("${transaction.concurrency.retry-backoff-ms:20}")
+    private long retryBackoffMs;
+
+    private ReentrantLock[] locks;
+
+    @PostConstruct
+    void initLocks() {
+        locks = new ReentrantLock[lockStripes];
+        for (int i = 0; i < lockStripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        log.info("Account lock stripes initialized: {}", lockStripes);
+    }
+
+    /**
+     * Run a balance-changing unit of work for an account
+     * The stripe lock is held across the whole transaction (begin to commit) so the
+     * next writer on the same account always reads committed balances. When called
+     * inside an existing transaction the work joins it and the lock is kept until that
+     * outer transaction completes; conflicts are then not retried, because the outer
+     * transaction is already marked for rollback.
+     */
+    public <T> T executeForAccount(String accountNumber, Supplier<T> work) {
+        ReentrantLock lock = lockFor(accountNumber);
+        acquire(lock, accountNumber);
+        boolean heldByOuterTransaction = false;
+        try {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                heldByOuterTransaction = releaseOnCompletion(List.of(lock));
+                return work.get();
+            }
+            return executeWithRetry(accountNumber, work);
+        } finally {
+            if (!heldByOuterTransaction) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Run one unit of work spanning several accounts (group commit)
+     * Stripes are acquired in index order so concurrent groups cannot deadlock
+     */
+    public <T> T executeForAccounts(Collection<String> accountNumbers, Supplier<T> work) {
+        TreeMap<Integer, String> stripes = new TreeMap<>();
+        for (String accountNumber : accountNumbers) {
+            stripes.putIfAbsent(stripeIndex(accountNumber), accountNumber);
+        }
+
+        List<ReentrantLock> acquired = new ArrayList<>(stripes.size());
+        boolean heldByOuterTransaction = false;
+        try {
+            stripes.forEach((index, accountNumber) -> {
+                acquire(locks[index], accountNumber);
+                acquired.add(locks[index]);
+            });
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                heldByOuterTransaction = releaseOnCompletion(acquired);
+                return work.get();
+            }
+            return executeWithRetry(String.join(",", accountNumbers), work);
+        } finally {
+            if (!heldByOuterTransaction) {
+                unlockAll(acquired);
+            }
+        }
+    }
+
+    /**
+     * Hand the locks to the surrounding transaction, released once it commits or rolls back
+     * Returns false when the transaction has no synchronization to hook into
+     */
+    private boolean releaseOnCompletion(List<ReentrantLock> held) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        List<ReentrantLock> toRelease = List.copyOf(held);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                unlockAll(toRelease);
+            }
+        });
+        return true;
+    }
+
+    private static void unlockAll(List<ReentrantLock> held) {
+        for (int i = held.size() - 1; i >= 0; i--) {
+            held.get(i).unlock();
+        }
+    }
+
+    /**
+     * Execute the work in its own transaction, retrying on version conflicts
+     */
+    private <T> T executeWithRetry(String accountNumber, Supplier<T> work) {
+        int attempt = 0;
+        while (true) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException e) {
+                attempt++;
+                if (attempt > maxRetries) {
+                    log.warn("Giving up on account {} after {} version conflicts", accountNumber, attempt);
+                    throw new IllegalStateException(
+                            "Concurrent update conflict on account: " + accountNumber + ". Please retry.", e);
+                }
+                log.debug("Version conflict on account {} (attempt {}), retrying", accountNumber, attempt);
+                backoff(attempt);
+            }
+        }
+    }
+
+    /**
+     * Stripe lock guarding an account number
+     */
+    ReentrantLock lockFor(String accountNumber) {
+        return locks[stripeIndex(accountNumber)];
+    }
+
+    private int stripeIndex(String accountNumber) {
+        int hash = accountNumber.hashCode();
+        hash ^= (hash >>> 16);
+        return Math.floorMod(hash, locks.length);
+    }
+
+    private void acquire(ReentrantLock lock, String accountNumber) {
+        try {
+            if (!lock.tryLock(lockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Account is busy, please retry: " + accountNumber);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for account: " + accountNumber, e);
+        }
+    }
+
+    private void backoff(int attempt) {
+        try {
+            Thread.sleep(retryBackoffMs * attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying account update", e);
+        }
+    }
+}
@@ -1,14 +1,33 @@
 package com.app.fdaccount.service.integration;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import com.app.common.util.InternalAuthHeader;
+import com.app.common.util.RequestCoalescer;
 import com.app.fdaccount.dto.external.CustomerDto;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -21,6 +40,11 @@ import lombok.extern.slf4j.Slf4j;
 public class CustomerServiceClient {
 
     private final WebClient.Builder webClientBuilder;
+    private final CacheManager cacheManager;
+    private final InternalAuthHeader internalAuthHeader;
+
+    /** Lifetime of the service identity signed onto each notification */
+    private static final Duration SERVICE_IDENTITY_VALIDITY = Duration.ofMinutes(1);
 
     @Value("${integration.customer-service.url}")
     private String customerServiceUrl;
@@ -28,30 +52,40 @@ public class CustomerServiceClient {
     @Value("${integration.customer-service.timeout:5000}")
     private int timeout;
 
+    @Value("${integration.customer-service.batch.window-ms:5}")
+    private long batchWindowMs;
+
+    @Value("${integration.customer-service.batch.max-size:100}")
+    private int batchMaxSize;
+
+    @Value("${integration.customer-service.batch.loader-threads:4}")
+    private int batchLoaderThreads;
+
+    private RequestCoalescer<Long, CustomerDto> customerLoader;
+
+    @PostConstruct
+    void initCustomerLoader() {
+        customerLoader = new RequestCoalescer<>("customer-batch", this::fetchCustomers,
+                Duration.ofMillis(batchWindowMs), batchMaxSize, batchLoaderThreads);
+    }
+
+    @PreDestroy
+    void closeCustomerLoader() {
+        customerLoader.close();
+    }
+
     /**
      * Get customer by customer ID
-     * Cached to reduce external calls
+     * Cached to reduce external calls; cache misses from concurrent requests are
+     * merged into one batch call
      */
     @Cacheable(value = "customers", key = "#customerId")
     public CustomerDto getCustomerById(Long customerId) {
         log.debug("Fetching customer: {}", customerId);
 
         try {
-            CustomerDto customer = webClientBuilder.build()
-                    .get()
-                    .uri(customerServiceUrl + "/{customerId}", customerId)
-                    .retrieve()
-                    .bodyToMono(CustomerDto.class)
-                    .timeout(Duration.ofMillis(timeout))
-                    .block();
-
-            if (customer == null) {
-                throw new RuntimeException("Customer not found: " + customerId);
-            }
-
-            if (!Boolean.TRUE.equals(customer.getIsActive())) {
-                throw new RuntimeException("Customer is not active: " + customerId);
-            }
+            CustomerDto customer = customerLoader.get(customerId, Duration.ofMillis(timeout + batchWindowMs));
+            validateActive(customerId, customer);
 
             log.info("✅ Fetched customer: {} - {}", customerId, customer.getCustomerName());
             return customer;
@@ -62,6 +96,78 @@ public class CustomerServiceClient {
         }
     }
 
+    /**
+     * Get several customers at once (e.g. all role holders of a new account)
+     * Served from the customers cache where possible; the rest is loaded in one batch call
+     */
+    public Map<Long, CustomerDto> getCustomersByIds(Collection<Long> customerIds) {
+        Cache cache = cacheManager.getCache("customers");
+        Map<Long, CustomerDto> customers = new LinkedHashMap<>();
+        Map<Long, CompletableFuture<CustomerDto>> loading = new LinkedHashMap<>();
+        for (Long customerId : new LinkedHashSet<>(customerIds)) {
+            CustomerDto cached = cache != null ? cache.get(customerId, CustomerDto.class) : null;
+            if (cached != null) {
+                customers.put(customerId, cached);
+            } else {
+                loading.put(customerId, customerLoader.load(customerId));
+            }
+        }
+
+        try {
+            for (Map.Entry<Long, CompletableFuture<CustomerDto>> entry : loading.entrySet()) {
+                Long customerId = entry.getKey();
+                CustomerDto customer = entry.getValue().get(timeout + batchWindowMs, TimeUnit.MILLISECONDS);
+                validateActive(customerId, customer);
+                if (cache != null) {
+                    cache.put(customerId, customer);
+                }
+                customers.put(customerId, customer);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while fetching customer details", e);
+        } catch (Exception e) {
+            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            log.error("❌ Failed to fetch customers: {}", loading.keySet(), cause);
+            throw new RuntimeException("Failed to fetch customer details: " + cause.getMessage(), cause);
+        }
+
+        log.info("✅ Fetched {} customers ({} from cache)", customers.size(), customers.size() - loading.size());
+        return customers;
+    }
+
+    /**
+     * Batch loader behind the coalescer: one POST /batch call for all waiting IDs
+     */
+    private Map<Long, CustomerDto> fetchCustomers(Set<Long> customerIds) {
+        log.debug("Fetching {} customers in one batch", customerIds.size());
+
+        List<CustomerDto> customers = webClientBuilder.build()
+                .post()
+                .uri(customerServiceUrl + "/batch")
+                .bodyValue(Map.of("customerIds", customerIds))
+                .retrieve()
+                .bodyToFlux(CustomerDto.class)
+                .collectList()
+                .timeout(Duration.ofMillis(timeout))
+                .block();
+
+        Map<Long, CustomerDto> byId = new HashMap<>();
+        if (customers != null) {
+            customers.forEach(customer -> byId.put(customer.getCustomerId(), customer));
+        }
+        return byId;
+    }
+
+    private void validateActive(Long customerId, CustomerDto customer) {
+        if (customer == null) {
+            throw new RuntimeException("Customer not found: " + customerId);
+        }
+        if (!Boolean.TRUE.equals(customer.getIsActive())) {
+            throw new RuntimeException("Customer is not active: " + customerId);
+        }
+    }
+
     /**
      * Validate customer exists and is active
      */
@@ -100,4 +206,43 @@ public class CustomerServiceClient {
             return null;
         }
     }
+
+    /**
+     * Tell customer-service that these customers' FD accounts changed so their cached
+     * 360 views are refreshed
+     * Sent after commit, signed as this service (customer-service only accepts internal
+     * callers), and without waiting for the response; a lost notification only
+     * means the view is refreshed when its cache entry ages out
+     */
+    public void notifyAccountsChanged(Collection<Long> customerIds) {
+        Set<Long> ids = new TreeSet<>(customerIds);
+        if (ids.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ids.forEach(CustomerServiceClient.this::sendAccountsChanged);
+                }
+            });
+        } else {
+            ids.forEach(this::sendAccountsChanged);
+        }
+    }
+
+    private void sendAccountsChanged(Long customerId) {
+        webClientBuilder.build()
+                .post()
+                .uri(customerServiceUrl + "/{customerId}/360-view/invalidate", customerId)
+                .header(InternalAuthHeader.HEADER_NAME,
+                        internalAuthHeader.encodeService("fd-account-service", SERVICE_IDENTITY_VALIDITY))
+                .retrieve()
+                .toBodilessEntity()
+                .timeout(Duration.ofMillis(timeout))
+                .subscribe(
+                        response -> log.debug("Notified account change for customer: {}", customerId),
+                        error -> log.warn("Could not notify account change for customer {}: {}",
+                                customerId, error.getMessage()));
+    }
 }
@@ -0,0 +1,355 @@
+package com.app.fdaccount.service.portfolio;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.fdaccount.dto.PortfolioAggregateResponse;
+import com.app.fdaccount.dto.PortfolioRebuildResponse;
+import com.app.fdaccount.entity.PortfolioAggregate;
+import com.app.fdaccount.enums.AccountStatus;
+import com.app.fdaccount.enums.PortfolioDimension;
+import com.app.fdaccount.repository.PortfolioAggregateRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Precomputed portfolio aggregates for dashboards
+ * Every account opening, posting and status change records a delta against its
+ * (branch, product, status, maturity month) row. Deltas are merged per transaction
+ * and, once it commits, into an in-memory accumulator; rolled back transactions
+ * contribute nothing. A scheduled flush writes the accumulated deltas in one batched
+ * transaction, so postings never wait on each other for the shared aggregate rows and
+ * dashboards lag by at most the flush interval. Dashboard queries read the aggregate
+ * rows only, so their cost depends on the number of dimension combinations, not on
+ * accounts.
+ *
+ * Deltas not yet flushed when the process dies are lost; the nightly rebuild
+ * recomputes the totals from the accounts and corrects that and any other drift.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PortfolioAggregateService {
+
+    private static final String UPDATE_SQL =
+            "UPDATE portfolio_aggregates SET account_count = account_count + ?, " +
+            "principal_balance = principal_balance + ?, interest_accrued = interest_accrued + ?, updated_at = ? " +
+            "WHERE branch_code = ? AND product_code = ? AND status = ? AND maturity_month = ?";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO portfolio_aggregates (branch_code, product_code, status, maturity_month, " +
+            "account_count, principal_balance, interest_accrued, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String STORED_SQL =
+            "SELECT branch_code, product_code, status, maturity_month, account_count, principal_balance, " +
+            "interest_accrued FROM portfolio_aggregates";
+
+    private static final String ACCOUNTS_SQL =
+            "SELECT a.branch_code, a.product_code, a.status, a.maturity_date, " +
+            "(SELECT b.balance FROM account_balances b WHERE b.account_id = a.id AND b.balance_type = 'PRINCIPAL' " +
+            "ORDER BY b.as_of_date DESC, b.id DESC LIMIT 1) AS principal, " +
+            "(SELECT b.balance FROM account_balances b WHERE b.account_id = a.id " +
+            "AND b.balance_type = 'INTEREST_ACCRUED' ORDER BY b.as_of_date DESC, b.id DESC LIMIT 1) AS interest " +
+            "FROM fd_accounts a";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final PortfolioAggregateRepository aggregateRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${portfolio.aggregate.rebuild-fetch-size:500}")
+    private int rebuildFetchSize;
+
+    private final Map<PortfolioKey, PortfolioTotals> unflushed = new ConcurrentHashMap<>();
+
+    private JdbcTemplate cursorTemplate;
+
+    @PostConstruct
+    void initCursorTemplate() {
+        cursorTemplate = new JdbcTemplate(dataSource);
+        cursorTemplate.setFetchSize(rebuildFetchSize);
+    }
+
+    /**
+     * Write the committed deltas to the aggregate rows in one transaction
+     */
+    @Scheduled(fixedDelayString = "${portfolio.aggregate.flush-interval-ms:1000}")
+    public void flush() {
+        if (!unflushed.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> flushUnflushed());
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Record a newly opened account with its opening principal
+     */
+    public void accountOpened(PortfolioKey key, BigDecimal principal) {
+        record(key, 1, principal, BigDecimal.ZERO);
+    }
+
+    /**
+     * Record a change in an account's principal and/or accrued interest balance
+     */
+    public void balanceChanged(PortfolioKey key, BigDecimal principalDelta, BigDecimal interestDelta) {
+        record(key, 0, principalDelta, interestDelta);
+    }
+
+    /**
+     * Record a change in an account's dimensions (status, maturity date) and balances
+     * The account's old contribution is removed from its old row and its new one added
+     */
+    public void accountChanged(PortfolioKey before, BigDecimal principalBefore, BigDecimal interestBefore,
+                               PortfolioKey after, BigDecimal principalAfter, BigDecimal interestAfter) {
+        record(before, -1, principalBefore.negate(), interestBefore.negate());
+        record(after, 1, principalAfter, interestAfter);
+    }
+
+    /**
+     * Aggregates grouped by the given dimensions, optionally filtered
+     */
+    @Transactional(readOnly = true)
+    public List<PortfolioAggregateResponse> getAggregates(Set<PortfolioDimension> groupBy, String branchCode,
+                                                          String productCode, AccountStatus status) {
+        Set<PortfolioDimension> dimensions = groupBy == null || groupBy.isEmpty()
+                ? EnumSet.noneOf(PortfolioDimension.class)
+                : EnumSet.copyOf(groupBy);
+
+        Map<PortfolioKey, PortfolioTotals> groups = new TreeMap<>();
+        for (PortfolioAggregate row : aggregateRepository.findMatching(branchCode, productCode, status)) {
+            PortfolioKey key = PortfolioKey.of(row.getBranchCode(), row.getProductCode(), row.getStatus(),
+                    row.getMaturityMonth());
+            groups.computeIfAbsent(key.project(dimensions), k -> new PortfolioTotals())
+                    .add(row.getAccountCount(), row.getPrincipalBalance(), row.getInterestAccrued());
+        }
+
+        return groups.entrySet().stream()
+                .filter(entry -> !entry.getValue().isZero())
+                .map(entry -> mapToResponse(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    /**
+     * Recompute the aggregates from the accounts and correct rows that have drifted
+     * Committed deltas are flushed first, in the same transaction, so they are not
+     * counted twice. Both reads run in one REPEATABLE READ transaction and so see the
+     * same snapshot; corrections are applied as increments, which keeps postings that
+     * commit while the rebuild runs.
+     */
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public PortfolioRebuildResponse rebuild() {
+        long startTime = System.currentTimeMillis();
+        log.info("Rebuilding portfolio aggregates...");
+        flushUnflushed();
+
+        Map<PortfolioKey, PortfolioTotals> expected = new HashMap<>();
+        long[] accounts = {0};
+        cursorTemplate.query(ACCOUNTS_SQL, (RowCallbackHandler) rs -> {
+            expected.computeIfAbsent(readKey(rs, "maturity_date"), k -> new PortfolioTotals())
+                    .add(1, zeroIfNull(rs.getBigDecimal("principal")), zeroIfNull(rs.getBigDecimal("interest")));
+            accounts[0]++;
+        });
+
+        Map<PortfolioKey, PortfolioTotals> stored = new HashMap<>();
+        jdbcTemplate.query(STORED_SQL, (RowCallbackHandler) rs ->
+                stored.put(readKey(rs, "maturity_month"), new PortfolioTotals().add(rs.getLong("account_count"),
+                        rs.getBigDecimal("principal_balance"), rs.getBigDecimal("interest_accrued"))));
+
+        Set<PortfolioKey> keys = new TreeSet<>(expected.keySet());
+        keys.addAll(stored.keySet());
+        Map<PortfolioKey, PortfolioTotals> corrections = new TreeMap<>();
+        for (PortfolioKey key : keys) {
+            PortfolioTotals correction = expected.getOrDefault(key, new PortfolioTotals())
+                    .subtract(stored.getOrDefault(key, new PortfolioTotals()));
+            if (!correction.isZero()) {
+                log.warn("Portfolio aggregate drift for {}: {} accounts, principal {}, interest {}", key,
+                        correction.getAccountCount(), correction.getPrincipalBalance(),
+                        correction.getInterestAccrued());
+                corrections.put(key, correction);
+            }
+        }
+        write(corrections);
+        int corrected = corrections.size();
+
+        long duration = System.currentTimeMillis() - startTime;
+        log.info("✅ Rebuilt portfolio aggregates from {} accounts in {}ms - Keys: {}, Corrected: {}",
+                accounts[0], duration, expected.size(), corrected);
+
+        return PortfolioRebuildResponse.builder()
+                .accounts(accounts[0])
+                .keys(expected.size())
+                .correctedKeys(corrected)
+                .durationMs(duration)
+                .build();
+    }
+
+    /**
+     * Whether any aggregate row exists yet
+     */
+    public boolean isEmpty() {
+        return aggregateRepository.count() == 0;
+    }
+
+    /**
+     * Merge a delta into the current transaction's pending deltas
+     * Outside a transaction the delta goes straight to the accumulator
+     */
+    private void record(PortfolioKey key, long accounts, BigDecimal principal, BigDecimal interest) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            accumulate(key, new PortfolioTotals().add(accounts, principal, interest));
+            return;
+        }
+
+        PendingDeltas pending = (PendingDeltas) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingDeltas();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.deltas.computeIfAbsent(key, k -> new PortfolioTotals()).add(accounts, principal, interest);
+    }
+
+    private void accumulate(PortfolioKey key, PortfolioTotals delta) {
+        unflushed.merge(key, delta, (current, added) -> current.add(added.getAccountCount(),
+                added.getPrincipalBalance(), added.getInterestAccrued()));
+    }
+
+    /**
+     * Take the accumulated deltas and write them in the current transaction
+     * If the transaction rolls back they are put back for the next flush
+     */
+    private void flushUnflushed() {
+        Map<PortfolioKey, PortfolioTotals> deltas = new TreeMap<>();
+        for (PortfolioKey key : unflushed.keySet()) {
+            PortfolioTotals delta = unflushed.remove(key);
+            if (delta != null) {
+                deltas.put(key, delta);
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    deltas.forEach(PortfolioAggregateService.this::accumulate);
+                }
+            }
+        });
+        write(deltas);
+        log.debug("Flushed portfolio aggregate deltas for {} keys", deltas.size());
+    }
+
+    /**
+     * Apply deltas as one batch of increments in key order, inserting rows that do not exist yet
+     */
+    private void write(Map<PortfolioKey, PortfolioTotals> deltas) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Map.Entry<PortfolioKey, PortfolioTotals>> changes = new TreeMap<>(deltas).entrySet().stream()
+                .filter(entry -> !entry.getValue().isZero())
+                .toList();
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> increments = new ArrayList<>(changes.size());
+        for (Map.Entry<PortfolioKey, PortfolioTotals> change : changes) {
+            increments.add(incrementArgs(change.getKey(), change.getValue(), now));
+        }
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, increments);
+
+        for (int i = 0; i < changes.size(); i++) {
+            if (updated[i] != 0) {
+                continue;
+            }
+            PortfolioKey key = changes.get(i).getKey();
+            PortfolioTotals delta = changes.get(i).getValue();
+            try {
+                jdbcTemplate.update(INSERT_SQL, key.getBranchCode(), key.getProductCode(), key.getStatus().name(),
+                        key.getMaturityMonth(), delta.getAccountCount(), delta.getPrincipalBalance(),
+                        delta.getInterestAccrued(), now);
+            } catch (DuplicateKeyException e) {
+                // Inserted by another instance since the update above
+                jdbcTemplate.update(UPDATE_SQL, incrementArgs(key, delta, now));
+            }
+        }
+    }
+
+    private static Object[] incrementArgs(PortfolioKey key, PortfolioTotals delta, LocalDateTime now) {
+        return new Object[] {delta.getAccountCount(), delta.getPrincipalBalance(), delta.getInterestAccrued(), now,
+                key.getBranchCode(), key.getProductCode(), key.getStatus().name(), key.getMaturityMonth()};
+    }
+
+    private PortfolioKey readKey(ResultSet rs, String dateColumn) throws SQLException {
+        return PortfolioKey.of(rs.getString("branch_code"), rs.getString("product_code"),
+                AccountStatus.valueOf(rs.getString("status")), rs.getObject(dateColumn, LocalDate.class));
+    }
+
+    private static BigDecimal zeroIfNull(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    private PortfolioAggregateResponse mapToResponse(PortfolioKey key, PortfolioTotals totals) {
+        return PortfolioAggregateResponse.builder()
+                .branchCode(key.getBranchCode())
+                .productCode(key.getProductCode())
+                .status(key.getStatus())
+                .maturityMonth(key.getMaturityMonth() != null ? YearMonth.from(key.getMaturityMonth()) : null)
+                .accountCount(totals.getAccountCount())
+                .principalBalance(totals.getPrincipalBalance())
+                .interestAccrued(totals.getInterestAccrued())
+                .totalBalance(totals.getPrincipalBalance().add(totals.getInterestAccrued()))
+                .build();
+    }
+
+    /**
+     * Deltas recorded in one transaction, accumulated once it commits
+     */
+    private final class PendingDeltas implements TransactionSynchronization {
+        private final Map<PortfolioKey, PortfolioTotals> deltas = new HashMap<>();
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(PortfolioAggregateService.this);
+            if (status == STATUS_COMMITTED) {
+                deltas.forEach(PortfolioAggregateService.this::accumulate);
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.app.fdaccount.service.portfolio;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Set;
+
+import com.app.fdaccount.entity.FdAccount;
+import com.app.fdaccount.enums.AccountStatus;
+import com.app.fdaccount.enums.PortfolioDimension;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Dimensions of one portfolio aggregate row
+ * Keys built from accounts have every dimension set; keys used for grouping leave the
+ * dimensions that are not grouped on null. Ordering is by branch, product, status and
+ * month (nulls first), which is also the lock order used when rows are updated.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class PortfolioKey implements Comparable<PortfolioKey> {
+
+    private static final Comparator<PortfolioKey> ORDER = Comparator
+            .comparing(PortfolioKey::getBranchCode, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+            .thenComparing(PortfolioKey::getProductCode, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+            .thenComparing(PortfolioKey::getStatus, Comparator.nullsFirst(Comparator.<AccountStatus>naturalOrder()))
+            .thenComparing(PortfolioKey::getMaturityMonth, Comparator.nullsFirst(Comparator.<LocalDate>naturalOrder()));
+
+    private final String branchCode;
+    private final String productCode;
+    private final AccountStatus status;
+    private final LocalDate maturityMonth;
+
+    private PortfolioKey(String branchCode, String productCode, AccountStatus status, LocalDate maturityMonth) {
+        this.branchCode = branchCode;
+        this.productCode = productCode;
+        this.status = status;
+        this.maturityMonth = maturityMonth;
+    }
+
+    /**
+     * Key of an account in its current state
+     */
+    public static PortfolioKey of(FdAccount account) {
+        return of(account.getBranchCode(), account.getProductCode(), account.getStatus(), account.getMaturityDate());
+    }
+
+    /**
+     * Key of an account from its individual columns
+     */
+    public static PortfolioKey of(String branchCode, String productCode, AccountStatus status, LocalDate maturityDate) {
+        return new PortfolioKey(branchCode != null ? branchCode : "", productCode, status,
+                maturityDate.withDayOfMonth(1));
+    }
+
+    /**
+     * Copy of this key keeping only the given dimensions
+     */
+    PortfolioKey project(Set<PortfolioDimension> dimensions) {
+        return new PortfolioKey(
+                dimensions.contains(PortfolioDimension.BRANCH) ? branchCode : null,
+                dimensions.contains(PortfolioDimension.PRODUCT) ? productCode : null,
+                dimensions.contains(PortfolioDimension.STATUS) ? status : null,
+                dimensions.contains(PortfolioDimension.MATURITY_MONTH) ? maturityMonth : null);
+    }
+
+    @Override
+    public int compareTo(PortfolioKey other) {
+        return ORDER.compare(this, other);
+    }
+}
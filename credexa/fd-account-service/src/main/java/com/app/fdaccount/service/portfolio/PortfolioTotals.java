@@ -0,0 +1,33 @@
+package com.app.fdaccount.service.portfolio;
+
+import java.math.BigDecimal;
+
+import lombok.Getter;
+
+/**
+ * Mutable account count and balance totals, used for pending deltas and for grouping
+ */
+@Getter
+class PortfolioTotals {
+
+    private long accountCount;
+    private BigDecimal principalBalance = BigDecimal.ZERO;
+    private BigDecimal interestAccrued = BigDecimal.ZERO;
+
+    PortfolioTotals add(long accounts, BigDecimal principal, BigDecimal interest) {
+        accountCount += accounts;
+        principalBalance = principalBalance.add(principal);
+        interestAccrued = interestAccrued.add(interest);
+        return this;
+    }
+
+    PortfolioTotals subtract(PortfolioTotals other) {
+        return new PortfolioTotals().add(accountCount - other.accountCount,
+                principalBalance.subtract(other.principalBalance),
+                interestAccrued.subtract(other.interestAccrued));
+    }
+
+    boolean isZero() {
+        return accountCount == 0 && principalBalance.signum() == 0 && interestAccrued.signum() == 0;
+    }
+}
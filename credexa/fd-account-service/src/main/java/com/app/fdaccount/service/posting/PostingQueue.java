@@ -0,0 +1,244 @@
+package com.app.fdaccount.service.posting;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.app.fdaccount.dto.BatchTransactionRequest;
+import com.app.fdaccount.dto.BatchTransactionResponse;
+import com.app.fdaccount.dto.PostingResult;
+import com.app.fdaccount.dto.TransactionRequest;
+import com.app.fdaccount.service.TransactionService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Internal posting queue with group commit
+ * Postings are partitioned by account number; each partition is drained by a single
+ * worker that collects up to max-batch-size items or waits linger-ms, then commits
+ * them together through TransactionService. One partition per account guarantees
+ * postings to the same account are applied in submission order.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostingQueue {
+
+    private final TransactionService transactionService;
+
+    @Value("${transaction.posting.partitions:4}")
+    private int partitions;
+
+    @Value("${transaction.posting.capacity:10000}")
+    private int capacity;
+
+    @Value("${transaction.posting.max-batch-size:100}")
+    private int maxBatchSize;
+
+    @Value("${transaction.posting.linger-ms:5}")
+    private long lingerMs;
+
+    @Value("${transaction.posting.enqueue-timeout-ms:1000}")
+    private long enqueueTimeoutMs;
+
+    @Value("${transaction.posting.result-timeout-ms:30000}")
+    private long resultTimeoutMs;
+
+    private final List<BlockingQueue<PendingPosting>> queues = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        running = true;
+        for (int i = 0; i < partitions; i++) {
+            BlockingQueue<PendingPosting> queue = new LinkedBlockingQueue<>(capacity);
+            Thread worker = new Thread(() -> drain(queue), "posting-queue-" + i);
+            worker.setDaemon(true);
+            queues.add(queue);
+            workers.add(worker);
+            worker.start();
+        }
+        log.info("Posting queue started: {} partitions, batch size {}, linger {}ms",
+                partitions, maxBatchSize, lingerMs);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        for (Thread worker : workers) {
+            worker.join(resultTimeoutMs);
+        }
+        for (BlockingQueue<PendingPosting> queue : queues) {
+            PendingPosting pending;
+            while ((pending = queue.poll()) != null) {
+                pending.future.completeExceptionally(new IllegalStateException("Posting queue is shutting down"));
+            }
+        }
+        log.info("Posting queue stopped");
+    }
+
+    /**
+     * Queue a single posting; the future completes once its group has been committed
+     */
+    public CompletableFuture<PostingResult> submit(TransactionRequest request) {
+        PendingPosting pending = new PendingPosting(request);
+        if (!running) {
+            throw new IllegalStateException("Posting queue is shutting down");
+        }
+
+        try {
+            if (!queueFor(request.getAccountNumber()).offer(pending, enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Posting queue is full, please retry");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing posting", e);
+        }
+        return pending.future;
+    }
+
+    /**
+     * Queue every posting of a batch and wait for the individual results
+     */
+    public BatchTransactionResponse postBatch(BatchTransactionRequest request) {
+        List<TransactionRequest> transactions = request.getTransactions();
+        List<CompletableFuture<PostingResult>> futures = new ArrayList<>(transactions.size());
+
+        for (TransactionRequest transaction : transactions) {
+            if (transaction.getBatchRunId() == null) {
+                transaction.setBatchRunId(request.getBatchRunId());
+            }
+            try {
+                futures.add(submit(transaction));
+            } catch (IllegalStateException e) {
+                futures.add(CompletableFuture.completedFuture(failed(transaction, e.getMessage())));
+            }
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(resultTimeoutMs);
+        List<PostingResult> results = new ArrayList<>(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            PostingResult result = awaitResult(futures.get(i), transactions.get(i), deadline);
+            result.setIndex(i);
+            results.add(result);
+        }
+
+        int succeeded = (int) results.stream().filter(r -> Boolean.TRUE.equals(r.getSuccess())).count();
+        log.info("Batch posting completed: {} of {} succeeded", succeeded, results.size());
+
+        return BatchTransactionResponse.builder()
+                .total(results.size())
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .results(results)
+                .build();
+    }
+
+    private PostingResult awaitResult(CompletableFuture<PostingResult> future, TransactionRequest request,
+                                      long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return failed(request, "Timed out waiting for posting result; check the account before retrying");
+        } catch (ExecutionException e) {
+            return failed(request, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failed(request, "Interrupted while waiting for posting result");
+        }
+    }
+
+    /**
+     * Worker loop for one partition
+     */
+    private void drain(BlockingQueue<PendingPosting> queue) {
+        List<PendingPosting> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingPosting first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fillBatch(queue, batch);
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(p -> p.future.completeExceptionally(
+                        new IllegalStateException("Posting queue worker interrupted")));
+                return;
+            } catch (RuntimeException e) {
+                log.error("❌ Posting queue worker error", e);
+                batch.forEach(p -> p.future.completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Collect more postings until the batch is full or the linger time has passed
+     */
+    private void fillBatch(BlockingQueue<PendingPosting> queue, List<PendingPosting> batch)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0) {
+                return;
+            }
+            PendingPosting next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void commit(List<PendingPosting> batch) {
+        List<TransactionRequest> requests = batch.stream().map(p -> p.request).toList();
+        List<PostingResult> results = transactionService.postTransactions(requests);
+
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).future.complete(results.get(i));
+        }
+        log.debug("Group-committed {} postings", batch.size());
+    }
+
+    private BlockingQueue<PendingPosting> queueFor(String accountNumber) {
+        return queues.get(Math.floorMod(accountNumber.hashCode(), queues.size()));
+    }
+
+    private PostingResult failed(TransactionRequest request, String message) {
+        return PostingResult.builder()
+                .accountNumber(request.getAccountNumber())
+                .success(false)
+                .errorMessage(message)
+                .build();
+    }
+
+    /**
+     * A queued posting and the future its caller is waiting on
+     */
+    private static final class PendingPosting {
+        private final TransactionRequest request;
+        private final CompletableFuture<PostingResult> future = new CompletableFuture<>();
+
+        private PendingPosting(TransactionRequest request) {
+            this.request = request;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.app.fdaccount.service.search;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.app.fdaccount.entity.FdAccount;
+import com.app.fdaccount.repository.FdAccountRepository;
+import com.app.fdaccount.repository.projection.AccountSearchKeyView;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process search index over account number and account name
+ * Resolves the LIKE '%term%' part of an account search to a short list of candidate
+ * IDs, so the database only evaluates the remaining predicates on those rows instead
+ * of scanning fd_accounts. Account numbers and names never change after creation, so
+ * the index only grows: it is loaded in keyset pages once the application is ready,
+ * new accounts are added after their creating transaction commits, and a periodic
+ * refresh picks up accounts created by other instances.
+ *
+ * Searches fall back to the database query while the index is loading, for terms
+ * shorter than three characters and when a term matches more than max-candidates accounts.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccountSearchIndex {
+
+    private final FdAccountRepository accountRepository;
+
+    @Value("${account.search.index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${account.search.index.load-page-size:5000}")
+    private int loadPageSize;
+
+    @Value("${account.search.index.max-candidates:5000}")
+    private int maxCandidates;
+
+    @Value("${account.search.index.refresh-overlap-seconds:300}")
+    private long refreshOverlapSeconds;
+
+    private final TrigramIndex numberIndex = new TrigramIndex();
+    private final TrigramIndex nameIndex = new TrigramIndex();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean ready;
+    private volatile LocalDateTime refreshedAt;
+
+    /**
+     * Load the index in the background so startup is not delayed by large account books
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!enabled) {
+            log.info("Account search index disabled; searches use the database only");
+            return;
+        }
+        Thread loader = new Thread(this::load, "account-search-index-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Read every account's searchable fields in ID order and index them
+     */
+    public void load() {
+        long startTime = System.currentTimeMillis();
+        refreshedAt = LocalDateTime.now();
+        try {
+            long afterId = 0L;
+            List<AccountSearchKeyView> page;
+            do {
+                page = accountRepository.findSearchKeysAfter(afterId, PageRequest.of(0, loadPageSize));
+                addAll(page);
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1).getId();
+                }
+            } while (page.size() == loadPageSize);
+
+            ready = true;
+            log.info("✅ Account search index loaded: {} accounts in {}ms",
+                    indexedCount(), System.currentTimeMillis() - startTime);
+        } catch (RuntimeException e) {
+            log.error("❌ Failed to load account search index; searches will use the database", e);
+        }
+    }
+
+    /**
+     * Pick up accounts created by other instances (or missed while a commit was in flight)
+     * The lookback overlaps the previous run; re-adding an indexed account is a no-op
+     */
+    @Scheduled(fixedDelayString = "${account.search.index.refresh-interval-ms:30000}")
+    public void refresh() {
+        if (!ready) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<AccountSearchKeyView> created = accountRepository.findSearchKeysCreatedSince(
+                refreshedAt.minusSeconds(refreshOverlapSeconds));
+        int added = addAll(created);
+        refreshedAt = now;
+        if (added > 0) {
+            log.debug("Account search index refreshed: {} new accounts", added);
+        }
+    }
+
+    /**
+     * Index a newly created account once its transaction commits
+     */
+    public void indexAfterCommit(FdAccount account) {
+        if (!enabled) {
+            return;
+        }
+        Long id = account.getId();
+        String accountNumber = account.getAccountNumber();
+        String accountName = account.getAccountName();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(id, accountNumber, accountName);
+                }
+            });
+        } else {
+            add(id, accountNumber, accountName);
+        }
+    }
+
+    /**
+     * IDs (ascending) of accounts whose number and name contain the given terms
+     * Empty when the index cannot answer and the caller should query the database
+     */
+    public Optional<List<Long>> findMatchingIds(String accountNumberTerm, String accountNameTerm) {
+        boolean byNumber = accountNumberTerm != null && !accountNumberTerm.isBlank();
+        boolean byName = accountNameTerm != null && !accountNameTerm.isBlank();
+        if (!ready || (!byNumber && !byName)
+                || (byNumber && accountNumberTerm.length() < TrigramIndex.GRAM_LENGTH)
+                || (byName && accountNameTerm.length() < TrigramIndex.GRAM_LENGTH)) {
+            return Optional.empty();
+        }
+
+        long[] ids;
+        lock.readLock().lock();
+        try {
+            ids = byNumber ? numberIndex.search(accountNumberTerm, maxCandidates) : null;
+            if (byNumber && ids == null) {
+                return Optional.empty();
+            }
+            if (byName) {
+                long[] nameIds = nameIndex.search(accountNameTerm, maxCandidates);
+                if (nameIds == null && !byNumber) {
+                    return Optional.empty();
+                }
+                ids = ids == null ? nameIds : nameIds == null ? ids : intersect(ids, nameIds);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Long> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            result.add(id);
+        }
+        return Optional.of(result);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int indexedCount() {
+        lock.readLock().lock();
+        try {
+            return numberIndex.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int addAll(List<AccountSearchKeyView> accounts) {
+        int added = 0;
+        lock.writeLock().lock();
+        try {
+            for (AccountSearchKeyView account : accounts) {
+                if (addUnlocked(account.getId(), account.getAccountNumber(), account.getAccountName())) {
+                    added++;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return added;
+    }
+
+    private void add(Long id, String accountNumber, String accountName) {
+        lock.writeLock().lock();
+        try {
+            addUnlocked(id, accountNumber, accountName);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean addUnlocked(Long id, String accountNumber, String accountName) {
+        boolean added = numberIndex.add(id, accountNumber);
+        nameIndex.add(id, accountName);
+        return added;
+    }
+
+    private static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[count++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+}
@@ -0,0 +1,145 @@
+package com.app.fdaccount.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Case-insensitive substring index over one text field
+ * Every indexed value is split into overlapping three-character grams; each gram keeps
+ * a sorted list of document ids. A substring query intersects the lists of its grams,
+ * starting from the shortest, then checks the surviving candidates against the stored
+ * value, so the work depends on how selective the term is, not on how many documents
+ * are indexed. Not thread-safe; AccountSearchIndex guards access.
+ */
+class TrigramIndex {
+
+    static final int GRAM_LENGTH = 3;
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, String> documents = new HashMap<>();
+
+    /**
+     * Index a value for a document; returns false if the document is already indexed
+     */
+    boolean add(long id, String text) {
+        if (text == null || documents.containsKey(id)) {
+            return false;
+        }
+        String value = normalize(text);
+        documents.put(id, value);
+        for (String gram : grams(value)) {
+            postings.computeIfAbsent(gram, g -> new PostingList()).add(id);
+        }
+        return true;
+    }
+
+    int size() {
+        return documents.size();
+    }
+
+    /**
+     * Ids (ascending) of documents whose value contains the term
+     * Returns null when the term is shorter than a gram or more than limit documents match
+     */
+    long[] search(String term, int limit) {
+        String value = normalize(term);
+        List<PostingList> lists = new ArrayList<>();
+        for (String gram : grams(value)) {
+            PostingList list = postings.get(gram);
+            if (list == null) {
+                return new long[0];
+            }
+            lists.add(list);
+        }
+        if (lists.isEmpty()) {
+            return null;
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+
+        long[] candidates = Arrays.copyOf(lists.get(0).ids, lists.get(0).size);
+        int count = candidates.length;
+        for (int i = 1; i < lists.size() && count > 0; i++) {
+            count = lists.get(i).retainAll(candidates, count);
+        }
+
+        long[] matches = new long[Math.min(count, limit + 1)];
+        int found = 0;
+        for (int i = 0; i < count; i++) {
+            if (documents.get(candidates[i]).contains(value)) {
+                if (found == limit) {
+                    return null;
+                }
+                matches[found++] = candidates[i];
+            }
+        }
+        return Arrays.copyOf(matches, found);
+    }
+
+    static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    /**
+     * Sorted, growable array of document ids
+     * Account ids are assigned in increasing order, so adds are almost always appends
+     */
+    private static final class PostingList {
+        private long[] ids = new long[4];
+        private int size;
+
+        private void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            if (size == 0 || id > ids[size - 1]) {
+                ids[size++] = id;
+                return;
+            }
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            int insertAt = -position - 1;
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        /**
+         * Keep only the first count candidates that are also in this list, compacting in place
+         * Returns the number of candidates kept
+         */
+        private int retainAll(long[] candidates, int count) {
+            int kept = 0;
+            int from = 0;
+            for (int i = 0; i < count; i++) {
+                int position = Arrays.binarySearch(ids, from, size, candidates[i]);
+                if (position >= 0) {
+                    candidates[kept++] = candidates[i];
+                    from = position + 1;
+                } else {
+                    from = -position - 1;
+                }
+                if (from >= size) {
+                    break;
+                }
+            }
+            return kept;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.app.fdaccount.service.statement;
+
+import static com.app.fdaccount.service.TransactionExportService.csv;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.app.fdaccount.dto.TransactionLineResponse;
+import com.app.fdaccount.repository.projection.StatementAccountView;
+
+/**
+ * CSV statement: summary rows, the period ledger with a header row, then closing balances
+ */
+class CsvStatementRenderer implements StatementRenderer {
+
+    private static final String LEDGER_HEADER =
+            "transactionDate,valueDate,transactionReference,transactionType,description,amount," +
+            "totalBalanceAfter,isReversed";
+
+    private final Writer writer;
+
+    CsvStatementRenderer(OutputStream outputStream) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void header(StatementAccountView account, LocalDate fromDate, LocalDate toDate,
+                       StatementBalance opening) throws IOException {
+        row("Account Number", account.getAccountNumber());
+        row("Account Name", account.getAccountName());
+        row("Product", account.getProductName());
+        row("Branch", account.getBranchCode());
+        row("Period From", String.valueOf(fromDate));
+        row("Period To", String.valueOf(toDate));
+        row("Generated At", String.valueOf(LocalDateTime.now()));
+        row("Opening Principal", amount(opening.getPrincipal()));
+        row("Opening Interest", amount(opening.getInterest()));
+        row("Opening Balance", amount(opening.getTotal()));
+        writer.write('\n');
+        writer.write(LEDGER_HEADER);
+        writer.write('\n');
+    }
+
+    @Override
+    public void line(TransactionLineResponse line) throws IOException {
+        writer.write(String.valueOf(line.getTransactionDate()));
+        writer.write(',');
+        writer.write(String.valueOf(line.getValueDate()));
+        writer.write(',');
+        writer.write(csv(line.getTransactionReference()));
+        writer.write(',');
+        writer.write(line.getTransactionType().name());
+        writer.write(',');
+        writer.write(csv(line.getDescription()));
+        writer.write(',');
+        writer.write(amount(line.getAmount()));
+        writer.write(',');
+        writer.write(line.getTotalBalanceAfter() != null ? amount(line.getTotalBalanceAfter()) : "");
+        writer.write(',');
+        writer.write(String.valueOf(line.getIsReversed()));
+        writer.write('\n');
+    }
+
+    @Override
+    public void footer(StatementBalance closing, long lineCount) throws IOException {
+        writer.write('\n');
+        row("Closing Principal", amount(closing.getPrincipal()));
+        row("Closing Interest", amount(closing.getInterest()));
+        row("Closing Balance", amount(closing.getTotal()));
+        row("Transaction Count", String.valueOf(lineCount));
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void row(String label, String value) throws IOException {
+        writer.write(label);
+        writer.write(',');
+        writer.write(csv(value));
+        writer.write('\n');
+    }
+
+    private static String amount(BigDecimal value) {
+        return value.setScale(2, RoundingMode.HALF_UP).toPlainString();
+    }
+}
@@ -0,0 +1,94 @@
+package com.app.fdaccount.service.statement;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+import com.app.fdaccount.dto.TransactionLineResponse;
+import com.app.fdaccount.repository.projection.StatementAccountView;
+
+/**
+ * Printable statement laid out as fixed-width columns on top of SimplePdfWriter
+ */
+class PdfStatementRenderer implements StatementRenderer {
+
+    private static final String LEDGER_FORMAT = "%-10s  %-20s  %-20s  %-14s  %16s  %1s";
+    private static final String SUMMARY_FORMAT = "%-20s %s";
+    private static final DateTimeFormatter GENERATED_AT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final SimplePdfWriter pdf;
+
+    PdfStatementRenderer(OutputStream outputStream) throws IOException {
+        this.pdf = new SimplePdfWriter(outputStream);
+    }
+
+    @Override
+    public void header(StatementAccountView account, LocalDate fromDate, LocalDate toDate,
+                       StatementBalance opening) throws IOException {
+        pdf.writeLine("FIXED DEPOSIT ACCOUNT STATEMENT");
+        pdf.writeLine("");
+        summary("Account Number", account.getAccountNumber());
+        summary("Account Name", account.getAccountName());
+        summary("Product", account.getProductName());
+        summary("Branch", account.getBranchName() != null
+                ? account.getBranchCode() + " - " + account.getBranchName()
+                : account.getBranchCode());
+        summary("Term", account.getEffectiveDate() + " to " + account.getMaturityDate());
+        summary("Statement Period", fromDate + " to " + toDate);
+        summary("Generated At", LocalDateTime.now().format(GENERATED_AT));
+        pdf.writeLine("");
+        summary("Opening Principal", amount(opening.getPrincipal()));
+        summary("Opening Interest", amount(opening.getInterest()));
+        summary("Opening Balance", amount(opening.getTotal()));
+        pdf.writeLine("");
+        pdf.writeLine(String.format(LEDGER_FORMAT, "Date", "Reference", "Description", "Type", "Amount", "R"));
+        pdf.writeLine("-".repeat(SimplePdfWriter.LINE_WIDTH));
+    }
+
+    @Override
+    public void line(TransactionLineResponse line) throws IOException {
+        pdf.writeLine(String.format(LEDGER_FORMAT,
+                line.getTransactionDate(),
+                clip(line.getTransactionReference(), 20),
+                clip(line.getDescription(), 20),
+                clip(line.getTransactionType().name(), 14),
+                amount(line.getAmount()),
+                Boolean.TRUE.equals(line.getIsReversed()) ? "R" : ""));
+    }
+
+    @Override
+    public void footer(StatementBalance closing, long lineCount) throws IOException {
+        pdf.writeLine("-".repeat(SimplePdfWriter.LINE_WIDTH));
+        summary("Transactions", String.valueOf(lineCount));
+        summary("Closing Principal", amount(closing.getPrincipal()));
+        summary("Closing Interest", amount(closing.getInterest()));
+        summary("Closing Balance", amount(closing.getTotal()));
+        pdf.writeLine("");
+        pdf.writeLine("R = reversed transaction");
+    }
+
+    @Override
+    public void close() throws IOException {
+        pdf.close();
+    }
+
+    private void summary(String label, String value) throws IOException {
+        pdf.writeLine(String.format(SUMMARY_FORMAT, label + ":", value != null ? value : ""));
+    }
+
+    private static String clip(String value, int width) {
+        if (value == null) {
+            return "";
+        }
+        return value.length() <= width ? value : value.substring(0, width);
+    }
+
+    private static String amount(BigDecimal value) {
+        return String.format(Locale.ENGLISH, "%,.2f", value.setScale(2, RoundingMode.HALF_UP));
+    }
+}
@@ -0,0 +1,194 @@
+package com.app.fdaccount.service.statement;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming PDF writer for monospaced text documents
+ * Lines are laid out top to bottom on A4 pages in Courier; each page is written to
+ * the output as soon as it is full, so only one page of content is held in memory
+ * regardless of document length. Only WinAnsi characters are supported; anything
+ * else is printed as '?'.
+ */
+class SimplePdfWriter implements Closeable {
+
+    private static final int PAGE_WIDTH = 595;
+    private static final int PAGE_HEIGHT = 842;
+    private static final int MARGIN = 36;
+    private static final int FONT_SIZE = 9;
+    private static final int LEADING = 11;
+
+    /** Characters per line at the configured font size (Courier glyphs are 0.6 em wide) */
+    static final int LINE_WIDTH = (int) ((PAGE_WIDTH - 2 * MARGIN) / (FONT_SIZE * 0.6));
+
+    private static final int LINES_PER_PAGE = (PAGE_HEIGHT - 2 * MARGIN) / LEADING - 2;
+
+    private static final int CATALOG_ID = 1;
+    private static final int PAGES_ID = 2;
+    private static final int FONT_ID = 3;
+
+    private final CountingOutputStream out;
+    private final List<Long> offsets = new ArrayList<>();
+    private final List<Integer> pageIds = new ArrayList<>();
+    private final ByteArrayOutputStream page = new ByteArrayOutputStream(8192);
+    private int linesOnPage;
+    private boolean closed;
+
+    SimplePdfWriter(OutputStream outputStream) throws IOException {
+        this.out = new CountingOutputStream(outputStream);
+        write("%PDF-1.4\n%âãÏÓ\n");
+        beginObject();
+        write("<< /Type /Catalog /Pages " + PAGES_ID + " 0 R >>\nendobj\n");
+        offsets.add(0L); // page tree, written by close() once all kids are known
+        beginObject();
+        write("<< /Type /Font /Subtype /Type1 /BaseFont /Courier /Encoding /WinAnsiEncoding >>\nendobj\n");
+    }
+
+    /**
+     * Append one line of text, starting a new page when the current one is full
+     * Lines longer than the page width are clipped
+     */
+    void writeLine(String text) throws IOException {
+        if (linesOnPage == LINES_PER_PAGE) {
+            flushPage();
+        }
+        if (linesOnPage == 0) {
+            page.write(ascii("BT\n/F1 " + FONT_SIZE + " Tf\n" + LEADING + " TL\n"
+                    + MARGIN + " " + (PAGE_HEIGHT - MARGIN) + " Td\n"));
+        }
+        String line = text == null ? "" : text;
+        if (line.length() > LINE_WIDTH) {
+            line = line.substring(0, LINE_WIDTH);
+        }
+        page.write(ascii("T* ("));
+        page.write(escape(line));
+        page.write(ascii(") Tj\n"));
+        linesOnPage++;
+    }
+
+    /**
+     * Write the last page, the page tree, the cross-reference table and the trailer
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (linesOnPage > 0 || pageIds.isEmpty()) {
+            flushPage();
+        }
+
+        offsets.set(PAGES_ID - 1, out.count);
+        StringBuilder kids = new StringBuilder();
+        for (Integer pageId : pageIds) {
+            kids.append(pageId).append(" 0 R ");
+        }
+        write(PAGES_ID + " 0 obj\n<< /Type /Pages /Kids [ " + kids + "] /Count " + pageIds.size() + " >>\nendobj\n");
+
+        long xrefOffset = out.count;
+        StringBuilder xref = new StringBuilder();
+        xref.append("xref\n0 ").append(offsets.size() + 1).append('\n');
+        xref.append("0000000000 65535 f \n");
+        for (Long offset : offsets) {
+            xref.append(String.format("%010d 00000 n \n", offset));
+        }
+        xref.append("trailer\n<< /Size ").append(offsets.size() + 1)
+                .append(" /Root ").append(CATALOG_ID).append(" 0 R >>\n")
+                .append("startxref\n").append(xrefOffset).append("\n%%EOF\n");
+        write(xref.toString());
+        out.flush();
+    }
+
+    private void flushPage() throws IOException {
+        if (linesOnPage > 0) {
+            page.write(ascii("ET\n"));
+        }
+        page.write(ascii("BT\n/F1 " + FONT_SIZE + " Tf\n" + (PAGE_WIDTH - MARGIN - 60) + " " + (MARGIN / 2)
+                + " Td\n(Page " + (pageIds.size() + 1) + ") Tj\nET\n"));
+
+        int contentId = beginObject();
+        write("<< /Length " + page.size() + " >>\nstream\n");
+        page.writeTo(out);
+        write("\nendstream\nendobj\n");
+
+        int pageId = beginObject();
+        write("<< /Type /Page /Parent " + PAGES_ID + " 0 R /MediaBox [0 0 " + PAGE_WIDTH + " " + PAGE_HEIGHT + "]"
+                + " /Resources << /Font << /F1 " + FONT_ID + " 0 R >> >> /Contents " + contentId + " 0 R >>\nendobj\n");
+        pageIds.add(pageId);
+
+        page.reset();
+        linesOnPage = 0;
+    }
+
+    /**
+     * Allocate the next object number, record its byte offset and write its header
+     */
+    private int beginObject() throws IOException {
+        offsets.add(out.count);
+        int id = offsets.size();
+        write(id + " 0 obj\n");
+        return id;
+    }
+
+    private void write(String text) throws IOException {
+        out.write(text.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Encode a string as a PDF literal: escape delimiters, replace unsupported characters
+     */
+    private static byte[] escape(String text) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '(' || c == ')' || c == '\\') {
+                bytes.write('\\');
+                bytes.write(c);
+            } else if (c < 0x20 || (c >= 0x7f && c < 0xa0) || c > 0xff) {
+                bytes.write('?');
+            } else {
+                bytes.write(c);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Tracks bytes written so object offsets can be recorded for the xref table
+     */
+    private static final class CountingOutputStream extends OutputStream {
+        private final OutputStream delegate;
+        private long count;
+
+        private CountingOutputStream(OutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+    }
+}
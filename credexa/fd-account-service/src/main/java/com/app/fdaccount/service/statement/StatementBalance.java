@@ -0,0 +1,21 @@
+package com.app.fdaccount.service.statement;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Principal and accrued interest of an account at a statement boundary
+ */
+@Getter
+@AllArgsConstructor
+class StatementBalance {
+
+    private final BigDecimal principal;
+    private final BigDecimal interest;
+
+    BigDecimal getTotal() {
+        return principal.add(interest);
+    }
+}
@@ -0,0 +1,181 @@
+package com.app.fdaccount.service.statement;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.app.fdaccount.enums.StatementFormat;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache of finished statements for closed periods
+ * Entries point at spooled files and are weighed by file size; the file is deleted
+ * when its entry leaves the cache and no request is still sending it. Lookups lease
+ * the file (acquire/put) and StatementService releases it after streaming, so an
+ * eviction in between only marks the file for deletion. A back-dated posting or a reversal can still
+ * change a closed period, so TransactionService invalidates the account's entries
+ * after such a change commits. The epoch guards against a statement that was being
+ * generated while the change committed from being cached afterwards.
+ */
+@Slf4j
+@Component
+public class StatementCache {
+
+    @Value("${statement.cache.max-size-mb:512}")
+    private long maxSizeMb;
+
+    @Value("${statement.cache.expire-after-access-hours:168}")
+    private long expireAfterAccessHours;
+
+    private final AtomicLong epoch = new AtomicLong();
+
+    /** Requests currently sending each cached file; updated only through compute() so per-path changes serialize */
+    private final ConcurrentMap<Path, Integer> readers = new ConcurrentHashMap<>();
+
+    /** Files whose entry left the cache while they were being sent */
+    private final Set<Path> evicted = ConcurrentHashMap.newKeySet();
+
+    private Cache<String, StatementFile> cache;
+
+    @PostConstruct
+    void initCache() {
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maxSizeMb * 1024)
+                .weigher((String key, StatementFile file) ->
+                        (int) Math.min(Integer.MAX_VALUE, file.getSize() / 1024 + 1))
+                .expireAfterAccess(Duration.ofHours(expireAfterAccessHours))
+                .removalListener((String key, StatementFile file, RemovalCause cause) -> {
+                    if (file != null) {
+                        discard(file);
+                    }
+                })
+                .build();
+        log.info("Statement cache initialized: {} MB, expire after access {}h", maxSizeMb, expireAfterAccessHours);
+    }
+
+    static String key(String accountNumber, LocalDate fromDate, LocalDate toDate, StatementFormat format) {
+        return accountNumber + ":" + fromDate + ":" + toDate + ":" + format;
+    }
+
+    /**
+     * Cached statement leased to the caller, who must release it after sending
+     */
+    StatementFile acquire(String key) {
+        StatementFile file = cache.asMap().computeIfPresent(key, (k, cached) -> {
+            lease(cached);
+            return cached;
+        });
+        if (file != null && !Files.exists(file.getPath())) {
+            release(file);
+            cache.invalidate(key);
+            return null;
+        }
+        return file;
+    }
+
+    /**
+     * End a lease; the file is deleted if its entry was evicted in the meantime
+     */
+    void release(StatementFile file) {
+        readers.compute(file.getPath(), (path, count) -> {
+            if (count != null && count > 1) {
+                return count - 1;
+            }
+            if (evicted.remove(path)) {
+                delete(file);
+            }
+            return null;
+        });
+    }
+
+    long currentEpoch() {
+        return epoch.get();
+    }
+
+    /**
+     * Cache a freshly generated statement unless an invalidation happened since generation
+     * started; a concurrent generation of the same statement wins if it was cached first.
+     * A cached result is leased to the caller like acquire().
+     */
+    StatementFile put(String key, StatementFile file, long startEpoch) {
+        if (epoch.get() != startEpoch) {
+            return file;
+        }
+        StatementFile cachedFile = file.toBuilder().cached(true).build();
+        StatementFile leased = cache.asMap().compute(key, (k, existing) -> {
+            StatementFile chosen = existing != null ? existing : cachedFile;
+            lease(chosen);
+            return chosen;
+        });
+        if (leased != cachedFile) {
+            delete(file);
+        }
+        return leased;
+    }
+
+    /**
+     * Drop an account's cached statements once the current transaction commits
+     * (immediately when no transaction is active)
+     */
+    public void invalidateAccount(String accountNumber) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictAccount(accountNumber);
+                }
+            });
+        } else {
+            evictAccount(accountNumber);
+        }
+    }
+
+    private void evictAccount(String accountNumber) {
+        epoch.incrementAndGet();
+        String prefix = accountNumber + ":";
+        cache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+        log.debug("Invalidated cached statements for account: {}", accountNumber);
+    }
+
+    private void lease(StatementFile file) {
+        readers.merge(file.getPath(), 1, Integer::sum);
+    }
+
+    /**
+     * Entry left the cache: delete now, or on the last release when still being sent
+     */
+    private void discard(StatementFile file) {
+        readers.compute(file.getPath(), (path, count) -> {
+            if (count == null) {
+                delete(file);
+            } else {
+                evicted.add(path);
+            }
+            return count;
+        });
+    }
+
+    private static void delete(StatementFile file) {
+        try {
+            Files.deleteIfExists(file.getPath());
+        } catch (IOException e) {
+            log.warn("Could not delete statement file {}: {}", file.getPath(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.app.fdaccount.service.statement;
+
+import java.nio.file.Path;
+
+import com.app.fdaccount.enums.StatementFormat;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * A finished statement spooled to disk
+ * Cached statements are shared between requests and deleted on eviction;
+ * uncached ones are deleted once they have been sent
+ */
+@Getter
+@Builder(toBuilder = true)
+public class StatementFile {
+
+    private final Path path;
+    private final long size;
+    private final StatementFormat format;
+    private final String fileName;
+    private final boolean cached;
+}
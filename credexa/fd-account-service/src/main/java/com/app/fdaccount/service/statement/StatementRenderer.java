@@ -0,0 +1,22 @@
+package com.app.fdaccount.service.statement;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.LocalDate;
+
+import com.app.fdaccount.dto.TransactionLineResponse;
+import com.app.fdaccount.repository.projection.StatementAccountView;
+
+/**
+ * Writes one statement, section by section, as the ledger is streamed from the database
+ * Implementations must not buffer ledger lines
+ */
+interface StatementRenderer extends Closeable {
+
+    void header(StatementAccountView account, LocalDate fromDate, LocalDate toDate,
+                StatementBalance opening) throws IOException;
+
+    void line(TransactionLineResponse line) throws IOException;
+
+    void footer(StatementBalance closing, long lineCount) throws IOException;
+}
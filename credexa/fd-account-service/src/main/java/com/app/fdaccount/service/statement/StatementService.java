@@ -0,0 +1,215 @@
+package com.app.fdaccount.service.statement;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.app.fdaccount.enums.StatementFormat;
+import com.app.fdaccount.repository.AccountBalanceRepository;
+import com.app.fdaccount.repository.FdAccountRepository;
+import com.app.fdaccount.repository.projection.StatementAccountView;
+import com.app.fdaccount.service.TransactionExportService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service for generating period statements
+ * Opening and closing balances come from the balance history; the period ledger is
+ * streamed through the export cursor straight into a spool file, so memory use does
+ * not depend on the number of transactions. Generation runs on a small dedicated pool
+ * with a bounded queue so statement bursts cannot starve request or posting threads.
+ * Statements for closed periods (ending before today) are cached.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StatementService {
+
+    private final FdAccountRepository accountRepository;
+    private final AccountBalanceRepository balanceRepository;
+    private final TransactionExportService transactionExportService;
+    private final StatementCache statementCache;
+
+    @Value("${statement.generation.threads:2}")
+    private int threads;
+
+    @Value("${statement.generation.queue-capacity:50}")
+    private int queueCapacity;
+
+    @Value("${statement.generation.spool-dir:${java.io.tmpdir}/fd-statements}")
+    private String spoolDir;
+
+    private ThreadPoolExecutor executor;
+    private Path spoolPath;
+
+    @PostConstruct
+    void start() throws IOException {
+        spoolPath = Paths.get(spoolDir);
+        Files.createDirectories(spoolPath);
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(spoolPath, "statement-*")) {
+            for (Path leftover : leftovers) {
+                Files.deleteIfExists(leftover);
+            }
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "statement-" + threadNumber.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        log.info("Statement generator started: {} threads, queue {}, spool {}", threads, queueCapacity, spoolPath);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+        log.info("Statement generator stopped");
+    }
+
+    /**
+     * Generate (or fetch from cache) an account statement for a period
+     * Validation and the account lookup happen on the caller's thread so bad requests
+     * fail fast; the returned future completes on the statement pool
+     */
+    public CompletableFuture<StatementFile> generateStatement(String accountNumber, LocalDate fromDate,
+                                                              LocalDate toDate, StatementFormat format) {
+        if (fromDate.isAfter(toDate)) {
+            throw new IllegalArgumentException("Statement period start must not be after its end");
+        }
+        if (toDate.isAfter(LocalDate.now())) {
+            throw new IllegalArgumentException("Statement period cannot end in the future");
+        }
+
+        StatementAccountView account = accountRepository.findStatementViewByAccountNumber(accountNumber)
+                .orElseThrow(() -> new RuntimeException("Account not found: " + accountNumber));
+
+        boolean closedPeriod = toDate.isBefore(LocalDate.now());
+        String key = StatementCache.key(accountNumber, fromDate, toDate, format);
+        if (closedPeriod) {
+            StatementFile cached = statementCache.acquire(key);
+            if (cached != null) {
+                log.debug("Serving cached statement {}", key);
+                return CompletableFuture.completedFuture(cached);
+            }
+        }
+
+        long epoch = statementCache.currentEpoch();
+        try {
+            return CompletableFuture
+                    .supplyAsync(() -> render(account, fromDate, toDate, format), executor)
+                    .thenApply(file -> closedPeriod ? statementCache.put(key, file, epoch) : file);
+        } catch (RejectedExecutionException e) {
+            throw new IllegalStateException("Statement generator is busy, please retry", e);
+        }
+    }
+
+    /**
+     * Copy a finished statement to the response, then release it (cached) or remove it
+     * Every file returned by generateStatement must be passed here exactly once
+     */
+    public void writeTo(StatementFile file, OutputStream outputStream) throws IOException {
+        try {
+            Files.copy(file.getPath(), outputStream);
+            outputStream.flush();
+        } finally {
+            if (file.isCached()) {
+                statementCache.release(file);
+            } else {
+                Files.deleteIfExists(file.getPath());
+            }
+        }
+    }
+
+    private StatementFile render(StatementAccountView account, LocalDate fromDate, LocalDate toDate,
+                                 StatementFormat format) {
+        long startTime = System.currentTimeMillis();
+        Path path = null;
+        try {
+            path = Files.createTempFile(spoolPath, "statement-", "." + extension(format));
+
+            StatementBalance opening = balanceAsOf(account.getId(), fromDate.minusDays(1));
+            StatementBalance closing = balanceAsOf(account.getId(), toDate);
+
+            long lines;
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path));
+                 StatementRenderer renderer = rendererFor(format, out)) {
+                renderer.header(account, fromDate, toDate, opening);
+                lines = transactionExportService.forEachLine(account.getId(), fromDate, toDate, renderer::line);
+                renderer.footer(closing, lines);
+            }
+
+            long size = Files.size(path);
+            log.info("✅ Generated {} statement for account {} ({} to {}): {} transactions, {} bytes in {}ms",
+                    format, account.getAccountNumber(), fromDate, toDate, lines, size,
+                    System.currentTimeMillis() - startTime);
+
+            return StatementFile.builder()
+                    .path(path)
+                    .size(size)
+                    .format(format)
+                    .fileName("statement-" + account.getAccountNumber() + "-" + fromDate + "-" + toDate
+                            + "." + extension(format))
+                    .cached(false)
+                    .build();
+        } catch (IOException e) {
+            deleteQuietly(path);
+            throw new UncheckedIOException("Failed to generate statement for account: "
+                    + account.getAccountNumber(), e);
+        } catch (RuntimeException e) {
+            deleteQuietly(path);
+            throw e;
+        }
+    }
+
+    /**
+     * Principal and interest at the end of a date, from the latest balance rows on or before it
+     * Dates before the account opened resolve to zero
+     */
+    private StatementBalance balanceAsOf(Long accountId, LocalDate asOfDate) {
+        BigDecimal principal = balanceRepository.findBalanceAsOf(accountId, "PRINCIPAL", asOfDate)
+                .orElse(BigDecimal.ZERO);
+        BigDecimal interest = balanceRepository.findBalanceAsOf(accountId, "INTEREST_ACCRUED", asOfDate)
+                .orElse(BigDecimal.ZERO);
+        return new StatementBalance(principal, interest);
+    }
+
+    private StatementRenderer rendererFor(StatementFormat format, OutputStream out) throws IOException {
+        return format == StatementFormat.PDF ? new PdfStatementRenderer(out) : new CsvStatementRenderer(out);
+    }
+
+    private static String extension(StatementFormat format) {
+        return format == StatementFormat.PDF ? "pdf" : "csv";
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete statement file {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.app.fdaccount.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import com.app.fdaccount.dto.AccountSearchSlice;
+import com.app.fdaccount.dto.AccountSummaryResponse;
+import com.app.fdaccount.dto.SearchAccountRequest;
+import com.app.fdaccount.entity.AccountRole;
+import com.app.fdaccount.entity.FdAccount;
+import com.app.fdaccount.enums.AccountStatus;
+import com.app.fdaccount.enums.PortfolioFormat;
+import com.app.fdaccount.enums.RoleType;
+import com.app.fdaccount.repository.FdAccountRepository;
+import com.app.fdaccount.service.search.AccountSearchIndex;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Tests for account search against an in-memory database
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.com.app.fdaccount=WARN",
+        "account.search.total-estimate-limit=25",
+        "account.search.index.enabled=false"
+})
+@Import({AccountInquiryService.class, AccountSearchIndex.class})
+class AccountInquiryServiceTest {
+
+    private static final int ACCOUNTS = 120;
+
+    @Autowired
+    private AccountInquiryService accountInquiryService;
+
+    @Autowired
+    private AccountSearchIndex accountSearchIndex;
+
+    @Autowired
+    private FdAccountRepository accountRepository;
+
+    @BeforeEach
+    void createAccounts() {
+        for (int i = 1; i <= ACCOUNTS; i++) {
+            FdAccount account = FdAccount.builder()
+                    .accountNumber(String.format("FD%06d", i))
+                    .accountName((i % 2 == 0 ? "Ramesh Kumar " : "Anita Sharma ") + i)
+                    .productCode("FD-STD")
+                    .branchCode("BR00" + (i % 3))
+                    .status(i % 4 == 0 ? AccountStatus.MATURED : AccountStatus.ACTIVE)
+                    .principalAmount(new BigDecimal("1000.00"))
+                    .interestRate(new BigDecimal("7.00"))
+                    .termMonths(12)
+                    .maturityAmount(new BigDecimal("1070.00"))
+                    .effectiveDate(LocalDate.now().minusDays(i))
+                    .maturityDate(LocalDate.now().plusDays(365 - i))
+                    .build();
+            if (i == 1) {
+                account.addRole(AccountRole.builder()
+                        .customerId(77L)
+                        .customerName("Anita Sharma")
+                        .roleType(RoleType.OWNER)
+                        .isPrimary(true)
+                        .isActive(true)
+                        .build());
+            }
+            accountRepository.save(account);
+        }
+        accountSearchIndex.load();
+    }
+
+    @Test
+    void indexedSearchCombinesTextTermsWithOtherCriteria() {
+        List<String> accounts = accountNumbers(accountInquiryService.searchAccounts(SearchAccountRequest.builder()
+                .accountName("KUMAR")
+                .branchCode("BR001")
+                .size(100)
+                .sortBy("accountNumber")
+                .sortDirection("ASC")
+                .build()).getContent());
+
+        assertThat(accountSearchIndex.findMatchingIds(null, "KUMAR")).isPresent();
+        assertThat(accounts).hasSize(20)
+                .isSorted()
+                .allMatch(number -> Integer.parseInt(number.substring(2)) % 6 == 4);
+    }
+
+    @Test
+    void shortTermsFallBackToTheDatabase() {
+        assertThat(accountSearchIndex.findMatchingIds("12", null)).isEmpty();
+
+        List<String> accounts = accountNumbers(accountInquiryService.searchAccounts(SearchAccountRequest.builder()
+                .accountNumber("12")
+                .size(100)
+                .build()).getContent());
+
+        assertThat(accounts).containsExactlyInAnyOrder("FD000012", "FD000112", "FD000120");
+    }
+
+    @Test
+    void sliceReportsHasNextAndCapsTheTotalEstimate() {
+        AccountSearchSlice first = accountInquiryService.searchAccountsSlice(SearchAccountRequest.builder()
+                .status(AccountStatus.ACTIVE)
+                .size(10)
+                .includeTotalEstimate(true)
+                .build());
+
+        assertThat(first.getItems()).hasSize(10);
+        assertThat(first.getHasNext()).isTrue();
+        assertThat(first.getTotalEstimate()).isEqualTo(25);
+        assertThat(first.getTotalEstimateExact()).isFalse();
+
+        AccountSearchSlice last = accountInquiryService.searchAccountsSlice(SearchAccountRequest.builder()
+                .accountNumber("FD00011")
+                .size(20)
+                .includeTotalEstimate(true)
+                .build());
+
+        assertThat(last.getHasNext()).isFalse();
+        assertThat(last.getTotalEstimate()).isEqualTo(10);
+        assertThat(last.getTotalEstimateExact()).isTrue();
+    }
+
+    @Test
+    void sliceWithoutEstimateLeavesTotalEmpty() {
+        AccountSearchSlice slice = accountInquiryService.searchAccountsSlice(SearchAccountRequest.builder()
+                .size(50)
+                .build());
+
+        assertThat(slice.getItems()).hasSize(50);
+        assertThat(slice.getHasNext()).isTrue();
+        assertThat(slice.getTotalEstimate()).isNull();
+    }
+
+    @Test
+    void customerCriterionMatchesAccountsWithAnActiveRole() {
+        List<AccountSummaryResponse> accounts = accountInquiryService.searchAccounts(SearchAccountRequest.builder()
+                .customerId(77L)
+                .build()).getContent();
+
+        assertThat(accountNumbers(accounts)).containsExactly("FD000001");
+        assertThat(accounts.get(0).getPrimaryOwnerName()).isEqualTo("Anita Sharma");
+    }
+
+    @Test
+    void summaryEndpointsReadProjections() {
+        List<AccountSummaryResponse> byCustomer = accountInquiryService.getAccountsByCustomer(77L);
+        assertThat(accountNumbers(byCustomer)).containsExactly("FD000001");
+        assertThat(byCustomer.get(0).getPrimaryOwnerName()).isEqualTo("Anita Sharma");
+        assertThat(byCustomer.get(0).getInterestRate()).isEqualByComparingTo("7.00");
+
+        assertThat(accountInquiryService.getAccountSummary("FD000002").getPrimaryOwnerName()).isEqualTo("N/A");
+        assertThat(accountInquiryService.getAccountsByBranch("BR001")).hasSize(40)
+                .extracting(AccountSummaryResponse::getAccountNumber).isSorted();
+        assertThat(accountInquiryService.getAccountsByProduct("FD-STD")).hasSize(ACCOUNTS);
+        assertThat(accountInquiryService.getAccountsMaturingBetween(
+                LocalDate.now().plusDays(255), LocalDate.now().plusDays(264)))
+                .hasSize(8)
+                .extracting(AccountSummaryResponse::getDaysToMaturity).isSorted();
+    }
+
+    @Test
+    void portfolioStreamsAsJsonArrayAndNdjson() throws Exception {
+        PortfolioExportService exportService = new PortfolioExportService(
+                accountInquiryService, new ObjectMapper().findAndRegisterModules());
+        ObjectMapper reader = new ObjectMapper();
+
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        assertThat(exportService.exportBranch("BR001", PortfolioFormat.JSON, json)).isEqualTo(40);
+        JsonNode array = reader.readTree(json.toByteArray());
+        assertThat(array.isArray()).isTrue();
+        assertThat(array).hasSize(40);
+        assertThat(array.get(0).get("accountNumber").asText()).isEqualTo("FD000001");
+        assertThat(array.get(0).get("primaryOwnerName").asText()).isEqualTo("Anita Sharma");
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        assertThat(exportService.exportProduct("FD-STD", PortfolioFormat.NDJSON, ndjson)).isEqualTo(ACCOUNTS);
+        String[] lines = ndjson.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(ACCOUNTS);
+        assertThat(reader.readTree(lines[ACCOUNTS - 1]).get("accountNumber").asText()).isEqualTo("FD000120");
+
+        ByteArrayOutputStream empty = new ByteArrayOutputStream();
+        assertThat(exportService.exportBranch("NONE", PortfolioFormat.JSON, empty)).isZero();
+        assertThat(empty.toString(StandardCharsets.UTF_8)).isEqualTo("[]");
+    }
+
+    private static List<String> accountNumbers(List<AccountSummaryResponse> accounts) {
+        return accounts.stream().map(AccountSummaryResponse::getAccountNumber).toList();
+    }
+}
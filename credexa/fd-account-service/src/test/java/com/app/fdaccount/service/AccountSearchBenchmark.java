@@ -0,0 +1,127 @@
+package com.app.fdaccount.service;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.fdaccount.dto.SearchAccountRequest;
+import com.app.fdaccount.enums.AccountStatus;
+import com.app.fdaccount.service.search.AccountSearchIndex;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Search latency benchmark over a generated account book
+ * Not part of the regular test run (the class name does not match the surefire includes).
+ * Run explicitly, e.g.:
+ *   mvn test -pl fd-account-service -Dtest=AccountSearchBenchmark -Dbenchmark.accounts=1000000 -DargLine=-Xmx3g
+ * Each query is measured as a counted Page, as a count-free Slice, and as a Slice
+ * with the in-process search index loaded.
+ */
+@Slf4j
+@DataJpaTest(showSql = false, properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.com.app.fdaccount=WARN",
+        "account.search.index.enabled=false"
+})
+@Import({AccountInquiryService.class, AccountSearchIndex.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AccountSearchBenchmark {
+
+    private static final int ACCOUNTS = Integer.getInteger("benchmark.accounts", 1_000_000);
+    private static final int WARMUP = 3;
+    private static final int ITERATIONS = 10;
+
+    private static final String FIRST_NAMES =
+            "ARRAY['Ramesh','Anita','Suresh','Priya','Vikram','Meena','Arjun','Kavya','Rahul','Deepa']";
+    private static final String LAST_NAMES =
+            "ARRAY['Kumar','Sharma','Iyer','Patel','Reddy','Nair','Gupta','Singh','Das','Rao','Mehta','Joshi']";
+
+    private static boolean generated;
+
+    @Autowired
+    private AccountInquiryService accountInquiryService;
+
+    @Autowired
+    private AccountSearchIndex accountSearchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void generateAccounts() {
+        if (generated) {
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        jdbcTemplate.update(
+                "INSERT INTO fd_accounts (account_number, account_name, product_code, status, principal_amount, " +
+                "interest_rate, term_months, maturity_amount, effective_date, maturity_date, auto_renewal, " +
+                "tds_applicable, branch_code, created_at, updated_at, version) " +
+                "SELECT 'FD' || LPAD(CAST(X AS VARCHAR), 10, '0'), " +
+                FIRST_NAMES + "[MOD(X, 10) + 1] || ' ' || " + LAST_NAMES + "[MOD(X / 10, 12) + 1] || ' ' || " +
+                "CHAR(65 + MOD(X / 120, 26)) || CHAR(65 + MOD(X / 3120, 26)), " +
+                "'FD-STD', CASE WHEN MOD(X, 5) = 0 THEN 'MATURED' ELSE 'ACTIVE' END, 100000.00, 7.00, 12, " +
+                "107000.00, DATEADD('DAY', -MOD(X, 720), CURRENT_DATE), DATEADD('DAY', 365 - MOD(X, 720), CURRENT_DATE), " +
+                "FALSE, TRUE, 'BR' || LPAD(CAST(MOD(X, 200) AS VARCHAR), 3, '0'), CURRENT_TIMESTAMP, " +
+                "CURRENT_TIMESTAMP, 0 FROM SYSTEM_RANGE(1, ?)", ACCOUNTS);
+        generated = true;
+        log.warn("Generated {} accounts in {}ms", ACCOUNTS, System.currentTimeMillis() - startTime);
+    }
+
+    @Test
+    void searchLatency() {
+        SearchAccountRequest byNumber = SearchAccountRequest.builder()
+                .accountNumber("000424242").size(20).sortBy("id").build();
+        SearchAccountRequest byName = SearchAccountRequest.builder()
+                .accountName("priya nair kq").size(20).build();
+        SearchAccountRequest byBranchAndStatus = SearchAccountRequest.builder()
+                .branchCode("BR042").status(AccountStatus.ACTIVE).size(20).build();
+
+        StringBuilder report = new StringBuilder("\nSearch latency over " + ACCOUNTS + " accounts (ms, p50 / p95)\n");
+        report.append(String.format("%-22s %18s %18s %18s%n", "query", "page+count", "slice", "slice+index"));
+
+        String numberPage = measure(() -> accountInquiryService.searchAccounts(byNumber));
+        String numberSlice = measure(() -> accountInquiryService.searchAccountsSlice(byNumber));
+        String namePage = measure(() -> accountInquiryService.searchAccounts(byName));
+        String nameSlice = measure(() -> accountInquiryService.searchAccountsSlice(byName));
+        String filterPage = measure(() -> accountInquiryService.searchAccounts(byBranchAndStatus));
+        String filterSlice = measure(() -> accountInquiryService.searchAccountsSlice(byBranchAndStatus));
+
+        long loadStart = System.currentTimeMillis();
+        accountSearchIndex.load();
+        long loadMs = System.currentTimeMillis() - loadStart;
+
+        String numberIndexed = measure(() -> accountInquiryService.searchAccountsSlice(byNumber));
+        String nameIndexed = measure(() -> accountInquiryService.searchAccountsSlice(byName));
+
+        report.append(String.format("%-22s %18s %18s %18s%n", "account number", numberPage, numberSlice, numberIndexed));
+        report.append(String.format("%-22s %18s %18s %18s%n", "account name", namePage, nameSlice, nameIndexed));
+        report.append(String.format("%-22s %18s %18s %18s%n", "branch + status", filterPage, filterSlice, "n/a"));
+        report.append(String.format("index load: %dms for %d accounts%n", loadMs, accountSearchIndex.indexedCount()));
+        log.warn(report.toString());
+    }
+
+    private static String measure(Supplier<?> search) {
+        for (int i = 0; i < WARMUP; i++) {
+            search.get();
+        }
+        double[] samples = new double[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            search.get();
+            samples[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(samples);
+        return String.format("%.1f / %.1f", samples[ITERATIONS / 2], samples[(int) Math.ceil(ITERATIONS * 0.95) - 1]);
+    }
+}
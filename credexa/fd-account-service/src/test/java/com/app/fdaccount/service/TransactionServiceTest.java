@@ -0,0 +1,281 @@
+package com.app.fdaccount.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.fdaccount.dto.BatchTransactionResponse;
+import com.app.fdaccount.dto.PostingResult;
+import com.app.fdaccount.dto.TransactionKeysetPage;
+import com.app.fdaccount.dto.TransactionLineResponse;
+import com.app.fdaccount.dto.TransactionRequest;
+import com.app.fdaccount.entity.AccountBalance;
+import com.app.fdaccount.entity.FdAccount;
+import com.app.fdaccount.enums.AccountStatus;
+import com.app.fdaccount.enums.TransactionType;
+import com.app.fdaccount.repository.AccountBalanceRepository;
+import com.app.fdaccount.repository.AccountTransactionRepository;
+import com.app.fdaccount.repository.FdAccountRepository;
+import com.app.fdaccount.service.concurrency.AccountConcurrencyGuard;
+import com.app.fdaccount.service.portfolio.PortfolioAggregateService;
+import com.app.fdaccount.service.statement.StatementCache;
+
+/**
+ * Tests for TransactionService against an in-memory database
+ * Includes a stress test where thousands of parallel deposits and withdrawals hit a
+ * handful of accounts; final balances must match the accepted postings exactly
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.com.app.fdaccount=WARN",
+        "transaction.concurrency.lock-timeout-ms=60000"
+})
+@Import({TransactionService.class, AccountConcurrencyGuard.class, StatementCache.class,
+        PortfolioAggregateService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TransactionServiceTest {
+
+    private static final int ACCOUNTS = 4;
+    private static final int POSTINGS = 2000;
+    private static final int THREADS = 32;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000.00");
+    private static final BigDecimal DEPOSIT = new BigDecimal("50.00");
+    private static final BigDecimal WITHDRAWAL = new BigDecimal("100.00");
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private FdAccountRepository accountRepository;
+
+    @Autowired
+    private AccountBalanceRepository balanceRepository;
+
+    @Autowired
+    private AccountTransactionRepository transactionRepository;
+
+    @Autowired
+    private PortfolioAggregateService portfolioAggregateService;
+
+    private final List<String> accountNumbers = new ArrayList<>();
+
+    @BeforeEach
+    void createAccounts() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        accountNumbers.clear();
+
+        for (int i = 0; i < ACCOUNTS; i++) {
+            FdAccount account = FdAccount.builder()
+                    .accountNumber("STRESS" + i)
+                    .accountName("Stress Account " + i)
+                    .productCode("FD-STD")
+                    .status(AccountStatus.ACTIVE)
+                    .principalAmount(OPENING_BALANCE)
+                    .interestRate(new BigDecimal("7.00"))
+                    .termMonths(12)
+                    .maturityAmount(OPENING_BALANCE)
+                    .effectiveDate(LocalDate.now().minusDays(1))
+                    .maturityDate(LocalDate.now().plusYears(1))
+                    .build();
+            account.addBalance(AccountBalance.builder()
+                    .balanceType("PRINCIPAL")
+                    .balance(OPENING_BALANCE)
+                    .asOfDate(account.getEffectiveDate())
+                    .build());
+            account.addBalance(AccountBalance.builder()
+                    .balanceType("INTEREST_ACCRUED")
+                    .balance(BigDecimal.ZERO)
+                    .asOfDate(account.getEffectiveDate())
+                    .build());
+            accountNumbers.add(accountRepository.save(account).getAccountNumber());
+        }
+        portfolioAggregateService.rebuild();
+    }
+
+    @Test
+    void parallelPostingsKeepBalancesConsistent() throws Exception {
+        Map<String, AtomicInteger> acceptedDeposits = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> acceptedWithdrawals = new ConcurrentHashMap<>();
+        accountNumbers.forEach(number -> {
+            acceptedDeposits.put(number, new AtomicInteger());
+            acceptedWithdrawals.put(number, new AtomicInteger());
+        });
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger unexpectedErrors = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < POSTINGS; i++) {
+            String accountNumber = accountNumbers.get(i % ACCOUNTS);
+            boolean deposit = (i / ACCOUNTS) % 2 == 0;
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    transactionService.createTransaction(TransactionRequest.builder()
+                            .accountNumber(accountNumber)
+                            .transactionType(deposit ? TransactionType.ADDITIONAL_DEPOSIT : TransactionType.WITHDRAWAL)
+                            .amount(deposit ? DEPOSIT : WITHDRAWAL)
+                            .transactionDate(LocalDate.now())
+                            .performedBy("stress-test")
+                            .build());
+                    (deposit ? acceptedDeposits : acceptedWithdrawals).get(accountNumber).incrementAndGet();
+                } catch (IllegalArgumentException insufficientBalance) {
+                    rejected.incrementAndGet();
+                } catch (RuntimeException e) {
+                    unexpectedErrors.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertThat(unexpectedErrors).hasValue(0);
+
+        int totalAccepted = 0;
+        for (String accountNumber : accountNumbers) {
+            FdAccount account = accountRepository.findByAccountNumber(accountNumber).orElseThrow();
+            int deposits = acceptedDeposits.get(accountNumber).get();
+            int withdrawals = acceptedWithdrawals.get(accountNumber).get();
+            totalAccepted += deposits + withdrawals;
+
+            BigDecimal expected = OPENING_BALANCE
+                    .add(DEPOSIT.multiply(BigDecimal.valueOf(deposits)))
+                    .subtract(WITHDRAWAL.multiply(BigDecimal.valueOf(withdrawals)));
+
+            assertThat(latestBalance(account.getId(), "AVAILABLE")).isEqualByComparingTo(expected);
+            assertThat(latestBalance(account.getId(), "PRINCIPAL")
+                    .add(latestBalance(account.getId(), "INTEREST_ACCRUED"))).isEqualByComparingTo(expected);
+            assertThat(expected).isGreaterThanOrEqualTo(BigDecimal.ZERO);
+            assertThat(transactionRepository.findByAccountId(account.getId())).hasSize(deposits + withdrawals);
+            assertThat(account.getVersion()).isGreaterThanOrEqualTo((long) deposits + withdrawals);
+        }
+
+        assertThat(totalAccepted + rejected.get()).isEqualTo(POSTINGS);
+
+        // Incrementally maintained portfolio totals match a rebuild from the balances
+        assertThat(portfolioAggregateService.rebuild().getCorrectedKeys()).isZero();
+    }
+
+    @Test
+    void groupCommitAppliesItemsInOrderAndIsolatesRejections() {
+        String accountNumber = accountNumbers.get(0);
+        List<TransactionRequest> group = List.of(
+                posting(accountNumber, TransactionType.WITHDRAWAL, "900.00"),
+                posting(accountNumber, TransactionType.WITHDRAWAL, "200.00"),
+                posting(accountNumber, TransactionType.ADDITIONAL_DEPOSIT, "150.00"),
+                posting(accountNumber, TransactionType.WITHDRAWAL, "200.00"));
+
+        List<PostingResult> results = transactionService.postTransactions(group);
+
+        assertThat(results).extracting(PostingResult::getSuccess).containsExactly(true, false, true, true);
+        assertThat(results.get(1).getErrorMessage()).contains("Insufficient balance");
+        assertThat(results.get(3).getTransaction().getTotalBalanceAfter()).isEqualByComparingTo("50.00");
+
+        FdAccount account = accountRepository.findByAccountNumber(accountNumber).orElseThrow();
+        assertThat(latestBalance(account.getId(), "AVAILABLE")).isEqualByComparingTo("50.00");
+        assertThat(transactionRepository.findByAccountId(account.getId())).hasSize(3);
+    }
+
+    @Test
+    void batchRunReversalRestoresBalances() {
+        String accountNumber = accountNumbers.get(1);
+        List<TransactionRequest> run = List.of(
+                posting(accountNumber, TransactionType.ADDITIONAL_DEPOSIT, "100.00"),
+                posting(accountNumber, TransactionType.INTEREST_CREDIT, "10.00"),
+                posting(accountNumber, TransactionType.FEE_DEBIT, "5.00"));
+        run.forEach(request -> request.setBatchRunId("RUN-1"));
+        transactionService.postTransactions(run);
+        String unrelated = transactionService.createTransaction(
+                posting(accountNumber, TransactionType.ADDITIONAL_DEPOSIT, "20.00")).getTransactionReference();
+
+        BatchTransactionResponse response = transactionService.reverseBatchRun("RUN-1", "Erroneous run", "ops");
+
+        assertThat(response.getSucceeded()).isEqualTo(3);
+        assertThat(response.getFailed()).isZero();
+        FdAccount account = accountRepository.findByAccountNumber(accountNumber).orElseThrow();
+        assertThat(latestBalance(account.getId(), "AVAILABLE")).isEqualByComparingTo("1020.00");
+        assertThat(transactionRepository.findReversedTransactionsByAccountId(account.getId()))
+                .hasSize(3)
+                .allSatisfy(t -> assertThat(t.getReversalTransactionId()).isNotNull());
+        assertThat(transactionRepository.findByTransactionReference(unrelated).orElseThrow().getIsReversed()).isFalse();
+
+        assertThatThrownBy(() -> transactionService.reverseBatchRun("RUN-1", "again", "ops"))
+                .hasMessageContaining("No reversible transactions");
+    }
+
+    @Test
+    void keysetPaginationWalksHistoryWithoutGapsOrDuplicates() {
+        String accountNumber = accountNumbers.get(2);
+        for (int i = 0; i < 25; i++) {
+            TransactionRequest request = posting(accountNumber, TransactionType.ADDITIONAL_DEPOSIT, "1.00");
+            request.setTransactionDate(LocalDate.now().minusDays(i % 2));
+            transactionService.createTransaction(request);
+        }
+
+        List<TransactionLineResponse> walked = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            TransactionKeysetPage page = transactionService.getAccountTransactionsKeyset(accountNumber, cursor, 10);
+            walked.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(walked).hasSize(25);
+        assertThat(walked).extracting(TransactionLineResponse::getId).doesNotHaveDuplicates();
+        assertThat(walked).isSortedAccordingTo(Comparator.comparing(TransactionLineResponse::getTransactionDate)
+                .thenComparing(TransactionLineResponse::getId).reversed());
+        assertThatThrownBy(() -> transactionService.getAccountTransactionsKeyset(accountNumber, "not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private TransactionRequest posting(String accountNumber, TransactionType type, String amount) {
+        return TransactionRequest.builder()
+                .accountNumber(accountNumber)
+                .transactionType(type)
+                .amount(new BigDecimal(amount))
+                .transactionDate(LocalDate.now())
+                .performedBy("group-test")
+                .build();
+    }
+
+    private BigDecimal latestBalance(Long accountId, String balanceType) {
+        return balanceRepository.findByAccountIdAndBalanceType(accountId, balanceType).stream()
+                .max(Comparator.comparing(AccountBalance::getId))
+                .map(AccountBalance::getBalance)
+                .orElseThrow();
+    }
+}
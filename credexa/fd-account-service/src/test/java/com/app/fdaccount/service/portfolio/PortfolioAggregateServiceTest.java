@@ -0,0 +1,152 @@
+package com.app.fdaccount.service.portfolio;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.fdaccount.dto.PortfolioAggregateResponse;
+import com.app.fdaccount.dto.PortfolioRebuildResponse;
+import com.app.fdaccount.entity.AccountBalance;
+import com.app.fdaccount.entity.FdAccount;
+import com.app.fdaccount.enums.AccountStatus;
+import com.app.fdaccount.enums.PortfolioDimension;
+import com.app.fdaccount.repository.FdAccountRepository;
+import com.app.fdaccount.repository.PortfolioAggregateRepository;
+
+/**
+ * Tests for portfolio aggregate maintenance against an in-memory database
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.com.app.fdaccount=WARN"
+})
+@Import(PortfolioAggregateService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PortfolioAggregateServiceTest {
+
+    private static final LocalDate MATURITY = LocalDate.of(2027, 3, 15);
+
+    @Autowired
+    private PortfolioAggregateService portfolioAggregateService;
+
+    @Autowired
+    private PortfolioAggregateRepository aggregateRepository;
+
+    @Autowired
+    private FdAccountRepository accountRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void createAccounts() {
+        accountRepository.deleteAll();
+        aggregateRepository.deleteAll();
+
+        for (int i = 1; i <= 6; i++) {
+            FdAccount account = FdAccount.builder()
+                    .accountNumber(String.format("AGG%05d", i))
+                    .accountName("Aggregate Account " + i)
+                    .productCode(i <= 4 ? "FD-STD" : "FD-TAX")
+                    .branchCode(i % 2 == 0 ? "BR001" : "BR002")
+                    .status(AccountStatus.ACTIVE)
+                    .principalAmount(new BigDecimal("1000.00"))
+                    .interestRate(new BigDecimal("7.00"))
+                    .termMonths(12)
+                    .maturityAmount(new BigDecimal("1070.00"))
+                    .effectiveDate(MATURITY.minusYears(1))
+                    .maturityDate(MATURITY.plusMonths(i % 2))
+                    .build();
+            account.addBalance(balance("PRINCIPAL", "1000.00"));
+            account.addBalance(balance("INTEREST_ACCRUED", "10.00"));
+            accountRepository.save(account);
+        }
+    }
+
+    @Test
+    void rebuildCreatesTotalsThatGroupByAnyDimension() {
+        PortfolioRebuildResponse rebuild = portfolioAggregateService.rebuild();
+        assertThat(rebuild.getAccounts()).isEqualTo(6);
+        assertThat(rebuild.getKeys()).isEqualTo(4);
+        assertThat(rebuild.getCorrectedKeys()).isEqualTo(4);
+        assertThat(portfolioAggregateService.rebuild().getCorrectedKeys()).isZero();
+
+        List<PortfolioAggregateResponse> byBranch = aggregates(EnumSet.of(PortfolioDimension.BRANCH), null);
+        assertThat(byBranch).extracting(PortfolioAggregateResponse::getBranchCode).containsExactly("BR001", "BR002");
+        assertThat(byBranch).extracting(PortfolioAggregateResponse::getAccountCount).containsExactly(3L, 3L);
+        assertThat(byBranch.get(0).getProductCode()).isNull();
+        assertThat(byBranch.get(0).getTotalBalance()).isEqualByComparingTo("3030.00");
+
+        List<PortfolioAggregateResponse> total = aggregates(EnumSet.noneOf(PortfolioDimension.class), null);
+        assertThat(total).hasSize(1);
+        assertThat(total.get(0).getPrincipalBalance()).isEqualByComparingTo("6000.00");
+        assertThat(total.get(0).getInterestAccrued()).isEqualByComparingTo("60.00");
+
+        List<PortfolioAggregateResponse> taxSaver = portfolioAggregateService.getAggregates(
+                EnumSet.of(PortfolioDimension.MATURITY_MONTH), null, "FD-TAX", null);
+        assertThat(taxSaver).extracting(r -> r.getMaturityMonth().toString()).containsExactly("2027-03", "2027-04");
+    }
+
+    @Test
+    void committedDeltasAreWrittenByTheNextFlush() {
+        portfolioAggregateService.rebuild();
+        FdAccount account = accountRepository.findByAccountNumber("AGG00002").orElseThrow();
+        PortfolioKey active = PortfolioKey.of(account);
+        account.setStatus(AccountStatus.MATURED);
+        PortfolioKey matured = PortfolioKey.of(account);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            portfolioAggregateService.balanceChanged(active, BigDecimal.ZERO, new BigDecimal("5.00"));
+            portfolioAggregateService.balanceChanged(active, BigDecimal.ZERO, new BigDecimal("5.00"));
+            status.setRollbackOnly();
+        });
+        portfolioAggregateService.flush();
+        assertThat(aggregates(EnumSet.noneOf(PortfolioDimension.class), null).get(0).getInterestAccrued())
+                .isEqualByComparingTo("60.00");
+
+        transactionTemplate.executeWithoutResult(status -> portfolioAggregateService.accountChanged(
+                active, new BigDecimal("1000.00"), new BigDecimal("10.00"),
+                matured, BigDecimal.ZERO, BigDecimal.ZERO));
+        // Committed deltas reach the aggregate rows with the next flush
+        assertThat(aggregates(EnumSet.of(PortfolioDimension.STATUS), null))
+                .extracting(PortfolioAggregateResponse::getStatus).containsExactly(AccountStatus.ACTIVE);
+        portfolioAggregateService.flush();
+
+        List<PortfolioAggregateResponse> byStatus = aggregates(EnumSet.of(PortfolioDimension.STATUS), null);
+        assertThat(byStatus).extracting(PortfolioAggregateResponse::getStatus)
+                .containsExactly(AccountStatus.ACTIVE, AccountStatus.MATURED);
+        assertThat(byStatus).extracting(PortfolioAggregateResponse::getAccountCount).containsExactly(5L, 1L);
+        assertThat(byStatus.get(0).getPrincipalBalance()).isEqualByComparingTo("5000.00");
+        assertThat(byStatus.get(1).getTotalBalance()).isEqualByComparingTo("0.00");
+        assertThat(aggregates(EnumSet.of(PortfolioDimension.BRANCH), AccountStatus.MATURED))
+                .extracting(PortfolioAggregateResponse::getBranchCode).containsExactly("BR001");
+    }
+
+    private List<PortfolioAggregateResponse> aggregates(Set<PortfolioDimension> groupBy, AccountStatus status) {
+        return portfolioAggregateService.getAggregates(groupBy, null, null, status);
+    }
+
+    private static AccountBalance balance(String type, String amount) {
+        return AccountBalance.builder()
+                .balanceType(type)
+                .balance(new BigDecimal(amount))
+                .asOfDate(MATURITY.minusYears(1))
+                .build();
+    }
+}
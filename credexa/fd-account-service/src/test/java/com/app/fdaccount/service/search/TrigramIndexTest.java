@@ -0,0 +1,54 @@
+package com.app.fdaccount.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the trigram substring index behind account search
+ */
+class TrigramIndexTest {
+
+    @Test
+    void findsCaseInsensitiveSubstringsInIdOrder() {
+        TrigramIndex index = new TrigramIndex();
+        index.add(3, "Ramesh Kumar");
+        index.add(1, "Kumari Devi");
+        index.add(2, "Anil Sharma");
+
+        assertThat(index.search("KUMAR", 10)).containsExactly(1L, 3L);
+        assertThat(index.search("sharma", 10)).containsExactly(2L);
+        assertThat(index.search("kumar devi", 10)).isEmpty();
+        assertThat(index.search("xyz", 10)).isEmpty();
+    }
+
+    @Test
+    void rejectsCandidatesThatShareGramsButNotTheSubstring() {
+        TrigramIndex index = new TrigramIndex();
+        index.add(1, "abcd-bcde");
+        index.add(2, "abcde");
+
+        assertThat(index.search("abcde", 10)).containsExactly(2L);
+    }
+
+    @Test
+    void signalsFallbackForShortTermsAndTooManyMatches() {
+        TrigramIndex index = new TrigramIndex();
+        for (long id = 1; id <= 50; id++) {
+            index.add(id, "001" + String.format("%06d", id));
+        }
+
+        assertThat(index.search("01", 100)).isNull();
+        assertThat(index.search("00100000", 5)).isNull();
+        assertThat(index.search("00100000", 9)).hasSize(9);
+        assertThat(index.search("000042", 5)).containsExactly(42L);
+    }
+
+    @Test
+    void ignoresDuplicateAdds() {
+        TrigramIndex index = new TrigramIndex();
+        assertThat(index.add(7, "FD0007")).isTrue();
+        assertThat(index.add(7, "FD0007")).isFalse();
+        assertThat(index.size()).isEqualTo(1);
+    }
+}
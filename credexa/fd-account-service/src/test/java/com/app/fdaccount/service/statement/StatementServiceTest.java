@@ -0,0 +1,206 @@
+package com.app.fdaccount.service.statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.fdaccount.dto.TransactionRequest;
+import com.app.fdaccount.entity.AccountBalance;
+import com.app.fdaccount.entity.FdAccount;
+import com.app.fdaccount.enums.AccountStatus;
+import com.app.fdaccount.enums.StatementFormat;
+import com.app.fdaccount.enums.TransactionType;
+import com.app.fdaccount.repository.AccountTransactionRepository;
+import com.app.fdaccount.repository.FdAccountRepository;
+import com.app.fdaccount.service.TransactionExportService;
+import com.app.fdaccount.service.TransactionService;
+import com.app.fdaccount.service.concurrency.AccountConcurrencyGuard;
+import com.app.fdaccount.service.portfolio.PortfolioAggregateService;
+
+/**
+ * Tests for StatementService against an in-memory database
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.com.app.fdaccount=WARN",
+        "statement.generation.spool-dir=${java.io.tmpdir}/fd-statements-test"
+})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({StatementService.class, StatementCache.class, TransactionExportService.class,
+        TransactionService.class, AccountConcurrencyGuard.class, PortfolioAggregateService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StatementServiceTest {
+
+    private static final String ACCOUNT_NUMBER = "STMT0001";
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private StatementService statementService;
+
+    @Autowired
+    private StatementCache statementCache;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private FdAccountRepository accountRepository;
+
+    @Autowired
+    private AccountTransactionRepository transactionRepository;
+
+    @BeforeEach
+    void createAccount() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+
+        FdAccount account = FdAccount.builder()
+                .accountNumber(ACCOUNT_NUMBER)
+                .accountName("Statement Account")
+                .productCode("FD-STD")
+                .productName("Standard FD")
+                .branchCode("BR001")
+                .status(AccountStatus.ACTIVE)
+                .principalAmount(new BigDecimal("1000.00"))
+                .interestRate(new BigDecimal("7.00"))
+                .termMonths(12)
+                .maturityAmount(new BigDecimal("1000.00"))
+                .effectiveDate(TODAY.minusDays(10))
+                .maturityDate(TODAY.plusYears(1))
+                .build();
+        account.addBalance(AccountBalance.builder()
+                .balanceType("PRINCIPAL")
+                .balance(new BigDecimal("1000.00"))
+                .asOfDate(account.getEffectiveDate())
+                .build());
+        account.addBalance(AccountBalance.builder()
+                .balanceType("INTEREST_ACCRUED")
+                .balance(BigDecimal.ZERO)
+                .asOfDate(account.getEffectiveDate())
+                .build());
+        accountRepository.save(account);
+
+        deposit("100.00", TODAY.minusDays(5));
+        deposit("50.00", TODAY.minusDays(2));
+    }
+
+    @Test
+    void csvStatementCarriesOpeningAndClosingBalancesFromHistory() throws Exception {
+        String csv = read(generate(TODAY.minusDays(4), TODAY.minusDays(1), StatementFormat.CSV));
+
+        assertThat(csv).contains("Opening Balance,1100.00\n");
+        assertThat(csv).contains("Closing Balance,1150.00\n");
+        assertThat(csv).contains("Transaction Count,1\n");
+        assertThat(csv).contains(",ADDITIONAL_DEPOSIT,");
+    }
+
+    @Test
+    void closedPeriodStatementIsCachedUntilABackDatedPostingLands() throws Exception {
+        LocalDate from = TODAY.minusDays(6);
+        LocalDate to = TODAY.minusDays(1);
+
+        StatementFile first = generate(from, to, StatementFormat.CSV);
+        StatementFile second = generate(from, to, StatementFormat.CSV);
+        assertThat(first.isCached()).isTrue();
+        assertThat(second.getPath()).isEqualTo(first.getPath());
+
+        deposit("25.00", TODAY.minusDays(3));
+
+        StatementFile third = generate(from, to, StatementFormat.CSV);
+        assertThat(third.getPath()).isNotEqualTo(first.getPath());
+        assertThat(read(third)).contains("Transaction Count,3\n").contains(",25.00,");
+    }
+
+    @Test
+    void cachedStatementEvictedWhileBeingSentIsDeletedOnlyAfterRelease() throws Exception {
+        LocalDate from = TODAY.minusDays(6);
+        LocalDate to = TODAY.minusDays(1);
+        StatementFile first = generate(from, to, StatementFormat.CSV);
+        StatementFile second = generate(from, to, StatementFormat.CSV);
+        assertThat(second.getPath()).isEqualTo(first.getPath());
+
+        // Evicted while both requests still hold the file
+        statementCache.invalidateAccount(ACCOUNT_NUMBER);
+        Thread.sleep(200);
+        assertThat(Files.exists(first.getPath())).isTrue();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        statementService.writeTo(first, out);
+        assertThat(out.toString(StandardCharsets.UTF_8)).contains("Transaction Count,2\n");
+        assertThat(Files.exists(first.getPath())).isTrue();
+
+        statementService.writeTo(second, new ByteArrayOutputStream());
+        assertThat(Files.exists(first.getPath())).isFalse();
+    }
+
+    @Test
+    void openPeriodStatementIsNotCached() throws Exception {
+        StatementFile file = generate(TODAY.minusDays(6), TODAY, StatementFormat.PDF);
+
+        assertThat(file.isCached()).isFalse();
+        statementService.writeTo(file, new ByteArrayOutputStream());
+        assertThat(Files.exists(file.getPath())).isFalse();
+    }
+
+    @Test
+    void pdfWriterProducesConsistentCrossReferenceAcrossPages() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (SimplePdfWriter pdf = new SimplePdfWriter(out)) {
+            for (int i = 0; i < 500; i++) {
+                pdf.writeLine("Line " + i + " (escaped) \\ ₹");
+            }
+        }
+        String pdf = out.toString(StandardCharsets.ISO_8859_1);
+
+        Matcher startXref = Pattern.compile("startxref\n(\\d+)\n%%EOF\n$").matcher(pdf);
+        assertThat(startXref.find()).isTrue();
+        int xrefOffset = Integer.parseInt(startXref.group(1));
+        assertThat(pdf.substring(xrefOffset)).startsWith("xref\n0 ");
+
+        Matcher entries = Pattern.compile("(\\d{10}) 00000 n \n").matcher(pdf.substring(xrefOffset));
+        int objectId = 1;
+        while (entries.find()) {
+            int offset = Integer.parseInt(entries.group(1));
+            assertThat(pdf.substring(offset)).startsWith(objectId + " 0 obj\n");
+            objectId++;
+        }
+        assertThat(pdf).contains("/Count 8 >>");
+        assertThat(pdf).contains("(Line 0 \\(escaped\\) \\\\ ?) Tj");
+    }
+
+    private void deposit(String amount, LocalDate date) {
+        transactionService.createTransaction(TransactionRequest.builder()
+                .accountNumber(ACCOUNT_NUMBER)
+                .transactionType(TransactionType.ADDITIONAL_DEPOSIT)
+                .amount(new BigDecimal(amount))
+                .transactionDate(date)
+                .performedBy("statement-test")
+                .build());
+    }
+
+    private StatementFile generate(LocalDate from, LocalDate to, StatementFormat format) throws Exception {
+        return statementService.generateStatement(ACCOUNT_NUMBER, from, to, format).get(30, TimeUnit.SECONDS);
+    }
+
+    private String read(StatementFile file) throws Exception {
+        return Files.readString(file.getPath(), StandardCharsets.UTF_8);
+    }
+}
@@ -1,5 +1,7 @@
 package com.app.calculator.dto.external;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -20,8 +22,10 @@ public class CustomerDto {
     private String email;
     private String mobileNumber;
     
+    @JsonAlias("classification")
     private String customerClassification;
     private Integer age;
     
+    @JsonAlias("isActive")
     private Boolean active;
 }
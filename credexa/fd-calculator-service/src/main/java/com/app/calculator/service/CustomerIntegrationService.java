@@ -1,17 +1,25 @@
 package com.app.calculator.service;
 
 import com.app.calculator.dto.external.CustomerDto;
-import com.app.common.dto.ApiResponse;
+import com.app.common.util.RequestCoalescer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Service for integrating with customer-service
+ * Lookups from concurrent calculations are merged into batch calls
  */
 @Service
 @Slf4j
@@ -22,6 +30,31 @@ public class CustomerIntegrationService {
     
     @Value("${services.customer.url}")
     private String customerServiceUrl;
+
+    @Value("${services.customer.timeout-ms:5000}")
+    private long timeoutMs;
+
+    @Value("${services.customer.batch.window-ms:5}")
+    private long batchWindowMs;
+
+    @Value("${services.customer.batch.max-size:100}")
+    private int batchMaxSize;
+
+    @Value("${services.customer.batch.loader-threads:4}")
+    private int batchLoaderThreads;
+
+    private RequestCoalescer<Long, CustomerDto> customerLoader;
+
+    @PostConstruct
+    void initCustomerLoader() {
+        customerLoader = new RequestCoalescer<>("customer-batch", this::fetchCustomers,
+                Duration.ofMillis(batchWindowMs), batchMaxSize, batchLoaderThreads);
+    }
+
+    @PreDestroy
+    void closeCustomerLoader() {
+        customerLoader.close();
+    }
     
     /**
      * Get customer classification (cached)
@@ -31,16 +64,10 @@ public class CustomerIntegrationService {
         log.info("Fetching customer classification for ID: {}", customerId);
         
         try {
-            WebClient webClient = webClientBuilder.baseUrl(customerServiceUrl).build();
-            
-            ApiResponse<CustomerDto> response = webClient.get()
-                .uri("/{id}", customerId)
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<ApiResponse<CustomerDto>>() {})
-                .block();
+            CustomerDto customer = customerLoader.get(customerId, Duration.ofMillis(timeoutMs + batchWindowMs));
             
-            if (response != null && response.isSuccess() && response.getData() != null) {
-                String classification = response.getData().getCustomerClassification();
+            if (customer != null) {
+                String classification = customer.getCustomerClassification();
                 log.debug("Customer {} has classification: {}", customerId, classification);
                 return classification;
             }
@@ -52,4 +79,27 @@ public class CustomerIntegrationService {
             return null;
         }
     }
+
+    /**
+     * Batch loader behind the coalescer: one POST /batch call for all waiting IDs
+     */
+    private Map<Long, CustomerDto> fetchCustomers(Set<Long> customerIds) {
+        log.debug("Fetching {} customers in one batch", customerIds.size());
+
+        List<CustomerDto> customers = webClientBuilder.baseUrl(customerServiceUrl).build()
+            .post()
+            .uri("/batch")
+            .bodyValue(Map.of("customerIds", customerIds))
+            .retrieve()
+            .bodyToFlux(CustomerDto.class)
+            .collectList()
+            .timeout(Duration.ofMillis(timeoutMs))
+            .block();
+
+        Map<Long, CustomerDto> byId = new HashMap<>();
+        if (customers != null) {
+            customers.forEach(customer -> byId.put(customer.getId(), customer));
+        }
+        return byId;
+    }
 }
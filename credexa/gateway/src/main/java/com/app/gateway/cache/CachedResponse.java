@@ -0,0 +1,40 @@
+package com.app.gateway.cache;
+
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Snapshot of a backend response: status, end-to-end headers and body
+ * Immutable, so one instance is written to every request it is served to.
+ */
+@Getter
+public final class CachedResponse {
+
+    private final int status;
+    private final HttpHeaders headers;
+    private final byte[] body;
+    private final Duration ttl;
+    private final Instant storedAt;
+
+    public CachedResponse(int status, HttpHeaders headers, byte[] body, Duration ttl) {
+        this.status = status;
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        this.body = body;
+        this.ttl = ttl;
+        this.storedAt = Instant.now();
+    }
+
+    public String getEtag() {
+        return headers.getETag();
+    }
+
+    /**
+     * Seconds since the response was fetched, for the Age header
+     */
+    public long ageSeconds() {
+        return Math.max(0, Duration.between(storedAt, Instant.now()).toSeconds());
+    }
+}
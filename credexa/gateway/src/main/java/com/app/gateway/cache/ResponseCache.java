@@ -0,0 +1,100 @@
+package com.app.gateway.cache;
+
+import com.app.gateway.config.ResponseCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cached responses and in-flight fetches, keyed by rule ID plus request key
+ * Entries expire after their rule's TTL. While a response is being fetched, identical
+ * requests subscribe to the leader's sink instead of going to the backend.
+ * Metrics: gateway.cache.requests{rule, result=hit|miss|coalesced|bypass}, Caffeine
+ * stats under gateway.response.cache and gateway.cache.in-flight.
+ */
+@Component
+public class ResponseCache {
+
+    private final Cache<String, CachedResponse> entries;
+    private final ConcurrentMap<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxEntries())
+                .expireAfter(new UntilTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "gateway.response.cache");
+        meterRegistry.gaugeMapSize("gateway.cache.in-flight", Tags.empty(), inFlight);
+    }
+
+    public CachedResponse get(String key) {
+        return entries.getIfPresent(key);
+    }
+
+    public void put(String key, CachedResponse response) {
+        entries.put(key, response);
+    }
+
+    /**
+     * Register the caller's sink as the fetch for this key; returns the sink already in
+     * flight when there is one, or the caller's own sink when it is the leader
+     */
+    public Sinks.One<CachedResponse> joinInFlight(String key, Sinks.One<CachedResponse> candidate) {
+        Sinks.One<CachedResponse> existing = inFlight.putIfAbsent(key, candidate);
+        return existing != null ? existing : candidate;
+    }
+
+    /**
+     * Release the waiters of a fetch with the shared response, or empty so they fetch
+     * for themselves. Safe to call more than once; only the first call counts.
+     */
+    public void completeInFlight(String key, Sinks.One<CachedResponse> leader, CachedResponse shared) {
+        inFlight.remove(key, leader);
+        if (shared != null) {
+            leader.tryEmitValue(shared);
+        } else {
+            leader.tryEmitEmpty();
+        }
+    }
+
+    /**
+     * Drop every entry of a rule, after a write through the gateway to its path
+     */
+    public void evictRule(String ruleId) {
+        String prefix = ruleId + ":";
+        entries.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    public void record(String ruleId, String result) {
+        meterRegistry.counter("gateway.cache.requests", "rule", ruleId, "result", result).increment();
+    }
+
+    private static final class UntilTtl implements Expiry<String, CachedResponse> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedResponse response, long currentTime) {
+            return response.getTtl().toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedResponse response, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, response, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedResponse response, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
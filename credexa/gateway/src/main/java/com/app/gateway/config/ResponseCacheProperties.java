@@ -0,0 +1,53 @@
+package com.app.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Edge response cache settings (gateway.cache)
+ * Each rule names a path pattern, the methods whose responses are cached (GET by default;
+ * POST rules key on a hash of the body), a TTL and the request headers the cached
+ * response varies by. The first matching rule wins.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "gateway.cache")
+public class ResponseCacheProperties {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private boolean enabled = true;
+
+    /** Cached responses kept across all rules */
+    private long maxEntries = 10000;
+
+    /** Larger responses (and request bodies of POST rules) are proxied but not cached */
+    private int maxBodyBytes = 256 * 1024;
+
+    /** How long identical concurrent requests wait for the in-flight one before going to the backend */
+    private Duration coalesceTimeout = Duration.ofSeconds(10);
+
+    private List<Rule> rules = new ArrayList<>();
+
+    public Optional<Rule> match(String path) {
+        return rules.stream()
+                .filter(rule -> PATH_MATCHER.match(rule.getPath(), path))
+                .findFirst();
+    }
+
+    @Data
+    public static class Rule {
+        private String id;
+        private String path;
+        private List<String> methods = new ArrayList<>(List.of("GET"));
+        private Duration ttl = Duration.ofSeconds(30);
+        private List<String> varyHeaders = new ArrayList<>();
+    }
+}
@@ -0,0 +1,90 @@
+package com.app.gateway.filter;
+
+import com.app.gateway.security.EdgeIdentity;
+import com.app.gateway.security.EdgeTokenVerifier;
+import com.app.gateway.security.InternalAuthSigner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Verifies the bearer token once at the edge
+ * Valid tokens are replaced by a signed X-Internal-Auth header carrying the user ID and
+ * roles, which downstream services check instead of parsing the JWT. A client-supplied
+ * X-Internal-Auth is always dropped. Invalid tokens are rejected except on public paths;
+ * requests without a token are rejected only when gateway.auth.required is set.
+ */
+@Slf4j
+@Component
+public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final EdgeTokenVerifier tokenVerifier;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Value("${gateway.auth.public-paths:/api/auth/**,/api/login/**,/actuator/**}")
+    private List<String> publicPaths;
+
+    @Value("${gateway.auth.required:false}")
+    private boolean required;
+
+    public JwtAuthenticationFilter(EdgeTokenVerifier tokenVerifier) {
+        this.tokenVerifier = tokenVerifier;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String path = request.getPath().value();
+        boolean publicPath = publicPaths.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+
+        String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        Optional<EdgeIdentity> identity = Optional.empty();
+        if (authHeader != null && authHeader.startsWith(BEARER_PREFIX)) {
+            identity = tokenVerifier.verify(authHeader.substring(BEARER_PREFIX.length()));
+            if (identity.isEmpty() && !publicPath) {
+                log.debug("Rejected invalid token for {}", path);
+                return reject(exchange);
+            }
+        } else if (required && !publicPath) {
+            return reject(exchange);
+        }
+
+        String internalHeader = identity.map(EdgeIdentity::getInternalHeader).orElse(null);
+        ServerHttpRequest forwarded = request.mutate()
+                .headers(headers -> {
+                    headers.remove(InternalAuthSigner.HEADER_NAME);
+                    if (internalHeader != null) {
+                        headers.set(InternalAuthSigner.HEADER_NAME, internalHeader);
+                    }
+                })
+                .build();
+        return chain.filter(exchange.mutate().request(forwarded).build());
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange) {
+        exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+        return exchange.getResponse().setComplete();
+    }
+
+    /**
+     * Ahead of ResponseCacheFilter, so cached responses are only served to authenticated callers
+     */
+    @Override
+    public int getOrder() {
+        return ResponseCacheFilter.ORDER - 1;
+    }
+}
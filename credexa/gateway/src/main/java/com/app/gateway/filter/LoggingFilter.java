@@ -26,6 +26,7 @@ public class LoggingFilter implements GlobalFilter, Ordered {
 
     @Override
     public int getOrder() {
-        return -1;
+        // First, so requests answered by the auth and cache filters are logged too
+        return Ordered.HIGHEST_PRECEDENCE;
     }
 }
@@ -0,0 +1,340 @@
+package com.app.gateway.filter;
+
+import com.app.gateway.cache.CachedResponse;
+import com.app.gateway.cache.ResponseCache;
+import com.app.gateway.config.ResponseCacheProperties;
+import com.app.gateway.config.ResponseCacheProperties.Rule;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Serves read-heavy routes from the edge cache (rules under gateway.cache.rules)
+ * A hit is written from memory, answering If-None-Match with 304 when the ETag matches.
+ * On a miss the first request fetches and the identical requests arriving meanwhile
+ * share its response. 200 responses without Set-Cookie, no-store or private are kept for
+ * the rule's TTL; the rule's TTL takes precedence over the backend's max-age/no-cache.
+ * A successful write (PUT, POST, ...) to a rule's path drops that rule's entries.
+ * Responses carry X-Cache: HIT, MISS or COALESCED.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    public static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    /** Runs before NettyWriteResponseFilter so the response decorator sees the body */
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+
+    private static final Set<HttpMethod> SAFE_METHODS = Set.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS);
+
+    /** Not replayed from the cache: per-connection headers, and CORS headers set by the gateway itself */
+    private static final Set<String> EXCLUDED_HEADERS = Set.of(
+            "connection", "keep-alive", "transfer-encoding", "te", "trailer", "upgrade",
+            "proxy-authenticate", "proxy-authorization", "content-length", "vary", "age",
+            CACHE_STATUS_HEADER.toLowerCase(Locale.ROOT));
+
+    private final ResponseCacheProperties properties;
+    private final ResponseCache responseCache;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        Optional<Rule> match = properties.isEnabled()
+                ? properties.match(request.getPath().value())
+                : Optional.empty();
+        if (match.isEmpty()) {
+            return chain.filter(exchange);
+        }
+        Rule rule = match.get();
+        HttpMethod method = request.getMethod();
+
+        if (!rule.getMethods().contains(method.name())) {
+            if (SAFE_METHODS.contains(method)) {
+                return chain.filter(exchange);
+            }
+            return chain.filter(exchange).doOnSuccess(done -> {
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                if (status != null && status.is2xxSuccessful()) {
+                    responseCache.evictRule(rule.getId());
+                }
+            });
+        }
+
+        if (method == HttpMethod.GET || method == HttpMethod.HEAD) {
+            return serve(exchange, chain, rule, cacheKey(rule, request, null));
+        }
+
+        // Body-keyed rule (e.g. POST quotes): read the body once, key on its hash and replay it downstream.
+        // Bodies declared larger than max-body-bytes are streamed through untouched; an undeclared
+        // (chunked) body is read at most that far and refused with 413 beyond it.
+        if (request.getHeaders().getContentLength() > properties.getMaxBodyBytes()) {
+            responseCache.record(rule.getId(), "bypass");
+            return chain.filter(exchange);
+        }
+        return DataBufferUtils.join(request.getBody(), properties.getMaxBodyBytes())
+                .map(ResponseCacheFilter::toBytes)
+                .defaultIfEmpty(new byte[0])
+                .map(Optional::of)
+                .onErrorResume(DataBufferLimitException.class, e -> Mono.just(Optional.empty()))
+                .flatMap(body -> {
+                    if (body.isEmpty()) {
+                        responseCache.record(rule.getId(), "bypass");
+                        exchange.getResponse().setStatusCode(HttpStatus.PAYLOAD_TOO_LARGE);
+                        return exchange.getResponse().setComplete();
+                    }
+                    ServerWebExchange replay = exchange.mutate()
+                            .request(withBody(request, body.get(), exchange.getResponse().bufferFactory()))
+                            .build();
+                    return serve(replay, chain, rule, cacheKey(rule, request, body.get()));
+                });
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, GatewayFilterChain chain, Rule rule, String key) {
+        CachedResponse cached = responseCache.get(key);
+        if (cached != null) {
+            responseCache.record(rule.getId(), "hit");
+            return write(exchange, cached, "HIT");
+        }
+
+        Sinks.One<CachedResponse> leader = Sinks.one();
+        Sinks.One<CachedResponse> inFlight = responseCache.joinInFlight(key, leader);
+        if (inFlight != leader) {
+            return inFlight.asMono()
+                    .timeout(properties.getCoalesceTimeout())
+                    .map(Optional::of)
+                    .onErrorResume(TimeoutException.class, e -> Mono.empty())
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(shared -> {
+                        if (shared.isPresent()) {
+                            responseCache.record(rule.getId(), "coalesced");
+                            return write(exchange, shared.get(), "COALESCED");
+                        }
+                        responseCache.record(rule.getId(), "miss");
+                        return chain.filter(exchange);
+                    });
+        }
+
+        responseCache.record(rule.getId(), "miss");
+        ServerHttpResponse capturing = new CapturingResponse(exchange.getResponse(), rule, key, leader);
+        return chain.filter(exchange.mutate().response(capturing).build())
+                .doFinally(signal -> responseCache.completeInFlight(key, leader, null));
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, CachedResponse cached, String outcome) {
+        ServerHttpResponse response = exchange.getResponse();
+        String etag = cached.getEtag();
+        if (etag != null && exchange.getRequest().getMethod() == HttpMethod.GET && exchange.checkNotModified(etag)) {
+            response.getHeaders().set(CACHE_STATUS_HEADER, outcome);
+            return response.setComplete();
+        }
+
+        HttpHeaders headers = response.getHeaders();
+        cached.getHeaders().forEach(headers::put);
+        headers.setContentLength(cached.getBody().length);
+        headers.set(HttpHeaders.AGE, Long.toString(cached.ageSeconds()));
+        headers.set(CACHE_STATUS_HEADER, outcome);
+        response.setStatusCode(HttpStatusCode.valueOf(cached.getStatus()));
+        if (exchange.getRequest().getMethod() == HttpMethod.HEAD) {
+            return response.setComplete();
+        }
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.getBody())));
+    }
+
+    /**
+     * Rule, method, path and query, the rule's vary headers (Accept-Encoding always, since
+     * backends may compress) and, for body-keyed rules, the body hash
+     */
+    private static String cacheKey(Rule rule, ServerHttpRequest request, byte[] body) {
+        HttpHeaders headers = request.getHeaders();
+        StringBuilder key = new StringBuilder(rule.getId()).append(':')
+                .append(request.getMethod().name()).append(' ')
+                .append(request.getPath().value());
+        String query = request.getURI().getRawQuery();
+        if (query != null) {
+            key.append('?').append(query);
+        }
+        appendHeader(key, headers, HttpHeaders.ACCEPT_ENCODING);
+        for (String name : rule.getVaryHeaders()) {
+            appendHeader(key, headers, name);
+        }
+        if (body != null) {
+            key.append("|body=").append(sha256(body));
+        }
+        return key.toString();
+    }
+
+    private static void appendHeader(StringBuilder key, HttpHeaders headers, String name) {
+        List<String> values = headers.get(name);
+        key.append('|').append(name.toLowerCase(Locale.ROOT)).append('=');
+        if (values != null) {
+            key.append(String.join(",", values));
+        }
+    }
+
+    private boolean isShareable(HttpStatusCode status, HttpHeaders headers, int bodyLength) {
+        if (status == null || status.is5xxServerError() || bodyLength > properties.getMaxBodyBytes()
+                || headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return false;
+        }
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl == null) {
+            return true;
+        }
+        String directives = cacheControl.toLowerCase(Locale.ROOT);
+        return !directives.contains("no-store") && !directives.contains("private");
+    }
+
+    private static HttpHeaders storedHeaders(HttpHeaders headers) {
+        HttpHeaders stored = new HttpHeaders();
+        headers.forEach((name, values) -> {
+            String lower = name.toLowerCase(Locale.ROOT);
+            if (!EXCLUDED_HEADERS.contains(lower) && !lower.startsWith("access-control-")) {
+                stored.put(name, List.copyOf(values));
+            }
+        });
+        return stored;
+    }
+
+    private static ServerHttpRequest withBody(ServerHttpRequest request, byte[] body, DataBufferFactory bufferFactory) {
+        return new ServerHttpRequestDecorator(request) {
+            @Override
+            public Flux<DataBuffer> getBody() {
+                return Flux.defer(() -> Flux.just(bufferFactory.wrap(body)));
+            }
+        };
+    }
+
+    private static byte[] toBytes(DataBuffer buffer) {
+        try {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            return bytes;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    /**
+     * Copies the backend body (up to max-body-bytes) as it streams to the client, stores it
+     * when cacheable and hands it to the requests coalesced behind this one
+     */
+    private final class CapturingResponse extends ServerHttpResponseDecorator {
+
+        private final Rule rule;
+        private final String key;
+        private final Sinks.One<CachedResponse> leader;
+
+        CapturingResponse(ServerHttpResponse delegate, Rule rule, String key, Sinks.One<CachedResponse> leader) {
+            super(delegate);
+            this.rule = rule;
+            this.key = key;
+            this.leader = leader;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+            if (getHeaders().getContentLength() > properties.getMaxBodyBytes()) {
+                responseCache.completeInFlight(key, leader, null);
+                return super.writeWith(body);
+            }
+            BoundedCopy copy = new BoundedCopy(properties.getMaxBodyBytes());
+            return super.writeWith(Flux.from(body).doOnNext(copy::append))
+                    .doOnSuccess(done -> capture(copy.toByteArray()));
+        }
+
+        /**
+         * Share the copied body; null when it outgrew the limit
+         */
+        private void capture(byte[] bytes) {
+            HttpStatusCode status = getStatusCode();
+            CachedResponse shared = null;
+            if (bytes != null && isShareable(status, getHeaders(), bytes.length)) {
+                shared = new CachedResponse(status.value(), storedHeaders(getHeaders()), bytes, rule.getTtl());
+                if (status.value() == 200) {
+                    responseCache.put(key, shared);
+                    log.debug("Cached {} for {}", key, rule.getTtl());
+                }
+            }
+            responseCache.completeInFlight(key, leader, shared);
+        }
+    }
+
+    /**
+     * Copy of a streamed body that gives up once it passes the limit
+     */
+    private static final class BoundedCopy {
+
+        private final int limit;
+        private ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        BoundedCopy(int limit) {
+            this.limit = limit;
+        }
+
+        void append(DataBuffer buffer) {
+            if (bytes == null) {
+                return;
+            }
+            int length = buffer.readableByteCount();
+            if (bytes.size() + length > limit) {
+                bytes = null;
+                return;
+            }
+            byte[] chunk = new byte[length];
+            buffer.toByteBuffer(buffer.readPosition(), ByteBuffer.wrap(chunk), 0, length);
+            bytes.writeBytes(chunk);
+        }
+
+        byte[] toByteArray() {
+            return bytes != null ? bytes.toByteArray() : null;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.app.gateway.security;
+
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Verified caller with the internal header precomputed for it
+ * Immutable, so one instance is shared by every request presenting the same token
+ */
+@Getter
+public final class EdgeIdentity {
+
+    private final String username;
+    private final String internalHeader;
+    private final Instant expiresAt;
+
+    EdgeIdentity(String username, String internalHeader, Instant expiresAt) {
+        this.username = username;
+        this.internalHeader = internalHeader;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isExpired() {
+        return expiresAt != null && !expiresAt.isAfter(Instant.now());
+    }
+}
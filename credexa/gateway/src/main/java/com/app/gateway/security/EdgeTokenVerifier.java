@@ -0,0 +1,124 @@
+package com.app.gateway.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Verifies JWTs at the edge
+ * The key and parser are built once. Each token is verified once; the signed internal
+ * header for it is cached by the token's SHA-256 hash until the token expires, so repeat
+ * requests cost a hash and a cache lookup.
+ */
+@Component
+@RequiredArgsConstructor
+public class EdgeTokenVerifier {
+
+    private final InternalAuthSigner signer;
+
+    @Value("${jwt.secret:mySecretKeyForCredexaApplicationMustBe256BitsLongForHS256AlgorithmToWorkProperly}")
+    private String secret;
+
+    @Value("${jwt.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    private JwtParser parser;
+    private Cache<String, EdgeIdentity> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        parser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .build();
+    }
+
+    /**
+     * Identity of a valid token, or empty when it is malformed, forged or expired
+     */
+    public Optional<EdgeIdentity> verify(String token) {
+        String key = tokenHash(token);
+        EdgeIdentity cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            if (!cached.isExpired()) {
+                return Optional.of(cached);
+            }
+            verifiedTokens.invalidate(key);
+        }
+
+        try {
+            EdgeIdentity identity = toIdentity(parser.parseSignedClaims(token).getPayload());
+            verifiedTokens.put(key, identity);
+            return Optional.of(identity);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private EdgeIdentity toIdentity(Claims claims) {
+        Object userId = claims.get("userId");
+        List<String> roles = claims.get("roles") instanceof List<?> values
+                ? values.stream().map(String::valueOf).toList()
+                : List.of();
+        Instant issuedAt = claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null;
+        Instant expiresAt = claims.getExpiration() != null ? claims.getExpiration().toInstant() : null;
+        String header = signer.sign(claims.getSubject(),
+                userId instanceof Number number ? number.longValue() : null,
+                roles, issuedAt, expiresAt);
+        return new EdgeIdentity(claims.getSubject(), header, expiresAt);
+    }
+
+    private static String tokenHash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Cache entries live until their token expires (tokens without exp for one hour)
+     */
+    private static final class UntilTokenExpiry implements Expiry<String, EdgeIdentity> {
+
+        @Override
+        public long expireAfterCreate(String key, EdgeIdentity identity, long currentTime) {
+            Duration remaining = identity.getExpiresAt() != null
+                    ? Duration.between(Instant.now(), identity.getExpiresAt())
+                    : Duration.ofHours(1);
+            return Math.max(0, remaining.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, EdgeIdentity identity, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, identity, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, EdgeIdentity identity, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.app.gateway.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Signs the X-Internal-Auth header forwarded to downstream services
+ * Same format as common-lib's InternalAuthHeader (the gateway is reactive and cannot
+ * depend on common-lib): base64url(json).base64url(HMAC-SHA256(payload)).
+ */
+@Component
+public class InternalAuthSigner {
+
+    public static final String HEADER_NAME = "X-Internal-Auth";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_LENGTH = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    /** Sample value once committed to the application.yml files; never accepted */
+    private static final String SAMPLE_SECRET = "credexaInternalAuthHeaderSecretChangeMeInEveryEnvironment";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${internal-auth.secret}")
+    private String secret;
+
+    private ThreadLocal<Mac> macs;
+
+    @PostConstruct
+    void init() {
+        if (secret == null || secret.isBlank() || secret.length() < MIN_SECRET_LENGTH
+                || secret.equals(SAMPLE_SECRET)) {
+            throw new IllegalStateException("internal-auth.secret must be set (INTERNAL_AUTH_SECRET) to a per-environment "
+                    + "secret of at least " + MIN_SECRET_LENGTH + " characters, the same for the gateway and every service");
+        }
+        SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(ALGORITHM + " not available", e);
+            }
+        });
+    }
+
+    /**
+     * Header value carrying the caller's identity until the token's expiry
+     */
+    public String sign(String username, Long userId, List<String> roles, Instant issuedAt, Instant expiresAt) {
+        ObjectNode payload = objectMapper.createObjectNode();
+        payload.put("sub", username);
+        if (userId != null) {
+            payload.put("uid", userId);
+        }
+        ArrayNode roleArray = payload.putArray("roles");
+        roles.forEach(roleArray::add);
+        if (issuedAt != null) {
+            payload.put("iat", issuedAt.getEpochSecond());
+        }
+        if (expiresAt != null) {
+            payload.put("exp", expiresAt.getEpochSecond());
+        }
+        String encoded = ENCODER.encodeToString(payload.toString().getBytes(StandardCharsets.UTF_8));
+        byte[] signature = macs.get().doFinal(encoded.getBytes(StandardCharsets.US_ASCII));
+        return encoded + "." + ENCODER.encodeToString(signature);
+    }
+}
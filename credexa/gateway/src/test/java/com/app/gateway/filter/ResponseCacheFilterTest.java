@@ -0,0 +1,194 @@
+package com.app.gateway.filter;
+
+import com.app.gateway.cache.ResponseCache;
+import com.app.gateway.config.ResponseCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * HIT, MISS and COALESCED outcomes of the edge cache, and its body size limits
+ */
+class ResponseCacheFilterTest {
+
+    private static final int MAX_BODY_BYTES = 64;
+
+    private final AtomicInteger backendCalls = new AtomicInteger();
+    private ResponseCacheFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setMaxBodyBytes(MAX_BODY_BYTES);
+        properties.setCoalesceTimeout(Duration.ofSeconds(5));
+        ResponseCacheProperties.Rule products = new ResponseCacheProperties.Rule();
+        products.setId("products");
+        products.setPath("/api/products/**");
+        ResponseCacheProperties.Rule quotes = new ResponseCacheProperties.Rule();
+        quotes.setId("quotes");
+        quotes.setPath("/api/quotes");
+        quotes.setMethods(List.of("POST"));
+        properties.setRules(List.of(products, quotes));
+
+        filter = new ResponseCacheFilter(properties, new ResponseCache(properties, new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void firstRequestMissesAndTheSecondIsServedFromTheCache() {
+        GatewayFilterChain backend = backend("[\"FD-1\"]", Mono.empty());
+
+        MockServerWebExchange first = get("/api/products");
+        filter.filter(first, backend).block(Duration.ofSeconds(5));
+        MockServerWebExchange second = get("/api/products");
+        filter.filter(second, backend).block(Duration.ofSeconds(5));
+
+        assertThat(first.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("MISS");
+        assertThat(second.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("HIT");
+        assertThat(body(second.getResponse())).isEqualTo("[\"FD-1\"]");
+        assertThat(backendCalls).hasValue(1);
+    }
+
+    @Test
+    void identicalRequestsWhileFetchingShareTheLeadersResponse() throws Exception {
+        Sinks.Empty<Void> release = Sinks.empty();
+        GatewayFilterChain backend = backend("[\"FD-1\"]", release.asMono());
+
+        MockServerWebExchange leader = get("/api/products");
+        CompletableFuture<Void> leading = filter.filter(leader, backend).toFuture();
+        MockServerWebExchange follower = get("/api/products");
+        CompletableFuture<Void> following = filter.filter(follower, backend).toFuture();
+        assertThat(following).isNotDone();
+
+        release.tryEmitEmpty();
+        leading.get(5, TimeUnit.SECONDS);
+        following.get(5, TimeUnit.SECONDS);
+
+        assertThat(leader.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("MISS");
+        assertThat(follower.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("COALESCED");
+        assertThat(body(follower.getResponse())).isEqualTo("[\"FD-1\"]");
+        assertThat(backendCalls).hasValue(1);
+    }
+
+    @Test
+    void responseLargerThanTheLimitIsProxiedButNotCached() {
+        String large = "x".repeat(MAX_BODY_BYTES + 1);
+        GatewayFilterChain backend = backend(large, Mono.empty());
+
+        MockServerWebExchange first = get("/api/products");
+        filter.filter(first, backend).block(Duration.ofSeconds(5));
+        MockServerWebExchange second = get("/api/products");
+        filter.filter(second, backend).block(Duration.ofSeconds(5));
+
+        assertThat(body(first.getResponse())).isEqualTo(large);
+        assertThat(second.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("MISS");
+        assertThat(backendCalls).hasValue(2);
+    }
+
+    @Test
+    void postRuleKeysOnTheBodyAndReplaysItDownstream() {
+        AtomicInteger seen = new AtomicInteger();
+        GatewayFilterChain backend = exchange -> exchange.getRequest().getBody()
+                .map(buffer -> buffer.toString(StandardCharsets.UTF_8))
+                .collectList()
+                .flatMap(parts -> {
+                    seen.incrementAndGet();
+                    return write(exchange.getResponse(), "quote for " + String.join("", parts));
+                });
+
+        MockServerWebExchange first = post("/api/quotes", "{\"amount\":1000}", true);
+        filter.filter(first, backend).block(Duration.ofSeconds(5));
+        MockServerWebExchange same = post("/api/quotes", "{\"amount\":1000}", true);
+        filter.filter(same, backend).block(Duration.ofSeconds(5));
+        MockServerWebExchange other = post("/api/quotes", "{\"amount\":2000}", true);
+        filter.filter(other, backend).block(Duration.ofSeconds(5));
+
+        assertThat(body(first.getResponse())).isEqualTo("quote for {\"amount\":1000}");
+        assertThat(same.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("HIT");
+        assertThat(body(other.getResponse())).isEqualTo("quote for {\"amount\":2000}");
+        assertThat(seen).hasValue(2);
+    }
+
+    @Test
+    void declaredLargeBodyBypassesTheCacheWithoutBeingRead() {
+        GatewayFilterChain backend = backend("ok", Mono.empty());
+
+        MockServerWebExchange exchange = post("/api/quotes", "y".repeat(MAX_BODY_BYTES + 1), true);
+        filter.filter(exchange, backend).block(Duration.ofSeconds(5));
+
+        assertThat(exchange.getResponse().getHeaders().getFirst("X-Cache")).isNull();
+        assertThat(body(exchange.getResponse())).isEqualTo("ok");
+        assertThat(backendCalls).hasValue(1);
+    }
+
+    @Test
+    void undeclaredBodyOverTheLimitIsRefused() {
+        GatewayFilterChain backend = backend("ok", Mono.empty());
+
+        MockServerWebExchange exchange = post("/api/quotes", "y".repeat(MAX_BODY_BYTES * 4), false);
+        filter.filter(exchange, backend).block(Duration.ofSeconds(5));
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+        assertThat(backendCalls).hasValue(0);
+    }
+
+    /**
+     * Backend answering 200 with the body once the gate completes
+     */
+    private GatewayFilterChain backend(String body, Mono<Void> gate) {
+        return exchange -> gate.then(Mono.defer(() -> {
+            backendCalls.incrementAndGet();
+            return write(exchange.getResponse(), body);
+        }));
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, String body) {
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.fromSupplier(() ->
+                response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private static MockServerWebExchange get(String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path));
+    }
+
+    private static MockServerWebExchange post(String path, String body, boolean declareLength) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        MockServerHttpRequest.BodyBuilder request = MockServerHttpRequest.post(path)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (declareLength) {
+            request.contentLength(bytes.length);
+        }
+        // Sent in small chunks, as a streamed upload would arrive
+        Flux<DataBuffer> chunks = Flux.range(0, (bytes.length + 15) / 16)
+                .map(i -> DefaultDataBufferFactory.sharedInstance.wrap(
+                        Arrays.copyOfRange(bytes, i * 16, Math.min(bytes.length, (i + 1) * 16))));
+        return MockServerWebExchange.from(request.body(chunks));
+    }
+
+    private static String body(MockServerHttpResponse response) {
+        return response.getBodyAsString().block(Duration.ofSeconds(5));
+    }
+}
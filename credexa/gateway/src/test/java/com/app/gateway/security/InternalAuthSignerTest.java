@@ -0,0 +1,63 @@
+package com.app.gateway.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Wire format and startup checks of the X-Internal-Auth signer
+ */
+class InternalAuthSignerTest {
+
+    private static final String SECRET = "gatewaySignerTestSecretOfAtLeast32Characters";
+
+    @Test
+    void headerIsPayloadDotHmacOfThePayload() throws Exception {
+        InternalAuthSigner signer = newSigner(SECRET);
+        Instant expiresAt = Instant.now().plusSeconds(300);
+
+        String value = signer.sign("alice", 42L, List.of("ROLE_CUSTOMER"), Instant.now(), expiresAt);
+
+        String[] parts = value.split("\\.");
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        String expected = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(mac.doFinal(parts[0].getBytes(StandardCharsets.US_ASCII)));
+        assertThat(parts[1]).isEqualTo(expected);
+
+        JsonNode payload = new ObjectMapper().readTree(Base64.getUrlDecoder().decode(parts[0]));
+        assertThat(payload.get("sub").asText()).isEqualTo("alice");
+        assertThat(payload.get("uid").asLong()).isEqualTo(42L);
+        assertThat(payload.get("roles").get(0).asText()).isEqualTo("ROLE_CUSTOMER");
+        assertThat(payload.get("exp").asLong()).isEqualTo(expiresAt.getEpochSecond());
+    }
+
+    @Test
+    void missingShortOrSampleSecretFailsAtStartup() {
+        for (String secret : new String[] {null, "", "tooShort",
+                "credexaInternalAuthHeaderSecretChangeMeInEveryEnvironment"}) {
+            InternalAuthSigner signer = new InternalAuthSigner();
+            ReflectionTestUtils.setField(signer, "secret", secret);
+            assertThatThrownBy(signer::init).isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("internal-auth.secret");
+        }
+    }
+
+    private static InternalAuthSigner newSigner(String secret) {
+        InternalAuthSigner signer = new InternalAuthSigner();
+        ReflectionTestUtils.setField(signer, "secret", secret);
+        signer.init();
+        return signer;
+    }
+}
@@ -1,16 +1,21 @@
 package com.app.login.config;
 
+import com.app.common.util.InternalAuthHeader;
 import com.app.common.util.JwtUtil;
+import com.app.common.util.VerifiedToken;
 import com.app.login.service.CustomUserDetailsService;
+import com.app.login.service.UserStatusCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -23,6 +28,13 @@ import java.util.stream.Collectors;
 /**
  * JWT Authentication Filter
  * Validates JWT token on every request
+ *
+ * In stateless mode (default) the principal is built from the verified claims alone,
+ * so authenticated requests do not query users and roles. Lock/deactivation checks
+ * go through the optional UserStatusCache. Setting auth.stateless.enabled=false
+ * restores loading the user from the database on every request.
+ * Requests forwarded by the gateway carry a signed X-Internal-Auth header; when it
+ * checks out, the bearer token is not parsed again.
  */
 @Component
 @RequiredArgsConstructor
@@ -30,7 +42,12 @@ import java.util.stream.Collectors;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final InternalAuthHeader internalAuthHeader;
     private final CustomUserDetailsService userDetailsService;
+    private final UserStatusCache userStatusCache;
+
+    @Value("${auth.stateless.enabled:true}")
+    private boolean stateless;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
@@ -39,28 +56,40 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         try {
             String authHeader = request.getHeader("Authorization");
+            VerifiedToken verified = internalAuthHeader.verify(request.getHeader(InternalAuthHeader.HEADER_NAME))
+                    .orElse(null);
 
-            if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            if (verified == null && authHeader != null && authHeader.startsWith("Bearer ")) {
                 String token = authHeader.substring(7);
-                String username = jwtUtil.extractUsername(token);
+                // Verified once; repeat requests with the same token are served from the cache
+                verified = jwtUtil.verify(token);
+            }
+
+            if (verified != null) {
+                String username = verified.getUsername();
 
                 if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                    if (!userStatusCache.isUsable(username)) {
+                        log.debug("Rejected token of locked or inactive user: {}", username);
+                        filterChain.doFilter(request, response);
+                        return;
+                    }
 
-                    if (jwtUtil.validateToken(token, username)) {
-                        List<String> roles = jwtUtil.extractRoles(token);
-                        List<SimpleGrantedAuthority> authorities = roles.stream()
-                                .map(SimpleGrantedAuthority::new)
-                                .collect(Collectors.toList());
+                    List<SimpleGrantedAuthority> authorities = verified.getRoles().stream()
+                            .map(SimpleGrantedAuthority::new)
+                            .collect(Collectors.toList());
 
-                        UsernamePasswordAuthenticationToken authToken = 
-                            new UsernamePasswordAuthenticationToken(userDetails, null, authorities);
-                        
-                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
-                        
-                        log.debug("JWT authentication successful for user: {}", username);
-                    }
+                    UserDetails userDetails = stateless
+                            ? User.withUsername(username).password("").authorities(authorities).build()
+                            : userDetailsService.loadUserByUsername(username);
+
+                    UsernamePasswordAuthenticationToken authToken = 
+                        new UsernamePasswordAuthenticationToken(userDetails, null, authorities);
+                    
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                    
+                    log.debug("JWT authentication successful for user: {}", username);
                 }
             }
         } catch (Exception e) {
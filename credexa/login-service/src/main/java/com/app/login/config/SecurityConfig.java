@@ -5,6 +5,7 @@ import java.util.List;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -45,6 +46,8 @@ public class SecurityConfig {
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .logout(AbstractHttpConfigurer::disable) // Disable default logout handling
             .authorizeHttpRequests(auth -> auth
+                // Admin endpoints
+                .requestMatchers(HttpMethod.PUT, "/bank-config").hasRole("ADMIN")
                 // Public endpoints
                 .requestMatchers(
                     "/register",
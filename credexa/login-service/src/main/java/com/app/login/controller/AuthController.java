@@ -1,15 +1,19 @@
 package com.app.login.controller;
 
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.app.common.dto.ApiResponse;
 import com.app.login.dto.BankConfigResponse;
+import com.app.login.dto.BankConfigUpdateRequest;
 import com.app.login.dto.LoginRequest;
 import com.app.login.dto.LoginResponse;
 import com.app.login.dto.RegisterRequest;
@@ -109,11 +113,20 @@ public class AuthController {
     }
 
     @GetMapping("/bank-config")
-    @Operation(summary = "Get bank configuration", description = "Get bank name, logo, language, and currency settings")
-    public ResponseEntity<ApiResponse<BankConfigResponse>> getBankConfig() {
+    @Operation(summary = "Get bank configuration",
+               description = "Get bank name, logo, language, and currency settings. Supports If-None-Match (304 when unchanged)")
+    public ResponseEntity<ApiResponse<BankConfigResponse>> getBankConfig(WebRequest webRequest) {
         try {
-            BankConfigResponse config = bankConfigService.getBankConfiguration();
-            return ResponseEntity.ok(ApiResponse.success(config));
+            BankConfigService.Snapshot snapshot = bankConfigService.getSnapshot();
+            if (webRequest.checkNotModified(snapshot.getEtag())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(snapshot.getEtag())
+                        .build();
+            }
+            return ResponseEntity.ok()
+                    .eTag(snapshot.getEtag())
+                    .cacheControl(CacheControl.noCache())
+                    .body(ApiResponse.success(snapshot.getConfig()));
         } catch (Exception e) {
             log.error("Failed to get bank configuration", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -121,6 +134,21 @@ public class AuthController {
         }
     }
 
+    @PutMapping("/bank-config")
+    @Operation(summary = "Update bank configuration", description = "Update bank settings (admin only); clients see the new version on their next conditional GET")
+    @SecurityRequirement(name = "Bearer Authentication")
+    public ResponseEntity<ApiResponse<BankConfigResponse>> updateBankConfig(
+            @Valid @RequestBody BankConfigUpdateRequest request) {
+        try {
+            BankConfigResponse config = bankConfigService.updateBankConfiguration(request);
+            return ResponseEntity.ok(ApiResponse.success("Bank configuration updated", config));
+        } catch (Exception e) {
+            log.error("Failed to update bank configuration", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to update bank configuration"));
+        }
+    }
+
     @GetMapping("/user/{username}")
     @Operation(summary = "Get user info by username", description = "Retrieve user information by username (for internal microservice use)")
     public ResponseEntity<ApiResponse<User>> getUserByUsername(@org.springframework.web.bind.annotation.PathVariable String username) {
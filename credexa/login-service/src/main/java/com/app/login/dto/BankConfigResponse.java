@@ -19,4 +19,5 @@ public class BankConfigResponse {
     private String defaultLanguage;
     private String defaultCurrency;
     private int currencyDecimalPlaces;
+    private long version;
 }
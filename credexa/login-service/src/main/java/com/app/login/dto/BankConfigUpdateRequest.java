@@ -0,0 +1,37 @@
+package com.app.login.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for updating the bank configuration (admin only)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BankConfigUpdateRequest {
+
+    @NotBlank(message = "Bank name is required")
+    private String bankName;
+
+    private String logoUrl;
+
+    @NotBlank(message = "Default language is required")
+    @Size(max = 10, message = "Default language must be at most 10 characters")
+    private String defaultLanguage;
+
+    @NotBlank(message = "Default currency is required")
+    @Size(max = 10, message = "Default currency must be at most 10 characters")
+    private String defaultCurrency;
+
+    @Min(value = 0, message = "Currency decimal places cannot be negative")
+    @Max(value = 4, message = "Currency decimal places must be at most 4")
+    private int currencyDecimalPlaces;
+}
@@ -39,4 +39,11 @@ public class BankConfiguration {
 
     @Column(name = "is_active")
     private boolean active = true;
+
+    @Column(name = "config_version")
+    private Long configVersion; // Bumped on every update; null for rows created before versioning
+
+    public long currentVersion() {
+        return configVersion == null ? 0 : configVersion;
+    }
 }
@@ -0,0 +1,58 @@
+package com.app.login.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Transactional outbox row for a login event
+ * Written in the same transaction as the login/logout it describes and published to
+ * Kafka later by the relay. The event ID is the dedup key carried to consumers.
+ */
+@Entity
+@Table(name = "login_event_outbox", indexes = {
+        @Index(name = "uk_login_event_outbox_event_id", columnList = "event_id", unique = true),
+        @Index(name = "idx_login_event_outbox_pending", columnList = "published_at, next_attempt_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false, length = 36)
+    private String eventId;
+
+    @Column(name = "message_key", length = 100)
+    private String messageKey; // Kafka record key (username), keeps a user's events ordered
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+}
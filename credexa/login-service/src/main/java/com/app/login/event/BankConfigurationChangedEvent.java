@@ -0,0 +1,15 @@
+package com.app.login.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when an admin updates the bank configuration; the cached copy is
+ * refreshed once the update commits
+ */
+@Getter
+@AllArgsConstructor
+public class BankConfigurationChangedEvent {
+
+    private final long version;
+}
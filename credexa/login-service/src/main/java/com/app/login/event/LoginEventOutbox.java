@@ -0,0 +1,53 @@
+package com.app.login.event;
+
+import com.app.login.entity.OutboxEvent;
+import com.app.login.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Writes login events to the outbox table in the caller's transaction
+ * The event is only visible to the relay once the login/logout commits, and is lost
+ * only if the login itself rolls back. Nothing is written when Kafka is disabled.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LoginEventOutbox {
+
+    private final OutboxEventRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${spring.kafka.enabled:false}")
+    private boolean enabled;
+
+    public void enqueue(LoginEvent event) {
+        if (!enabled) {
+            log.debug("Kafka disabled, skipping login event: {}", event.getEventType());
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        outboxRepository.save(OutboxEvent.builder()
+                .eventId(event.getEventId())
+                .messageKey(event.getUsername())
+                .eventType(event.getEventType())
+                .payload(toJson(event))
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .build());
+    }
+
+    private String toJson(LoginEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize login event " + event.getEventId(), e);
+        }
+    }
+}
@@ -1,21 +1,30 @@
 package com.app.login.event;
 
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Kafka event publisher for login events
- * Only active when Kafka is enabled
+ * Only active when Kafka is enabled. Used by LoginEventRelay to publish outbox rows;
+ * batching, compression and idempotence are producer settings (spring.kafka.producer).
  */
 @Service
 @Slf4j
 @ConditionalOnProperty(name = "spring.kafka.enabled", havingValue = "true", matchIfMissing = false)
 public class LoginEventPublisher {
 
+    /** Header carrying the event ID, for consumers to drop redelivered events */
+    public static final String EVENT_ID_HEADER = "eventId";
+
     private final KafkaTemplate<String, LoginEvent> kafkaTemplate;
     private static final String TOPIC = "login-events";
 
@@ -25,15 +34,18 @@ public class LoginEventPublisher {
     }
 
     /**
-     * Publish login event to Kafka
+     * Hand a login event to the producer; the record is sent with the producer's next batch
+     */
+    public CompletableFuture<SendResult<String, LoginEvent>> send(String eventId, String key, LoginEvent event) {
+        ProducerRecord<String, LoginEvent> record = new ProducerRecord<>(TOPIC, key, event);
+        record.headers().add(EVENT_ID_HEADER, eventId.getBytes(StandardCharsets.UTF_8));
+        return kafkaTemplate.send(record);
+    }
+
+    /**
+     * Send buffered records now instead of waiting for linger.ms
      */
-    public void publishLoginEvent(LoginEvent event) {
-        try {
-            kafkaTemplate.send(TOPIC, event.getUsername(), event);
-            log.info("Published login event for user: {} with event type: {}", 
-                    event.getUsername(), event.getEventType());
-        } catch (Exception e) {
-            log.error("Failed to publish login event for user: {}", event.getUsername(), e);
-        }
+    public void flush() {
+        kafkaTemplate.flush();
     }
 }
@@ -0,0 +1,135 @@
+package com.app.login.event;
+
+import com.app.login.entity.OutboxEvent;
+import com.app.login.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Relays login events from the outbox table to Kafka
+ * Each run claims a batch of due rows (SKIP LOCKED, so several instances can relay),
+ * hands them all to the producer, flushes once and waits for the acknowledgements.
+ * Acknowledged rows are marked published with one UPDATE; failed rows are retried with
+ * exponential backoff until max-attempts. Delivery is at least once; consumers dedupe
+ * on the eventId header.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "spring.kafka.enabled", havingValue = "true", matchIfMissing = false)
+public class LoginEventRelay {
+
+    private final OutboxEventRepository outboxRepository;
+    private final LoginEventPublisher publisher;
+    private final ObjectMapper objectMapper;
+
+    @Value("${login-events.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${login-events.outbox.send-timeout-ms:10000}")
+    private long sendTimeoutMillis;
+
+    @Value("${login-events.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${login-events.outbox.initial-backoff-ms:1000}")
+    private long initialBackoffMillis;
+
+    @Value("${login-events.outbox.max-backoff-ms:300000}")
+    private long maxBackoffMillis;
+
+    @Value("${login-events.outbox.retention-hours:24}")
+    private long retentionHours;
+
+    /**
+     * Publish one batch of due outbox rows; returns how many were published
+     */
+    @Scheduled(fixedDelayString = "${login-events.outbox.poll-interval-ms:500}")
+    @Transactional
+    public int relay() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> due = outboxRepository.lockPending(now, maxAttempts, PageRequest.of(0, batchSize));
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<SendResult<String, LoginEvent>>> sends = new ArrayList<>(due.size());
+        for (OutboxEvent entry : due) {
+            try {
+                LoginEvent event = objectMapper.readValue(entry.getPayload(), LoginEvent.class);
+                sends.add(publisher.send(entry.getEventId(), entry.getMessageKey(), event));
+            } catch (JsonProcessingException | RuntimeException e) {
+                sends.add(CompletableFuture.failedFuture(e));
+            }
+        }
+        publisher.flush();
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        List<Long> published = new ArrayList<>();
+        for (int i = 0; i < due.size(); i++) {
+            OutboxEvent entry = due.get(i);
+            try {
+                sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                published.add(entry.getId());
+            } catch (ExecutionException e) {
+                scheduleRetry(entry, e.getCause(), now);
+            } catch (TimeoutException e) {
+                scheduleRetry(entry, e, now);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                scheduleRetry(entry, e, now);
+            }
+        }
+
+        if (!published.isEmpty()) {
+            outboxRepository.markPublished(published, LocalDateTime.now());
+        }
+        log.debug("Relayed {} of {} login events", published.size(), due.size());
+        return published.size();
+    }
+
+    /**
+     * Drop published rows past the retention period
+     */
+    @Scheduled(fixedDelayString = "${login-events.outbox.cleanup-interval-ms:3600000}")
+    @Transactional
+    public void purgePublished() {
+        int deleted = outboxRepository.deletePublishedBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (deleted > 0) {
+            log.info("Purged {} published login events from the outbox", deleted);
+        }
+    }
+
+    private void scheduleRetry(OutboxEvent entry, Throwable cause, LocalDateTime now) {
+        int attempts = entry.getAttempts() + 1;
+        long backoff = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempts - 1, 20));
+        entry.setAttempts(attempts);
+        entry.setNextAttemptAt(now.plusNanos(TimeUnit.MILLISECONDS.toNanos(backoff)));
+        String message = cause == null ? "unknown" : cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        entry.setLastError(message.length() > 500 ? message.substring(0, 500) : message);
+
+        if (attempts >= maxAttempts) {
+            log.error("Giving up on login event {} after {} attempts: {}", entry.getEventId(), attempts, message);
+        } else {
+            log.warn("Login event {} not published (attempt {}), retrying in {} ms: {}",
+                    entry.getEventId(), attempts, backoff, message);
+        }
+    }
+}
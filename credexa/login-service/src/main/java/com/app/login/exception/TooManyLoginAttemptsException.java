@@ -0,0 +1,10 @@
+package com.app.login.exception;
+
+/**
+ * Exception thrown when login attempts are rejected by the login throttle
+ */
+public class TooManyLoginAttemptsException extends RuntimeException {
+    public TooManyLoginAttemptsException(String message) {
+        super(message);
+    }
+}
@@ -2,6 +2,7 @@ package com.app.login.repository;
 
 import com.app.login.entity.BankConfiguration;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -10,4 +11,10 @@ import java.util.Optional;
 public interface BankConfigurationRepository extends JpaRepository<BankConfiguration, Long> {
     
     Optional<BankConfiguration> findByActiveTrue();
+
+    /**
+     * Version of the active configuration only, for cheap change polling
+     */
+    @Query("SELECT COALESCE(b.configVersion, 0) FROM BankConfiguration b WHERE b.active = true")
+    Optional<Long> findActiveVersion();
 }
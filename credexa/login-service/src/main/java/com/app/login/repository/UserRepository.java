@@ -1,9 +1,14 @@
 package com.app.login.repository;
 
 import com.app.login.entity.User;
+import com.app.login.repository.projection.UserStatusView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
@@ -16,10 +21,42 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByMobileNumber(String mobileNumber);
     
     Optional<User> findByUsernameOrEmailOrMobileNumber(String username, String email, String mobileNumber);
+
+    String USER_WITH_ROLES = "SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.roles WHERE ";
+
+    /*
+     * Login lookups: one unique index each, roles fetched in the same query
+     */
+
+    @Query(USER_WITH_ROLES + "u.id = :id")
+    Optional<User> findWithRolesById(@Param("id") Long id);
+
+    @Query(USER_WITH_ROLES + "u.username = :username")
+    Optional<User> findWithRolesByUsername(@Param("username") String username);
+
+    @Query(USER_WITH_ROLES + "u.email = :email")
+    Optional<User> findWithRolesByEmail(@Param("email") String email);
+
+    @Query(USER_WITH_ROLES + "u.mobileNumber = :mobileNumber")
+    Optional<User> findWithRolesByMobileNumber(@Param("mobileNumber") String mobileNumber);
     
     boolean existsByUsername(String username);
     
     boolean existsByEmail(String email);
     
     boolean existsByMobileNumber(String mobileNumber);
+
+    /**
+     * Lock and activation flags only, without loading roles
+     */
+    @Query("SELECT u.accountLocked AS accountLocked, u.active AS active FROM User u WHERE u.username = :username")
+    Optional<UserStatusView> findStatusByUsername(@Param("username") String username);
+
+    /**
+     * Lock an account in one statement; 0 when it was already locked
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.accountLocked = true, u.failedLoginAttempts = :attempts, u.updatedAt = :now " +
+           "WHERE u.id = :id AND u.accountLocked = false")
+    int lockAccount(@Param("id") Long id, @Param("attempts") int attempts, @Param("now") LocalDateTime now);
 }
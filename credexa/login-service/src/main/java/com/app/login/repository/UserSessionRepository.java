@@ -2,10 +2,17 @@ package com.app.login.repository;
 
 import com.app.login.entity.User;
 import com.app.login.entity.UserSession;
+import com.app.login.repository.projection.ActiveSessionView;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,4 +26,31 @@ public interface UserSessionRepository extends JpaRepository<UserSession, Long>
     List<UserSession> findByActiveTrueAndLastActivityBefore(LocalDateTime threshold);
     
     void deleteByUser(User user);
+
+    String ACTIVE_SESSION_SELECT =
+            "SELECT s.id AS id, s.sessionToken AS sessionToken, u.username AS username, " +
+            "s.lastActivity AS lastActivity FROM UserSession s JOIN s.user u WHERE s.active = true";
+
+    @Query(ACTIVE_SESSION_SELECT)
+    List<ActiveSessionView> findActiveSessionViews();
+
+    @Query(ACTIVE_SESSION_SELECT + " AND s.sessionToken = :token")
+    Optional<ActiveSessionView> findActiveSessionView(@Param("token") String token);
+
+    /**
+     * Lock the sessions among the given IDs that are still active and idle since the cutoff
+     * Sessions kept alive through another instance are left out
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserSession s WHERE s.id IN :ids AND s.active = true AND s.lastActivity < :cutoff")
+    List<UserSession> lockIdle(@Param("ids") Collection<Long> ids, @Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Close many idle sessions with one statement; sessions active since the cutoff stay open
+     */
+    @Modifying
+    @Query("UPDATE UserSession s SET s.active = false, s.logoutTime = :logoutTime " +
+           "WHERE s.id IN :ids AND s.active = true AND s.lastActivity < :cutoff")
+    int deactivateAll(@Param("ids") Collection<Long> ids, @Param("cutoff") LocalDateTime cutoff,
+                      @Param("logoutTime") LocalDateTime logoutTime);
 }
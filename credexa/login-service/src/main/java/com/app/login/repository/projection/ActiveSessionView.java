@@ -0,0 +1,17 @@
+package com.app.login.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Active session as loaded into the in-memory session registry
+ */
+public interface ActiveSessionView {
+
+    Long getId();
+
+    String getSessionToken();
+
+    String getUsername();
+
+    LocalDateTime getLastActivity();
+}
@@ -0,0 +1,11 @@
+package com.app.login.repository.projection;
+
+/**
+ * Lock and activation state of a user, used for authentication checks
+ */
+public interface UserStatusView {
+
+    boolean isAccountLocked();
+
+    boolean isActive();
+}
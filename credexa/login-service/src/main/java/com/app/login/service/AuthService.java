@@ -3,6 +3,7 @@ package com.app.login.service;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +16,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.app.common.util.JwtUtil;
+import com.app.common.util.VerifiedToken;
 import com.app.login.dto.LoginRequest;
 import com.app.login.dto.LoginResponse;
 import com.app.login.dto.RegisterRequest;
@@ -23,12 +25,14 @@ import com.app.login.entity.AuditLog;
 import com.app.login.entity.Role;
 import com.app.login.entity.User;
 import com.app.login.entity.UserSession;
+import com.app.login.exception.TooManyLoginAttemptsException;
 import com.app.login.event.LoginEvent;
-import com.app.login.event.LoginEventPublisher;
-import com.app.login.repository.AuditLogRepository;
+import com.app.login.event.LoginEventOutbox;
 import com.app.login.repository.RoleRepository;
 import com.app.login.repository.UserRepository;
 import com.app.login.repository.UserSessionRepository;
+import com.app.login.service.audit.AsyncAuditWriter;
+import com.app.login.service.throttle.LoginThrottle;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
@@ -43,12 +47,16 @@ public class AuthService {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final UserSessionRepository sessionRepository;
-    private final AuditLogRepository auditLogRepository;
+    private final AsyncAuditWriter auditWriter;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final UserStatusCache userStatusCache;
+    private final SessionService sessionService;
+    private final LoginThrottle loginThrottle;
+    private final LoginIdentityResolver identityResolver;
+    private final ClientAddressResolver clientAddressResolver;
     
-    @Autowired(required = false)
-    private LoginEventPublisher eventPublisher;
+    private final LoginEventOutbox eventOutbox;
     
     @Autowired
     @Lazy
@@ -59,14 +67,23 @@ public class AuthService {
 
     @Autowired
     public AuthService(UserRepository userRepository, RoleRepository roleRepository,
-                      UserSessionRepository sessionRepository, AuditLogRepository auditLogRepository,
-                      PasswordEncoder passwordEncoder, JwtUtil jwtUtil) {
+                      UserSessionRepository sessionRepository, AsyncAuditWriter auditWriter,
+                      PasswordEncoder passwordEncoder, JwtUtil jwtUtil, UserStatusCache userStatusCache,
+                      SessionService sessionService, LoginThrottle loginThrottle,
+                      LoginIdentityResolver identityResolver, ClientAddressResolver clientAddressResolver,
+                      LoginEventOutbox eventOutbox) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.sessionRepository = sessionRepository;
-        this.auditLogRepository = auditLogRepository;
+        this.auditWriter = auditWriter;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
+        this.userStatusCache = userStatusCache;
+        this.sessionService = sessionService;
+        this.loginThrottle = loginThrottle;
+        this.identityResolver = identityResolver;
+        this.clientAddressResolver = clientAddressResolver;
+        this.eventOutbox = eventOutbox;
     }
 
     /**
@@ -126,17 +143,31 @@ public class AuthService {
         log.info("Login attempt for: {}", request.getUsernameOrEmailOrMobile());
 
         String identifier = request.getUsernameOrEmailOrMobile();
+        String clientIp = getClientIp(httpRequest);
+
+        // Throttle before touching the database, under the same key failures are recorded with
+        String throttleKey = identityResolver.canonicalUsername(identifier);
+        LoginThrottle.Decision decision = loginThrottle.check(throttleKey, clientIp);
+        if (decision != LoginThrottle.Decision.ALLOWED) {
+            logAuditEvent(identifier, AuditLog.EventType.LOGIN_FAILURE,
+                         false, "Login throttled: " + decision, httpRequest);
+            if (decision == LoginThrottle.Decision.LOCKED_OUT) {
+                throw new BadCredentialsException("Account is locked. Please contact administrator.");
+            }
+            throw new TooManyLoginAttemptsException("Too many login attempts. Please try again later.");
+        }
 
-        // Find user by username, email, or mobile
-        User user = userRepository.findByUsernameOrEmailOrMobileNumber(identifier, identifier, identifier)
+        // Find user by username, email, or mobile (one indexed lookup, roles included)
+        User user = identityResolver.resolve(identifier)
                 .orElseThrow(() -> {
+                    loginThrottle.recordFailure(throttleKey, clientIp);
                     logAuditEvent(identifier, AuditLog.EventType.LOGIN_FAILURE, 
                                  false, "User not found", httpRequest);
                     return new UsernameNotFoundException("Invalid credentials");
                 });
 
-        // Check if account is locked
-        if (user.isAccountLocked()) {
+        // Check if account is locked (in memory when reached through another identifier)
+        if (user.isAccountLocked() || loginThrottle.isLockedOut(user.getUsername())) {
             logAuditEvent(user.getUsername(), AuditLog.EventType.LOGIN_FAILURE, 
                          false, "Account is locked", httpRequest);
             throw new BadCredentialsException("Account is locked. Please contact administrator.");
@@ -151,9 +182,10 @@ public class AuthService {
 
         // Validate password
         if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-            self.handleFailedLogin(user, httpRequest); // Use self to trigger transaction proxy
+            handleFailedLogin(user, clientIp, httpRequest);
             throw new BadCredentialsException("Invalid credentials");
         }
+        loginThrottle.recordSuccess(user.getUsername());
 
         // Reset failed attempts on successful login
         user.setFailedLoginAttempts(0);
@@ -164,7 +196,7 @@ public class AuthService {
         List<String> roles = user.getRoles().stream()
                 .map(role -> role.getName().name())
                 .collect(Collectors.toList());
-        String token = jwtUtil.generateToken(user.getUsername(), roles);
+        String token = jwtUtil.generateToken(user.getUsername(), user.getId(), roles);
 
         // Create session
         createUserSession(user, token, httpRequest);
@@ -205,6 +237,7 @@ public class AuthService {
             session.setLogoutTime(LocalDateTime.now());
             sessionRepository.save(session);
         });
+        sessionService.unregister(token);
 
         logAuditEvent(username, AuditLog.EventType.LOGOUT, true, "User logged out", null);
         
@@ -231,9 +264,10 @@ public class AuthService {
      */
     public TokenValidationResponse validateToken(String token) {
         try {
-            if (jwtUtil.validateToken(token)) {
-                String username = jwtUtil.extractUsername(token);
-                List<String> roles = jwtUtil.extractRoles(token);
+            Optional<VerifiedToken> verified = jwtUtil.tryVerify(token);
+            if (verified.isPresent()) {
+                String username = verified.get().getUsername();
+                List<String> roles = verified.get().getRoles();
                 
                 User user = userRepository.findByUsername(username)
                         .orElse(null);
@@ -258,24 +292,31 @@ public class AuthService {
 
     /**
      * Handle failed login attempts
+     * Failures are counted by the in-memory throttle; the users row is only written
+     * when the throttle reports the lockout transition
      */
-    @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW)
-    public void handleFailedLogin(User user, HttpServletRequest httpRequest) {
-        user.setFailedLoginAttempts(user.getFailedLoginAttempts() + 1);
-        
-        // Lock account after 5 failed attempts
-        if (user.getFailedLoginAttempts() >= 5) {
-            user.setAccountLocked(true);
-            logAuditEvent(user.getUsername(), AuditLog.EventType.ACCOUNT_LOCKED, 
-                         true, "Account locked due to multiple failed login attempts", httpRequest);
-            log.warn("Account locked due to failed attempts: {}", user.getUsername());
+    private void handleFailedLogin(User user, String clientIp, HttpServletRequest httpRequest) {
+        if (loginThrottle.recordFailure(user.getUsername(), clientIp)) {
+            self.lockAccount(user, httpRequest); // Use self to trigger transaction proxy
         }
-
-        userRepository.save(user);
         logAuditEvent(user.getUsername(), AuditLog.EventType.LOGIN_FAILURE, 
                      false, "Invalid password", httpRequest);
     }
 
+    /**
+     * Persist an account lockout
+     */
+    @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW)
+    public void lockAccount(User user, HttpServletRequest httpRequest) {
+        if (userRepository.lockAccount(user.getId(), loginThrottle.getMaxFailures(), LocalDateTime.now()) == 0) {
+            return;
+        }
+        userStatusCache.invalidate(user.getUsername());
+        logAuditEvent(user.getUsername(), AuditLog.EventType.ACCOUNT_LOCKED, 
+                     true, "Account locked due to multiple failed login attempts", httpRequest);
+        log.warn("Account locked due to failed attempts: {}", user.getUsername());
+    }
+
     /**
      * Create user session
      */
@@ -291,10 +332,12 @@ public class AuthService {
                 .build();
 
         sessionRepository.save(session);
+        sessionService.register(session);
     }
 
     /**
      * Log audit event
+     * Only enqueued here; the row is written asynchronously by AsyncAuditWriter
      */
     private void logAuditEvent(String username, AuditLog.EventType eventType, 
                                boolean success, String message, HttpServletRequest httpRequest) {
@@ -311,46 +354,32 @@ public class AuthService {
             auditLog.setUserAgent(httpRequest.getHeader("User-Agent"));
         }
 
-        auditLogRepository.save(auditLog);
+        auditWriter.write(auditLog);
     }
 
     /**
-     * Get client IP address
+     * Get client IP address (X-Forwarded-For only as vouched for by a trusted proxy)
      */
     private String getClientIp(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-        return request.getRemoteAddr();
+        return clientAddressResolver.resolve(request);
     }
 
     /**
-     * Publish login event to Kafka (if Kafka is enabled)
+     * Record a login event in the outbox, in the current transaction
+     * LoginEventRelay publishes it to Kafka after commit (if Kafka is enabled)
      */
     private void publishLoginEvent(User user, String eventType, HttpServletRequest request) {
-        // Skip if Kafka is not configured
-        if (eventPublisher == null) {
-            log.debug("Kafka event publisher not available, skipping event publication");
-            return;
-        }
-        
-        try {
-            LoginEvent event = LoginEvent.builder()
-                    .eventId(java.util.UUID.randomUUID().toString())
-                    .username(user.getUsername())
-                    .email(user.getEmail())
-                    .userId(user.getId())
-                    .eventType(eventType)
-                    .eventTime(LocalDateTime.now())
-                    .ipAddress(request != null ? getClientIp(request) : null)
-                    .userAgent(request != null ? request.getHeader("User-Agent") : null)
-                    .build();
-            
-            eventPublisher.publishLoginEvent(event);
-        } catch (Exception e) {
-            log.error("Failed to publish login event", e);
-            // Don't fail the operation if Kafka is unavailable
-        }
+        LoginEvent event = LoginEvent.builder()
+                .eventId(java.util.UUID.randomUUID().toString())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .userId(user.getId())
+                .eventType(eventType)
+                .eventTime(LocalDateTime.now())
+                .ipAddress(request != null ? getClientIp(request) : null)
+                .userAgent(request != null ? request.getHeader("User-Agent") : null)
+                .build();
+
+        eventOutbox.enqueue(event);
     }
 }
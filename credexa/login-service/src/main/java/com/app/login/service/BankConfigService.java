@@ -1,14 +1,28 @@
 package com.app.login.service;
 
 import com.app.login.dto.BankConfigResponse;
+import com.app.login.dto.BankConfigUpdateRequest;
 import com.app.login.entity.BankConfiguration;
+import com.app.login.event.BankConfigurationChangedEvent;
 import com.app.login.repository.BankConfigurationRepository;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 /**
  * Service for bank configuration management
+ *
+ * The active configuration is held in memory as a versioned snapshot that reads
+ * return without touching the database. It is loaded at startup, replaced after an
+ * admin update commits, and re-checked by a version-only poll so updates made through
+ * another instance are picked up. Each snapshot carries an ETag for conditional GETs.
  */
 @Service
 @RequiredArgsConstructor
@@ -16,20 +30,86 @@ import org.springframework.stereotype.Service;
 public class BankConfigService {
 
     private final BankConfigurationRepository bankConfigRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile Snapshot current;
 
     /**
      * Get active bank configuration
      */
     public BankConfigResponse getBankConfiguration() {
+        return getSnapshot().getConfig();
+    }
+
+    /**
+     * Active configuration with its ETag
+     */
+    public Snapshot getSnapshot() {
+        Snapshot snapshot = current;
+        return snapshot != null ? snapshot : refresh();
+    }
+
+    /**
+     * Update the active configuration and bump its version
+     */
+    @Transactional
+    public BankConfigResponse updateBankConfiguration(BankConfigUpdateRequest request) {
         BankConfiguration config = bankConfigRepository.findByActiveTrue()
                 .orElseGet(this::getDefaultConfiguration);
 
+        config.setBankName(request.getBankName());
+        config.setLogoUrl(request.getLogoUrl());
+        config.setDefaultLanguage(request.getDefaultLanguage());
+        config.setDefaultCurrency(request.getDefaultCurrency());
+        config.setCurrencyDecimalPlaces(request.getCurrencyDecimalPlaces());
+        config.setConfigVersion(config.currentVersion() + 1);
+        BankConfiguration saved = bankConfigRepository.save(config);
+
+        eventPublisher.publishEvent(new BankConfigurationChangedEvent(saved.currentVersion()));
+        log.info("Bank configuration updated to version {}", saved.currentVersion());
+        return toResponse(saved);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAtStartup() {
+        Snapshot snapshot = refresh();
+        log.info("Bank configuration loaded (version {})", snapshot.getConfig().getVersion());
+    }
+
+    @TransactionalEventListener
+    public void onConfigurationChanged(BankConfigurationChangedEvent event) {
+        refresh();
+    }
+
+    /**
+     * Reload when the stored version differs from the cached one
+     */
+    @Scheduled(fixedDelayString = "${bank-config.poll-interval-ms:30000}")
+    public void pollVersion() {
+        Snapshot snapshot = current;
+        long stored = bankConfigRepository.findActiveVersion().orElse(0L);
+        if (snapshot == null || snapshot.getConfig().getVersion() != stored) {
+            refresh();
+            log.info("Bank configuration refreshed to version {}", stored);
+        }
+    }
+
+    private synchronized Snapshot refresh() {
+        BankConfiguration config = bankConfigRepository.findByActiveTrue()
+                .orElseGet(this::getDefaultConfiguration);
+        Snapshot snapshot = new Snapshot(toResponse(config));
+        current = snapshot;
+        return snapshot;
+    }
+
+    private BankConfigResponse toResponse(BankConfiguration config) {
         return BankConfigResponse.builder()
                 .bankName(config.getBankName())
                 .logoUrl(config.getLogoUrl())
                 .defaultLanguage(config.getDefaultLanguage())
                 .defaultCurrency(config.getDefaultCurrency())
                 .currencyDecimalPlaces(config.getCurrencyDecimalPlaces())
+                .version(config.currentVersion())
                 .build();
     }
 
@@ -46,4 +126,19 @@ public class BankConfigService {
                 .active(true)
                 .build();
     }
+
+    /**
+     * Cached configuration, shared by all readers; the ETag changes whenever the version
+     * or content does
+     */
+    @Getter
+    public static class Snapshot {
+        private final BankConfigResponse config;
+        private final String etag;
+
+        Snapshot(BankConfigResponse config) {
+            this.config = config;
+            this.etag = "\"" + config.getVersion() + "-" + Integer.toHexString(config.hashCode()) + "\"";
+        }
+    }
 }
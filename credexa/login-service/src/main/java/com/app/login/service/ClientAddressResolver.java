@@ -0,0 +1,79 @@
+package com.app.login.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the client address used for throttling, sessions and audit rows
+ * X-Forwarded-For is only believed when the connection comes from a trusted proxy
+ * (auth.trusted-proxies, addresses or CIDR ranges). The chain is then read from the
+ * right and the first hop that is not a trusted proxy is the client; anything to its
+ * left was written by the client and is ignored.
+ */
+@Component
+public class ClientAddressResolver {
+
+    private static final String FORWARDED_FOR = "X-Forwarded-For";
+
+    /** IPv4 or IPv6 literal; anything else is never handed to the matcher (no DNS lookups) */
+    private static final Pattern IP_LITERAL = Pattern.compile("^[0-9A-Fa-f:.]+$");
+
+    @Value("${auth.trusted-proxies:}")
+    private List<String> trustedProxies;
+
+    private List<IpAddressMatcher> matchers;
+
+    @PostConstruct
+    void init() {
+        matchers = trustedProxies.stream()
+                .map(String::trim)
+                .filter(proxy -> !proxy.isEmpty())
+                .map(IpAddressMatcher::new)
+                .toList();
+    }
+
+    public String resolve(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        String forwardedFor = request.getHeader(FORWARDED_FOR);
+        if (forwardedFor == null || forwardedFor.isBlank() || !isTrusted(remoteAddr)) {
+            return remoteAddr;
+        }
+
+        String[] hops = forwardedFor.split(",");
+        String client = remoteAddr;
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (!IP_LITERAL.matcher(hop).matches()) {
+                // Garbled chain: keep the last address we could vouch for
+                return client;
+            }
+            client = hop;
+            if (!isTrusted(hop)) {
+                return hop;
+            }
+        }
+        return client;
+    }
+
+    private boolean isTrusted(String address) {
+        if (address == null || !IP_LITERAL.matcher(address).matches()) {
+            return false;
+        }
+        for (IpAddressMatcher matcher : matchers) {
+            try {
+                if (matcher.matches(address)) {
+                    return true;
+                }
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,153 @@
+package com.app.login.service;
+
+import com.app.login.entity.User;
+import com.app.login.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves a login identifier (username, email or mobile number) to a user
+ * The identifier is classified locally so the lookup hits a single unique index, with
+ * roles fetched in the same query. Usernames are free-form, so an identifier that looks
+ * like an email or mobile number but matches nothing is retried as a username.
+ * Identifier-to-user mappings are kept in a cache-aside map; a hit becomes a
+ * primary-key lookup and is re-checked against the identifier. The same map gives the
+ * login throttle the canonical username of an identifier without a query.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LoginIdentityResolver {
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final Pattern MOBILE = Pattern.compile("^\\+?\\d{10,15}$");
+
+    private final UserRepository userRepository;
+
+    @Value("${auth.identity-cache.max-size:100000}")
+    private long maxSize;
+
+    @Value("${auth.identity-cache.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    private Cache<String, KnownUser> users;
+
+    @PostConstruct
+    void init() {
+        users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+    }
+
+    /**
+     * Kind of identifier, with the user field it names
+     */
+    public enum IdentifierType {
+        USERNAME(User::getUsername),
+        EMAIL(User::getEmail),
+        MOBILE(User::getMobileNumber);
+
+        private final Function<User, String> value;
+
+        IdentifierType(Function<User, String> value) {
+            this.value = value;
+        }
+
+        boolean matches(User user, String identifier) {
+            String stored = value.apply(user);
+            return stored != null && stored.equalsIgnoreCase(identifier);
+        }
+    }
+
+    public static IdentifierType classify(String identifier) {
+        if (EMAIL.matcher(identifier).matches()) {
+            return IdentifierType.EMAIL;
+        }
+        if (MOBILE.matcher(identifier).matches()) {
+            return IdentifierType.MOBILE;
+        }
+        return IdentifierType.USERNAME;
+    }
+
+    /**
+     * User (with roles) for a login identifier
+     */
+    public Optional<User> resolve(String identifier) {
+        if (identifier == null || identifier.isBlank()) {
+            return Optional.empty();
+        }
+        String trimmed = identifier.trim();
+        IdentifierType type = classify(trimmed);
+        String cacheKey = cacheKey(type, trimmed);
+
+        KnownUser cached = users.getIfPresent(cacheKey);
+        if (cached != null) {
+            Optional<User> user = userRepository.findWithRolesById(cached.id())
+                    .filter(candidate -> identifies(candidate, trimmed));
+            if (user.isPresent()) {
+                return user;
+            }
+            users.invalidate(cacheKey);
+        }
+
+        Optional<User> user = lookup(type, trimmed);
+        if (user.isEmpty() && type != IdentifierType.USERNAME) {
+            user = lookup(IdentifierType.USERNAME, trimmed);
+        }
+        user.ifPresent(found -> users.put(cacheKey, new KnownUser(found.getId(), found.getUsername())));
+        return user;
+    }
+
+    /**
+     * Username an identifier was last resolved to, or the identifier itself when it has
+     * not been seen; lets email, mobile and username attempts share one throttle key
+     */
+    public String canonicalUsername(String identifier) {
+        if (identifier == null || identifier.isBlank()) {
+            return identifier;
+        }
+        String trimmed = identifier.trim();
+        KnownUser known = users.getIfPresent(cacheKey(classify(trimmed), trimmed));
+        return known != null ? known.username() : trimmed;
+    }
+
+    private static String cacheKey(IdentifierType type, String identifier) {
+        return type + ":" + identifier.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Whether the identifier still belongs to the user (any identifier kind, since
+     * lookups may have fallen back to the username)
+     */
+    private static boolean identifies(User user, String identifier) {
+        for (IdentifierType type : IdentifierType.values()) {
+            if (type.matches(user, identifier)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record KnownUser(Long id, String username) {
+    }
+
+    private Optional<User> lookup(IdentifierType type, String identifier) {
+        return switch (type) {
+            case EMAIL -> userRepository.findWithRolesByEmail(identifier);
+            case MOBILE -> userRepository.findWithRolesByMobileNumber(identifier);
+            case USERNAME -> userRepository.findWithRolesByUsername(identifier);
+        };
+    }
+}
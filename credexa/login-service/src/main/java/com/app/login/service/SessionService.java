@@ -3,82 +3,195 @@ package com.app.login.service;
 import com.app.login.entity.UserSession;
 import com.app.login.entity.AuditLog;
 import com.app.login.repository.UserSessionRepository;
-import com.app.login.repository.AuditLogRepository;
+import com.app.login.repository.projection.ActiveSessionView;
+import com.app.login.service.audit.AuditLogJdbcWriter;
+import com.app.login.service.session.SessionRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.Timestamp;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Service for managing user sessions and auto-logout
+ *
+ * Active sessions are tracked in an in-memory SessionRegistry: activity updates touch
+ * memory only and are flushed to user_sessions in periodic JDBC batches (write-behind),
+ * and idle sessions are found by the registry's timing wheel instead of a table scan,
+ * then closed with one bulk UPDATE plus one batch of audit rows. Only sessions whose
+ * stored last activity is also past the idle timeout are closed, so a session kept alive
+ * through another instance is not logged out.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SessionService {
 
+    private static final String ACTIVITY_UPDATE_SQL =
+            "UPDATE user_sessions SET last_activity = ? WHERE id = ? AND is_active = TRUE";
+
     private final UserSessionRepository sessionRepository;
-    private final AuditLogRepository auditLogRepository;
+    private final AuditLogJdbcWriter auditLogWriter;
+    private final JdbcTemplate jdbcTemplate;
 
     @Value("${session.idle-timeout:300000}") // 5 minutes default
     private Long idleTimeout;
 
+    @Value("${session.expiry-tick-ms:1000}")
+    private long tickMillis;
+
+    @Value("${session.write-behind.batch-size:500}")
+    private int batchSize;
+
+    private SessionRegistry registry;
+
+    @PostConstruct
+    void init() {
+        registry = new SessionRegistry(idleTimeout, tickMillis, System.currentTimeMillis());
+    }
+
+    /**
+     * Load sessions that were active before a restart
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadActiveSessions() {
+        List<ActiveSessionView> active = sessionRepository.findActiveSessionViews();
+        long now = System.currentTimeMillis();
+        for (ActiveSessionView session : active) {
+            long lastActivity = session.getLastActivity() != null ? toMillis(session.getLastActivity()) : now;
+            registry.register(session.getId(), session.getSessionToken(), session.getUsername(), lastActivity);
+        }
+        log.info("Session registry loaded with {} active sessions", active.size());
+    }
+
+    /**
+     * Start tracking a newly created session once its transaction commits
+     */
+    public void register(UserSession session) {
+        Long sessionId = session.getId();
+        String token = session.getSessionToken();
+        String username = session.getUser().getUsername();
+        long lastActivity = session.getLastActivity() != null
+                ? toMillis(session.getLastActivity()) : System.currentTimeMillis();
+        runAfterCommit(() -> registry.register(sessionId, token, username, lastActivity));
+    }
+
+    /**
+     * Stop tracking a session that was logged out
+     */
+    public void unregister(String token) {
+        runAfterCommit(() -> registry.remove(token));
+    }
+
     /**
      * Update session activity
+     * Recorded in memory; persisted by the next write-behind flush
      */
-    @Transactional
     public void updateSessionActivity(String token) {
-        sessionRepository.findBySessionToken(token).ifPresent(session -> {
-            session.setLastActivity(LocalDateTime.now());
-            sessionRepository.save(session);
-        });
+        long now = System.currentTimeMillis();
+        if (registry.touch(token, now)) {
+            return;
+        }
+        // Not tracked here (e.g. created by another instance): adopt it if still active
+        sessionRepository.findActiveSessionView(token)
+                .filter(session -> session.getLastActivity() == null
+                        || now < toMillis(session.getLastActivity()) + idleTimeout)
+                .ifPresent(session -> {
+                    registry.register(session.getId(), token, session.getUsername(), now);
+                    registry.touch(token, now);
+                });
     }
 
     /**
      * Check if session is expired
      */
     public boolean isSessionExpired(String token) {
+        Boolean active = registry.isActive(token, System.currentTimeMillis());
+        if (active != null) {
+            return !active;
+        }
         return sessionRepository.findBySessionToken(token)
-                .map(session -> session.isExpired(idleTimeout))
+                .map(session -> !session.isActive() || session.isExpired(idleTimeout))
                 .orElse(true);
     }
 
+    /**
+     * Write-behind flush of last-activity times, one JDBC batch per flush
+     */
+    @Scheduled(fixedDelayString = "${session.write-behind.flush-interval-ms:5000}")
+    @Transactional
+    public void flushSessionActivity() {
+        List<SessionRegistry.Entry> touched = registry.drainDirty();
+        if (touched.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(ACTIVITY_UPDATE_SQL, touched, batchSize, (ps, entry) -> {
+            ps.setTimestamp(1, Timestamp.valueOf(toLocalDateTime(entry.getLastActivity())));
+            ps.setLong(2, entry.getSessionId());
+        });
+        log.debug("Flushed activity of {} sessions", touched.size());
+    }
+
     /**
      * Scheduled task to auto-logout inactive sessions
-     * Runs every minute
+     * Runs every tick; only the wheel slots that came due are visited
      */
-    @Scheduled(fixedRate = 60000) // Every 1 minute
+    @Scheduled(fixedRateString = "${session.expiry-tick-ms:1000}")
     @Transactional
     public void autoLogoutInactiveSessions() {
-        LocalDateTime threshold = LocalDateTime.now().minusNanos(idleTimeout * 1_000_000);
-        List<UserSession> expiredSessions = sessionRepository.findByActiveTrueAndLastActivityBefore(threshold);
-
-        if (!expiredSessions.isEmpty()) {
-            log.info("Auto-logout: Found {} expired sessions", expiredSessions.size());
-            
-            expiredSessions.forEach(session -> {
-                session.setActive(false);
-                session.setLogoutTime(LocalDateTime.now());
-                sessionRepository.save(session);
-
-                // Log auto-logout event
-                AuditLog auditLog = AuditLog.builder()
-                        .username(session.getUser().getUsername())
+        List<SessionRegistry.Entry> expired = registry.advance(System.currentTimeMillis());
+        if (expired.isEmpty()) {
+            return;
+        }
+        log.info("Auto-logout: Found {} expired sessions", expired.size());
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minusNanos(idleTimeout * 1_000_000);
+        List<Long> ids = expired.stream().map(SessionRegistry.Entry::getSessionId).toList();
+        Set<Long> closedIds = new HashSet<>();
+        int closed = 0;
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> idle = sessionRepository.lockIdle(ids.subList(from, Math.min(from + batchSize, ids.size())), cutoff)
+                    .stream().map(UserSession::getId).toList();
+            if (!idle.isEmpty()) {
+                closed += sessionRepository.deactivateAll(idle, cutoff, now);
+                closedIds.addAll(idle);
+            }
+        }
+        // Sessions still in use through another instance stay open; they are already out of
+        // the registry and are adopted again from the database on their next request
+        if (closedIds.size() < expired.size()) {
+            log.info("Auto-logout: {} sessions were active elsewhere and stay open", expired.size() - closedIds.size());
+        }
+
+        List<AuditLog> auditLogs = expired.stream()
+                .filter(session -> closedIds.contains(session.getSessionId()))
+                .map(session -> AuditLog.builder()
+                        .username(session.getUsername())
                         .eventType(AuditLog.EventType.AUTO_LOGOUT)
                         .success(true)
                         .message("Session expired due to inactivity")
-                        .eventTime(LocalDateTime.now())
-                        .build();
-                auditLogRepository.save(auditLog);
+                        .eventTime(now)
+                        .build())
+                .toList();
+        auditLogWriter.insertAll(auditLogs);
 
-                log.info("Auto-logout: Session expired for user {}", session.getUser().getUsername());
-            });
-        }
+        log.info("Auto-logout: Closed {} sessions", closed);
     }
 
     /**
@@ -88,4 +201,25 @@ public class SessionService {
         // This will be implemented when needed
         return 0;
     }
+
+    private static void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
 }
@@ -0,0 +1,90 @@
+package com.app.login.service;
+
+import com.app.login.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Short-lived cache of user lock/activation state, keyed by username
+ * Lets stateless JWT authentication reject locked or deactivated users without a
+ * database query on every request. Entries are dropped when a user is locked or
+ * deactivated, so the TTL only bounds changes made outside this service.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserStatusCache {
+
+    private final UserRepository userRepository;
+
+    @Value("${auth.user-status-cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${auth.user-status-cache.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${auth.user-status-cache.max-size:10000}")
+    private long maxSize;
+
+    private Cache<String, Boolean> usable;
+
+    @PostConstruct
+    void init() {
+        usable = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Whether the user exists, is active and is not locked
+     * Always true when the cache is disabled (claims are trusted until the token expires)
+     */
+    public boolean isUsable(String username) {
+        if (!enabled) {
+            return true;
+        }
+        return usable.get(username, this::loadStatus);
+    }
+
+    /**
+     * Drop the cached state of a user once the current transaction commits
+     * (immediately when no transaction is active)
+     */
+    public void invalidate(String username) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(username);
+                }
+            });
+        } else {
+            evict(username);
+        }
+    }
+
+    private Boolean loadStatus(String username) {
+        return userRepository.findStatusByUsername(username)
+                .map(status -> status.isActive() && !status.isAccountLocked())
+                .orElse(false);
+    }
+
+    private void evict(String username) {
+        usable.invalidate(username);
+        log.debug("Invalidated cached status for user: {}", username);
+    }
+}
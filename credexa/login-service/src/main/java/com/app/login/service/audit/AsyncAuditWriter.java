@@ -0,0 +1,302 @@
+package com.app.login.service.audit;
+
+import com.app.login.entity.AuditLog;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous audit pipeline
+ * Callers only enqueue and never touch the disk or the database: a single writer
+ * thread drains the bounded buffer in JDBC batches. Rows that do not fit in the buffer
+ * go to a bounded overflow queue that a spill thread appends to a local spill file, one
+ * fsync per group of rows; batches the database rejects are spilled the same way. The
+ * spill file is replayed once the database accepts writes again (and on startup).
+ * Delivery is at least once: a replay interrupted by a failure is retried from the start
+ * of the file. Rows still queued are flushed on shutdown; a hard crash (kill -9, power
+ * loss) loses at most the rows in memory. Rows arriving while both queues are full are
+ * dropped and counted.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AsyncAuditWriter {
+
+    private static final String SPILL_FILE = "audit-spill.ndjson";
+    private static final String REPLAY_FILE = "audit-spill.replaying";
+
+    private final AuditLogJdbcWriter jdbcWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${audit.async.enabled:true}")
+    private boolean enabled;
+
+    @Value("${audit.async.buffer-size:10000}")
+    private int bufferSize;
+
+    @Value("${audit.async.overflow-size:10000}")
+    private int overflowSize;
+
+    @Value("${audit.async.batch-size:500}")
+    private int batchSize;
+
+    @Value("${audit.async.flush-interval-ms:200}")
+    private long flushIntervalMillis;
+
+    @Value("${audit.async.replay-interval-ms:30000}")
+    private long replayIntervalMillis;
+
+    @Value("${audit.async.spill-dir:${java.io.tmpdir}/login-service-audit}")
+    private String spillDir;
+
+    private final Object spillLock = new Object();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong spilled = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private BlockingQueue<AuditLog> buffer;
+    private BlockingQueue<AuditLog> overflow;
+    private Path spillFile;
+    private Path replayFile;
+    private Thread writer;
+    private Thread spiller;
+    private volatile boolean running;
+    private long nextReplay;
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        buffer = new ArrayBlockingQueue<>(bufferSize);
+        overflow = new ArrayBlockingQueue<>(overflowSize);
+        Path dir = Paths.get(spillDir);
+        Files.createDirectories(dir);
+        spillFile = dir.resolve(SPILL_FILE);
+        replayFile = dir.resolve(REPLAY_FILE);
+
+        running = true;
+        writer = new Thread(this::run, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+        spiller = new Thread(this::runSpiller, "audit-spiller");
+        spiller.setDaemon(true);
+        spiller.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.interrupt();
+        // Not interrupted: an interrupt would close the spill file's channel mid-write
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        spiller.join(TimeUnit.SECONDS.toMillis(10));
+
+        List<AuditLog> remaining = new ArrayList<>();
+        buffer.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            writeOrSpill(remaining);
+        }
+        List<AuditLog> overflowed = new ArrayList<>();
+        overflow.drainTo(overflowed);
+        if (!overflowed.isEmpty()) {
+            spill(overflowed);
+        }
+        log.info("Audit writer stopped: {} rows written, {} rows spilled, {} rows dropped",
+                written.get(), spilled.get(), dropped.get());
+    }
+
+    /**
+     * Queue an audit row; never blocks and never does I/O on the caller's thread
+     * Rows that do not fit in the buffer are handed to the spill thread
+     */
+    public void write(AuditLog auditLog) {
+        if (!enabled) {
+            jdbcWriter.insertAll(List.of(auditLog));
+            return;
+        }
+        if (!buffer.offer(auditLog) && !overflow.offer(auditLog)) {
+            long count = dropped.incrementAndGet();
+            if (count == 1 || count % 1000 == 0) {
+                log.error("Audit buffer and overflow are full, {} rows dropped so far", count);
+            }
+        }
+    }
+
+    private void run() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                AuditLog first = buffer.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    buffer.drainTo(batch, batchSize - 1);
+                    writeOrSpill(batch);
+                    batch.clear();
+                }
+                if (buffer.isEmpty() && System.currentTimeMillis() >= nextReplay) {
+                    replaySpill();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Audit writer iteration failed", e);
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeOrSpill(batch);
+        }
+    }
+
+    /**
+     * Append overflowed rows to the spill file, as many as are waiting per fsync
+     */
+    private void runSpiller() {
+        while (running) {
+            try {
+                AuditLog first = overflow.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    List<AuditLog> group = new ArrayList<>();
+                    group.add(first);
+                    overflow.drainTo(group);
+                    spill(group);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Audit spill iteration failed", e);
+            }
+        }
+    }
+
+    private void writeOrSpill(List<AuditLog> batch) {
+        try {
+            insert(batch);
+        } catch (RuntimeException e) {
+            log.warn("Audit batch of {} rows failed, spilling to disk: {}", batch.size(), e.getMessage());
+            spill(batch);
+            nextReplay = System.currentTimeMillis() + replayIntervalMillis;
+        }
+    }
+
+    private void insert(List<AuditLog> batch) {
+        transactionTemplate.executeWithoutResult(status -> jdbcWriter.insertAll(batch));
+        written.addAndGet(batch.size());
+    }
+
+    private void spill(List<AuditLog> auditLogs) {
+        synchronized (spillLock) {
+            try (FileChannel channel = FileChannel.open(spillFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                 BufferedWriter out = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8))) {
+                for (AuditLog auditLog : auditLogs) {
+                    out.write(objectMapper.writeValueAsString(auditLog));
+                    out.newLine();
+                }
+                out.flush();
+                channel.force(false);
+                spilled.addAndGet(auditLogs.size());
+            } catch (IOException e) {
+                log.error("Could not spill {} audit rows, dropping them", auditLogs.size(), e);
+            }
+        }
+    }
+
+    /**
+     * Move the spill file aside and insert its rows in batches
+     * A leftover replay file (interrupted replay) is retried before the current spill file
+     */
+    private void replaySpill() {
+        nextReplay = System.currentTimeMillis() + replayIntervalMillis;
+        synchronized (spillLock) {
+            if (!Files.exists(replayFile) && Files.exists(spillFile)) {
+                try {
+                    Files.move(spillFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    log.error("Could not move audit spill file aside for replay", e);
+                    return;
+                }
+            }
+        }
+        if (!Files.exists(replayFile)) {
+            return;
+        }
+
+        long replayed = 0;
+        try (BufferedReader reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+            List<AuditLog> batch = new ArrayList<>(batchSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                AuditLog auditLog = parse(line);
+                if (auditLog == null) {
+                    continue;
+                }
+                batch.add(auditLog);
+                if (batch.size() == batchSize) {
+                    insert(batch);
+                    replayed += batch.size();
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                insert(batch);
+                replayed += batch.size();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Audit spill replay stopped after {} rows, will retry: {}", replayed, e.getMessage());
+            return;
+        }
+
+        try {
+            Files.delete(replayFile);
+        } catch (IOException e) {
+            log.error("Could not delete replayed audit spill file", e);
+        }
+        log.info("Replayed {} spilled audit rows", replayed);
+    }
+
+    /**
+     * One spilled row, or null for blank or corrupt lines (e.g. a write cut off by a crash)
+     */
+    private AuditLog parse(String line) {
+        if (line.isBlank()) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(line, AuditLog.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping corrupt audit spill line: {}", e.getOriginalMessage());
+            return null;
+        }
+    }
+}
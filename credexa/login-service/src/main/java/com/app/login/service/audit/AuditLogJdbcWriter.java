@@ -0,0 +1,46 @@
+package com.app.login.service.audit;
+
+import com.app.login.entity.AuditLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Inserts audit rows with JDBC batching
+ * AuditLog uses IDENTITY keys, which Hibernate cannot batch; this writes a list of
+ * rows in one batched statement. Joins the caller's transaction when there is one.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuditLogJdbcWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO audit_logs (username, event_type, success, message, ip_address, user_agent, event_time) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<AuditLog> auditLogs) {
+        if (auditLogs.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, auditLogs, auditLogs.size(), this::bind);
+    }
+
+    private void bind(PreparedStatement ps, AuditLog auditLog) throws SQLException {
+        LocalDateTime eventTime = auditLog.getEventTime() != null ? auditLog.getEventTime() : LocalDateTime.now();
+        ps.setString(1, auditLog.getUsername());
+        ps.setString(2, auditLog.getEventType().name());
+        ps.setBoolean(3, auditLog.isSuccess());
+        ps.setString(4, auditLog.getMessage());
+        ps.setString(5, auditLog.getIpAddress());
+        ps.setString(6, auditLog.getUserAgent());
+        ps.setTimestamp(7, Timestamp.valueOf(eventTime));
+    }
+}
@@ -0,0 +1,164 @@
+package com.app.login.service.session;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * In-memory registry of active sessions with a timing wheel for idle expiry
+ * Touching a session only updates its last-activity time and marks it dirty for the
+ * next write-behind flush. Each session sits in the wheel slot of its idle deadline;
+ * a tick only visits the slots that came due, expiring idle sessions and moving
+ * touched ones to the slot of their new deadline, so the cost of a tick does not
+ * depend on how many sessions are active.
+ */
+public class SessionRegistry {
+
+    private final long idleTimeoutMillis;
+    private final long tickMillis;
+    private final Map<String, Entry> sessions = new ConcurrentHashMap<>();
+    private final Map<Long, Entry> dirty = new ConcurrentHashMap<>();
+    private final Queue<Entry>[] wheel;
+    private volatile long cursorTick;
+
+    @SuppressWarnings("unchecked")
+    public SessionRegistry(long idleTimeoutMillis, long tickMillis, long nowMillis) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.tickMillis = Math.max(1, tickMillis);
+        // Deadlines are never more than one idle timeout ahead, so one revolution covers them all
+        int slots = (int) (idleTimeoutMillis / this.tickMillis) + 2;
+        this.wheel = new Queue[slots];
+        for (int i = 0; i < slots; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.cursorTick = nowMillis / this.tickMillis;
+    }
+
+    /**
+     * Track a session; replaces any entry with the same token
+     */
+    public void register(Long sessionId, String token, String username, long lastActivityMillis) {
+        Entry entry = new Entry(sessionId, token, username, lastActivityMillis);
+        Entry previous = sessions.put(token, entry);
+        if (previous != null) {
+            previous.removed = true;
+        }
+        schedule(entry, cursorTick + 1);
+    }
+
+    /**
+     * Record activity on a session; false when the session is unknown or already idle
+     */
+    public boolean touch(String token, long nowMillis) {
+        Entry entry = sessions.get(token);
+        if (entry == null || isIdle(entry, nowMillis)) {
+            return false;
+        }
+        entry.lastActivity = nowMillis;
+        dirty.put(entry.sessionId, entry);
+        return true;
+    }
+
+    /**
+     * Whether the token belongs to a tracked session that has not gone idle
+     * Null when the session is not tracked by this registry
+     */
+    public Boolean isActive(String token, long nowMillis) {
+        Entry entry = sessions.get(token);
+        return entry == null ? null : !isIdle(entry, nowMillis);
+    }
+
+    /**
+     * Stop tracking a session (explicit logout)
+     */
+    public void remove(String token) {
+        Entry entry = sessions.remove(token);
+        if (entry != null) {
+            entry.removed = true;
+            dirty.remove(entry.sessionId);
+        }
+    }
+
+    /**
+     * Sessions touched since the last call, with their latest activity time
+     */
+    public List<Entry> drainDirty() {
+        List<Entry> drained = new ArrayList<>(dirty.size());
+        for (Long sessionId : dirty.keySet()) {
+            Entry entry = dirty.remove(sessionId);
+            if (entry != null && !entry.removed) {
+                drained.add(entry);
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Process the wheel slots that came due up to now; returns the sessions that expired
+     */
+    public synchronized List<Entry> advance(long nowMillis) {
+        List<Entry> expired = new ArrayList<>();
+        long nowTick = nowMillis / tickMillis;
+        // After a long pause every slot is due once
+        long from = Math.max(cursorTick + 1, nowTick - wheel.length + 1);
+        for (long tick = from; tick <= nowTick; tick++) {
+            Queue<Entry> slot = wheel[(int) (tick % wheel.length)];
+            Entry entry;
+            while ((entry = slot.poll()) != null) {
+                if (entry.removed) {
+                    continue;
+                }
+                if (isIdle(entry, nowMillis)) {
+                    if (sessions.remove(entry.token, entry)) {
+                        entry.removed = true;
+                        dirty.remove(entry.sessionId);
+                        expired.add(entry);
+                    }
+                } else {
+                    schedule(entry, tick + 1);
+                }
+            }
+        }
+        cursorTick = Math.max(cursorTick, nowTick);
+        return expired;
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    private void schedule(Entry entry, long earliestTick) {
+        long deadline = entry.lastActivity + idleTimeoutMillis;
+        long deadlineTick = (deadline + tickMillis - 1) / tickMillis;
+        long tick = Math.max(deadlineTick, earliestTick);
+        wheel[(int) (tick % wheel.length)].add(entry);
+    }
+
+    private boolean isIdle(Entry entry, long nowMillis) {
+        return nowMillis >= entry.lastActivity + idleTimeoutMillis;
+    }
+
+    /**
+     * A tracked session
+     */
+    @Getter
+    public static class Entry {
+        private final Long sessionId;
+        private final String token;
+        private final String username;
+        private volatile long lastActivity;
+        private volatile boolean removed;
+
+        private Entry(Long sessionId, String token, String username, long lastActivity) {
+            this.sessionId = sessionId;
+            this.token = token;
+            this.username = username;
+            this.lastActivity = lastActivity;
+        }
+    }
+}
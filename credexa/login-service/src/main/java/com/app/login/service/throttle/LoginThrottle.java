@@ -0,0 +1,210 @@
+package com.app.login.service.throttle;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory login throttle keyed by username and by client address
+ * Every attempt takes a token from the username's and the address's bucket, so bursts
+ * are rejected before the database is touched. Failures are counted in a sliding
+ * window per key; when a username reaches max-failures it is locked out in memory and
+ * recordFailure reports the transition once, so only that transition is persisted.
+ * An address that reaches its own failure limit (credential stuffing across many
+ * usernames) is blocked for the block period. Key state lives in bounded caches and is
+ * per instance.
+ */
+@Component
+@Slf4j
+public class LoginThrottle {
+
+    /**
+     * Outcome of the pre-authentication check
+     */
+    public enum Decision {
+        ALLOWED,
+        RATE_LIMITED,
+        LOCKED_OUT,
+        ADDRESS_BLOCKED
+    }
+
+    private final Cache<String, KeyState> usernames;
+    private final Cache<String, KeyState> addresses;
+    private final int maxFailures;
+    private final long failureWindowMillis;
+    private final int addressMaxFailures;
+    private final long addressBlockMillis;
+    private final Bucket usernameBucket;
+    private final Bucket addressBucket;
+    private final LongSupplier clock;
+
+    @Autowired
+    public LoginThrottle(@Value("${auth.throttle.max-failures:5}") int maxFailures,
+                         @Value("${auth.throttle.failure-window-seconds:900}") long failureWindowSeconds,
+                         @Value("${auth.throttle.address.max-failures:50}") int addressMaxFailures,
+                         @Value("${auth.throttle.address.block-seconds:900}") long addressBlockSeconds,
+                         @Value("${auth.throttle.username.capacity:10}") int usernameCapacity,
+                         @Value("${auth.throttle.username.refill-per-minute:30}") int usernameRefillPerMinute,
+                         @Value("${auth.throttle.address.capacity:100}") int addressCapacity,
+                         @Value("${auth.throttle.address.refill-per-minute:600}") int addressRefillPerMinute,
+                         @Value("${auth.throttle.max-keys:100000}") long maxKeys) {
+        this(maxFailures, failureWindowSeconds, addressMaxFailures, addressBlockSeconds,
+                usernameCapacity, usernameRefillPerMinute, addressCapacity, addressRefillPerMinute,
+                maxKeys, System::currentTimeMillis);
+    }
+
+    LoginThrottle(int maxFailures, long failureWindowSeconds, int addressMaxFailures, long addressBlockSeconds,
+                  int usernameCapacity, int usernameRefillPerMinute, int addressCapacity, int addressRefillPerMinute,
+                  long maxKeys, LongSupplier clock) {
+        this.maxFailures = maxFailures;
+        this.failureWindowMillis = Duration.ofSeconds(failureWindowSeconds).toMillis();
+        this.addressMaxFailures = addressMaxFailures;
+        this.addressBlockMillis = Duration.ofSeconds(addressBlockSeconds).toMillis();
+        this.usernameBucket = new Bucket(usernameCapacity, usernameRefillPerMinute);
+        this.addressBucket = new Bucket(addressCapacity, addressRefillPerMinute);
+        this.clock = clock;
+
+        Duration idle = Duration.ofMillis(Math.max(failureWindowMillis, addressBlockMillis));
+        this.usernames = Caffeine.newBuilder().maximumSize(maxKeys).expireAfterAccess(idle).build();
+        this.addresses = Caffeine.newBuilder().maximumSize(maxKeys).expireAfterAccess(idle).build();
+    }
+
+    /**
+     * Admit or reject an attempt before any credentials are looked up
+     */
+    public Decision check(String username, String address) {
+        long now = clock.getAsLong();
+        KeyState addressState = addresses.get(addressKey(address), key -> new KeyState(addressMaxFailures, addressBucket));
+        if (addressState.isBlocked(now)) {
+            return Decision.ADDRESS_BLOCKED;
+        }
+        KeyState usernameState = usernames.get(usernameKey(username), key -> new KeyState(maxFailures, usernameBucket));
+        if (usernameState.isBlocked(now)) {
+            return Decision.LOCKED_OUT;
+        }
+        boolean usernameToken = usernameState.tryAcquire(now);
+        boolean addressToken = addressState.tryAcquire(now);
+        return usernameToken && addressToken ? Decision.ALLOWED : Decision.RATE_LIMITED;
+    }
+
+    /**
+     * Whether the username is currently locked out in memory
+     */
+    public boolean isLockedOut(String username) {
+        KeyState state = usernames.getIfPresent(usernameKey(username));
+        return state != null && state.isBlocked(clock.getAsLong());
+    }
+
+    /**
+     * Count a failed attempt; true only for the failure that locks the username out
+     */
+    public boolean recordFailure(String username, String address) {
+        long now = clock.getAsLong();
+        KeyState addressState = addresses.get(addressKey(address), key -> new KeyState(addressMaxFailures, addressBucket));
+        if (addressState.recordFailure(now, failureWindowMillis, addressBlockMillis)) {
+            log.warn("Login attempts from {} blocked after {} failures", address, addressMaxFailures);
+        }
+        KeyState usernameState = usernames.get(usernameKey(username), key -> new KeyState(maxFailures, usernameBucket));
+        return usernameState.recordFailure(now, failureWindowMillis, failureWindowMillis);
+    }
+
+    /**
+     * Clear the failure history of a username after a successful login
+     */
+    public void recordSuccess(String username) {
+        KeyState state = usernames.getIfPresent(usernameKey(username));
+        if (state != null) {
+            state.reset();
+        }
+    }
+
+    public int getMaxFailures() {
+        return maxFailures;
+    }
+
+    private static String usernameKey(String username) {
+        return username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String addressKey(String address) {
+        return address == null ? "unknown" : address;
+    }
+
+    /**
+     * Token bucket parameters
+     */
+    private static final class Bucket {
+        private final int capacity;
+        private final double tokensPerMilli;
+
+        private Bucket(int capacity, int refillPerMinute) {
+            this.capacity = capacity;
+            this.tokensPerMilli = refillPerMinute / 60_000.0;
+        }
+    }
+
+    /**
+     * Token bucket, sliding failure window and block deadline of one key
+     * Failure times are kept in a ring of max-failures entries: the limit is reached when
+     * the oldest of the last max-failures failures is still inside the window.
+     */
+    private static final class KeyState {
+        private final Bucket bucket;
+        private final long[] failures;
+        private int next;
+        private int recorded;
+        private double tokens;
+        private long lastRefill;
+        private long blockedUntil;
+
+        private KeyState(int maxFailures, Bucket bucket) {
+            this.bucket = bucket;
+            this.failures = new long[Math.max(1, maxFailures)];
+            this.tokens = bucket.capacity;
+            this.lastRefill = -1;
+        }
+
+        synchronized boolean tryAcquire(long now) {
+            if (lastRefill >= 0) {
+                tokens = Math.min(bucket.capacity, tokens + (now - lastRefill) * bucket.tokensPerMilli);
+            }
+            lastRefill = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+
+        synchronized boolean isBlocked(long now) {
+            return now < blockedUntil;
+        }
+
+        synchronized boolean recordFailure(long now, long windowMillis, long blockMillis) {
+            failures[next] = now;
+            next = (next + 1) % failures.length;
+            recorded = Math.min(recorded + 1, failures.length);
+
+            long oldest = failures[next];
+            boolean limitReached = recorded == failures.length && now - oldest < windowMillis;
+            if (!limitReached || now < blockedUntil) {
+                return false;
+            }
+            blockedUntil = now + blockMillis;
+            return true;
+        }
+
+        synchronized void reset() {
+            recorded = 0;
+            next = 0;
+            blockedUntil = 0;
+        }
+    }
+}
@@ -3,7 +3,7 @@ package com.app.login;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "internal-auth.secret=loginServiceContextTestInternalAuthSecret")
 class LoginServiceApplicationTests {
 
 	@Test
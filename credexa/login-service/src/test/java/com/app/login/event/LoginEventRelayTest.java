@@ -0,0 +1,149 @@
+package com.app.login.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.app.login.entity.OutboxEvent;
+import com.app.login.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Outbox relay against an in-JVM broker stand-in (Kafka's MockProducer)
+ */
+class LoginEventRelayTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private MockProducer<String, LoginEvent> broker;
+    private OutboxEventRepository outboxRepository;
+    private LoginEventRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        broker = new MockProducer<>(true, new StringSerializer(), new JsonSerializer<>());
+        outboxRepository = mock(OutboxEventRepository.class);
+        LoginEventPublisher publisher = new LoginEventPublisher(new KafkaTemplate<>(sharedProducer(broker)));
+        relay = new LoginEventRelay(outboxRepository, publisher, objectMapper);
+        ReflectionTestUtils.setField(relay, "batchSize", 500);
+        ReflectionTestUtils.setField(relay, "sendTimeoutMillis", 1000L);
+        ReflectionTestUtils.setField(relay, "maxAttempts", 10);
+        ReflectionTestUtils.setField(relay, "initialBackoffMillis", 1000L);
+        ReflectionTestUtils.setField(relay, "maxBackoffMillis", 300000L);
+    }
+
+    @Test
+    void publishesDueEventsWithDedupKeysAndMarksThemPublished() throws Exception {
+        OutboxEvent login = outboxEvent(1L, "alice", "LOGIN_SUCCESS");
+        OutboxEvent logout = outboxEvent(2L, "bob", "LOGOUT");
+        when(outboxRepository.lockPending(any(), anyInt(), any())).thenReturn(List.of(login, logout));
+
+        assertThat(relay.relay()).isEqualTo(2);
+
+        List<ProducerRecord<String, LoginEvent>> sent = broker.history();
+        assertThat(sent).extracting(ProducerRecord::key).containsExactly("alice", "bob");
+        assertThat(sent).extracting(record -> new String(
+                        record.headers().lastHeader(LoginEventPublisher.EVENT_ID_HEADER).value(), StandardCharsets.UTF_8))
+                .containsExactly(login.getEventId(), logout.getEventId());
+        assertThat(sent.get(1).value().getEventType()).isEqualTo("LOGOUT");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(outboxRepository).markPublished(ids.capture(), any());
+        assertThat(ids.getValue()).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void brokerFailureSchedulesRetryWithBackoff() throws Exception {
+        OutboxEvent event = outboxEvent(1L, "alice", "LOGIN_SUCCESS");
+        event.setAttempts(2);
+        when(outboxRepository.lockPending(any(), anyInt(), any())).thenReturn(List.of(event));
+        broker.sendException = new KafkaException("broker unavailable");
+
+        LocalDateTime before = LocalDateTime.now();
+        assertThat(relay.relay()).isZero();
+
+        verify(outboxRepository, never()).markPublished(any(), any());
+        assertThat(event.getAttempts()).isEqualTo(3);
+        assertThat(event.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(4));
+        assertThat(event.getLastError()).contains("broker unavailable");
+        assertThat(event.getPublishedAt()).isNull();
+    }
+
+    @Test
+    void unreadablePayloadDoesNotBlockTheRestOfTheBatch() throws Exception {
+        OutboxEvent corrupt = outboxEvent(1L, "alice", "LOGIN_SUCCESS");
+        corrupt.setPayload("{not json");
+        OutboxEvent valid = outboxEvent(2L, "bob", "LOGIN_SUCCESS");
+        when(outboxRepository.lockPending(any(), anyInt(), any())).thenReturn(List.of(corrupt, valid));
+
+        assertThat(relay.relay()).isEqualTo(1);
+
+        verify(outboxRepository).markPublished(eq(List.of(2L)), any());
+        assertThat(corrupt.getAttempts()).isEqualTo(1);
+        assertThat(broker.history()).hasSize(1);
+    }
+
+    private OutboxEvent outboxEvent(Long id, String username, String eventType) throws Exception {
+        LoginEvent event = LoginEvent.builder()
+                .eventId(java.util.UUID.randomUUID().toString())
+                .username(username)
+                .userId(id)
+                .eventType(eventType)
+                .eventTime(LocalDateTime.now())
+                .build();
+        return OutboxEvent.builder()
+                .id(id)
+                .eventId(event.getEventId())
+                .messageKey(username)
+                .eventType(eventType)
+                .payload(objectMapper.writeValueAsString(event))
+                .createdAt(LocalDateTime.now())
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * KafkaTemplate closes non-transactional producers after each send; keep the mock open
+     */
+    @SuppressWarnings("unchecked")
+    private static ProducerFactory<String, LoginEvent> sharedProducer(MockProducer<String, LoginEvent> producer) {
+        Producer<String, LoginEvent> shared = (Producer<String, LoginEvent>) Proxy.newProxyInstance(
+                Producer.class.getClassLoader(), new Class<?>[]{Producer.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("close")) {
+                        return null;
+                    }
+                    try {
+                        return method.invoke(producer, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+        return () -> shared;
+    }
+}
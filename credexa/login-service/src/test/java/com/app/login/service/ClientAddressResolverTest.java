@@ -0,0 +1,69 @@
+package com.app.login.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * X-Forwarded-For is only believed from trusted proxies, right-most untrusted hop first
+ */
+class ClientAddressResolverTest {
+
+    private ClientAddressResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new ClientAddressResolver();
+        ReflectionTestUtils.setField(resolver, "trustedProxies", List.of("127.0.0.1", "::1", "10.1.0.0/16"));
+        resolver.init();
+    }
+
+    @Test
+    void forwardedForFromAnUntrustedPeerIsIgnored() {
+        assertThat(resolver.resolve(request("203.0.113.9", "1.2.3.4"))).isEqualTo("203.0.113.9");
+        assertThat(resolver.resolve(request("203.0.113.9", null))).isEqualTo("203.0.113.9");
+    }
+
+    @Test
+    void rightMostUntrustedHopIsTheClient() {
+        // The client forged the first entry; the gateway appended the address it saw
+        assertThat(resolver.resolve(request("127.0.0.1", "1.2.3.4, 198.51.100.7"))).isEqualTo("198.51.100.7");
+        assertThat(resolver.resolve(request("0:0:0:0:0:0:0:1", "1.2.3.4, 198.51.100.7, 10.1.4.2")))
+                .isEqualTo("198.51.100.7");
+    }
+
+    @Test
+    void rotatingForgedEntriesDoNotChangeTheAddress() {
+        assertThat(resolver.resolve(request("127.0.0.1", "9.9.9.1, 198.51.100.7")))
+                .isEqualTo(resolver.resolve(request("127.0.0.1", "9.9.9.2, 198.51.100.7")));
+    }
+
+    @Test
+    void garbledHopFallsBackToTheLastVouchedAddress() {
+        assertThat(resolver.resolve(request("127.0.0.1", "198.51.100.7, evil.example.com"))).isEqualTo("127.0.0.1");
+        assertThat(resolver.resolve(request("127.0.0.1", "evil.example.com, 10.1.4.2"))).isEqualTo("10.1.4.2");
+    }
+
+    @Test
+    void noTrustedProxiesMeansTheRemoteAddressOnly() {
+        ClientAddressResolver direct = new ClientAddressResolver();
+        ReflectionTestUtils.setField(direct, "trustedProxies", List.of(""));
+        direct.init();
+
+        assertThat(direct.resolve(request("127.0.0.1", "198.51.100.7"))).isEqualTo("127.0.0.1");
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddr);
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        return request;
+    }
+}
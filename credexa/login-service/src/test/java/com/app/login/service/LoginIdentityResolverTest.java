@@ -0,0 +1,50 @@
+package com.app.login.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.app.login.entity.User;
+import com.app.login.repository.UserRepository;
+
+/**
+ * Every identifier of a resolved user maps to one throttle key
+ */
+class LoginIdentityResolverTest {
+
+    private UserRepository userRepository;
+    private LoginIdentityResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        resolver = new LoginIdentityResolver(userRepository);
+        ReflectionTestUtils.setField(resolver, "maxSize", 100L);
+        ReflectionTestUtils.setField(resolver, "ttlMinutes", 60L);
+        resolver.init();
+    }
+
+    @Test
+    void resolvedIdentifiersShareTheCanonicalUsername() {
+        User alice = User.builder().id(1L).username("alice").email("alice@example.com").mobileNumber("9876543210")
+                .build();
+        when(userRepository.findWithRolesByEmail("Alice@Example.com")).thenReturn(Optional.of(alice));
+        when(userRepository.findWithRolesByMobileNumber("9876543210")).thenReturn(Optional.of(alice));
+
+        // Not resolved yet: the identifier is its own key
+        assertThat(resolver.canonicalUsername(" Alice@Example.com ")).isEqualTo("Alice@Example.com");
+
+        resolver.resolve("Alice@Example.com");
+        resolver.resolve("9876543210");
+
+        assertThat(resolver.canonicalUsername("alice@example.com")).isEqualTo("alice");
+        assertThat(resolver.canonicalUsername("9876543210")).isEqualTo("alice");
+        assertThat(resolver.canonicalUsername("nobody@example.com")).isEqualTo("nobody@example.com");
+    }
+}
@@ -0,0 +1,167 @@
+package com.app.login.service.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.login.entity.AuditLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Overflow, spill and replay of the asynchronous audit writer
+ */
+class AsyncAuditWriterTest {
+
+    @TempDir
+    Path spillDir;
+
+    private final List<String> inserted = new CopyOnWriteArrayList<>();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private AuditLogJdbcWriter jdbcWriter;
+    private AsyncAuditWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcWriter = mock(AuditLogJdbcWriter.class);
+        writer = new AsyncAuditWriter(jdbcWriter, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                objectMapper);
+        ReflectionTestUtils.setField(writer, "enabled", true);
+        ReflectionTestUtils.setField(writer, "bufferSize", 2);
+        ReflectionTestUtils.setField(writer, "overflowSize", 100);
+        ReflectionTestUtils.setField(writer, "batchSize", 10);
+        ReflectionTestUtils.setField(writer, "flushIntervalMillis", 10L);
+        ReflectionTestUtils.setField(writer, "replayIntervalMillis", 50L);
+        ReflectionTestUtils.setField(writer, "spillDir", spillDir.toString());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writer.stop();
+    }
+
+    @Test
+    void rowsBeyondTheBufferAreSpilledAndReplayed() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean first = new AtomicBoolean(true);
+        doAnswer(invocation -> {
+            if (first.getAndSet(false)) {
+                writing.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            record(invocation.getArgument(0));
+            return null;
+        }).when(jdbcWriter).insertAll(anyList());
+        writer.start();
+
+        writer.write(row("user0"));
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        // The writer thread is stuck on user0: two rows fill the buffer, the rest overflow
+        // to the spill thread; the callers never wait for the disk
+        for (int i = 1; i < 10; i++) {
+            writer.write(row("user" + i));
+        }
+        await(() -> spillLines() == 7);
+
+        release.countDown();
+        await(() -> inserted.size() == 10);
+        assertThat(inserted).containsExactlyInAnyOrder("user0", "user1", "user2", "user3", "user4",
+                "user5", "user6", "user7", "user8", "user9");
+        await(() -> !Files.exists(spillDir.resolve("audit-spill.ndjson"))
+                && !Files.exists(spillDir.resolve("audit-spill.replaying")));
+    }
+
+    @Test
+    void batchRejectedByTheDatabaseIsReplayedOnceItRecovers() throws Exception {
+        AtomicBoolean databaseDown = new AtomicBoolean(true);
+        doAnswer(invocation -> {
+            if (databaseDown.get()) {
+                throw new IllegalStateException("database unavailable");
+            }
+            record(invocation.getArgument(0));
+            return null;
+        }).when(jdbcWriter).insertAll(anyList());
+        writer.start();
+
+        writer.write(row("alice"));
+        writer.write(row("bob"));
+        await(() -> Files.exists(spillDir.resolve("audit-spill.ndjson"))
+                || Files.exists(spillDir.resolve("audit-spill.replaying")));
+        assertThat(inserted).isEmpty();
+
+        databaseDown.set(false);
+        await(() -> inserted.size() == 2);
+        assertThat(inserted).containsExactlyInAnyOrder("alice", "bob");
+    }
+
+    @Test
+    void spillFileLeftByACrashIsReplayedOnStartup() throws Exception {
+        doAnswer(invocation -> {
+            record(invocation.getArgument(0));
+            return null;
+        }).when(jdbcWriter).insertAll(anyList());
+        Files.write(spillDir.resolve("audit-spill.ndjson"), List.of(
+                objectMapper.writeValueAsString(row("alice")),
+                "{\"username\":\"bob\",\"eventType\":",  // Cut off by the crash
+                objectMapper.writeValueAsString(row("carol"))), StandardCharsets.UTF_8);
+
+        writer.start();
+
+        await(() -> inserted.size() == 2);
+        assertThat(inserted).containsExactly("alice", "carol");
+        await(() -> !Files.exists(spillDir.resolve("audit-spill.replaying")));
+    }
+
+    private long spillLines() {
+        Path spillFile = spillDir.resolve("audit-spill.ndjson");
+        try {
+            return Files.exists(spillFile) ? Files.readAllLines(spillFile, StandardCharsets.UTF_8).size() : 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void record(List<AuditLog> batch) {
+        batch.forEach(auditLog -> inserted.add(auditLog.getUsername()));
+    }
+
+    private static AuditLog row(String username) {
+        return AuditLog.builder()
+                .username(username)
+                .eventType(AuditLog.EventType.LOGIN_SUCCESS)
+                .success(true)
+                .message("test")
+                .eventTime(LocalDateTime.now())
+                .build();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
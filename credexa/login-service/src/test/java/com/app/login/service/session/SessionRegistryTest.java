@@ -0,0 +1,83 @@
+package com.app.login.service.session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Queue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Timing wheel of the session registry: slot placement, catch-up and re-slotting
+ */
+class SessionRegistryTest {
+
+    private static final long IDLE_MS = 1_000;
+    private static final long TICK_MS = 100;
+    private static final long START = 1_000_000;
+
+    @Test
+    void sessionIsPlacedInTheSlotOfItsIdleDeadline() {
+        SessionRegistry registry = new SessionRegistry(IDLE_MS, TICK_MS, START);
+        registry.register(1L, "t1", "alice", START + 50);
+
+        long deadlineTick = (START + 50 + IDLE_MS + TICK_MS - 1) / TICK_MS;
+        assertThat(slot(registry, deadlineTick)).extracting(SessionRegistry.Entry::getToken).containsExactly("t1");
+
+        assertThat(registry.advance(START + 50 + IDLE_MS - 1)).isEmpty();
+        assertThat(registry.isActive("t1", START + 50 + IDLE_MS - 1)).isTrue();
+        assertThat(registry.advance(deadlineTick * TICK_MS))
+                .extracting(SessionRegistry.Entry::getSessionId).containsExactly(1L);
+        assertThat(registry.size()).isZero();
+    }
+
+    @Test
+    void everyOverdueSessionExpiresInOneAdvanceAfterAPause() {
+        SessionRegistry registry = new SessionRegistry(IDLE_MS, TICK_MS, START);
+        for (long i = 0; i < 20; i++) {
+            registry.register(i, "t" + i, "user" + i, START + i * 37);
+        }
+
+        // Paused for several revolutions of the wheel
+        assertThat(registry.advance(START + 10 * IDLE_MS)).hasSize(20);
+        assertThat(registry.size()).isZero();
+        assertThat(registry.advance(START + 10 * IDLE_MS + TICK_MS)).isEmpty();
+    }
+
+    @Test
+    void touchedSessionMovesToTheSlotOfItsNewDeadline() {
+        SessionRegistry registry = new SessionRegistry(IDLE_MS, TICK_MS, START);
+        registry.register(1L, "t1", "alice", START);
+        assertThat(registry.touch("t1", START + 600)).isTrue();
+
+        // Its old slot comes due: not idle, so it is moved on instead of expired
+        assertThat(registry.advance(START + IDLE_MS)).isEmpty();
+        long newDeadlineTick = (START + 600 + IDLE_MS) / TICK_MS;
+        assertThat(slot(registry, newDeadlineTick)).extracting(SessionRegistry.Entry::getToken).containsExactly("t1");
+
+        assertThat(registry.advance(START + 600 + IDLE_MS - 1)).isEmpty();
+        assertThat(registry.advance(START + 600 + IDLE_MS)).hasSize(1);
+        assertThat(registry.touch("t1", START + 600 + IDLE_MS)).isFalse();
+    }
+
+    @Test
+    void touchedSessionsAreDrainedOnceForTheFlush() {
+        SessionRegistry registry = new SessionRegistry(IDLE_MS, TICK_MS, START);
+        registry.register(1L, "t1", "alice", START);
+        registry.register(2L, "t2", "bob", START);
+        registry.touch("t1", START + 10);
+        registry.touch("t1", START + 20);
+        registry.touch("t2", START + 30);
+        registry.remove("t2");
+
+        assertThat(registry.drainDirty()).singleElement()
+                .satisfies(entry -> assertThat(entry.getLastActivity()).isEqualTo(START + 20));
+        assertThat(registry.drainDirty()).isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Queue<SessionRegistry.Entry> slot(SessionRegistry registry, long tick) {
+        Queue<SessionRegistry.Entry>[] wheel = (Queue<SessionRegistry.Entry>[]) ReflectionTestUtils.getField(registry, "wheel");
+        return wheel[(int) (tick % wheel.length)];
+    }
+}
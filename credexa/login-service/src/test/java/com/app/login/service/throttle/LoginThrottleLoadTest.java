@@ -0,0 +1,134 @@
+package com.app.login.service.throttle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Brute-force simulation against the login throttle
+ * Every admitted attempt stands for a credential lookup; every lockout transition stands
+ * for a write to the users row.
+ */
+class LoginThrottleLoadTest {
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 2_000;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+
+    private LoginThrottle throttle() {
+        return new LoginThrottle(5, 900, 50, 900, 10, 30, 100, 600, 10_000, clock::get);
+    }
+
+    @Test
+    void bruteForceOnOneUsernameLocksOnceAndStopsReachingTheDatabase() throws Exception {
+        LoginThrottle throttle = throttle();
+        AtomicInteger lookups = new AtomicInteger();
+        AtomicInteger lockWrites = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently((thread, attempt) -> {
+            // Spread over many addresses so only the username limits apply
+            String address = "10.0." + thread + "." + (attempt % 250);
+            clock.addAndGet(5);
+            if (throttle.check("victim", address) != LoginThrottle.Decision.ALLOWED) {
+                rejected.incrementAndGet();
+                return;
+            }
+            lookups.incrementAndGet();
+            if (throttle.recordFailure("victim", address)) {
+                lockWrites.incrementAndGet();
+            }
+        });
+
+        assertThat(lockWrites).hasValue(1);
+        assertThat(lookups.get()).isLessThanOrEqualTo(10);
+        assertThat(rejected.get()).isEqualTo(THREADS * ATTEMPTS_PER_THREAD - lookups.get());
+        assertThat(throttle.isLockedOut("VICTIM")).isTrue();
+    }
+
+    @Test
+    void credentialStuffingFromOneAddressIsBlocked() throws Exception {
+        LoginThrottle throttle = throttle();
+        AtomicInteger lookups = new AtomicInteger();
+        AtomicInteger blocked = new AtomicInteger();
+        AtomicInteger lockWrites = new AtomicInteger();
+
+        runConcurrently((thread, attempt) -> {
+            String username = "user-" + thread + "-" + attempt;
+            clock.addAndGet(5);
+            LoginThrottle.Decision decision = throttle.check(username, "203.0.113.7");
+            if (decision == LoginThrottle.Decision.ADDRESS_BLOCKED) {
+                blocked.incrementAndGet();
+            }
+            if (decision != LoginThrottle.Decision.ALLOWED) {
+                return;
+            }
+            lookups.incrementAndGet();
+            if (throttle.recordFailure(username, "203.0.113.7")) {
+                lockWrites.incrementAndGet();
+            }
+        });
+
+        assertThat(lookups.get()).isBetween(50, 100);
+        assertThat(blocked.get()).isPositive();
+        assertThat(lockWrites).hasValue(0);
+    }
+
+    @Test
+    void failuresOutsideTheWindowDoNotLock() {
+        LoginThrottle throttle = throttle();
+        for (int i = 0; i < 20; i++) {
+            clock.addAndGet(TimeUnit.MINUTES.toMillis(4));
+            assertThat(throttle.check("slow", "198.51.100.1")).isEqualTo(LoginThrottle.Decision.ALLOWED);
+            assertThat(throttle.recordFailure("slow", "198.51.100.1")).isFalse();
+        }
+        assertThat(throttle.isLockedOut("slow")).isFalse();
+    }
+
+    @Test
+    void successClearsFailureHistory() {
+        LoginThrottle throttle = throttle();
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 4; i++) {
+                clock.addAndGet(TimeUnit.SECONDS.toMillis(3));
+                assertThat(throttle.check("alice", "198.51.100.2")).isEqualTo(LoginThrottle.Decision.ALLOWED);
+                assertThat(throttle.recordFailure("alice", "198.51.100.2")).isFalse();
+            }
+            throttle.recordSuccess("alice");
+        }
+        assertThat(throttle.isLockedOut("alice")).isFalse();
+    }
+
+    private interface Attempt {
+        void run(int thread, int attempt);
+    }
+
+    private static void runConcurrently(Attempt attempt) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                        attempt.run(thread, i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -0,0 +1,118 @@
+package com.app.product.security;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+
+/**
+ * Checks the signed X-Internal-Auth header forwarded by the API gateway
+ * Same format as common-lib's InternalAuthHeader: base64url(json).base64url(HMAC-SHA256(payload))
+ */
+@Component
+public class InternalAuthHeader {
+
+    public static final String HEADER_NAME = "X-Internal-Auth";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_LENGTH = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /** Sample value once committed to the application.yml files; never accepted */
+    private static final String SAMPLE_SECRET = "credexaInternalAuthHeaderSecretChangeMeInEveryEnvironment";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${internal-auth.secret}")
+    private String secret;
+
+    private ThreadLocal<Mac> macs;
+
+    @PostConstruct
+    void init() {
+        if (secret == null || secret.isBlank() || secret.length() < MIN_SECRET_LENGTH
+                || secret.equals(SAMPLE_SECRET)) {
+            throw new IllegalStateException("internal-auth.secret must be set (INTERNAL_AUTH_SECRET) to a per-environment "
+                    + "secret of at least " + MIN_SECRET_LENGTH + " characters, the same for the gateway and every service");
+        }
+        SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(ALGORITHM + " not available", e);
+            }
+        });
+    }
+
+    /**
+     * Caller carried by the header, or empty when it is missing, tampered with or expired
+     */
+    public Optional<Identity> verify(String headerValue) {
+        if (headerValue == null) {
+            return Optional.empty();
+        }
+        int dot = headerValue.indexOf('.');
+        if (dot <= 0 || dot == headerValue.length() - 1) {
+            return Optional.empty();
+        }
+        String encoded = headerValue.substring(0, dot);
+        byte[] expected = ENCODER.encodeToString(macs.get().doFinal(encoded.getBytes(StandardCharsets.US_ASCII)))
+                .getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = headerValue.substring(dot + 1).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, actual)) {
+            return Optional.empty();
+        }
+
+        try {
+            JsonNode payload = objectMapper.readTree(DECODER.decode(encoded));
+            String username = payload.path("sub").asText(null);
+            if (username == null
+                    || (payload.hasNonNull("exp") && payload.get("exp").asLong() <= Instant.now().getEpochSecond())) {
+                return Optional.empty();
+            }
+            List<String> roles = new ArrayList<>();
+            payload.path("roles").forEach(role -> roles.add(role.asText()));
+            Long userId = payload.hasNonNull("uid") ? payload.get("uid").asLong() : null;
+            return Optional.of(new Identity(username, userId, roles));
+        } catch (IllegalArgumentException | IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Caller identity as verified by the gateway
+     */
+    @Getter
+    public static final class Identity {
+        private final String username;
+        private final Long userId;
+        private final List<String> roles;
+
+        Identity(String username, Long userId, List<String> roles) {
+            this.username = username;
+            this.userId = userId;
+            this.roles = List.copyOf(roles);
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package com.app.product.security;
 
 import java.io.IOException;
+import java.util.List;
 
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -15,6 +20,8 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * JWT Authentication Filter
  * Intercepts requests and validates JWT tokens
+ * Requests forwarded by the gateway are authenticated from its signed X-Internal-Auth
+ * header, which costs one HMAC check instead of a JWT parse.
  */
 @Component
 @RequiredArgsConstructor
@@ -22,6 +29,7 @@ import lombok.extern.slf4j.Slf4j;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final InternalAuthHeader internalAuthHeader;
 
     @Override
     protected void doFilterInternal(
@@ -29,7 +37,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             HttpServletResponse response,
             FilterChain filterChain) throws ServletException, IOException {
 
-        // TEMPORARILY DISABLED: Skip JWT validation for ALL requests (for inter-service communication)
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            internalAuthHeader.verify(request.getHeader(InternalAuthHeader.HEADER_NAME)).ifPresent(identity -> {
+                List<SimpleGrantedAuthority> authorities = identity.getRoles().stream()
+                        .map(SimpleGrantedAuthority::new)
+                        .toList();
+                UsernamePasswordAuthenticationToken authToken =
+                        new UsernamePasswordAuthenticationToken(identity.getUsername(), null, authorities);
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+                log.debug("Authenticated {} from gateway header", identity.getUsername());
+            });
+        }
+
+        // TEMPORARILY DISABLED: requests without the gateway header are not rejected (for inter-service communication)
         // To re-enable JWT authentication, restore the original implementation below
         filterChain.doFilter(request, response);
     }
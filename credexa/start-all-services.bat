@@ -4,6 +4,13 @@ echo Starting All Microservices
 echo ========================================
 echo.
 
+REM The gateway signs X-Internal-Auth with this secret and the services verify it
+if not defined INTERNAL_AUTH_SECRET (
+    echo INTERNAL_AUTH_SECRET is not set. Set it to a random value of at least 32 characters, e.g.
+    echo   set INTERNAL_AUTH_SECRET=^<output of: openssl rand -base64 48^>
+    exit /b 1
+)
+
 REM Start Customer Service (Port 8083)
 echo Starting Customer Service on port 8083...
 start "Customer Service (8083)" cmd /k "cd /d %~dp0customer-service && mvn spring-boot:run"